@@ -0,0 +1,37 @@
+package com.example.padelcodegen;
+
+/**
+ * Accumulates generated source, one indented line at a time.
+ */
+final class CodeBuilder {
+
+    private static final String INDENT = "    ";
+
+    private final StringBuilder source = new StringBuilder();
+    private int depth;
+
+    CodeBuilder indent() {
+        depth++;
+        return this;
+    }
+
+    CodeBuilder outdent() {
+        depth--;
+        return this;
+    }
+
+    CodeBuilder line(String text) {
+        source.append(INDENT.repeat(depth)).append(text).append('\n');
+        return this;
+    }
+
+    CodeBuilder line() {
+        source.append('\n');
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+}
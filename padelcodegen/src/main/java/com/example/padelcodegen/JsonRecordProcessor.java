@@ -0,0 +1,362 @@
+package com.example.padelcodegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates a codec for every record annotated with {@code @JsonRecord}.
+ * <p>
+ * For a record {@code Foo} the processor writes {@code FooCodec} into the same package. The codec
+ * reads the record directly from the frontend's {@code JsonReader} token stream, matching member
+ * names against a fixed table instead of allocating them, and writes it to a {@code JsonWriter};
+ * there is no reflection and no intermediate {@code JSONObject}. {@code CborReader} and
+ * {@code CborWriter} share that interface, so the same code is emitted a second time for them. Members the record does not
+ * declare are skipped, and missing or {@code null} members leave the component at its default:
+ * {@code null} for strings and records, an empty collection for lists and maps and zero or
+ * {@code false} for primitives.
+ * <p>
+ * Components may be {@code String}, {@code int}, {@code long}, {@code double}, {@code boolean}
+ * (or their boxed types), another top-level {@code @JsonRecord} record, or a {@code List} or
+ * {@code Map<String, ...>} of those.
+ */
+@SupportedAnnotationTypes(JsonRecordProcessor.JSON_RECORD)
+public final class JsonRecordProcessor extends AbstractProcessor {
+
+    static final String JSON_PACKAGE = "com.example.padelfrontend.json";
+    static final String JSON_RECORD = JSON_PACKAGE + ".JsonRecord";
+
+    /** Names used by the generated code itself, which components therefore cannot have. */
+    private static final Set<String> RESERVED_NAMES = Set.of(
+            "reader", "writer", "value", "field", "items", "entries", "item", "entry", "key");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD
+                        || ((TypeElement) element).getNestingKind() != NestingKind.TOP_LEVEL) {
+                    error(element, "@JsonRecord can only be applied to top-level records");
+                    continue;
+                }
+                try {
+                    generate((TypeElement) element);
+                } catch (UnsupportedComponentException e) {
+                    error(e.component, e.getMessage());
+                } catch (IOException e) {
+                    error(element, "Failed to write codec: " + e.getMessage());
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement record) throws IOException {
+        List<Property> properties = new ArrayList<>();
+        for (RecordComponentElement component : record.getRecordComponents()) {
+            String name = component.getSimpleName().toString();
+            if (RESERVED_NAMES.contains(name)) {
+                throw new UnsupportedComponentException(component, "Component name '" + name + "' is reserved by the generated codec");
+            }
+            properties.add(new Property(name, typeOf(component.asType(), component, true)));
+        }
+
+        String packageName = ((PackageElement) record.getEnclosingElement()).getQualifiedName().toString();
+        String recordName = record.getSimpleName().toString();
+        String codecName = recordName + "Codec";
+
+        CodeBuilder code = new CodeBuilder();
+        code.line("// Generated by " + JsonRecordProcessor.class.getName() + " from " + recordName + "; do not edit.");
+        code.line("package " + packageName + ";");
+        code.line();
+        code.line("import " + JSON_PACKAGE + ".CborReader;");
+        code.line("import " + JSON_PACKAGE + ".CborWriter;");
+        code.line("import " + JSON_PACKAGE + ".Codec;");
+        code.line("import " + JSON_PACKAGE + ".JsonReader;");
+        code.line("import " + JSON_PACKAGE + ".JsonWriter;");
+        code.line();
+        code.line("final class " + codecName + " implements Codec<" + recordName + "> {");
+        code.line();
+        code.indent().line("static final " + codecName + " INSTANCE = new " + codecName + "();");
+        code.line();
+        StringBuilder names = new StringBuilder();
+        for (Property property : properties) {
+            names.append(names.isEmpty() ? "" : ", ").append('"').append(property.name).append('"');
+        }
+        code.line("private static final String[] NAMES = {" + names + "};");
+        code.line();
+        code.line("private " + codecName + "() {");
+        code.line("}");
+        code.line();
+
+        writeRead(code, "JsonReader", recordName, properties);
+        code.line();
+        writeWrite(code, "JsonWriter", recordName, properties);
+        code.line();
+        writeRead(code, "CborReader", recordName, properties);
+        code.line();
+        writeWrite(code, "CborWriter", recordName, properties);
+        code.outdent().line("}");
+
+        try (Writer out = processingEnv.getFiler().createSourceFile(packageName + "." + codecName, record).openWriter()) {
+            out.write(code.toString());
+        }
+    }
+
+    private static void writeRead(CodeBuilder code, String readerType, String recordName, List<Property> properties) {
+        code.line("@Override");
+        code.line("public " + recordName + " read(" + readerType + " reader) {");
+        code.indent();
+        for (Property property : properties) {
+            code.line(property.type.javaType + " " + property.name + " = " + property.type.defaultValue() + ";");
+        }
+        code.line("reader.beginObject();");
+        code.line("while (reader.hasNext()) {");
+        code.indent().line("int field = reader.selectName(NAMES);");
+        code.line("if (field < 0) {");
+        code.indent().line("reader.skipValue();");
+        code.line("continue;");
+        code.outdent().line("}");
+        code.line("if (reader.nextNull()) {");
+        code.indent().line("continue;");
+        code.outdent().line("}");
+        code.line("switch (field) {");
+        code.indent();
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            JsonType type = property.type;
+            switch (type.kind) {
+                case LIST -> {
+                    code.line("case " + i + " -> {");
+                    code.indent().line("java.util.List<" + type.element.javaType + "> items = new java.util.ArrayList<>();");
+                    code.line("reader.beginArray();");
+                    code.line("while (reader.hasNext()) {");
+                    code.indent().line("items.add(" + type.element.readExpression() + ");");
+                    code.outdent().line("}");
+                    code.line("reader.endArray();");
+                    code.line(property.name + " = java.util.Collections.unmodifiableList(items);");
+                    code.outdent().line("}");
+                }
+                case MAP -> {
+                    code.line("case " + i + " -> {");
+                    code.indent().line("java.util.Map<String, " + type.element.javaType + "> entries = new java.util.LinkedHashMap<>();");
+                    code.line("reader.beginObject();");
+                    code.line("while (reader.hasNext()) {");
+                    code.indent().line("String key = reader.nextName();");
+                    code.line("entries.put(key, " + type.element.readExpression() + ");");
+                    code.outdent().line("}");
+                    code.line("reader.endObject();");
+                    code.line(property.name + " = java.util.Collections.unmodifiableMap(entries);");
+                    code.outdent().line("}");
+                }
+                default -> code.line("case " + i + " -> " + property.name + " = " + type.readExpression() + ";");
+            }
+        }
+        code.line("default -> reader.skipValue();");
+        code.outdent().line("}");
+        code.outdent().line("}");
+        code.line("reader.endObject();");
+        StringBuilder arguments = new StringBuilder();
+        for (Property property : properties) {
+            arguments.append(arguments.isEmpty() ? "" : ", ").append(property.name);
+        }
+        code.line("return new " + recordName + "(" + arguments + ");");
+        code.outdent().line("}");
+    }
+
+    private static void writeWrite(CodeBuilder code, String writerType, String recordName, List<Property> properties) {
+        code.line("@Override");
+        code.line("public void write(" + writerType + " writer, " + recordName + " value) {");
+        code.indent().line("writer.beginObject();");
+        for (Property property : properties) {
+            JsonType type = property.type;
+            String accessor = "value." + property.name + "()";
+            code.line("writer.name(\"" + property.name + "\");");
+            if (type.kind.primitive && !type.boxed || type.kind == Kind.STRING) {
+                // Both writers write a null string as null.
+                code.line("writer.value(" + accessor + ");");
+                continue;
+            }
+            code.line("if (" + accessor + " == null) {");
+            code.indent().line("writer.nullValue();");
+            code.outdent().line("} else {");
+            code.indent();
+            switch (type.kind) {
+                case LIST -> {
+                    code.line("writer.beginArray();");
+                    code.line("for (" + type.element.javaType + " item : " + accessor + ") {");
+                    code.indent().line(type.element.writeStatement("item"));
+                    code.outdent().line("}");
+                    code.line("writer.endArray();");
+                }
+                case MAP -> {
+                    code.line("writer.beginObject();");
+                    code.line("for (java.util.Map.Entry<String, " + type.element.javaType + "> entry : " + accessor + ".entrySet()) {");
+                    code.indent().line("writer.name(entry.getKey());");
+                    code.line(type.element.writeStatement("entry.getValue()"));
+                    code.outdent().line("}");
+                    code.line("writer.endObject();");
+                }
+                default -> code.line(type.writeStatement(accessor));
+            }
+            code.outdent().line("}");
+        }
+        code.line("writer.endObject();");
+        code.outdent().line("}");
+    }
+
+    /**
+     * Maps a component type to its JSON representation. Lists and maps may only hold scalars and
+     * records, so {@code allowContainer} is false for their elements.
+     */
+    private JsonType typeOf(TypeMirror type, Element component, boolean allowContainer) {
+        switch (type.getKind()) {
+            case INT:
+                return new JsonType(Kind.INT, "int", false, null, null);
+            case LONG:
+                return new JsonType(Kind.LONG, "long", false, null, null);
+            case DOUBLE:
+                return new JsonType(Kind.DOUBLE, "double", false, null, null);
+            case BOOLEAN:
+                return new JsonType(Kind.BOOLEAN, "boolean", false, null, null);
+            case DECLARED:
+                break;
+            default:
+                throw new UnsupportedComponentException(component, "Unsupported component type " + type);
+        }
+
+        DeclaredType declared = (DeclaredType) type;
+        TypeElement element = (TypeElement) declared.asElement();
+        String javaType = type.toString();
+        switch (element.getQualifiedName().toString()) {
+            case "java.lang.String":
+                return new JsonType(Kind.STRING, javaType, false, null, null);
+            case "java.lang.Integer":
+                return new JsonType(Kind.INT, javaType, true, null, null);
+            case "java.lang.Long":
+                return new JsonType(Kind.LONG, javaType, true, null, null);
+            case "java.lang.Double":
+                return new JsonType(Kind.DOUBLE, javaType, true, null, null);
+            case "java.lang.Boolean":
+                return new JsonType(Kind.BOOLEAN, javaType, true, null, null);
+            case "java.util.List":
+                if (allowContainer && declared.getTypeArguments().size() == 1) {
+                    JsonType elementType = typeOf(declared.getTypeArguments().get(0), component, false);
+                    return new JsonType(Kind.LIST, javaType, false, elementType, null);
+                }
+                break;
+            case "java.util.Map":
+                if (allowContainer && declared.getTypeArguments().size() == 2
+                        && declared.getTypeArguments().get(0).toString().equals("java.lang.String")) {
+                    JsonType valueType = typeOf(declared.getTypeArguments().get(1), component, false);
+                    return new JsonType(Kind.MAP, javaType, false, valueType, null);
+                }
+                break;
+            default:
+                if (element.getKind() == ElementKind.RECORD && element.getNestingKind() == NestingKind.TOP_LEVEL
+                        && isJsonRecord(element)) {
+                    String codec = element.getQualifiedName() + "Codec";
+                    return new JsonType(Kind.RECORD, javaType, false, null, codec);
+                }
+        }
+        throw new UnsupportedComponentException(component, "Unsupported component type " + type);
+    }
+
+    private static boolean isJsonRecord(TypeElement element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(JSON_RECORD)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private enum Kind {
+        STRING(false), INT(true), LONG(true), DOUBLE(true), BOOLEAN(true), RECORD(false), LIST(false), MAP(false);
+
+        final boolean primitive;
+
+        Kind(boolean primitive) {
+            this.primitive = primitive;
+        }
+    }
+
+    /**
+     * A component's JSON shape. {@code element} is the element type of a list or the value type
+     * of a map; {@code codec} is the codec class of a nested record.
+     */
+    private record JsonType(Kind kind, String javaType, boolean boxed, JsonType element, String codec) {
+
+        String defaultValue() {
+            if (boxed) {
+                return "null";
+            }
+            return switch (kind) {
+                case INT -> "0";
+                case LONG -> "0L";
+                case DOUBLE -> "0.0";
+                case BOOLEAN -> "false";
+                case LIST -> "java.util.List.of()";
+                case MAP -> "java.util.Map.of()";
+                case STRING, RECORD -> "null";
+            };
+        }
+
+        String readExpression() {
+            return switch (kind) {
+                case STRING -> "reader.nextString()";
+                case INT -> "reader.nextInt()";
+                case LONG -> "reader.nextLong()";
+                case DOUBLE -> "reader.nextDouble()";
+                case BOOLEAN -> "reader.nextBoolean()";
+                case RECORD -> codec + ".INSTANCE.read(reader)";
+                case LIST, MAP -> throw new IllegalStateException("Containers are read by statements");
+            };
+        }
+
+        String writeStatement(String expression) {
+            return switch (kind) {
+                case STRING, INT, LONG, DOUBLE, BOOLEAN -> "writer.value(" + expression + ");";
+                case RECORD -> codec + ".INSTANCE.write(writer, " + expression + ");";
+                case LIST, MAP -> throw new IllegalStateException("Containers are written by statements");
+            };
+        }
+    }
+
+    private record Property(String name, JsonType type) {
+    }
+
+    private static final class UnsupportedComponentException extends RuntimeException {
+        final transient Element component;
+
+        UnsupportedComponentException(Element component, String message) {
+            super(message);
+            this.component = component;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.padelfrontend;
+
+import java.util.List;
+
+/**
+ * Actions understood by the backend server, with the wire name sent in the {@code action} field.
+ * Read-only actions do not change server state; deduplicable actions are also safe to answer with
+ * the response to an identical request already in flight, so concurrent callers share one call.
+ * Each action that changes server state lists the read-only actions whose answers it may change,
+ * so data cached from them can be discarded; see {@link CatalogRepository}.
+ */
+public enum Action {
+    LOGIN("login", false, false),
+    SIGNUP("signup", false, false),
+    FORGOT_PASSWORD("forgotPassword", false, false),
+    UPDATE_USER_INFO("update_user_info", false, false),
+
+    GET_PADEL_CENTERS("get_padel_centers", true, true),
+    GET_AVAILABILITY("get_availability", true, true),
+    SAVE_PADEL_CENTER("save_padel_center", false, false, GET_PADEL_CENTERS, GET_AVAILABILITY),
+    UPDATE_PADEL_CENTER("update_padel_center", false, false, GET_PADEL_CENTERS, GET_AVAILABILITY),
+    DELETE_PADEL_CENTER("delete_padel_center", false, false, GET_PADEL_CENTERS, GET_AVAILABILITY),
+    BOOK_PADEL_COURT("book_padel_court", false, false, GET_PADEL_CENTERS, GET_AVAILABILITY),
+    CANCEL_PADEL_BOOKING("cancel_padel_booking", false, false, GET_PADEL_CENTERS, GET_AVAILABILITY),
+
+    GET_CLASSES("get_classes", true, true),
+    SAVE_GYM_CLASS("save_gym_class", false, false, GET_CLASSES),
+    UPDATE_GYM_CLASS("update_gym_class", false, false, GET_CLASSES),
+    DELETE_GYM_CLASS("delete_gym_class", false, false, GET_CLASSES),
+    BOOK_GYM_CLASS("book_gym_class", false, false, GET_CLASSES),
+    CANCEL_GYM_CLASS("cancel_gym_class", false, false, GET_CLASSES),
+
+    GET_WORKOUT_HISTORY("get_workout_history", true, true),
+    CLEAR_WORKOUT_HISTORY("clear_workout_history", false, false, GET_WORKOUT_HISTORY),
+
+    GET_SUBSCRIPTION_PLANS("get_subscription_plans", true, true),
+    GET_ACTIVE_SUBSCRIPTIONS("get_active_subscriptions", true, true),
+    CHECK_MEMBER("check_member", true, true),
+    ADD_MEMBER("add_member", false, false, CHECK_MEMBER, GET_ACTIVE_SUBSCRIPTIONS),
+    SUBSCRIBE("subscribe", false, false, GET_ACTIVE_SUBSCRIPTIONS),
+    RENEW_SUBSCRIPTION("renew_subscription", false, false, GET_ACTIVE_SUBSCRIPTIONS),
+    CANCEL_MEMBERSHIP("cancel_membership", false, false, GET_ACTIVE_SUBSCRIPTIONS, GET_WORKOUT_HISTORY),
+
+    /** Envelope carrying several read-only requests; see {@link RequestBatcher}. */
+    BATCH("batch", true, false);
+
+    private final String wireName;
+    private final boolean readOnly;
+    private final boolean deduplicable;
+    private final List<Action> invalidates;
+
+    Action(String wireName, boolean readOnly, boolean deduplicable, Action... invalidates) {
+        this.wireName = wireName;
+        this.readOnly = readOnly;
+        this.deduplicable = deduplicable;
+        this.invalidates = List.of(invalidates);
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    public boolean isDeduplicable() {
+        return deduplicable;
+    }
+
+    /**
+     * Returns the read-only actions whose answers may change once this action has run.
+     */
+    public List<Action> getInvalidatedActions() {
+        return invalidates;
+    }
+}
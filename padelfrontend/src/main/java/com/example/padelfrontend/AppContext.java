@@ -1,15 +1,11 @@
 package com.example.padelfrontend;
 
-import javafx.application.Platform;
 import javafx.scene.control.Alert;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.example.padelfrontend.model.ActiveSubscription;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 public class AppContext {
     private static final AppContext instance = new AppContext();
@@ -178,52 +174,39 @@ public class AppContext {
     /**
      * Loads active subscriptions for the current user from the server and updates AppContext.
      * @param showAlerts Whether to show UI alerts for errors (true for controllers with UI, false for background tasks).
-     * @return JSONArray of active subscriptions, or null if none exist or an error occurs.
+     * @return Future completed on the JavaFX Application Thread with the active subscriptions,
+     *         or with null if none exist or an error occurs.
      */
-    public JSONArray loadActiveSubscriptions(boolean showAlerts) {
-        try {
-            String memberId = getMemberId();
-            if (memberId == null) {
-                if (showAlerts) {
-
-                } else {
-                    System.out.println("Member ID is missing.");
-                }
-                return null;
+    public CompletableFuture<List<ActiveSubscription>> loadActiveSubscriptions(boolean showAlerts) {
+        String memberId = getMemberId();
+        if (memberId == null) {
+            if (!showAlerts) {
+                System.out.println("Member ID is missing.");
             }
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Request request = Request.of(Action.GET_ACTIVE_SUBSCRIPTIONS)
+                .with("memberId", memberId);
 
-            JSONObject request = new JSONObject();
-            request.put("action", "get_active_subscriptions");
-            request.put("memberId", memberId);
-
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            System.out.println("Server response: " + response);
-
-            if (!responseJson.getString("status").equals("success")) {
-                String message = responseJson.getString("message");
-                if (showAlerts) {
-                    Platform.runLater(() -> {
-                        Alert alert = new Alert(Alert.AlertType.ERROR);
-                        alert.setTitle("Error");
-                        alert.setHeaderText(null);
-                        alert.setContentText(message);
-                        alert.showAndWait();
-                    });
-                } else {
-                    System.out.println(message);
-                }
+        return BackendClient.getInstance().send(request).handle((response, error) -> {
+            if (error != null) {
+                reportError("Failed to load active subscriptions: " + BackendClient.describe(error), showAlerts);
+                return null;
+            }
+            if (!response.isSuccess()) {
+                reportError(response.getMessage("Failed to load active subscriptions"), showAlerts);
                 return null;
             }
 
-            JSONArray activeSubs = responseJson.getJSONArray("data");
-            if (activeSubs.length() > 0) {
-                JSONObject sub = activeSubs.getJSONObject(0);
-                setSubscribedPlanName(sub.optString("planName", "Unknown Plan"));
-                setSubscribedDuration(sub.optString("duration", "Unknown Duration"));
-                setDob(sub.optString("dob", null));
-                setSubscriptionStartDate(sub.optString("startDate", null));
-                setSubscriptionExpiryDate(sub.optString("expiryDate", null));
+            List<ActiveSubscription> activeSubs = response.getDataList(ActiveSubscription.CODEC);
+            if (!activeSubs.isEmpty()) {
+                ActiveSubscription sub = activeSubs.get(0);
+                setSubscribedPlanName(Objects.requireNonNullElse(sub.planName(), "Unknown Plan"));
+                setSubscribedDuration(Objects.requireNonNullElse(sub.duration(), "Unknown Duration"));
+                setDob(sub.dob());
+                setSubscriptionStartDate(sub.startDate());
+                setSubscriptionExpiryDate(sub.expiryDate());
                 setActive(true);
             } else {
                 setSubscribedPlanName(null);
@@ -235,29 +218,18 @@ public class AppContext {
             }
 
             return activeSubs;
-        } catch (Exception e) {
-            if (showAlerts) {
-                Platform.runLater(() -> {
-                    Alert alert = new Alert(Alert.AlertType.ERROR);
-                    alert.setTitle("Error");
-                    alert.setHeaderText(null);
-                    alert.setContentText("Failed to load active subscriptions: " + e.getMessage());
-                    alert.showAndWait();
-                });
-            } else {
-                e.printStackTrace();
-            }
-            return null;
-        }
-    }
-
-    private String sendRequestToServer(String request) throws IOException {
-        try (Socket socket = new Socket("localhost", 8080);
-             PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-            out.println(request);
-            String response = in.readLine();
-            return response != null ? response : "{}";
+        });
+    }
+
+    private void reportError(String message, boolean showAlerts) {
+        if (showAlerts) {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText(message);
+            alert.showAndWait();
+        } else {
+            System.out.println(message);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,377 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.Availability;
+import com.example.padelfrontend.model.PadelCenter;
+import javafx.scene.Node;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory cache of the slots of every padel center by date, as {@code get_availability} returns
+ * them, so that stepping from one date to the next shows the new date without waiting for the
+ * server once it has been {@linkplain #prefetch(LocalDate) prefetched}.
+ * <p>
+ * Loading follows stale-while-revalidate as in {@link CatalogRepository}, and a limited number of
+ * dates are kept, the least recently loaded being evicted first. When the server advertises the
+ * {@code watch} capability, the cache keeps a {@link ChangeFeed} open on the {@code get_availability}
+ * topic and applies the records it pushes to the cached dates. Otherwise every cached date is
+ * invalidated once a request for an action that changes availability ends.
+ * <p>
+ * Servers that do not know {@code get_availability} keep one set of booked slots per center
+ * whatever the date. Once such a server refuses it as an unknown action, the cache derives every
+ * date from the {@link CatalogRepository#PADEL_CENTERS} catalog instead. Any other error fails
+ * only that load, and the next one asks the server again.
+ * <p>
+ * The cache is confined to the JavaFX Application Thread, as {@link CatalogRepository} is.
+ */
+public final class AvailabilityCache {
+
+    /** How dates are sent to the server, as in bookings. */
+    public static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private static final AvailabilityCache instance = new AvailabilityCache(BackendClient.getInstance(),
+            CatalogRepository.getInstance(), Integer.getInteger("padel.availability.maxDates", 14));
+
+    private final BackendClient client;
+    private final CatalogRepository catalogs;
+    private final Map<LocalDate, Entry> entries;
+    private final List<Consumer<LocalDate>> watchers = new ArrayList<>();
+    private final ChangeFeed feed;
+    /** Version of the last change event applied, or -1 before the first. */
+    private long feedVersion = -1;
+    /** Whether the server refused {@code get_availability} as an unknown action, so dates are derived. */
+    private boolean derived;
+
+    /**
+     * @param client   Client used to fetch availability; mutations sent through it invalidate dates.
+     * @param catalogs Repository the padel centers are taken from, and whose changes invalidate dates.
+     * @param maxDates Number of dates above which the least recently loaded are evicted.
+     */
+    AvailabilityCache(BackendClient client, CatalogRepository catalogs, int maxDates) {
+        this.client = client;
+        this.catalogs = catalogs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LocalDate, Entry> eldest) {
+                return size() > maxDates;
+            }
+        };
+        client.addMutationListener(this::invalidate);
+        // Times added to or removed from a center change its slots on every date.
+        catalogs.listen(CatalogRepository.PADEL_CENTERS, change -> invalidateAll());
+        this.feed = client.watch(List.of(Action.GET_AVAILABILITY), this::versions, this::apply);
+    }
+
+    public static AvailabilityCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns whether the change feed is connected, so that bookings made anywhere show up in the
+     * cached dates without reloading them.
+     */
+    public boolean isLive() {
+        return feed != null && feed.isConnected();
+    }
+
+    /**
+     * Registers a listener told of each date whose cached slots changed without being asked for:
+     * through the change feed, or by being invalidated. The listener is removed once {@code page}
+     * leaves its scene.
+     *
+     * @param page     A node of the page showing availability.
+     * @param onChange Receives each changed date; loading it gives the new slots.
+     */
+    public void watch(Node page, Consumer<LocalDate> onChange) {
+        watchers.add(onChange);
+        CatalogRepository.whenLeft(page, () -> watchers.remove(onChange));
+    }
+
+    /**
+     * Loads the slots of every center on a date, handing them to {@code onData} once from the cache
+     * and once more from the server if the cached copy was stale and has changed.
+     * <p>
+     * The returned future completes as for {@link CatalogRepository#load(CatalogRepository.Catalog, Consumer)}.
+     *
+     * @param date   The date to load.
+     * @param onData Receives the slots by center name, in catalog order.
+     * @return A future for the slots.
+     */
+    public CompletableFuture<Map<String, Availability>> load(LocalDate date, Consumer<Map<String, Availability>> onData) {
+        CompletableFuture<Map<String, Availability>> result = new CompletableFuture<>();
+        Entry entry = entries.computeIfAbsent(date, Entry::new);
+        Map<String, Availability> cached = entry.invalidated ? null : entry.value;
+        if (cached != null) {
+            onData.accept(cached);
+            if (!entry.isStale()) {
+                result.complete(cached);
+                return result;
+            }
+        }
+
+        CompletableFuture<Map<String, Availability>> refresh = entry.refresh != null ? entry.refresh : refresh(entry);
+        refresh.whenComplete((slots, error) -> {
+            if (error != null) {
+                if (cached != null) {
+                    result.complete(cached);
+                } else {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+            if (!slots.equals(cached)) {
+                onData.accept(slots);
+            }
+            result.complete(slots);
+        });
+        return result;
+    }
+
+    /**
+     * Fetches a date in the background unless it is cached and current or already being fetched,
+     * so that a later {@link #load(LocalDate, Consumer)} is answered from the cache.
+     */
+    public void prefetch(LocalDate date) {
+        Entry entry = entries.computeIfAbsent(date, Entry::new);
+        if (entry.refresh == null && (entry.value == null || entry.invalidated || entry.isStale())) {
+            refresh(entry).exceptionally(error -> {
+                System.err.println("Failed to prefetch availability for " + date + ": " + BackendClient.describe(error));
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Applies a change the server has accepted to the cached slots of one center on a date, if that
+     * date is cached, so that it shows before the server's copy arrives.
+     */
+    public void update(LocalDate date, String centerName, UnaryOperator<Availability> change) {
+        Entry entry = entries.get(date);
+        if (entry != null && entry.value != null && entry.value.containsKey(centerName)) {
+            Map<String, Availability> slots = new LinkedHashMap<>(entry.value);
+            slots.put(centerName, change.apply(slots.get(centerName)));
+            entry.value = Collections.unmodifiableMap(slots);
+        }
+    }
+
+    /**
+     * Fetches a date and stores it in {@code entry} unless the entry was invalidated, evicted or
+     * brought past the response by a change event in the meantime.
+     */
+    private CompletableFuture<Map<String, Availability>> refresh(Entry entry) {
+        int generation = entry.generation;
+        CompletableFuture<Map<String, Availability>> refresh = new CompletableFuture<>();
+        entry.refresh = refresh;
+        fetch(entry.date).whenComplete((fetched, error) -> {
+            if (entry.refresh == refresh) {
+                entry.refresh = null;
+            }
+            if (error != null) {
+                refresh.completeExceptionally(error);
+                return;
+            }
+            Map<String, Availability> slots = fetched.slots();
+            boolean current = entries.get(entry.date) == entry && entry.generation == generation;
+            if (current && fetched.version() >= 0 && fetched.version() < entry.version) {
+                slots = entry.value;
+            } else if (current) {
+                entry.value = slots;
+                entry.version = fetched.version();
+                entry.fetchedAt = System.nanoTime();
+                entry.invalidated = false;
+            }
+            refresh.complete(slots);
+        });
+        return refresh;
+    }
+
+    /**
+     * Asks the server for the slots on a date, or derives them from the padel center catalog when
+     * the server does not keep them per date.
+     */
+    private CompletableFuture<Fetched> fetch(LocalDate date) {
+        if (derived) {
+            return derive(date);
+        }
+        Request request = Request.of(Action.GET_AVAILABILITY).with("date", date.format(DATE_FORMAT));
+        return client.send(request).thenCompose(response -> {
+            if (response.isUnknownAction()) {
+                System.err.println("Server has no per-date availability, using the padel center catalog: "
+                        + response.getMessage("get_availability failed"));
+                derived = true;
+                return derive(date);
+            }
+            if (!response.isSuccess()) {
+                // A failure the server may recover from; the next load asks it again.
+                return CompletableFuture.failedFuture(new IOException(
+                        response.getMessage("Failed to load availability for " + date.format(DATE_FORMAT))));
+            }
+            return CompletableFuture.completedFuture(new Fetched(
+                    byName(response.getDataList(Availability.CODEC)), response.getVersion()));
+        });
+    }
+
+    private CompletableFuture<Fetched> derive(LocalDate date) {
+        String day = date.format(DATE_FORMAT);
+        return catalogs.load(CatalogRepository.PADEL_CENTERS, centers -> {
+        }).thenApply(centers -> {
+            List<Availability> slots = new ArrayList<>();
+            for (PadelCenter center : centers) {
+                slots.add(Availability.of(center, day));
+            }
+            return new Fetched(byName(slots), -1);
+        });
+    }
+
+    private static Map<String, Availability> byName(List<Availability> slots) {
+        Map<String, Availability> byName = new LinkedHashMap<>();
+        for (Availability availability : slots) {
+            byName.put(availability.name(), availability);
+        }
+        return Collections.unmodifiableMap(byName);
+    }
+
+    /**
+     * Returns the version of the last change event applied, for the change feed to send when it
+     * connects.
+     */
+    private Map<Action, Long> versions() {
+        return feedVersion >= 0 ? Map.of(Action.GET_AVAILABILITY, feedVersion) : Map.of();
+    }
+
+    /**
+     * Applies a change event from the feed: its records replace those of the same center on cached
+     * dates. A date with records removed, or one not fetched yet, is invalidated instead, as is every
+     * date when the event does not follow the last one applied.
+     */
+    private void apply(Response event) {
+        long version = event.getVersion();
+        if (version <= feedVersion) {
+            return;
+        }
+        if (event.getRemovedKeys() != null && event.getSinceVersion() != feedVersion) {
+            feedVersion = version;
+            invalidateAll();
+            return;
+        }
+        feedVersion = version;
+        List<LocalDate> changed = new ArrayList<>();
+        for (Availability availability : event.getDataList(Availability.CODEC)) {
+            LocalDate date = parseDate(availability.date());
+            Entry entry = date != null ? entries.get(date) : null;
+            if (entry == null || entry.invalidated || availability.equals(entry.value == null ? null
+                    : entry.value.get(availability.name()))) {
+                continue;
+            }
+            if (entry.value == null) {
+                invalidate(entry);
+            } else {
+                Map<String, Availability> slots = new LinkedHashMap<>(entry.value);
+                slots.put(availability.name(), availability);
+                entry.value = Collections.unmodifiableMap(slots);
+                entry.version = version;
+            }
+            if (!changed.contains(date)) {
+                changed.add(date);
+            }
+        }
+        if (event.getRemovedKeys() != null) {
+            for (String key : event.getRemovedKeys()) {
+                LocalDate date = parseDate(key.substring(key.lastIndexOf('@') + 1));
+                Entry entry = date != null ? entries.get(date) : null;
+                if (entry != null) {
+                    invalidate(entry);
+                    if (!changed.contains(date)) {
+                        changed.add(date);
+                    }
+                }
+            }
+        }
+        changed.forEach(this::notifyWatchers);
+    }
+
+    private static LocalDate parseDate(String date) {
+        try {
+            return LocalDate.parse(date, DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Invalidates every cached date after a request for {@code mutation} when it may have changed
+     * availability and no change feed will report how.
+     */
+    private void invalidate(Action mutation) {
+        if (mutation.getInvalidatedActions().contains(Action.GET_AVAILABILITY) && !isLive()) {
+            invalidateAll();
+        }
+    }
+
+    private void invalidateAll() {
+        for (Entry entry : List.copyOf(entries.values())) {
+            invalidate(entry);
+            notifyWatchers(entry.date);
+        }
+    }
+
+    /**
+     * Marks a date for fetching on its next load. A fetch already in flight may have been answered
+     * before the change, so the next load starts another one.
+     */
+    private static void invalidate(Entry entry) {
+        entry.invalidated = true;
+        entry.generation++;
+        entry.refresh = null;
+    }
+
+    private void notifyWatchers(LocalDate date) {
+        for (Consumer<LocalDate> watcher : List.copyOf(watchers)) {
+            watcher.accept(date);
+        }
+    }
+
+    /**
+     * The slots on a date as fetched, with the version of the availability records they reflect, or
+     * -1 if the server does not version them.
+     */
+    private record Fetched(Map<String, Availability> slots, long version) {
+    }
+
+    /**
+     * The cached slots on one date, if any, and the fetch in progress for them.
+     */
+    private static final class Entry {
+        private final LocalDate date;
+        private Map<String, Availability> value;
+        /** Version of the last records in {@link #value}, or -1 if the server does not version them. */
+        private long version = -1;
+        private long fetchedAt;
+        private boolean invalidated;
+        /** Counts invalidations, so a fetch can tell whether one happened while it was in flight. */
+        private int generation;
+        private CompletableFuture<Map<String, Availability>> refresh;
+
+        Entry(LocalDate date) {
+            this.date = date;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - fetchedAt >= TIME_TO_LIVE.toNanos();
+        }
+    }
+}
@@ -0,0 +1,584 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.Codec;
+import javafx.application.Platform;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shared client for the newline-delimited JSON protocol spoken by the backend server.
+ * <p>
+ * Connections are taken from a bounded pool. When the server advertises the {@code keep_alive}
+ * capability in its {@code hello} handshake, a connection is returned to the pool after each
+ * exchange and reused by the next request; otherwise the client falls back to one-shot mode
+ * and opens a fresh socket per request, which is what the original C++ server expects. Servers
+ * advertising the {@code cbor} capability are sent binary frames instead of JSON lines; see
+ * {@link WireFormat}.
+ * <p>
+ * When pipelining is enabled in {@link BackendConfig} and the server advertises the
+ * {@code pipelining} capability, requests are instead multiplexed over a single
+ * {@link PipelinedConnection} and matched to their responses by {@code requestId}.
+ * Independently of the transport, read-only requests are coalesced by a {@link RequestBatcher},
+ * and identical deduplicable requests in flight at the same time share a single call through
+ * {@link InFlightRequests}.
+ * <p>
+ * Requests are sent with {@link #send(Request)}, which runs the blocking exchange on a virtual
+ * thread and completes the returned future on the JavaFX Application Thread, so callbacks may
+ * touch the scene graph directly and no network I/O ever runs on the UI thread. Large listings can
+ * instead be requested with {@link #stream(Request, Codec, Consumer)}, which hands their elements
+ * over as they arrive. Servers advertising the {@code watch} capability can also push catalog
+ * changes over a {@link ChangeFeed}.
+ */
+public class BackendClient {
+
+    static final String CAPABILITY_KEEP_ALIVE = "keep_alive";
+    static final String CAPABILITY_PIPELINING = "pipelining";
+    static final String CAPABILITY_BATCH = "batch";
+    static final String CAPABILITY_CBOR = "cbor";
+    static final String CAPABILITY_WATCH = "watch";
+    static final String CAPABILITY_PAGED_HISTORY = "paged_history";
+
+    private static final BackendClient instance =
+            new BackendClient(BackendConfig.fromSystemProperties(), Platform::runLater);
+
+    private final BackendConfig config;
+    private final Executor callbackExecutor;
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+    private volatile Set<String> capabilities;
+    private PipelinedConnection pipeline;
+    private final RequestBatcher batcher;
+    private final InFlightRequests inFlight = new InFlightRequests();
+    private final List<Consumer<Action>> mutationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param config           Connection settings.
+     * @param callbackExecutor Executor on which returned futures are completed; the shared
+     *                         instance uses {@link Platform#runLater}.
+     */
+    BackendClient(BackendConfig config, Executor callbackExecutor) {
+        this.config = config;
+        this.callbackExecutor = callbackExecutor;
+        this.permits = new Semaphore(config.getMaxConnections(), true);
+        if (config.isBatching()) {
+            Executor flushExecutor = config.getBatchWindowMillis() > 0
+                    ? CompletableFuture.delayedExecutor(config.getBatchWindowMillis(), TimeUnit.MILLISECONDS, ioExecutor)
+                    : callbackExecutor;
+            this.batcher = new RequestBatcher(this, flushExecutor, ioExecutor);
+        } else {
+            this.batcher = null;
+        }
+    }
+
+    public static BackendClient getInstance() {
+        return instance;
+    }
+
+    public BackendConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Registers a listener that is told, on the callback executor, whenever a request for an action
+     * that is not {@linkplain Action#isReadOnly() read-only} ends, whether it succeeded, failed or
+     * timed out. It runs before the future returned to the caller completes, so anything the caller
+     * reloads in its callback already sees the listener's effects.
+     */
+    public void addMutationListener(Consumer<Action> listener) {
+        mutationListeners.add(listener);
+    }
+
+    /**
+     * Sends a request asynchronously.
+     * <p>
+     * The returned future completes on the callback executor (the JavaFX Application Thread)
+     * with the server's response, or exceptionally with an {@link IOException} when the server
+     * cannot be reached and a {@link TimeoutException} when the deadline passes. Cancelling the
+     * future, or missing the deadline, interrupts the exchange and closes its connection.
+     * <p>
+     * A request for a {@linkplain Action#isDeduplicable() deduplicable} action that is identical
+     * to one already in flight joins it, and both callers receive the same {@link Response}, which
+     * must therefore be treated as read-only. The deadline and cancellation still apply per caller.
+     *
+     * @param request The request to send.
+     * @return A future for the server's response.
+     */
+    public CompletableFuture<Response> send(Request request) {
+        CompletableFuture<Response> exchange = request.getAction().isDeduplicable()
+                ? inFlight.join(request, this::dispatch)
+                : dispatch(request);
+        return relay(request, exchange, new CompletableFuture<>());
+    }
+
+    /**
+     * Sends a request for a listing and hands the elements of its {@code data} array to
+     * {@code onElements} as they arrive, so a page can render the first entries while the rest are
+     * still on the wire. Elements are decoded one at a time and delivered in order on the callback
+     * executor, grouped into whatever arrived since the previous delivery. The returned future
+     * completes after the last group with the rest of the response, whose {@code data} is absent.
+     * <p>
+     * A streamed request always gets a pooled connection of its own: it is not batched, pipelined
+     * behind other requests or shared with identical calls. Deadlines and cancellation work as for
+     * {@link #send(Request)}, and nothing more is delivered once the returned future is done.
+     *
+     * @param request    The request to send.
+     * @param codec      Codec for the elements of the {@code data} array.
+     * @param onElements Receives each group of newly arrived elements.
+     * @return A future for the server's response.
+     */
+    public <T> CompletableFuture<Response> stream(Request request, Codec<T> codec, Consumer<List<T>> onElements) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        ElementRelay<T> elements = new ElementRelay<>(callbackExecutor, onElements, result);
+        CompletableFuture<Response> exchange = new CompletableFuture<>();
+        Future<?> task = ioExecutor.submit(() -> {
+            try {
+                exchange.complete(execute(request.toJson(), in -> in.readStreaming(codec, elements)));
+            } catch (Throwable e) {
+                exchange.completeExceptionally(e);
+            }
+        });
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return relay(request, exchange, result);
+    }
+
+    /**
+     * Applies the request's deadline to an exchange and completes {@code result} with its outcome
+     * on the callback executor. Cancelling {@code result} cancels the exchange.
+     */
+    private CompletableFuture<Response> relay(Request request, CompletableFuture<Response> exchange,
+                                              CompletableFuture<Response> result) {
+        long timeoutMillis = request.getTimeout() != null
+                ? request.getTimeout().toMillis()
+                : config.getRequestTimeoutMillis();
+        exchange.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        exchange.whenComplete((response, error) -> callbackExecutor.execute(() -> {
+            if (!request.getAction().isReadOnly()) {
+                for (Consumer<Action> listener : mutationListeners) {
+                    listener.accept(request.getAction());
+                }
+            }
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(response);
+            }
+        }));
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<Response> dispatch(Request request) {
+        return batcher != null && request.getAction().isReadOnly()
+                ? batcher.enqueue(request)
+                : exchange(request);
+    }
+
+    /**
+     * Starts a single exchange on the I/O executor. Completing the returned future early, by
+     * cancellation or timeout, interrupts the exchange.
+     */
+    CompletableFuture<Response> exchange(Request request) {
+        CompletableFuture<Response> exchange = new CompletableFuture<>();
+        Future<?> task = ioExecutor.submit(() -> {
+            try {
+                if (config.isPipelining() && supports(CAPABILITY_PIPELINING)) {
+                    CompletableFuture<Response> pipelined = pipeline().submit(request.toJson());
+                    pipelined.whenComplete((response, error) -> {
+                        if (error != null) {
+                            exchange.completeExceptionally(error);
+                        } else {
+                            exchange.complete(response);
+                        }
+                    });
+                    exchange.whenComplete((response, error) -> pipelined.cancel(false));
+                } else {
+                    exchange.complete(execute(request.toJson(), ResponseReader::readResponse));
+                }
+            } catch (Throwable e) {
+                exchange.completeExceptionally(e);
+            }
+        });
+        exchange.whenComplete((response, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return exchange;
+    }
+
+    /**
+     * Returns a user-facing description of a failure reported by a future from {@link #send(Request)}.
+     */
+    public static String describe(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof TimeoutException) {
+            return "The server did not respond in time";
+        }
+        if (cause instanceof CancellationException) {
+            return "Request cancelled";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+    }
+
+    /**
+     * Sends a request and blocks until the server answers. Runs on the I/O executor only.
+     *
+     * @param request The JSON request; must contain an {@code action}.
+     * @param handler Reads the answer from the connection.
+     * @return The parsed response.
+     * @throws IOException If the server cannot be reached, closes without answering or sends a malformed response.
+     */
+    private Response execute(JSONObject request, ResponseHandler handler) throws IOException {
+        boolean keepAlive = supports(CAPABILITY_KEEP_ALIVE);
+        acquirePermit();
+        try {
+            PooledConnection connection = keepAlive ? pollIdleConnection() : null;
+            boolean reused = connection != null;
+            if (connection == null) {
+                connection = openConnection();
+            }
+
+            byte[] message = wireFormat().encode(request);
+            Response response;
+            long received = connection.in.received();
+            try {
+                response = connection.exchange(message, handler);
+            } catch (IOException e) {
+                connection.close();
+                // Only a failure before the first byte of the answer is safe to retry.
+                if (!reused || connection.in.received() != received) {
+                    throw e;
+                }
+                response = null;
+            } catch (JSONException e) {
+                connection.close();
+                throw new IOException("Invalid server response: " + e.getMessage(), e);
+            }
+            if (response == null && reused) {
+                // The server dropped an idle keep-alive socket before reading; retry once on a fresh one.
+                connection.close();
+                connection = openConnection();
+                try {
+                    response = connection.exchange(message, handler);
+                } catch (IOException e) {
+                    connection.close();
+                    throw e;
+                } catch (JSONException e) {
+                    connection.close();
+                    throw new IOException("Invalid server response: " + e.getMessage(), e);
+                }
+            }
+
+            if (response == null) {
+                connection.close();
+                throw new IOException("No response from server");
+            }
+            if (keepAlive) {
+                releaseConnection(connection);
+            } else {
+                connection.close();
+            }
+            return response;
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Returns whether the server advertised the given capability, performing the handshake on first use.
+     * The handshake blocks, so this is for the I/O executor; pages use {@link #capabilities()}.
+     */
+    public boolean supports(String capability) {
+        return negotiateCapabilities().contains(capability);
+    }
+
+    /**
+     * Returns the capabilities the server advertised, performing the handshake on the I/O executor
+     * on first use. The future completes on the callback executor, with no capabilities if the
+     * server cannot be reached.
+     */
+    public CompletableFuture<Set<String>> capabilities() {
+        CompletableFuture<Set<String>> result = new CompletableFuture<>();
+        ioExecutor.execute(() -> {
+            Set<String> negotiated = negotiateCapabilities();
+            callbackExecutor.execute(() -> result.complete(negotiated));
+        });
+        return result;
+    }
+
+    /**
+     * Returns the encoding for requests: binary frames if enabled and supported, JSON lines otherwise.
+     */
+    WireFormat wireFormat() {
+        return config.isBinaryEncoding() && supports(CAPABILITY_CBOR) ? WireFormat.CBOR : WireFormat.JSON;
+    }
+
+    /**
+     * Starts a {@link ChangeFeed} for the given listings, unless disabled in {@link BackendConfig}.
+     * It keeps reconnecting until the client shuts down.
+     *
+     * @param topics   The listings to watch.
+     * @param versions Supplies the version held of each listing, on the callback executor.
+     * @param onEvent  Receives each change event on the callback executor.
+     * @return The feed, or null if change feeds are disabled.
+     */
+    ChangeFeed watch(List<Action> topics, Supplier<Map<Action, Long>> versions, Consumer<Response> onEvent) {
+        if (!config.isChangeFeed()) {
+            return null;
+        }
+        ChangeFeed feed = new ChangeFeed(this, topics, versions, onEvent, callbackExecutor);
+        ioExecutor.submit(feed::run);
+        return feed;
+    }
+
+    /**
+     * Stops the I/O executor and closes all idle pooled connections. Called when the application stops.
+     */
+    public void shutdown() {
+        ioExecutor.shutdownNow();
+        synchronized (this) {
+            if (pipeline != null) {
+                pipeline.close();
+                pipeline = null;
+            }
+        }
+        synchronized (idleConnections) {
+            for (PooledConnection connection : idleConnections) {
+                connection.close();
+            }
+            idleConnections.clear();
+        }
+    }
+
+    /**
+     * Performs the {@code hello} handshake once. Servers that do not know the action (such as the
+     * original C++ backend) answer with an error, which leaves the client in one-shot mode.
+     * A server that cannot be reached is asked again on the next request.
+     */
+    private Set<String> negotiateCapabilities() {
+        Set<String> negotiated = capabilities;
+        if (negotiated != null) {
+            return negotiated;
+        }
+        synchronized (this) {
+            if (capabilities != null) {
+                return capabilities;
+            }
+            PooledConnection connection = null;
+            try {
+                connection = openConnection();
+                JSONObject hello = new JSONObject();
+                hello.put("action", "hello");
+                hello.put("protocol", 1);
+                Response response = connection.exchange(WireFormat.JSON.encode(hello), ResponseReader::readResponse);
+                Set<String> result = new HashSet<>();
+                if (response != null && response.isSuccess()) {
+                    JSONArray advertised = response.getDataObject().optJSONArray("capabilities");
+                    if (advertised != null) {
+                        for (int i = 0; i < advertised.length(); i++) {
+                            result.add(advertised.getString(i));
+                        }
+                    }
+                }
+                capabilities = Collections.unmodifiableSet(result);
+                System.out.println("Backend capabilities: " + capabilities);
+                return capabilities;
+            } catch (IOException | JSONException e) {
+                System.err.println("Backend handshake failed, using one-shot mode: " + e.getMessage());
+                return Collections.emptySet();
+            } finally {
+                if (connection != null) {
+                    connection.close();
+                }
+            }
+        }
+    }
+
+    private void acquirePermit() throws IOException {
+        try {
+            if (!permits.tryAcquire(config.getReadTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a free server connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a server connection");
+        }
+    }
+
+    private PooledConnection pollIdleConnection() {
+        long now = System.currentTimeMillis();
+        synchronized (idleConnections) {
+            PooledConnection connection;
+            while ((connection = idleConnections.pollFirst()) != null) {
+                if (now - connection.lastUsed <= config.getIdleTimeoutMillis() && !connection.socket.isClosed()) {
+                    return connection;
+                }
+                connection.close();
+            }
+        }
+        return null;
+    }
+
+    private void releaseConnection(PooledConnection connection) {
+        connection.lastUsed = System.currentTimeMillis();
+        synchronized (idleConnections) {
+            if (idleConnections.size() < config.getMaxConnections()) {
+                idleConnections.addFirst(connection);
+                return;
+            }
+        }
+        connection.close();
+    }
+
+    /**
+     * Returns the shared pipelined connection, reconnecting if the previous one failed.
+     */
+    private synchronized PipelinedConnection pipeline() throws IOException {
+        if (pipeline == null || !pipeline.isOpen()) {
+            // The reader thread waits on an idle connection indefinitely; deadlines are per request.
+            pipeline = new PipelinedConnection(openSocket(0), wireFormat());
+        }
+        return pipeline;
+    }
+
+    private PooledConnection openConnection() throws IOException {
+        return new PooledConnection(openSocket(config.getReadTimeoutMillis()));
+    }
+
+    Socket openSocket(int readTimeoutMillis) throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(readTimeoutMillis);
+            socket.connect(new InetSocketAddress(config.getHost(), config.getPort()), config.getConnectTimeoutMillis());
+            return socket;
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads one answer from a connection, returning null if the server closed it without answering.
+     */
+    @FunctionalInterface
+    private interface ResponseHandler {
+        Response read(ResponseReader in) throws IOException;
+    }
+
+    /**
+     * Collects streamed elements on the I/O thread and hands them to the callback executor in
+     * groups. A new delivery is scheduled only once the previous one has run, so a fast stream
+     * cannot flood the UI thread with one task per element.
+     */
+    private static final class ElementRelay<T> implements Consumer<T> {
+        private final Executor executor;
+        private final Consumer<List<T>> target;
+        private final CompletableFuture<Response> result;
+        private List<T> group = new ArrayList<>();
+        private boolean scheduled;
+
+        ElementRelay(Executor executor, Consumer<List<T>> target, CompletableFuture<Response> result) {
+            this.executor = executor;
+            this.target = target;
+            this.result = result;
+        }
+
+        @Override
+        public synchronized void accept(T element) {
+            group.add(element);
+            if (!scheduled) {
+                scheduled = true;
+                executor.execute(this::deliver);
+            }
+        }
+
+        private void deliver() {
+            List<T> elements;
+            synchronized (this) {
+                elements = group;
+                group = new ArrayList<>();
+                scheduled = false;
+            }
+            if (!result.isDone()) {
+                target.accept(Collections.unmodifiableList(elements));
+            }
+        }
+    }
+
+    /**
+     * A socket plus its output stream and response reader, kept together so a pooled connection
+     * does not lose buffered bytes between requests.
+     */
+    private static final class PooledConnection {
+        private final Socket socket;
+        private final OutputStream out;
+        private final ResponseReader in;
+        private long lastUsed = System.currentTimeMillis();
+
+        PooledConnection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.out = socket.getOutputStream();
+            this.in = new ResponseReader(socket.getInputStream());
+        }
+
+        /**
+         * Writes an encoded request and reads the answer.
+         */
+        Response exchange(byte[] request, ResponseHandler handler) throws IOException {
+            out.write(request);
+            return handler.read(in);
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing useful to do when closing a broken socket.
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.padelfrontend;
+
+/**
+ * Connection settings for the backend server. All controllers reach the server through
+ * {@link BackendClient}, so host, port and timeouts are configured here and nowhere else.
+ * Values can be overridden with {@code -Dpadel.backend.*} system properties.
+ */
+public final class BackendConfig {
+
+    private final String host;
+    private final int port;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final int maxConnections;
+    private final long idleTimeoutMillis;
+    private final long requestTimeoutMillis;
+    private final boolean pipelining;
+    private final boolean batching;
+    private final long batchWindowMillis;
+    private final boolean binaryEncoding;
+    private final boolean changeFeed;
+
+    public BackendConfig(String host, int port, int connectTimeoutMillis, int readTimeoutMillis,
+                         int maxConnections, long idleTimeoutMillis, long requestTimeoutMillis,
+                         boolean pipelining, boolean batching, long batchWindowMillis,
+                         boolean binaryEncoding, boolean changeFeed) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1");
+        }
+        this.host = host;
+        this.port = port;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.maxConnections = maxConnections;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+        this.pipelining = pipelining;
+        this.batching = batching;
+        this.batchWindowMillis = batchWindowMillis;
+        this.binaryEncoding = binaryEncoding;
+        this.changeFeed = changeFeed;
+    }
+
+    /**
+     * Builds the configuration from system properties, falling back to the local development server.
+     */
+    public static BackendConfig fromSystemProperties() {
+        return new BackendConfig(
+                System.getProperty("padel.backend.host", "localhost"),
+                Integer.getInteger("padel.backend.port", 8080),
+                Integer.getInteger("padel.backend.connectTimeoutMs", 3000),
+                Integer.getInteger("padel.backend.readTimeoutMs", 10000),
+                Integer.getInteger("padel.backend.maxConnections", 4),
+                Long.getLong("padel.backend.idleTimeoutMs", 30000L),
+                Long.getLong("padel.backend.requestTimeoutMs", 15000L),
+                Boolean.getBoolean("padel.backend.pipelining"),
+                Boolean.parseBoolean(System.getProperty("padel.backend.batching", "true")),
+                Long.getLong("padel.backend.batchWindowMs", 0L),
+                Boolean.parseBoolean(System.getProperty("padel.backend.binaryEncoding", "true")),
+                Boolean.parseBoolean(System.getProperty("padel.backend.changeFeed", "true")));
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public int getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    /**
+     * Default deadline for an asynchronous request, from submission to response, when the
+     * request does not set its own.
+     */
+    public long getRequestTimeoutMillis() {
+        return requestTimeoutMillis;
+    }
+
+    /**
+     * Whether to multiplex requests over a single connection when the server supports it.
+     * Off by default; enable with {@code -Dpadel.backend.pipelining=true}.
+     */
+    public boolean isPipelining() {
+        return pipelining;
+    }
+
+    /**
+     * Whether read-only requests issued together are sent as one {@code batch} envelope.
+     * On by default; servers without the {@code batch} capability get them one by one.
+     */
+    public boolean isBatching() {
+        return batching;
+    }
+
+    /**
+     * How long the first queued read waits for others before its batch is sent. Zero, the
+     * default, sends the batch once the current JavaFX pulse has finished.
+     */
+    public long getBatchWindowMillis() {
+        return batchWindowMillis;
+    }
+
+    /**
+     * Whether to exchange messages as binary CBOR frames when the server supports it. On by
+     * default; servers without the {@code cbor} capability get newline-delimited JSON.
+     */
+    public boolean isBinaryEncoding() {
+        return binaryEncoding;
+    }
+
+    /**
+     * Whether to keep a {@code watch} connection open for catalog changes when the server supports
+     * it. On by default; with servers without the {@code watch} capability, cached catalogs are
+     * only brought up to date when a page reloads them.
+     */
+    public boolean isChangeFeed() {
+        return changeFeed;
+    }
+}
@@ -13,7 +13,6 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
@@ -24,14 +23,23 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
 import javafx.util.StringConverter;
-import org.json.JSONArray;
+import com.example.padelfrontend.model.Availability;
+import com.example.padelfrontend.model.DaySlots;
+import com.example.padelfrontend.model.PadelCenter;
+import com.example.padelfrontend.model.SlotSet;
+import com.example.padelfrontend.model.TimeSlot;
 import org.json.JSONObject;
 
 import java.io.*;
-import java.net.Socket;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
 
 /**
  * Controller for the Booking page, handling navigation, date picker, combo box interactions,
@@ -39,7 +47,7 @@ import java.util.stream.Collectors;
  */
 public class BookingController {
 
-    @FXML private VBox placesContainer;
+    @FXML private ListView<PadelCenter> placesList;
     @FXML private Button bookingButton;
     @FXML private Button subscriptionButton;
     @FXML private Button gymButton;
@@ -56,31 +64,25 @@ public class BookingController {
     private boolean isUpdating = false;
     private boolean justSelected = false;
     private ObservableList<PadelCenter> allCenters;
-    private JSONArray allPadelCenters;
-    private long lastUpdateTime = 0;
+    private final PadelCenterIndex padelCenters = new PadelCenterIndex();
+    /** Position of each displayed center in the places list, by center name. */
+    private final Map<String, Integer> placeIndex = new HashMap<>();
+    /** Whether every center is displayed, rather than the one picked with Explore. */
+    private boolean showingAllCenters = true;
+    /** The time searched for with Explore, whose free courts are displayed, or null. */
+    private SlotSearch.Query slotQuery;
+    /** Free slots found by {@link #slotQuery}, by center name, which the cards highlight. */
+    private final Map<String, SlotSet> matchedSlots = new HashMap<>();
+    /** Bookings (true) and cancellations (false) awaiting the server, by center name and date and then time. */
+    private final Map<String, Map<TimeSlot, Boolean>> pendingSlots = new HashMap<>();
+    private CompletableFuture<List<PadelCenter>> pendingPlacesFetch;
+    /** Filters the centers once typing has paused for {@link #DEBOUNCE_DELAY} milliseconds. */
+    private final PauseTransition filterDelay = new PauseTransition(Duration.millis(DEBOUNCE_DELAY));
     private static final long DEBOUNCE_DELAY = 100;
+    private static final int MAX_SUGGESTIONS = 100;
+    private static final int MAX_SLOT_MATCHES = 20;
     private static final String PLACEHOLDER_IMAGE_PATH = "/images/placeholder.png";
 
-    /**
-     * A simple class to represent a padel center.
-     */
-    static class PadelCenter {
-        private final String name;
-
-        public PadelCenter(String name) {
-            this.name = name;
-        }
-
-        public String getName() {
-            return name;
-        }
-
-        @Override
-        public String toString() {
-            return name;
-        }
-    }
-
     @FXML
     public void initialize() {
         bookingButton.getStyleClass().add("active");
@@ -88,9 +90,20 @@ public class BookingController {
         configureDatePicker(datePicker, LocalDate.now());
         setupIcons();
         setupNavbar();
+        // Only the places in view have cells, which are reused for other places as the list scrolls.
+        placesList.setCellFactory(list -> new PlaceCell());
+        placesList.setFocusTraversable(false);
         setupCenterSearchField();
         applyDropdownStyles();
+        padelCenters.setAvailability(datePicker.getValue(), List.of());
         fetchPadelPlaces();
+        loadAvailability();
+        CatalogRepository.getInstance().watch(CatalogRepository.PADEL_CENTERS, placesList, this::applyCenterChange);
+        AvailabilityCache.getInstance().watch(placesList, date -> {
+            if (date.equals(datePicker.getValue())) {
+                loadAvailability();
+            }
+        });
         updateLoginButton();
         addButtonHoverEffects(exploreButton); // Add hover effects to Explore button
     }
@@ -134,36 +147,24 @@ public class BookingController {
         centerSearchField.setConverter(new StringConverter<>() {
             @Override
             public String toString(PadelCenter center) {
-                return center != null ? center.getName() : "";
+                return center != null ? center.name() : "";
             }
 
             @Override
             public PadelCenter fromString(String string) {
                 if (string == null || string.isEmpty()) return null;
                 return allCenters.stream()
-                        .filter(center -> center.getName().equalsIgnoreCase(string))
+                        .filter(center -> center.name().equalsIgnoreCase(string))
                         .findFirst()
                         .orElse(null);
             }
         });
 
+        // Every keystroke restarts the delay, so the filter runs once on the text as it is when typing pauses.
+        filterDelay.setOnFinished(event -> filterSuggestions());
         centerSearchField.getEditor().textProperty().addListener((obs, oldValue, newValue) -> {
             if (isUpdating) return;
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastUpdateTime < DEBOUNCE_DELAY) return;
-            lastUpdateTime = currentTime;
-
-            isUpdating = true;
-            try {
-                if (newValue != null && !newValue.equals(oldValue)) {
-                    updateFilteredItems(newValue);
-                }
-            } catch (IllegalArgumentException e) {
-                System.err.println("Exception in textProperty listener: " + e.getMessage());
-                Platform.runLater(() -> centerSearchField.getEditor().setText(oldValue != null ? oldValue : ""));
-            } finally {
-                isUpdating = false;
-            }
+            filterDelay.playFromStart();
         });
 
         centerSearchField.showingProperty().addListener((obs, wasShowing, isShowing) -> {
@@ -186,7 +187,6 @@ public class BookingController {
                 Platform.runLater(() -> {
                     String currentText = editor.getText();
                     if (currentText != null) {
-                        updateFilteredItems(currentText);
                         if (!isComboBoxOpen && !currentText.isEmpty()) {
                             centerSearchField.show();
                             isComboBoxOpen = true;
@@ -240,7 +240,24 @@ public class BookingController {
     }
 
     /**
-     * Updates the filtered items in the ComboBox based on the input text.
+     * Filters the ComboBox by the text in its editor, once typing has paused.
+     */
+    private void filterSuggestions() {
+        String text = centerSearchField.getEditor().getText();
+        isUpdating = true;
+        try {
+            updateFilteredItems(text);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Exception while filtering centers: " + e.getMessage());
+            Platform.runLater(() -> centerSearchField.getEditor().setText(text != null ? text : ""));
+        } finally {
+            isUpdating = false;
+        }
+    }
+
+    /**
+     * Updates the filtered items in the ComboBox based on the input text, using the index of center
+     * names and locations so that near misses are suggested too.
      */
     private void updateFilteredItems(String filterText) {
         if (filterText == null || filterText.isEmpty()) {
@@ -248,379 +265,496 @@ public class BookingController {
             return;
         }
 
-        String filter = filterText.toLowerCase();
-        ObservableList<PadelCenter> filteredItems = allCenters.stream()
-                .filter(center -> center.getName().toLowerCase().contains(filter))
-                .collect(Collectors.toCollection(FXCollections::observableArrayList));
-        centerSearchField.setItems(filteredItems);
+        centerSearchField.setItems(FXCollections.observableArrayList(padelCenters.find(filterText, MAX_SUGGESTIONS)));
     }
 
     /**
      * Fetches padel places from the server and populates the UI.
      */
     private void fetchPadelPlaces() {
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                JSONObject request = new JSONObject();
-                request.put("action", "get_padel_centers");
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
+        // A newer fetch supersedes one still in flight, so a slow response cannot overwrite fresher data.
+        if (pendingPlacesFetch != null) {
+            pendingPlacesFetch.cancel(true);
+        }
+        // Cached centers are shown at once. Otherwise cards are added as centers arrive, and the
+        // search box and index are filled once all have.
+        List<PadelCenter> streamed = new ArrayList<>();
+        CompletableFuture<List<PadelCenter>> fetch = CatalogRepository.getInstance().load(
+                CatalogRepository.PADEL_CENTERS,
+                centers -> {
+                    showingAllCenters = true;
+                    slotQuery = null;
+                    matchedSlots.clear();
+                    populatePadelCenters(centers);
+                    loadPadelPlaces(centers);
+                },
+                centers -> {
+                    if (streamed.isEmpty()) {
+                        loadPadelPlaces(List.of());
+                    }
+                    streamed.addAll(centers);
+                    centers.forEach(padelCenters::put);
+                    appendPadelPlaces(centers);
+                });
+        pendingPlacesFetch = fetch;
+        fetch.whenComplete((centers, error) -> {
+            if (fetch.isCancelled()) {
+                return;
+            }
+            pendingPlacesFetch = null;
+            if (error != null) {
+                showAlert("Failed to load padel places: " + BackendClient.describe(error), getStage());
+            }
+        });
+    }
 
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                if ("success".equals(status)) {
-                    allPadelCenters = jsonResponse.getJSONArray("data"); // Store raw data
-                    Platform.runLater(() -> {
-                        populatePadelCenters(allPadelCenters);
-                        loadPadelPlaces(allPadelCenters); // Load all places initially
-                    });
-                } else {
-                    throw new Exception(jsonResponse.optString("message", "Failed to fetch padel centers"));
-                }
+    /**
+     * Applies a change pushed by the server, rebuilding only the cards of the centers it affects.
+     */
+    private void applyCenterChange(CatalogRepository.Change<PadelCenter> change) {
+        populatePadelCenters(change.catalog());
+        if (showingAllCenters) {
+            loadPadelPlaces(padelCenters.all());
+            return;
+        }
+        for (String name : change.removedKeys()) {
+            removePlace(name);
+        }
+        for (PadelCenter center : change.changed()) {
+            refreshCard(center.name());
+        }
+    }
 
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> showAlert("Failed to load padel places: " + ex.getMessage(), getStage()));
+    /**
+     * Loads the slots on the selected date, and prefetches the dates on either side of it so that
+     * stepping to them shows their slots at once.
+     */
+    private void loadAvailability() {
+        LocalDate date = datePicker.getValue();
+        if (date == null) {
+            return;
+        }
+        AvailabilityCache availability = AvailabilityCache.getInstance();
+        availability.load(date, slots -> {
+            if (date.equals(datePicker.getValue())) {
+                showAvailability(date, slots);
             }
-        }).start();
+        }).exceptionally(error -> {
+            showAlert("Failed to load availability: " + BackendClient.describe(error), getStage());
+            return null;
+        });
+        availability.prefetch(date.plusDays(1));
+        if (date.isAfter(LocalDate.now())) {
+            availability.prefetch(date.minusDays(1));
+        }
     }
 
     /**
-     * Populates the centerSearchField ComboBox with padel centers.
+     * Shows the slots on a date: every card is rebuilt when the date changed, otherwise only those
+     * of the centers whose slots differ from what is displayed.
      */
-    private void populatePadelCenters(JSONArray centers) {
-        allCenters.clear();
-        for (int i = 0; i < centers.length(); i++) {
-            JSONObject center = centers.getJSONObject(i);
-            String name = center.optString("name", "Unknown Center");
-            allCenters.add(new PadelCenter(name));
+    private void showAvailability(LocalDate date, Map<String, Availability> slots) {
+        if (!date.equals(padelCenters.date())) {
+            padelCenters.setAvailability(date, slots.values());
+            displayCenters();
+            return;
+        }
+        for (Availability availability : slots.values()) {
+            if (padelCenters.putAvailability(availability)) {
+                refreshCard(availability.name());
+            }
         }
-        centerSearchField.setItems(allCenters);
     }
 
     /**
-     * Displays padel places in the UI by creating cards for each place.
+     * Displays every center, the one picked with Explore, or the courts free near the time searched for.
      */
-    private void loadPadelPlaces(JSONArray placesArray) {
-        placesContainer.getChildren().clear();
-        placesContainer.setAlignment(Pos.CENTER);
-
-        for (int i = 0; i < placesArray.length(); i++) {
-            JSONObject place = placesArray.getJSONObject(i);
-            String name = place.optString("name", "Unknown Center");
-            String imagePath = place.optString("image", "");
-            String location = place.optString("location", "Unknown Location");
-            JSONArray times = place.optJSONArray("availableTimes", new JSONArray());
-
-            HBox card = createPadelPlaceCard(name, imagePath, location, times);
-            HBox centeringWrapper = new HBox(card);
-            centeringWrapper.setAlignment(Pos.CENTER);
-            placesContainer.getChildren().add(centeringWrapper);
+    private void displayCenters() {
+        if (slotQuery != null) {
+            showFreeCourts(slotQuery);
+        } else if (centerSearchField.getSelectionModel().getSelectedItem() != null) {
+            onExploreClicked();
+        } else {
+            loadPadelPlaces(padelCenters.all());
         }
     }
 
     /**
-     * Creates a UI card for a padel place with image, details, and available times.
+     * Populates the centerSearchField ComboBox with padel centers and indexes them.
      */
-    private HBox createPadelPlaceCard(String name, String imagePath, String location, JSONArray times) {
-        HBox card = new HBox(20);
-        card.getStyleClass().add("padel-place-card");
-        card.setPadding(new Insets(20));
-        card.setPrefWidth(1100);
-        card.setMaxWidth(1100);
-
-        // Left section with image and details
-        HBox leftSection = new HBox(10);
-        leftSection.setAlignment(Pos.CENTER_LEFT);
-
-        ImageView imageView = createPlaceImage(imagePath);
-        imageView.setFitWidth(120);
-        imageView.setFitHeight(120);
-        Rectangle clip = new Rectangle(120, 120);
-        clip.setArcWidth(20);
-        clip.setArcHeight(20);
-        imageView.setClip(clip);
-
-        VBox details = new VBox(5);
-        Label nameLabel = new Label(name);
-        nameLabel.getStyleClass().add("padel-place-name");
-        nameLabel.setStyle("-fx-font-size: 22px; -fx-font-weight: bold; -fx-text-fill: white;");
-
-        Label locationLabel = new Label(location);
-        locationLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #b0b0b0;");
-
-        String dateText = datePicker.getValue() != null ?
-                datePicker.getValue().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) :
-                "No date selected";
-        Label dateLabel = new Label("Date: " + dateText);
-        dateLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #b0b0b0;");
-
-        details.getChildren().addAll(nameLabel, locationLabel, dateLabel);
-        leftSection.getChildren().addAll(imageView, details);
-
-        // Right section container
-        VBox rightSection = new VBox();
-        rightSection.setAlignment(Pos.TOP_RIGHT);
-        rightSection.setMaxWidth(Double.MAX_VALUE);
-
-        // Time slots grid
-        GridPane timeGrid = new GridPane();
-        timeGrid.setHgap(10);
-        timeGrid.setVgap(10);
-        timeGrid.setAlignment(Pos.TOP_RIGHT);
-
-        // Booked times grid (below available times)
-        GridPane bookedGrid = new GridPane();
-        bookedGrid.setHgap(10);
-        bookedGrid.setVgap(10);
-        bookedGrid.setAlignment(Pos.TOP_RIGHT);
-
-        // Booking panel (hidden by default)
-        StackPane bookingPanelContainer = new StackPane();
-        bookingPanelContainer.setAlignment(Pos.TOP_RIGHT);
-        bookingPanelContainer.setVisible(false);
-        bookingPanelContainer.setManaged(false);
-        bookingPanelContainer.setOpacity(0);
-
-        // Backdrop for depth
-        Rectangle backdrop = new Rectangle(280, 280);
-        backdrop.setFill(Color.color(0, 0, 0, 0.3));
-        backdrop.setArcWidth(30);
-        backdrop.setArcHeight(30);
-
-        // Inner VBox for booking panel content
-        VBox bookingPanel = new VBox(15);
-        bookingPanel.getStyleClass().add("booking-panel");
-        bookingPanel.setPadding(new Insets(20));
-        bookingPanel.setAlignment(Pos.TOP_CENTER);
-        bookingPanel.setPrefWidth(280);
-        bookingPanel.setMinWidth(280);
-        bookingPanel.setMaxWidth(280);
-        bookingPanel.setPrefHeight(280);
-        bookingPanel.setMinHeight(280);
-        bookingPanel.setMaxHeight(320);
-
-        // Booking panel content
-        Label bookingTitle = new Label("Book Your Slot");
-        bookingTitle.getStyleClass().add("booking-title");
-
-        HBox courtInfo = new HBox(8);
-        Label courtIcon = new Label("🏟️");
-        courtIcon.getStyleClass().add("booking-icon");
-        Label courtName = new Label(name);
-        courtName.getStyleClass().add("booking-text");
-        courtName.setWrapText(true);
-        courtName.setMaxWidth(210);
-        courtInfo.getChildren().addAll(courtIcon, courtName);
-        courtInfo.setAlignment(Pos.CENTER);
-
-        HBox timeInfo = new HBox(8);
-        Label timeIcon = new Label("🕒");
-        timeIcon.getStyleClass().add("booking-icon");
-        Label timeLabel = new Label();
-        timeLabel.getStyleClass().add("booking-text");
-        timeInfo.getChildren().addAll(timeIcon, timeLabel);
-        timeInfo.setAlignment(Pos.CENTER);
-
-        HBox dateInfo = new HBox(8);
-        Label dateIcon = new Label("📅");
-        dateIcon.getStyleClass().add("booking-icon");
-        Label dateInfoLabel = new Label(dateText);
-        dateInfoLabel.getStyleClass().add("booking-text");
-        dateInfo.getChildren().addAll(dateIcon, dateInfoLabel);
-        dateInfo.setAlignment(Pos.CENTER);
-
-        HBox buttonContainer = new HBox(10);
-        buttonContainer.setAlignment(Pos.CENTER);
-
-        Button actionButton = new Button("Confirm");
-        actionButton.getStyleClass().add("book-now-button");
-        actionButton.setPrefWidth(120);
-        actionButton.setPrefHeight(36);
-
-        buttonContainer.getChildren().add(actionButton);
-
-        bookingPanel.getChildren().addAll(
-                bookingTitle,
-                new Separator(),
-                courtInfo,
-                timeInfo,
-                dateInfo,
-                new Region(),
-                buttonContainer
-        );
-        VBox.setVgrow(new Region(), Priority.ALWAYS);
-
-        bookingPanelContainer.getChildren().addAll(backdrop, bookingPanel);
-
-        // Track selected time button
-        final Button[] selectedTimeButton = {null};
-        AppContext context = AppContext.getInstance();
-        String memberId = context.isLoggedIn() ? context.getMemberId() : null;
+    private void populatePadelCenters(List<PadelCenter> centers) {
+        allCenters.setAll(centers);
+        padelCenters.setAll(centers);
+        centerSearchField.setItems(allCenters);
+    }
 
-        // Check for booked times
-        JSONObject place = findPlaceByName(name);
-        JSONArray bookedTimes = place != null && place.has("bookedTimes") ? place.getJSONObject("bookedTimes").names() : new JSONArray();
-        int bookedIndex = 0;
-        int bookedColumns = 5;
-
-        if (bookedTimes != null && memberId != null) {
-            for (int j = 0; j < bookedTimes.length(); j++) {
-                String time = bookedTimes.getString(j);
-                String bookedMemberId = place.getJSONObject("bookedTimes").getString(time);
-                if (bookedMemberId.equals(memberId)) {
-                    Button bookedBtn = new Button(time + " (Booked)");
-                    bookedBtn.getStyleClass().add("booked-button");
-                    bookedBtn.setOnAction(e -> {
-                        timeLabel.setText(time);
-                        actionButton.setText("Cancel");
-                        actionButton.getStyleClass().remove("book-now-button");
-                        actionButton.getStyleClass().add("cancel-button");
-
-                        if (selectedTimeButton[0] != null) {
-                            selectedTimeButton[0].getStyleClass().remove("time-button-selected");
-                        }
-                        bookedBtn.getStyleClass().add("time-button-selected");
-                        selectedTimeButton[0] = bookedBtn;
-
-                        if (!bookingPanelContainer.isVisible()) {
-                            bookingPanelContainer.setVisible(true);
-                            bookingPanelContainer.setManaged(true);
-                            bookingPanel.getStyleClass().add("visible-panel");
-                            FadeTransition fadeIn = new FadeTransition(Duration.millis(300), bookingPanelContainer);
-                            fadeIn.setFromValue(0);
-                            fadeIn.setToValue(1);
-                            fadeIn.play();
-                        }
-                    });
+    /**
+     * Displays padel places in the UI. Cards are filled only for the places in view, and only if
+     * what they show changed.
+     */
+    private void loadPadelPlaces(List<PadelCenter> places) {
+        placeIndex.clear();
+        for (int i = 0; i < places.size(); i++) {
+            placeIndex.put(places.get(i).name(), i);
+        }
+        placesList.getItems().setAll(places);
+    }
 
-                    int row = bookedIndex / bookedColumns;
-                    int col = bookedIndex % bookedColumns;
-                    bookedGrid.add(bookedBtn, col, row);
-                    bookedIndex++;
-                }
+    /**
+     * Adds padel places after those already displayed.
+     */
+    private void appendPadelPlaces(List<PadelCenter> places) {
+        ObservableList<PadelCenter> items = placesList.getItems();
+        for (PadelCenter place : places) {
+            Integer index = placeIndex.get(place.name());
+            if (index != null) {
+                items.set(index, place);
+            } else {
+                placeIndex.put(place.name(), items.size());
+                items.add(place);
             }
         }
+    }
 
-        // Available time slots
-        int columns = 5;
-        for (int j = 0; j < times.length(); j++) {
-            String time = times.getString(j);
-            Button timeBtn = new Button(time);
-            timeBtn.getStyleClass().add("time-button");
-
-            timeBtn.setOnAction(e -> {
-                timeLabel.setText(time);
-                actionButton.setText("Confirm");
-                actionButton.getStyleClass().remove("cancel-button");
-                actionButton.getStyleClass().add("book-now-button");
-
-                if (selectedTimeButton[0] == timeBtn) {
-                    FadeTransition fadeOut = new FadeTransition(Duration.millis(200), bookingPanelContainer);
-                    fadeOut.setFromValue(1);
-                    fadeOut.setToValue(0);
-                    fadeOut.setOnFinished(event -> {
-                        bookingPanelContainer.setVisible(false);
-                        bookingPanelContainer.setManaged(false);
-                        bookingPanel.getStyleClass().remove("visible-panel");
-                        timeBtn.getStyleClass().remove("time-button-selected");
-                    });
-                    fadeOut.play();
-                    selectedTimeButton[0] = null;
-                } else {
-                    if (selectedTimeButton[0] != null) {
-                        selectedTimeButton[0].getStyleClass().remove("time-button-selected");
-                    }
-                    timeBtn.getStyleClass().add("time-button-selected");
-                    selectedTimeButton[0] = timeBtn;
-
-                    if (!bookingPanelContainer.isVisible()) {
-                        bookingPanelContainer.setVisible(true);
-                        bookingPanelContainer.setManaged(true);
-                        bookingPanel.getStyleClass().add("visible-panel");
-                        FadeTransition fadeIn = new FadeTransition(Duration.millis(300), bookingPanelContainer);
-                        fadeIn.setFromValue(0);
-                        fadeIn.setToValue(1);
-                        fadeIn.play();
-                    }
-                }
-            });
+    /**
+     * Stops displaying a padel place, if it is displayed.
+     */
+    private void removePlace(String name) {
+        Integer index = placeIndex.remove(name);
+        if (index != null) {
+            placesList.getItems().remove((int) index);
+            for (int i = index; i < placesList.getItems().size(); i++) {
+                placeIndex.put(placesList.getItems().get(i).name(), i);
+            }
+        }
+    }
 
+    /**
+     * Returns everything the card of a padel place shows, so that it is rebuilt only when that changes.
+     */
+    private PlaceCardContent placeCardContent(PadelCenter center) {
+        AppContext context = AppContext.getInstance();
+        String memberId = context.isLoggedIn() ? context.getMemberId() : null;
+        Map<TimeSlot, Boolean> pending = pendingSlots.getOrDefault(slotKey(center.name(), padelCenters.date()), Map.of());
+        return new PlaceCardContent(center, withPendingSlots(padelCenters.slots(center.name()), pending, memberId),
+                Map.copyOf(pending), matchedSlots.getOrDefault(center.name(), SlotSet.EMPTY), memberId,
+                datePicker.getValue());
+    }
+
+    /**
+     * A cell of the places list, showing the card of one padel place with its image, details and
+     * time slots.
+     * <p>
+     * The list only creates cells for the places in view and hands them other places as it scrolls,
+     * so a cell builds the nodes of its card once and refills them for each place. Slot buttons are
+     * kept in pools and reused, and a card whose {@link PlaceCardContent} is unchanged is not
+     * refilled at all, so an open booking panel survives updates to other places.
+     */
+    private final class PlaceCell extends ListCell<PadelCenter> {
+        private static final int SLOT_COLUMNS = 5;
+
+        private final HBox centeringWrapper;
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label locationLabel = new Label();
+        private final Label dateLabel = new Label();
+        private final GridPane timeGrid = new GridPane();
+        private final GridPane bookedGrid = new GridPane();
+        private final StackPane bookingPanelContainer = new StackPane();
+        private final VBox bookingPanel = new VBox(15);
+        private final Label courtName = new Label();
+        private final Label timeLabel = new Label();
+        private final Label dateInfoLabel = new Label();
+        private final Button actionButton = new Button("Confirm");
+        private final List<Button> timeButtons = new ArrayList<>();
+        private final List<Button> bookedButtons = new ArrayList<>();
+        private Button selectedTimeButton;
+        private String imagePath;
+        /** What the card shows, or null while the cell is empty. */
+        private PlaceCardContent shown;
+
+        PlaceCell() {
+            HBox card = new HBox(20);
+            card.getStyleClass().add("padel-place-card");
+            card.setPadding(new Insets(20));
+            card.setPrefWidth(1100);
+            card.setMaxWidth(1100);
+
+            // Left section with image and details
+            HBox leftSection = new HBox(10);
+            leftSection.setAlignment(Pos.CENTER_LEFT);
+
+            imageView.setFitWidth(120);
+            imageView.setFitHeight(120);
+            Rectangle clip = new Rectangle(120, 120);
+            clip.setArcWidth(20);
+            clip.setArcHeight(20);
+            imageView.setClip(clip);
+
+            VBox details = new VBox(5);
+            nameLabel.getStyleClass().add("padel-place-name");
+            nameLabel.setStyle("-fx-font-size: 22px; -fx-font-weight: bold; -fx-text-fill: white;");
+            locationLabel.setStyle("-fx-font-size: 16px; -fx-text-fill: #b0b0b0;");
+            dateLabel.setStyle("-fx-font-size: 14px; -fx-text-fill: #b0b0b0;");
+            details.getChildren().addAll(nameLabel, locationLabel, dateLabel);
+            leftSection.getChildren().addAll(imageView, details);
+
+            // Right section container
+            VBox rightSection = new VBox();
+            rightSection.setAlignment(Pos.TOP_RIGHT);
+            rightSection.setMaxWidth(Double.MAX_VALUE);
+
+            // Time slots grid, with booked times below available times
+            timeGrid.setHgap(10);
+            timeGrid.setVgap(10);
+            timeGrid.setAlignment(Pos.TOP_RIGHT);
+            bookedGrid.setHgap(10);
+            bookedGrid.setVgap(10);
+            bookedGrid.setAlignment(Pos.TOP_RIGHT);
+
+            // Booking panel (hidden by default)
+            bookingPanelContainer.setAlignment(Pos.TOP_RIGHT);
+            bookingPanelContainer.setVisible(false);
+            bookingPanelContainer.setManaged(false);
+            bookingPanelContainer.setOpacity(0);
+
+            // Backdrop for depth
+            Rectangle backdrop = new Rectangle(280, 280);
+            backdrop.setFill(Color.color(0, 0, 0, 0.3));
+            backdrop.setArcWidth(30);
+            backdrop.setArcHeight(30);
+
+            // Inner VBox for booking panel content
+            bookingPanel.getStyleClass().add("booking-panel");
+            bookingPanel.setPadding(new Insets(20));
+            bookingPanel.setAlignment(Pos.TOP_CENTER);
+            bookingPanel.setPrefWidth(280);
+            bookingPanel.setMinWidth(280);
+            bookingPanel.setMaxWidth(280);
+            bookingPanel.setPrefHeight(280);
+            bookingPanel.setMinHeight(280);
+            bookingPanel.setMaxHeight(320);
+
+            // Booking panel content
+            Label bookingTitle = new Label("Book Your Slot");
+            bookingTitle.getStyleClass().add("booking-title");
+
+            HBox courtInfo = new HBox(8);
+            Label courtIcon = new Label("🏟️");
+            courtIcon.getStyleClass().add("booking-icon");
+            courtName.getStyleClass().add("booking-text");
+            courtName.setWrapText(true);
+            courtName.setMaxWidth(210);
+            courtInfo.getChildren().addAll(courtIcon, courtName);
+            courtInfo.setAlignment(Pos.CENTER);
+
+            HBox timeInfo = new HBox(8);
+            Label timeIcon = new Label("🕒");
+            timeIcon.getStyleClass().add("booking-icon");
+            timeLabel.getStyleClass().add("booking-text");
+            timeInfo.getChildren().addAll(timeIcon, timeLabel);
+            timeInfo.setAlignment(Pos.CENTER);
+
+            HBox dateInfo = new HBox(8);
+            Label dateIcon = new Label("📅");
+            dateIcon.getStyleClass().add("booking-icon");
+            dateInfoLabel.getStyleClass().add("booking-text");
+            dateInfo.getChildren().addAll(dateIcon, dateInfoLabel);
+            dateInfo.setAlignment(Pos.CENTER);
+
+            HBox buttonContainer = new HBox(10);
+            buttonContainer.setAlignment(Pos.CENTER);
+            actionButton.getStyleClass().add("book-now-button");
+            actionButton.setPrefWidth(120);
+            actionButton.setPrefHeight(36);
             actionButton.setOnAction(e -> {
-                if (actionButton.getText().equals("Confirm")) {
-                    bookPadelCourt(name, timeLabel.getText(), datePicker.getValue());
-                } else {
-                    cancelPadelCourt(name, timeLabel.getText(), datePicker.getValue());
-                }
-                FadeTransition fadeOut = new FadeTransition(Duration.millis(200), bookingPanelContainer);
-                fadeOut.setFromValue(1);
-                fadeOut.setToValue(0);
-                fadeOut.setOnFinished(event -> {
-                    bookingPanelContainer.setVisible(false);
-                    bookingPanelContainer.setManaged(false);
-                    bookingPanel.getStyleClass().remove("visible-panel");
-                    if (selectedTimeButton[0] != null) {
-                        selectedTimeButton[0].getStyleClass().remove("time-button-selected");
-                        selectedTimeButton[0] = null;
+                if (shown != null) {
+                    String name = shown.center().name();
+                    if (actionButton.getText().equals("Confirm")) {
+                        bookPadelCourt(name, timeLabel.getText(), datePicker.getValue());
+                    } else {
+                        cancelPadelCourt(name, timeLabel.getText(), datePicker.getValue());
                     }
-                });
-                fadeOut.play();
+                }
+                hideBookingPanel(true);
             });
-
-            int row = j / columns;
-            int col = j % columns;
-            timeGrid.add(timeBtn, col, row);
+            buttonContainer.getChildren().add(actionButton);
+
+            bookingPanel.getChildren().addAll(
+                    bookingTitle,
+                    new Separator(),
+                    courtInfo,
+                    timeInfo,
+                    dateInfo,
+                    new Region(),
+                    buttonContainer
+            );
+            bookingPanelContainer.getChildren().addAll(backdrop, bookingPanel);
+
+            rightSection.getChildren().addAll(timeGrid, bookedGrid, bookingPanelContainer);
+
+            // Horizontal content with left section, a spacer pushing the right section to the far
+            // right, and the right section
+            VBox cardContent = new VBox(15);
+            cardContent.setAlignment(Pos.TOP_CENTER);
+            HBox mainContent = new HBox(20);
+            mainContent.setAlignment(Pos.CENTER_LEFT);
+            leftSection.setPrefWidth(500);
+            HBox.setHgrow(leftSection, Priority.NEVER);
+            HBox.setHgrow(rightSection, Priority.ALWAYS);
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            mainContent.getChildren().addAll(leftSection, spacer, rightSection);
+            cardContent.getChildren().add(mainContent);
+            card.getChildren().add(cardContent);
+
+            centeringWrapper = new HBox(card);
+            centeringWrapper.setAlignment(Pos.CENTER);
+            setText(null);
         }
 
-        // Add grids to right section
-        rightSection.getChildren().addAll(timeGrid, bookedGrid, bookingPanelContainer);
-
-        // Main content container
-        VBox cardContent = new VBox(15);
-        cardContent.setAlignment(Pos.TOP_CENTER);
-
-        // Horizontal content with left section and right section
-        HBox mainContent = new HBox(20);
-        mainContent.setAlignment(Pos.CENTER_LEFT);
-
-        // Left section
-        leftSection.setPrefWidth(500);
-        HBox.setHgrow(leftSection, Priority.NEVER);
-
-        // Right section
-        rightSection.setAlignment(Pos.TOP_RIGHT);
-        HBox.setHgrow(rightSection, Priority.ALWAYS);
-        rightSection.setMaxWidth(Double.MAX_VALUE);
-
-        // Spacer to push rightSection to the far right
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
+        @Override
+        protected void updateItem(PadelCenter center, boolean empty) {
+            super.updateItem(center, empty);
+            if (empty || center == null || padelCenters.slots(center.name()) == null) {
+                shown = null;
+                setGraphic(null);
+                return;
+            }
+            PlaceCardContent content = placeCardContent(center);
+            if (!content.equals(shown)) {
+                shown = content;
+                fill(content);
+            }
+            setGraphic(centeringWrapper);
+        }
 
-        mainContent.getChildren().addAll(leftSection, spacer, rightSection);
+        /**
+         * Shows a place in the card, closing its booking panel.
+         */
+        private void fill(PlaceCardContent content) {
+            PadelCenter center = content.center();
+            if (!Objects.equals(imagePath, center.image())) {
+                imagePath = center.image();
+                ImageService.getInstance().show(imageView, imagePath, PLACEHOLDER_IMAGE_PATH, 120, 120);
+            }
+            nameLabel.setText(center.name());
+            locationLabel.setText(center.location() != null ? center.location() : "Unknown Location");
+            String dateText = content.date() != null
+                    ? content.date().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"))
+                    : "No date selected";
+            dateLabel.setText("Date: " + dateText);
+            courtName.setText(center.name());
+            dateInfoLabel.setText(dateText);
+            hideBookingPanel(false);
+
+            // Slots awaiting the server are shown as they will be once it agrees, and cannot be clicked.
+            DaySlots slots = content.slots();
+            List<TimeSlot> booked = content.memberId() != null ? slots.bookedBy(content.memberId()).slots() : List.of();
+            for (int i = 0; i < booked.size(); i++) {
+                TimeSlot slot = booked.get(i);
+                String time = slots.label(slot);
+                boolean pending = content.pending().containsKey(slot);
+                Button bookedBtn = slotButton(bookedButtons, i, bookedGrid);
+                bookedBtn.setText(time + (pending ? " (Booking…)" : " (Booked)"));
+                bookedBtn.getStyleClass().add("booked-button");
+                if (pending) {
+                    bookedBtn.getStyleClass().add("pending-slot");
+                }
+                bookedBtn.setDisable(pending);
+                bookedBtn.setOnAction(e -> select(bookedBtn, time, false));
+            }
+            bookedGrid.getChildren().setAll(bookedButtons.subList(0, booked.size()));
+
+            List<TimeSlot> times = slots.available().slots();
+            for (int i = 0; i < times.size(); i++) {
+                TimeSlot slot = times.get(i);
+                String time = slots.label(slot);
+                boolean pending = content.pending().containsKey(slot);
+                Button timeBtn = slotButton(timeButtons, i, timeGrid);
+                timeBtn.setText(pending ? time + " (Cancelling…)" : time);
+                timeBtn.getStyleClass().add("time-button");
+                if (content.matched().contains(slot)) {
+                    timeBtn.getStyleClass().add("matching-slot");
+                }
+                if (pending) {
+                    timeBtn.getStyleClass().add("pending-slot");
+                }
+                timeBtn.setDisable(pending);
+                timeBtn.setOnAction(e -> select(timeBtn, time, true));
+            }
+            timeGrid.getChildren().setAll(timeButtons.subList(0, times.size()));
+        }
 
-        cardContent.getChildren().add(mainContent);
-        card.getChildren().add(cardContent);
+        /**
+         * Returns the pooled slot button at a position, reset and placed in its grid cell, creating
+         * it if the pool is too small.
+         */
+        private Button slotButton(List<Button> pool, int index, GridPane grid) {
+            if (index == pool.size()) {
+                pool.add(new Button());
+            }
+            Button button = pool.get(index);
+            button.getStyleClass().setAll("button");
+            GridPane.setConstraints(button, index % SLOT_COLUMNS, index / SLOT_COLUMNS);
+            return button;
+        }
 
-        return card;
-    }
+        /**
+         * Selects a slot and opens the booking panel for it. Selecting the selected free slot again
+         * closes the panel.
+         */
+        private void select(Button slotButton, String time, boolean booking) {
+            timeLabel.setText(time);
+            actionButton.setText(booking ? "Confirm" : "Cancel");
+            actionButton.getStyleClass().removeAll("book-now-button", "cancel-button");
+            actionButton.getStyleClass().add(booking ? "book-now-button" : "cancel-button");
+            if (booking && selectedTimeButton == slotButton) {
+                hideBookingPanel(true);
+                return;
+            }
+            if (selectedTimeButton != null) {
+                selectedTimeButton.getStyleClass().remove("time-button-selected");
+            }
+            slotButton.getStyleClass().add("time-button-selected");
+            selectedTimeButton = slotButton;
+
+            if (!bookingPanelContainer.isVisible()) {
+                bookingPanelContainer.setVisible(true);
+                bookingPanelContainer.setManaged(true);
+                bookingPanel.getStyleClass().add("visible-panel");
+                FadeTransition fadeIn = new FadeTransition(Duration.millis(300), bookingPanelContainer);
+                fadeIn.setFromValue(0);
+                fadeIn.setToValue(1);
+                fadeIn.play();
+            }
+        }
 
-    private JSONObject findPlaceByName(String name) {
-        for (int i = 0; i < allPadelCenters.length(); i++) {
-            JSONObject place = allPadelCenters.getJSONObject(i);
-            if (place.optString("name").equals(name)) {
-                return place;
+        /**
+         * Closes the booking panel and clears the selected slot, fading out if asked to.
+         */
+        private void hideBookingPanel(boolean animate) {
+            Button selected = selectedTimeButton;
+            selectedTimeButton = null;
+            Runnable hide = () -> {
+                bookingPanelContainer.setVisible(false);
+                bookingPanelContainer.setManaged(false);
+                bookingPanel.getStyleClass().remove("visible-panel");
+                if (selected != null) {
+                    selected.getStyleClass().remove("time-button-selected");
+                }
+            };
+            if (!animate || !bookingPanelContainer.isVisible()) {
+                bookingPanelContainer.setOpacity(0);
+                hide.run();
+                return;
             }
+            FadeTransition fadeOut = new FadeTransition(Duration.millis(200), bookingPanelContainer);
+            fadeOut.setFromValue(1);
+            fadeOut.setToValue(0);
+            fadeOut.setOnFinished(event -> hide.run());
+            fadeOut.play();
         }
-        return null;
     }
 
     private void cancelPadelCourt(String courtName, String time, LocalDate date) {
@@ -634,60 +768,66 @@ public class BookingController {
             return;
         }
 
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                JSONObject request = new JSONObject();
-                request.put("action", "cancel_padel_booking");
-                JSONObject data = new JSONObject();
-                data.put("courtName", courtName);
-                data.put("time", time);
-                data.put("memberId", context.getMemberId());
-                data.put("date", date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-                request.put("data", data);
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                Platform.runLater(() -> {
-                    if ("success".equals(status)) {
-                        showAlert( "Booking for " + courtName + " at " + time + " on " + date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + " cancelled!", getStage());
-                        fetchPadelPlaces(); // Refresh UI
-                    } else {
-                        showAlert( jsonResponse.optString("message", "Failed to cancel booking"), getStage());
-                    }
-                });
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> showAlert("Failed to cancel booking: " + ex.getMessage(), getStage()));
+        JSONObject data = new JSONObject();
+        data.put("courtName", courtName);
+        data.put("time", time);
+        data.put("memberId", context.getMemberId());
+        data.put("date", date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
+        Request request = Request.of(Action.CANCEL_PADEL_BOOKING).with("data", data);
+        TimeSlot slot = TimeSlot.parse(time);
+        startPending(courtName, slot, date, false);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error == null && response.isSuccess()) {
+                confirmPending(courtName, slot, date, slots -> slots.withoutBooking(time));
+                Toast.show(getStage(), "Booking for " + courtName + " at " + time + " on " + date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + " cancelled!", false);
+            } else {
+                rollBackPending(courtName, slot, date);
+                Toast.show(getStage(), error != null
+                        ? "Failed to cancel booking: " + BackendClient.describe(error)
+                        : response.getMessage("Failed to cancel booking"), true);
             }
-        }).start();
+        });
     }
 
     @FXML
     private void onExploreClicked() {
         PadelCenter selectedCenter = centerSearchField.getSelectionModel().getSelectedItem();
-        if (selectedCenter == null) {
-            loadPadelPlaces(allPadelCenters); // Show all centers if no filter
+        // Text that is not a center but starts with a time, such as "7 PM" or "19:00 Maadi", searches
+        // every center for a court free near that time.
+        slotQuery = selectedCenter == null ? SlotSearch.parseQuery(centerSearchField.getEditor().getText()) : null;
+        showingAllCenters = selectedCenter == null && slotQuery == null;
+        if (slotQuery != null) {
+            showFreeCourts(slotQuery);
+        } else if (selectedCenter == null) {
+            matchedSlots.clear();
+            loadPadelPlaces(padelCenters.all()); // Show all centers if no filter
         } else {
-            JSONArray filteredCenters = new JSONArray();
-            for (int i = 0; i < allPadelCenters.length(); i++) {
-                JSONObject center = allPadelCenters.getJSONObject(i);
-                if (center.getString("name").equals(selectedCenter.getName())) {
-                    filteredCenters.put(center);
-                }
+            matchedSlots.clear();
+            PadelCenter center = padelCenters.get(selectedCenter.name());
+            loadPadelPlaces(center != null ? List.of(center) : List.of()); // Show only the selected center
+        }
+    }
+
+    /**
+     * Displays the centers with a court free nearest to the time searched for on the selected date,
+     * the closest first, with the free slots found highlighted.
+     */
+    private void showFreeCourts(SlotSearch.Query query) {
+        matchedSlots.clear();
+        List<PadelCenter> centers = new ArrayList<>();
+        for (SlotSearch.Match match : padelCenters.search(query, MAX_SLOT_MATCHES)) {
+            SlotSet found = matchedSlots.get(match.centerName());
+            if (found == null) {
+                centers.add(padelCenters.get(match.centerName()));
+                found = SlotSet.EMPTY;
             }
-            loadPadelPlaces(filteredCenters); // Show only the selected center
+            matchedSlots.put(match.centerName(), found.with(match.slot()));
+        }
+        loadPadelPlaces(centers);
+        if (centers.isEmpty()) {
+            LocalDate date = datePicker.getValue();
+            Toast.show(getStage(), "No free court" + (query.location() != null ? " in " + query.location() : "")
+                    + (date != null ? " on " + date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) : "") + ".", false);
         }
     }
 
@@ -702,91 +842,101 @@ public class BookingController {
             return;
         }
 
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                JSONObject request = new JSONObject();
-                request.put("action", "book_padel_court");
-                JSONObject data = new JSONObject();
-                data.put("courtName", courtName);
-                data.put("time", time);
-                data.put("memberId", context.getMemberId());
-                data.put("memberName", context.getFirstName());
-                data.put("date", date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
-                request.put("data", data);
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
+        JSONObject data = new JSONObject();
+        data.put("courtName", courtName);
+        data.put("time", time);
+        data.put("memberId", context.getMemberId());
+        data.put("memberName", context.getFirstName());
+        data.put("date", date.format(DateTimeFormatter.ofPattern("dd-MM-yyyy")));
+        Request request = Request.of(Action.BOOK_PADEL_COURT).with("data", data);
+        String memberId = context.getMemberId();
+        TimeSlot slot = TimeSlot.parse(time);
+        startPending(courtName, slot, date, true);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error == null && response.isSuccess()) {
+                confirmPending(courtName, slot, date, slots -> slots.withBooking(time, memberId));
+                Toast.show(getStage(), "Court " + courtName + " booked for " + time + " on " + date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + "!", false);
+            } else {
+                rollBackPending(courtName, slot, date);
+                Toast.show(getStage(), error != null
+                        ? "Failed to book court: " + BackendClient.describe(error)
+                        : response.getMessage("Failed to book court"), true);
+            }
+        });
+    }
 
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                Platform.runLater(() -> {
-                    if ("success".equals(status)) {
-                        showAlert("Court " + courtName + " booked for " + time + " on " + date.format(DateTimeFormatter.ofPattern("dd/MM/yyyy")) + "!", getStage());
-                        fetchPadelPlaces(); // Refresh UI, closing all panels
-                    } else {
-                        showAlert( jsonResponse.optString("message", "Failed to book court"), getStage());
-                    }
-                });
+    /**
+     * Shows a booking or cancellation as done before the server has answered, by rebuilding the
+     * center's card with the slot pending.
+     */
+    private void startPending(String courtName, TimeSlot slot, LocalDate date, boolean booking) {
+        pendingSlots.computeIfAbsent(slotKey(courtName, date), key -> new HashMap<>()).put(slot, booking);
+        refreshCard(courtName);
+    }
 
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> showAlert("Failed to book court: " + ex.getMessage(), getStage()));
-            }
-        }).start();
+    /**
+     * Records a booking or cancellation the server accepted. Its change is applied to the known
+     * slots until the server's copy arrives: through the change feed when it is live, or otherwise
+     * by the availability cache telling this page to reload the date.
+     */
+    private void confirmPending(String courtName, TimeSlot slot, LocalDate date, UnaryOperator<Availability> change) {
+        endPending(courtName, slot, date);
+        AvailabilityCache.getInstance().update(date, courtName, change);
+        Availability slots = padelCenters.availability(courtName);
+        if (slots != null && date.equals(padelCenters.date())) {
+            padelCenters.putAvailability(change.apply(slots));
+        }
+        refreshCard(courtName);
     }
 
     /**
-     * Creates an image view for a padel place card using a classpath resource.
-     *
-     * @param imagePath The path to the image resource (e.g., /images/padel_center.jpg).
-     * @return An ImageView with the loaded image or a fallback.
+     * Undoes a booking or cancellation the server rejected, showing the slots as last received.
      */
-    private ImageView createPlaceImage(String imagePath) {
-        Image image;
-        try {
-            if (imagePath == null || imagePath.trim().isEmpty() || !imagePath.startsWith("/images/")) {
-                System.err.println("Invalid image path: '" + imagePath + "', using placeholder.");
-                image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
-            } else {
-                System.out.println("Loading image: " + imagePath);
-                image = loadResourceImage(imagePath);
+    private void rollBackPending(String courtName, TimeSlot slot, LocalDate date) {
+        endPending(courtName, slot, date);
+        refreshCard(courtName);
+    }
+
+    private void endPending(String courtName, TimeSlot slot, LocalDate date) {
+        String key = slotKey(courtName, date);
+        Map<TimeSlot, Boolean> pending = pendingSlots.get(key);
+        if (pending != null) {
+            pending.remove(slot);
+            if (pending.isEmpty()) {
+                pendingSlots.remove(key);
             }
-        } catch (Exception e) {
-            System.err.println("Failed to load image: '" + imagePath + "', using placeholder. Error: " + e.getMessage());
-            image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
         }
+    }
 
-        return new ImageView(image);
+    private static String slotKey(String courtName, LocalDate date) {
+        return courtName + "@" + date;
     }
 
     /**
-     * Loads an image from a classpath resource, falling back to a transparent image if loading fails.
-     *
-     * @param resourcePath The classpath resource path (e.g., /images/padel_center.jpg).
-     * @return The loaded Image or a transparent 1x1 image.
+     * Returns the slots of a center as they will be once its pending bookings and cancellations go through.
      */
-    private Image loadResourceImage(String resourcePath) {
-        try {
-            InputStream stream = getClass().getResourceAsStream(resourcePath);
-            if (stream == null) {
-                throw new IOException("Resource not found: " + resourcePath);
-            }
-            Image image = new Image(stream);
-            if (image.isError()) {
-                throw new IOException("Image failed to load: " + resourcePath);
-            }
-            return image;
-        } catch (Exception e) {
-            System.err.println("Failed to load resource: '" + resourcePath + "'. Error: " + e.getMessage());
-            return new Image("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+    private static DaySlots withPendingSlots(DaySlots slots, Map<TimeSlot, Boolean> pending, String memberId) {
+        for (Map.Entry<TimeSlot, Boolean> slot : pending.entrySet()) {
+            slots = slot.getValue() ? slots.withBooking(slot.getKey(), memberId) : slots.withoutBooking(slot.getKey());
+        }
+        return slots;
+    }
+
+    /**
+     * Refills the card of a center from the known catalog and slots, if it is displayed and in
+     * view and what it shows changed.
+     */
+    private void refreshCard(String courtName) {
+        Integer index = placeIndex.get(courtName);
+        PadelCenter center = padelCenters.get(courtName);
+        if (index == null) {
+            return;
+        }
+        if (center == null) {
+            removePlace(courtName);
+        } else {
+            // Replacing the item updates the cell showing it, if any, which compares what it shows.
+            placesList.getItems().set(index, center);
         }
     }
 
@@ -800,11 +950,8 @@ public class BookingController {
                 datePicker.setValue(today);
             }
             Platform.runLater(() -> {
-                if (centerSearchField.getSelectionModel().getSelectedItem() != null) {
-                    onExploreClicked();
-                } else {
-                    loadPadelPlaces(allPadelCenters);
-                }
+                // Cards are rebuilt once the slots on the new date are loaded, at once if prefetched.
+                loadAvailability();
                 // Update open booking panel's date label
                 if (currentOpenPanel != null) {
                     for (Node node : currentOpenPanel.getChildren()) {
@@ -1003,7 +1150,7 @@ public class BookingController {
             FXMLLoader loader = new FXMLLoader(getClass().getResource(fxmlFile));
             Parent newPage = loader.load();
 
-            Scene currentScene = placesContainer.getScene();
+            Scene currentScene = placesList.getScene();
             Parent currentPage = currentScene.getRoot();
 
             StackPane transitionPane = new StackPane(currentPage, newPage);
@@ -1100,4 +1247,13 @@ public class BookingController {
     private Stage getStage() {
         return (Stage) datePicker.getScene().getWindow();
     }
-}
\ No newline at end of file
+
+    /**
+     * What the card of a padel place shows: the center, its slots with pending bookings and
+     * cancellations applied, which of them are pending or match the time searched for, who is
+     * looking, and the date.
+     */
+    private record PlaceCardContent(PadelCenter center, DaySlots slots, Map<TimeSlot, Boolean> pending,
+                                    SlotSet matched, String memberId, LocalDate date) {
+    }
+}
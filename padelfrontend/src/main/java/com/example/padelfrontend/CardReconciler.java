@@ -0,0 +1,246 @@
+package com.example.padelfrontend;
+
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps the cards of a container in step with a list of entities, by key.
+ * <p>
+ * Each card remembers the content it was built from: a value holding everything the card shows,
+ * which may include more than the entity, such as a pending action. When a new list is shown, a
+ * card whose content is unchanged is kept as it is, so a hover animation or anything else under
+ * way in it survives, and only cards that are new or whose content changed are built. The
+ * container's children are then patched in place, removing, inserting or moving only the cards
+ * that need it rather than clearing it, so the scroll position holds and refreshing after one
+ * booking touches one card.
+ * <p>
+ * The reconciler owns the container's children. It must be used on the JavaFX Application Thread.
+ *
+ * @param <T> The type of entities.
+ * @param <N> The type of cards.
+ */
+final class CardReconciler<T, N extends Node> {
+
+    private final Pane container;
+    private final Function<? super T, String> key;
+    private final Function<? super T, ?> content;
+    private final Function<? super T, ? extends N> create;
+    /** Displayed cards by key, in display order. */
+    private Map<String, Card<T, N>> cards = new LinkedHashMap<>();
+
+    /**
+     * @param container The container whose children are the cards.
+     * @param key       Identifies the entity a card is for.
+     * @param content   Returns what a card shows of an entity; a card is rebuilt when this changes.
+     * @param create    Builds the card of an entity.
+     */
+    CardReconciler(Pane container, Function<? super T, String> key, Function<? super T, ?> content,
+                   Function<? super T, ? extends N> create) {
+        this.container = container;
+        this.key = key;
+        this.content = content;
+        this.create = create;
+    }
+
+    /**
+     * Displays the cards of the given entities, in order, reusing those whose content is unchanged.
+     */
+    void show(List<? extends T> items) {
+        Map<String, Card<T, N>> next = new LinkedHashMap<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (T item : items) {
+            String itemKey = key.apply(item);
+            // Entities sharing a key are told apart by their position among them.
+            int occurrence = occurrences.merge(itemKey, 1, Integer::sum) - 1;
+            if (occurrence > 0) {
+                itemKey += "#" + occurrence;
+            }
+            Card<T, N> card = render(itemKey, item, cards.get(itemKey));
+            if (card != null) {
+                next.put(itemKey, card);
+            }
+        }
+        cards = next;
+        patchChildren();
+    }
+
+    /**
+     * Adds the cards of the given entities after those displayed, or updates those already displayed.
+     */
+    void append(List<? extends T> items) {
+        boolean added = false;
+        for (T item : items) {
+            String itemKey = key.apply(item);
+            Card<T, N> previous = cards.get(itemKey);
+            Card<T, N> card = render(itemKey, item, previous);
+            if (card != null) {
+                cards.put(itemKey, card);
+                added |= previous == null || card.node != previous.node;
+            }
+        }
+        if (added) {
+            patchChildren();
+        }
+    }
+
+    /**
+     * Rebuilds the card of an entity if it is displayed and its content changed.
+     *
+     * @return Whether the entity is displayed.
+     */
+    boolean refresh(T item) {
+        String itemKey = key.apply(item);
+        Card<T, N> previous = cards.get(itemKey);
+        if (previous == null) {
+            return false;
+        }
+        Card<T, N> card = render(itemKey, item, previous);
+        if (card == null) {
+            remove(itemKey);
+        } else if (card.node != previous.node) {
+            cards.put(itemKey, card);
+            ObservableList<Node> children = container.getChildren();
+            int index = children.indexOf(previous.node);
+            if (index >= 0) {
+                children.set(index, card.node);
+            } else {
+                patchChildren();
+            }
+        } else {
+            cards.put(itemKey, card);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the card of an entity, if it is displayed.
+     */
+    void remove(String itemKey) {
+        Card<T, N> card = cards.remove(itemKey);
+        if (card != null) {
+            container.getChildren().remove(card.node);
+        }
+    }
+
+    boolean contains(String itemKey) {
+        return cards.containsKey(itemKey);
+    }
+
+    /**
+     * Returns the entity a displayed card was built from, or {@code null} if it is not displayed.
+     */
+    T item(String itemKey) {
+        Card<T, N> card = cards.get(itemKey);
+        return card != null ? card.item : null;
+    }
+
+    int size() {
+        return cards.size();
+    }
+
+    /**
+     * Returns the card to display for an entity: the previous one if its content is unchanged, or
+     * else a new one, or {@code null} if it cannot be built.
+     */
+    private Card<T, N> render(String itemKey, T item, Card<T, N> previous) {
+        Object itemContent = content.apply(item);
+        if (previous != null && Objects.equals(previous.content, itemContent)) {
+            return new Card<>(item, itemContent, previous.node);
+        }
+        try {
+            return new Card<>(item, itemContent, create.apply(item));
+        } catch (RuntimeException e) {
+            System.err.println("Failed to render card " + itemKey + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Makes the container's children the displayed cards, in order, with as few changes as it can.
+     * Cards no longer displayed are removed, and of the cards already there, the longest run that
+     * is already in the right relative order stays put; only the others are moved, and new cards
+     * are inserted where they belong.
+     */
+    private void patchChildren() {
+        ObservableList<Node> children = container.getChildren();
+        Map<Node, Integer> position = new IdentityHashMap<>();
+        for (Card<T, N> card : cards.values()) {
+            position.put(card.node, -1);
+        }
+        children.removeIf(node -> !position.containsKey(node));
+        for (int i = 0; i < children.size(); i++) {
+            position.put(children.get(i), i);
+        }
+
+        List<N> wanted = new ArrayList<>(cards.size());
+        List<Integer> current = new ArrayList<>();
+        for (Card<T, N> card : cards.values()) {
+            wanted.add(card.node);
+            int index = position.get(card.node);
+            if (index >= 0) {
+                current.add(index);
+            }
+        }
+        Set<Node> stay = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int index : longestIncreasingRun(current)) {
+            stay.add(children.get(index));
+        }
+        if (stay.size() < children.size()) {
+            children.removeIf(node -> !stay.contains(node));
+        }
+        for (int i = 0; i < wanted.size(); i++) {
+            N node = wanted.get(i);
+            if (!stay.contains(node)) {
+                children.add(i, node);
+            }
+        }
+    }
+
+    /**
+     * Returns a longest increasing subsequence of the values.
+     */
+    private static List<Integer> longestIncreasingRun(List<Integer> values) {
+        // tails[k] is the position of the smallest value ending an increasing run of length k + 1.
+        int[] tails = new int[values.size()];
+        int[] previous = new int[values.size()];
+        int length = 0;
+        for (int i = 0; i < values.size(); i++) {
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (values.get(tails[mid]) < values.get(i)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            length = Math.max(length, low + 1);
+        }
+        Integer[] run = new Integer[length];
+        for (int i = length - 1, at = length > 0 ? tails[length - 1] : -1; i >= 0; i--, at = previous[at]) {
+            run[i] = values.get(at);
+        }
+        return List.of(run);
+    }
+
+    /**
+     * A displayed card and what it was built from.
+     */
+    private record Card<T, N>(T item, Object content, N node) {
+    }
+}
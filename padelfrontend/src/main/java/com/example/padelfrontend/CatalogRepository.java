@@ -0,0 +1,449 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.model.GymClass;
+import com.example.padelfrontend.model.PadelCenter;
+import com.example.padelfrontend.model.SubscriptionPlan;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * In-memory cache for the catalogs shown on several pages: padel centers, gym classes and
+ * subscription plans.
+ * <p>
+ * Loading follows stale-while-revalidate. A cached copy is handed to the page at once, and if it is
+ * older than the catalog's time to live a refresh is started in the background; the page is handed
+ * the new copy when it arrives and differs. Pages loading the same catalog at the same time share
+ * one refresh.
+ * <p>
+ * When the server versions a catalog, a refresh sends the version of the cached copy as
+ * {@code sinceVersion} and the server may answer with only the entities added, changed or removed
+ * since then, which are merged into the cached copy by their key. Servers that do not version
+ * catalogs always send the complete listing.
+ * <p>
+ * Once the catalogs together hold more than a set number of elements, the least recently loaded
+ * ones are evicted. An entry is invalidated as soon as a request for an action that
+ * {@linkplain Action#getInvalidatedActions() invalidates} it ends, so after a booking or an edit the
+ * next load waits for the server instead of showing what the change made out of date; the copy is
+ * kept only as the base for a delta.
+ * <p>
+ * When the server advertises the {@code watch} capability, the repository also keeps a
+ * {@link ChangeFeed} open and applies the change events it pushes, so cached catalogs follow
+ * bookings and edits made on other clients as they happen. An event that cannot be applied, because
+ * it starts from a version other than the cached one, leads to a fetch of the missing delta. Pages
+ * {@linkplain #watch(Catalog, Node, Consumer) watch} a catalog to patch what they show from the
+ * changed elements instead of reloading it.
+ * <p>
+ * The repository is confined to the JavaFX Application Thread: it must be called there, and
+ * completes its futures and runs its callbacks there.
+ */
+public final class CatalogRepository {
+
+    public static final Catalog<PadelCenter> PADEL_CENTERS = new Catalog<>(
+            Action.GET_PADEL_CENTERS, PadelCenter.CODEC, PadelCenter::name, Duration.ofMinutes(1));
+    public static final Catalog<GymClass> GYM_CLASSES = new Catalog<>(
+            Action.GET_CLASSES, GymClass.CODEC, GymClass::name, Duration.ofSeconds(30));
+    public static final Catalog<SubscriptionPlan> SUBSCRIPTION_PLANS = new Catalog<>(
+            Action.GET_SUBSCRIPTION_PLANS, SubscriptionPlan.CODEC, SubscriptionPlan::name, Duration.ofMinutes(15));
+
+    private static final List<Catalog<?>> CATALOGS = List.of(PADEL_CENTERS, GYM_CLASSES, SUBSCRIPTION_PLANS);
+
+    private static final CatalogRepository instance = new CatalogRepository(BackendClient.getInstance(),
+            Integer.getInteger("padel.catalog.maxElements", 10_000));
+
+    private final BackendClient client;
+    private final int maxElements;
+    private final Map<Action, Entry<?>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Action, List<Consumer<?>>> watchers = new HashMap<>();
+    private final ChangeFeed feed;
+    private int cachedElements;
+
+    /**
+     * @param client      Client used to fetch catalogs; mutations sent through it invalidate entries.
+     * @param maxElements Number of cached elements above which least recently loaded catalogs are evicted.
+     */
+    CatalogRepository(BackendClient client, int maxElements) {
+        this.client = client;
+        this.maxElements = maxElements;
+        client.addMutationListener(this::invalidate);
+        List<Action> topics = new ArrayList<>();
+        for (Catalog<?> catalog : CATALOGS) {
+            topics.add(catalog.action());
+        }
+        this.feed = client.watch(topics, this::versions, this::apply);
+    }
+
+    public static CatalogRepository getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns whether the change feed is connected, so that the effect of a booking shows up in the
+     * catalogs, and on the pages watching them, without reloading.
+     */
+    public boolean isLive() {
+        return feed != null && feed.isConnected();
+    }
+
+    /**
+     * Registers a listener told of each change to a cached catalog that arrives without being asked
+     * for: through the change feed, or a fetch catching up with it. Changes to a catalog that nothing
+     * has loaded yet are not reported. The listener is removed once {@code page} leaves its scene.
+     *
+     * @param catalog  The catalog to watch.
+     * @param page     A node of the page showing the catalog.
+     * @param onChange Receives each change.
+     */
+    public <T> void watch(Catalog<T> catalog, Node page, Consumer<Change<T>> onChange) {
+        whenLeft(page, listen(catalog, onChange));
+    }
+
+    /**
+     * Registers a listener as {@link #watch(Catalog, Node, Consumer)} does, for as long as the
+     * returned action has not been run.
+     */
+    <T> Runnable listen(Catalog<T> catalog, Consumer<Change<T>> onChange) {
+        List<Consumer<?>> listeners = watchers.computeIfAbsent(catalog.action(), action -> new ArrayList<>());
+        listeners.add(onChange);
+        return () -> listeners.remove(onChange);
+    }
+
+    /**
+     * Runs {@code onLeave} once when a page that has been shown leaves its scene, which is how
+     * navigation replaces it.
+     */
+    static void whenLeft(Node page, Runnable onLeave) {
+        page.sceneProperty().addListener(new ChangeListener<>() {
+            @Override
+            public void changed(ObservableValue<? extends Scene> observable, Scene previous, Scene scene) {
+                if (previous != null && scene == null) {
+                    onLeave.run();
+                    observable.removeListener(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Loads a catalog, handing it to {@code onData} once from the cache and once more from the
+     * server if the cached copy was stale and has changed.
+     * <p>
+     * The returned future completes with the last list handed over once it is current. It completes
+     * exceptionally only if nothing could be handed over at all: when a refresh fails, the page
+     * simply keeps the stale copy. Cancelling it stops further deliveries to this caller; the
+     * refresh itself still runs and updates the cache.
+     *
+     * @param catalog The catalog to load.
+     * @param onData  Receives the catalog.
+     * @return A future for the catalog.
+     */
+    public <T> CompletableFuture<List<T>> load(Catalog<T> catalog, Consumer<List<T>> onData) {
+        return load(catalog, onData, null);
+    }
+
+    /**
+     * Loads a catalog as {@link #load(Catalog, Consumer)} does. When nothing is cached and no other
+     * page is already waiting for it, the catalog is streamed and its elements are also handed to
+     * {@code onElements} as they arrive, before {@code onData} receives the complete list.
+     *
+     * @param catalog    The catalog to load.
+     * @param onData     Receives the catalog.
+     * @param onElements Receives groups of elements of a streamed catalog, or {@code null}.
+     * @return A future for the catalog.
+     */
+    public <T> CompletableFuture<List<T>> load(Catalog<T> catalog, Consumer<List<T>> onData,
+                                               Consumer<List<T>> onElements) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        Entry<T> entry = entry(catalog);
+        List<T> cached = entry.invalidated ? null : entry.value;
+        if (cached != null) {
+            onData.accept(cached);
+            if (!entry.isStale()) {
+                result.complete(cached);
+                return result;
+            }
+        }
+
+        CompletableFuture<List<T>> refresh = entry.refresh;
+        if (refresh == null) {
+            refresh = refresh(entry, entry.value == null ? onElements : null, result);
+        }
+        refresh.whenComplete((list, error) -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (error != null) {
+                if (cached != null) {
+                    result.complete(cached);
+                } else {
+                    result.completeExceptionally(error);
+                }
+                return;
+            }
+            if (!list.equals(cached)) {
+                onData.accept(list);
+            }
+            result.complete(list);
+        });
+        return result;
+    }
+
+    /**
+     * Fetches a catalog from the server, as a delta against the cached copy when the server
+     * versions it, and stores it in {@code entry} unless the entry was invalidated or evicted in the
+     * meantime. Elements of a streamed fetch are passed to {@code onElements} for as long as
+     * {@code caller} is not done.
+     */
+    private <T> CompletableFuture<List<T>> refresh(Entry<T> entry, Consumer<List<T>> onElements,
+                                                   CompletableFuture<List<T>> caller) {
+        Catalog<T> catalog = entry.catalog;
+        List<T> base = entry.value;
+        long baseVersion = entry.version;
+        int generation = entry.generation;
+        Request request = Request.of(catalog.action());
+        if (base != null && baseVersion >= 0) {
+            request = request.with("sinceVersion", baseVersion);
+        }
+
+        List<T> received = new ArrayList<>();
+        CompletableFuture<Response> fetch = onElements == null
+                ? client.send(request)
+                : client.stream(request, catalog.codec(), elements -> {
+                    received.addAll(elements);
+                    if (!caller.isDone()) {
+                        onElements.accept(elements);
+                    }
+                });
+        CompletableFuture<List<T>> refresh = new CompletableFuture<>();
+        entry.refresh = refresh;
+        fetch.whenComplete((response, error) -> {
+            if (entry.refresh == refresh) {
+                entry.refresh = null;
+            }
+            if (error != null) {
+                refresh.completeExceptionally(error);
+                return;
+            }
+            if (!response.isSuccess()) {
+                refresh.completeExceptionally(new IOException(
+                        response.getMessage("Failed to load " + catalog.action().getWireName())));
+                return;
+            }
+            List<T> list = onElements == null
+                    ? response.getDataList(catalog.codec())
+                    : List.copyOf(received);
+            if (response.getRemovedKeys() != null && base != null) {
+                list = merge(catalog, base, list, response.getRemovedKeys());
+            }
+            boolean current = entries.get(catalog.action()) == entry && entry.generation == generation;
+            if (current && response.getVersion() >= 0 && response.getVersion() < entry.version) {
+                // A change event brought the cached copy past this response while it was in flight.
+                list = entry.value;
+            } else if (current) {
+                store(entry, list, response.getVersion());
+            }
+            refresh.complete(list);
+        });
+        return refresh;
+    }
+
+    /**
+     * Applies a delta to a cached copy. Changed entities keep their position, added ones are
+     * appended in the order the server sent them.
+     */
+    private static <T> List<T> merge(Catalog<T> catalog, List<T> base, List<T> changed, List<String> removedKeys) {
+        Map<String, T> merged = new LinkedHashMap<>();
+        for (T item : base) {
+            merged.put(catalog.key().apply(item), item);
+        }
+        merged.keySet().removeAll(removedKeys);
+        for (T item : changed) {
+            merged.put(catalog.key().apply(item), item);
+        }
+        return List.copyOf(merged.values());
+    }
+
+    /**
+     * Returns the versions of the cached catalogs the server versions, for the change feed to send
+     * when it connects.
+     */
+    private Map<Action, Long> versions() {
+        Map<Action, Long> versions = new HashMap<>();
+        for (Entry<?> entry : entries.values()) {
+            if (entry.value != null && entry.version >= 0) {
+                versions.put(entry.catalog.action(), entry.version);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Applies a change event from the feed to the catalog it names.
+     */
+    private void apply(Response event) {
+        for (Catalog<?> catalog : CATALOGS) {
+            if (catalog.action().getWireName().equals(event.getTopic())) {
+                apply(catalog, event);
+            }
+        }
+    }
+
+    private <T> void apply(Catalog<T> catalog, Response event) {
+        Entry<T> entry = entry(catalog);
+        long version = event.getVersion();
+        if (version <= entry.version) {
+            return;
+        }
+        List<T> list = event.getDataList(catalog.codec());
+        if (event.getRemovedKeys() != null) {
+            if (entry.value == null || event.getSinceVersion() != entry.version) {
+                catchUp(entry, version);
+                return;
+            }
+            list = merge(catalog, entry.value, list, event.getRemovedKeys());
+        }
+        List<T> previous = entry.value;
+        store(entry, list, version);
+        notifyWatchers(catalog, previous, list);
+    }
+
+    /**
+     * Fetches what the cached copy lacks after an event that could not be applied to it, once any
+     * refresh in flight has ended and unless that refresh already brought it to {@code version}.
+     */
+    private <T> void catchUp(Entry<T> entry, long version) {
+        if (entries.get(entry.catalog.action()) != entry || entry.version >= version) {
+            return;
+        }
+        CompletableFuture<List<T>> inFlight = entry.refresh;
+        if (inFlight != null) {
+            inFlight.whenComplete((list, error) -> catchUp(entry, version));
+            return;
+        }
+        List<T> previous = entry.value;
+        refresh(entry, null, new CompletableFuture<>())
+                .thenAccept(list -> notifyWatchers(entry.catalog, previous, list));
+    }
+
+    /**
+     * Tells the catalog's watchers which elements differ between two copies of it, if any do.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void notifyWatchers(Catalog<T> catalog, List<T> previous, List<T> list) {
+        List<Consumer<?>> listeners = watchers.get(catalog.action());
+        if (previous == null || listeners == null || listeners.isEmpty()) {
+            return;
+        }
+        Map<String, T> removed = new HashMap<>();
+        for (T item : previous) {
+            removed.put(catalog.key().apply(item), item);
+        }
+        List<T> changed = new ArrayList<>();
+        for (T item : list) {
+            T old = removed.remove(catalog.key().apply(item));
+            if (!item.equals(old)) {
+                changed.add(item);
+            }
+        }
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        Change<T> change = new Change<>(list, List.copyOf(changed), List.copyOf(removed.keySet()));
+        for (Consumer<?> listener : List.copyOf(listeners)) {
+            ((Consumer<Change<T>>) listener).accept(change);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> entry(Catalog<T> catalog) {
+        return (Entry<T>) entries.computeIfAbsent(catalog.action(), action -> new Entry<>(catalog));
+    }
+
+    private <T> void store(Entry<T> entry, List<T> list, long version) {
+        cachedElements += list.size() - entry.size();
+        entry.value = list;
+        entry.version = version;
+        entry.fetchedAt = System.nanoTime();
+        entry.invalidated = false;
+
+        Iterator<Entry<?>> eldest = entries.values().iterator();
+        while (cachedElements > maxElements && eldest.hasNext()) {
+            Entry<?> candidate = eldest.next();
+            if (candidate != entry) {
+                cachedElements -= candidate.size();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the catalogs whose contents a request for {@code mutation} may have changed. A
+     * refresh already in flight may have been answered before the change, so the next load starts
+     * another one.
+     */
+    private void invalidate(Action mutation) {
+        for (Action action : mutation.getInvalidatedActions()) {
+            Entry<?> entry = entries.get(action);
+            if (entry != null) {
+                entry.invalidated = true;
+                entry.generation++;
+                entry.refresh = null;
+            }
+        }
+    }
+
+    /**
+     * A cacheable listing: the read-only action that fetches it, the codec for its elements, the
+     * key that identifies an element across versions and how long a fetched copy counts as current.
+     */
+    public record Catalog<T>(Action action, Codec<T> codec, Function<T, String> key, Duration timeToLive) {
+    }
+
+    /**
+     * A change to a catalog: the catalog as it is now, the elements added or changed, and the keys
+     * of those removed.
+     */
+    public record Change<T>(List<T> catalog, List<T> changed, List<String> removedKeys) {
+    }
+
+    /**
+     * The cached copy of one catalog, if any, and the refresh in progress for it.
+     */
+    private static final class Entry<T> {
+        private final Catalog<T> catalog;
+        private List<T> value;
+        /** Server version of {@link #value}, or -1 if the server does not version the catalog. */
+        private long version = -1;
+        private long fetchedAt;
+        private boolean invalidated;
+        /** Counts invalidations, so a refresh can tell whether one happened while it was in flight. */
+        private int generation;
+        private CompletableFuture<List<T>> refresh;
+
+        Entry(Catalog<T> catalog) {
+            this.catalog = catalog;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - fetchedAt >= catalog.timeToLive().toNanos();
+        }
+
+        int size() {
+            return value != null ? value.size() : 0;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.PadelCenter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * N-gram index over the names and locations of the padel centers, for the center search box.
+ * <p>
+ * Every substring of one to three characters of a center's name and location is a gram, mapped to
+ * the sorted IDs of the centers containing it. Text of up to three characters is looked up
+ * directly, and longer text by intersecting the lists of its trigrams and then checking the few
+ * centers left, so a search touches only centers that can match. Exact matches are ranked by where
+ * the text occurs: at the start of the name, at the start of a word of the name, elsewhere in the
+ * name, then in the location. When they are fewer than asked for, centers sharing at least half of
+ * the text's bigrams follow as fuzzy matches, most shared first, so that a typo such as
+ * {@code padle} still finds {@code Padel}.
+ * <p>
+ * Replacing the centers re-indexes only those added, changed or removed. Ties keep catalog order.
+ */
+final class CenterTextIndex {
+
+    private static final int MAX_GRAM = 3;
+    /** Share of the searched text's bigrams a center must contain to be a fuzzy match. */
+    private static final double MIN_FUZZY_SHARE = 0.5;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> idByName = new HashMap<>();
+    /** Indexed centers by ID; {@code null} once removed. */
+    private final List<Indexed> byId = new ArrayList<>();
+    /** Indexed centers in catalog order. */
+    private final List<Indexed> catalog = new ArrayList<>();
+
+    /**
+     * Replaces every center, re-indexing only those that changed.
+     */
+    void setAll(List<PadelCenter> centers) {
+        Set<String> names = new HashSet<>();
+        catalog.clear();
+        for (PadelCenter center : centers) {
+            if (names.add(center.name())) {
+                catalog.add(put(center, catalog.size()));
+            }
+        }
+        for (String name : List.copyOf(idByName.keySet())) {
+            if (!names.contains(name)) {
+                remove(name);
+            }
+        }
+    }
+
+    /**
+     * Adds a center after the others, or replaces the one with the same name in place.
+     */
+    void put(PadelCenter center) {
+        Integer id = idByName.get(center.name());
+        if (id != null) {
+            put(center, byId.get(id).order);
+        } else {
+            catalog.add(put(center, catalog.size()));
+        }
+    }
+
+    private Indexed put(PadelCenter center, int order) {
+        Integer existing = idByName.get(center.name());
+        if (existing != null) {
+            Indexed indexed = byId.get(existing);
+            indexed.order = order;
+            if (!Objects.equals(indexed.center.location(), center.location())) {
+                unindex(existing, indexed);
+                indexed.location = normalize(center.location());
+                index(existing, indexed);
+            }
+            indexed.center = center;
+            return indexed;
+        }
+        int id = byId.size();
+        Indexed indexed = new Indexed(center, normalize(center.name()), normalize(center.location()), order);
+        byId.add(indexed);
+        idByName.put(center.name(), id);
+        index(id, indexed);
+        return indexed;
+    }
+
+    private void remove(String name) {
+        int id = idByName.remove(name);
+        unindex(id, byId.get(id));
+        byId.set(id, null);
+    }
+
+    /**
+     * Returns the centers whose name or location contains the text, ignoring case, followed by
+     * fuzzy matches if there are fewer than {@code limit}.
+     */
+    List<PadelCenter> search(String text, int limit) {
+        String query = normalize(text);
+        int[] exact;
+        if (query.length() <= MAX_GRAM) {
+            Postings found = postings.get(query);
+            exact = found != null ? Arrays.copyOf(found.ids, found.size) : new int[0];
+        } else {
+            exact = candidates(query);
+            int n = 0;
+            for (int id : exact) {
+                Indexed indexed = byId.get(id);
+                if (indexed.name.contains(query) || indexed.location.contains(query)) {
+                    exact[n++] = id;
+                }
+            }
+            exact = Arrays.copyOf(exact, n);
+        }
+
+        // Rank by tier and then catalog order, packed into one key per center.
+        String wordStart = " " + query;
+        long[] ranked = new long[exact.length];
+        for (int i = 0; i < exact.length; i++) {
+            Indexed indexed = byId.get(exact[i]);
+            ranked[i] = (long) tier(indexed, query, wordStart) << 32 | indexed.order;
+        }
+        Arrays.sort(ranked);
+        List<PadelCenter> result = new ArrayList<>();
+        for (int i = 0; i < ranked.length && result.size() < limit; i++) {
+            result.add(byOrder(ranked[i]));
+        }
+        if (result.size() < limit && query.length() >= MAX_GRAM) {
+            for (long key : fuzzy(query, exact)) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                result.add(byOrder(key));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the centers containing every trigram of the text, which include all that contain the
+     * text itself.
+     */
+    private int[] candidates(String query) {
+        List<Postings> lists = new ArrayList<>();
+        for (int i = 0; i + MAX_GRAM <= query.length(); i++) {
+            Postings list = postings.get(query.substring(i, i + MAX_GRAM));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        int[] result = Arrays.copyOf(lists.get(0).ids, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the centers, other than the exact matches, whose name or location shares enough of
+     * the text's bigrams, most shared first, as keys of shared bigrams and catalog order.
+     */
+    private long[] fuzzy(String query, int[] exact) {
+        Set<String> bigrams = new HashSet<>();
+        for (int i = 0; i + 2 <= query.length(); i++) {
+            bigrams.add(query.substring(i, i + 2));
+        }
+        int needed = (int) Math.ceil(bigrams.size() * MIN_FUZZY_SHARE);
+        // Counting over both fields at once gives a superset of the centers that pass in either.
+        int[] shared = new int[byId.size()];
+        for (String bigram : bigrams) {
+            Postings list = postings.get(bigram);
+            if (list != null) {
+                for (int i = 0; i < list.size; i++) {
+                    shared[list.ids[i]]++;
+                }
+            }
+        }
+        for (int id : exact) {
+            shared[id] = 0;
+        }
+        long[] keys = new long[16];
+        int n = 0;
+        for (int id = 0; id < shared.length; id++) {
+            if (shared[id] < needed) {
+                continue;
+            }
+            Indexed indexed = byId.get(id);
+            int best = Math.max(sharedBigrams(indexed.name, bigrams), sharedBigrams(indexed.location, bigrams));
+            if (best >= needed) {
+                if (n == keys.length) {
+                    keys = Arrays.copyOf(keys, n * 2);
+                }
+                keys[n++] = (long) (bigrams.size() - best) << 32 | indexed.order;
+            }
+        }
+        keys = Arrays.copyOf(keys, n);
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private static int sharedBigrams(String field, Set<String> bigrams) {
+        int shared = 0;
+        for (String bigram : bigrams) {
+            if (field.contains(bigram)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private static int tier(Indexed indexed, String query, String wordStart) {
+        int at = indexed.name.indexOf(query);
+        if (at == 0) {
+            return 0;
+        }
+        if (at > 0) {
+            return indexed.name.contains(wordStart) ? 1 : 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Returns the center at the catalog position in the low half of a ranking key.
+     */
+    private PadelCenter byOrder(long key) {
+        return catalog.get((int) key).center;
+    }
+
+    private void index(int id, Indexed indexed) {
+        for (String gram : grams(indexed)) {
+            postings.computeIfAbsent(gram, key -> new Postings()).add(id);
+        }
+    }
+
+    private void unindex(int id, Indexed indexed) {
+        for (String gram : grams(indexed)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the distinct grams of a center's name and location; none spans the two.
+     */
+    private static Set<String> grams(Indexed indexed) {
+        Set<String> grams = new HashSet<>();
+        for (String field : new String[]{indexed.name, indexed.location}) {
+            for (int length = 1; length <= MAX_GRAM; length++) {
+                for (int i = 0; i + length <= field.length(); i++) {
+                    grams.add(field.substring(i, i + length));
+                }
+            }
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A center with its name and location as indexed, and its position in the catalog.
+     */
+    private static final class Indexed {
+        private PadelCenter center;
+        private final String name;
+        private String location;
+        private int order;
+
+        Indexed(PadelCenter center, String name, String location, int order) {
+            this.center = center;
+            this.name = name;
+            this.location = location;
+            this.order = order;
+        }
+    }
+
+    /**
+     * The IDs of the centers containing one gram, in ascending order.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * Returns the IDs in both this list and the sorted array.
+         */
+        int[] intersect(int[] other) {
+            int[] result = new int[Math.min(size, other.length)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.length) {
+                if (ids[i] < other[j]) {
+                    i++;
+                } else if (ids[i] > other[j]) {
+                    j++;
+                } else {
+                    result[n++] = ids[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.padelfrontend;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * The client end of a {@code watch} connection: a socket outside the pool on which the server
+ * pushes a change event whenever one of the watched catalog listings changes.
+ * <p>
+ * The feed runs on a virtual thread of {@link BackendClient} and stops when the client shuts down.
+ * Each time it connects it sends the versions it already has, so the first events after a
+ * reconnect make up for whatever changed while it was away. When the connection fails, or the
+ * server does not advertise the {@code watch} capability, it tries again after a delay that doubles
+ * up to half a minute.
+ */
+final class ChangeFeed {
+
+    private static final long MIN_RETRY_MILLIS = 500;
+    private static final long MAX_RETRY_MILLIS = 30_000;
+
+    private final BackendClient client;
+    private final List<Action> topics;
+    private final Supplier<Map<Action, Long>> versions;
+    private final Consumer<Response> onEvent;
+    private final Executor callbackExecutor;
+    private volatile boolean connected;
+
+    /**
+     * @param topics           The listings to watch.
+     * @param versions         Supplies the version held of each listing; called on the callback executor.
+     * @param onEvent          Receives each change event on the callback executor.
+     * @param callbackExecutor Executor for {@code versions} and {@code onEvent}.
+     */
+    ChangeFeed(BackendClient client, List<Action> topics, Supplier<Map<Action, Long>> versions,
+               Consumer<Response> onEvent, Executor callbackExecutor) {
+        this.client = client;
+        this.topics = List.copyOf(topics);
+        this.versions = versions;
+        this.onEvent = onEvent;
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    /**
+     * Returns whether the feed is connected, so that changes made anywhere arrive as events.
+     */
+    boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Connects and relays events until interrupted, reconnecting whenever the connection ends.
+     */
+    void run() {
+        long retryMillis = MIN_RETRY_MILLIS;
+        while (!Thread.currentThread().isInterrupted()) {
+            if (client.supports(BackendClient.CAPABILITY_WATCH)) {
+                try (Socket socket = client.openSocket(0)) {
+                    watch(socket);
+                    retryMillis = MIN_RETRY_MILLIS;
+                } catch (IOException | JSONException e) {
+                    if (!Thread.currentThread().isInterrupted()) {
+                        System.err.println("Change feed disconnected: " + e.getMessage());
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                } finally {
+                    connected = false;
+                }
+            }
+            try {
+                Thread.sleep(retryMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+        }
+    }
+
+    /**
+     * Sends the {@code watch} request on a fresh socket and relays events until the server closes it.
+     */
+    private void watch(Socket socket) throws IOException, InterruptedException {
+        JSONObject request = new JSONObject().put("action", "watch");
+        JSONArray names = new JSONArray();
+        JSONObject held = new JSONObject();
+        for (Map.Entry<Action, Long> version : versionsHeld().entrySet()) {
+            held.put(version.getKey().getWireName(), version.getValue());
+        }
+        for (Action topic : topics) {
+            names.put(topic.getWireName());
+        }
+        request.put("topics", names).put("versions", held);
+        socket.getOutputStream().write(client.wireFormat().encode(request));
+
+        ResponseReader in = new ResponseReader(socket.getInputStream());
+        Response ack = in.readResponse();
+        if (ack == null || !ack.isSuccess()) {
+            throw new IOException(ack != null ? ack.getMessage("Watch refused") : "No response from server");
+        }
+        connected = true;
+        Response event;
+        while ((event = in.readResponse()) != null) {
+            Response received = event;
+            callbackExecutor.execute(() -> onEvent.accept(received));
+        }
+    }
+
+    private Map<Action, Long> versionsHeld() throws InterruptedException, IOException {
+        try {
+            return CompletableFuture.supplyAsync(versions, callbackExecutor).get();
+        } catch (ExecutionException e) {
+            throw new IOException("Could not read catalog versions", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.GymClass;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The gym classes the logged-in member is booked into or waiting for, by class name.
+ * <p>
+ * Classes have no identifier other than their name, which is also the key the catalog is merged
+ * by. The index is built from the same listing the class cards are, in one pass over the
+ * participants and waitlists, so a card learns its member's status with a set lookup instead of a
+ * request of its own. Bookings and cancellations the server accepts update it in place.
+ */
+final class EnrollmentIndex {
+
+    /**
+     * The member's place in a class.
+     */
+    enum Status {
+        NONE, BOOKED, WAITLISTED
+    }
+
+    private final Set<String> booked = new HashSet<>();
+    private final Set<String> waitlisted = new HashSet<>();
+    private String memberId;
+
+    /**
+     * Replaces the index with the member's places in the given classes.
+     *
+     * @param memberId The member, or {@code null} if nobody is logged in.
+     */
+    void setAll(String memberId, Collection<GymClass> classes) {
+        this.memberId = memberId;
+        booked.clear();
+        waitlisted.clear();
+        for (GymClass gymClass : classes) {
+            put(gymClass);
+        }
+    }
+
+    /**
+     * Records the member's place in a class that was added or changed.
+     */
+    void put(GymClass gymClass) {
+        remove(gymClass.name());
+        if (memberId == null) {
+            return;
+        }
+        if (gymClass.participants().contains(memberId)) {
+            booked.add(gymClass.name());
+        } else if (gymClass.waitlist().contains(memberId)) {
+            waitlisted.add(gymClass.name());
+        }
+    }
+
+    /**
+     * Forgets a class that was removed.
+     */
+    void remove(String className) {
+        booked.remove(className);
+        waitlisted.remove(className);
+    }
+
+    /**
+     * Records a booking the server accepted.
+     *
+     * @param waitlisted Whether the server put the member on the waitlist rather than into a place.
+     */
+    void book(String className, boolean waitlisted) {
+        remove(className);
+        (waitlisted ? this.waitlisted : booked).add(className);
+    }
+
+    /**
+     * Records a cancellation the server accepted.
+     */
+    void cancel(String className) {
+        remove(className);
+    }
+
+    Status status(String className) {
+        if (booked.contains(className)) {
+            return Status.BOOKED;
+        }
+        return waitlisted.contains(className) ? Status.WAITLISTED : Status.NONE;
+    }
+}
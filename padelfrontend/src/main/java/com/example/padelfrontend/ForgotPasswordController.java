@@ -1,6 +1,5 @@
 package com.example.padelfrontend;
 
-import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -14,10 +13,6 @@ import javafx.stage.Stage;
 import javafx.util.Duration;
 import javafx.animation.TranslateTransition;
 import org.json.JSONObject;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
 import java.io.IOException;
 
 public class ForgotPasswordController {
@@ -50,61 +45,36 @@ public class ForgotPasswordController {
     }
 
     private void sendForgotPasswordRequest(String username) {
-        new Thread(() -> {
+        Request request = Request.of(Action.FORGOT_PASSWORD)
+                .with("username", username);
+
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                recoveredPasswordField.setText("");
+                responseLabel.setText("Error: " + BackendClient.describe(error));
+                responseLabel.getStyleClass().remove("success");
+                return;
+            }
+            JSONObject jsonResponse = response.toJson();
             try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                // Build JSON request
-                JSONObject request = new JSONObject();
-                request.put("action", "forgotPassword");
-                request.put("username", username);
-
-                // Send request
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                // Read response
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                // Parse response
-                JSONObject jsonResponse = new JSONObject(response);
-
-                // Update UI
-                Platform.runLater(() -> {
-                    try {
-                        String status = jsonResponse.optString("status", "error");
-                        String message = jsonResponse.optString("message", "No message provided");
-                        String password = jsonResponse.optString("password", "");
-
-                        responseLabel.setText(message);
-                        if ("success".equals(status) && !password.isEmpty()) {
-                            recoveredPasswordField.setText(password);
-                            responseLabel.getStyleClass().add("success");
-                        } else {
-                            recoveredPasswordField.setText("");
-                            responseLabel.getStyleClass().remove("success");
-                        }
-                    } catch (Exception e) {
-                        recoveredPasswordField.setText("");
-                        responseLabel.setText("Error parsing server response: " + e.getMessage());
-                        responseLabel.getStyleClass().remove("success");
-                    }
-                });
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
+                String status = jsonResponse.optString("status", "error");
+                String message = jsonResponse.optString("message", "No message provided");
+                String password = jsonResponse.optString("password", "");
+
+                responseLabel.setText(message);
+                if ("success".equals(status) && !password.isEmpty()) {
+                    recoveredPasswordField.setText(password);
+                    responseLabel.getStyleClass().add("success");
+                } else {
                     recoveredPasswordField.setText("");
-                    responseLabel.setText("Error: " + ex.getMessage());
                     responseLabel.getStyleClass().remove("success");
-                });
+                }
+            } catch (Exception e) {
+                recoveredPasswordField.setText("");
+                responseLabel.setText("Error parsing server response: " + e.getMessage());
+                responseLabel.getStyleClass().remove("success");
             }
-        }).start();
+        });
     }
 
     @FXML
@@ -14,7 +14,6 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.effect.DropShadow;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.*;
@@ -27,13 +26,22 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import org.json.JSONArray;
+import com.example.padelfrontend.json.JsonReader;
+import com.example.padelfrontend.model.ActiveSubscription;
+import com.example.padelfrontend.model.GymClass;
+import com.example.padelfrontend.model.WorkoutEntry;
 import org.json.JSONObject;
 
 import java.io.*;
-import java.net.Socket;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
 
 /**
  * Controller for the Gym page, responsible for rendering UI and communicating
@@ -44,7 +52,7 @@ public class GymController {
 
     // FXML UI Components
     @FXML
-    private FlowPane classesContainer;
+    private ListView<List<GymClass>> classesList;
     @FXML
     private Label tagline;
     @FXML
@@ -62,7 +70,7 @@ public class GymController {
     @FXML
     private TabPane tabPane;
     @FXML
-    private TableView<JSONObject> workoutHistoryTable;
+    private ListView<List<WorkoutEntry>> workoutHistoryList;
     @FXML
     private VBox subscriptionDetailsPanel;
     @FXML
@@ -73,17 +81,28 @@ public class GymController {
     private Label subscriptionDatesLabel;
     @FXML
     private Button clearHistoryButton;
-    @FXML
-    private FlowPane workoutHistoryContainer;
+
+    /** The classes displayed, as a grid whose tiles exist only for the rows in view. */
+    private TileGrid<GymClass> classTiles;
+    /** The member's workout history as far as it is loaded, newest first. */
+    private TileGrid<WorkoutEntry> workoutTiles;
+    /** The id of the oldest workout loaded, from which the next page starts, or null before the first. */
+    private String workoutCursor;
+    private boolean loadingWorkouts;
+    private boolean workoutHistoryComplete;
+    /** Counts reloads of the workout history, so that a page requested before one is dropped. */
+    private int workoutGeneration;
+    /** Bookings (true) and cancellations (false) awaiting the server, by class name. */
+    private final Map<String, Boolean> pendingClasses = new HashMap<>();
+    /** The classes the logged-in member is booked into or waiting for, which the cards' buttons show. */
+    private final EnrollmentIndex enrollments = new EnrollmentIndex();
 
     // Constants
     private static final String GYM_CLASSES_FILE = "padelbackend/files/gym-classes.json";
     private static final String PLACEHOLDER_IMAGE_PATH = "/images/yoga.jpg";
-    private static final String CLASS_ICON_PATH = "/icons/dumbbell.png";
-    private static final String BOOKING_ICON_PATH = "/icons/booking.png";
-    private static final String WAITLIST_ICON_PATH = "/icons/hourglass.png";
-    private static final int SERVER_PORT = 8080;
-    private static final String SERVER_HOST = "localhost";
+    private static final double CLASS_CARD_WIDTH = 300;
+    private static final double WORKOUT_CARD_WIDTH = 250;
+    private static final int WORKOUT_PAGE_SIZE = 50;
 
     // ----------------------- Initialization Methods -----------------------
 
@@ -92,21 +111,27 @@ public class GymController {
      */
     @FXML
     public void initialize() {
+        classTiles = new TileGrid<>(classesList, GymClass::name, CLASS_CARD_WIDTH, 20, ClassTile::new);
+        workoutTiles = new TileGrid<>(workoutHistoryList, WorkoutEntry::id, WORKOUT_CARD_WIDTH, 20, WorkoutTile::new);
+        // The next page is requested while the member is still a few rows from the end.
+        workoutTiles.setOnNearEnd(3, this::loadNextWorkoutPage);
         setActiveButton(gymButton);
-        initializeAppContext();
         updateLoginButton();
-        Platform.runLater(() -> {
+        // The content needs the subscription state, so it is built once that has loaded and the scene is attached.
+        initializeAppContext().whenComplete((subscriptions, error) -> Platform.runLater(() -> {
             AppContext context = AppContext.getInstance();
             if (!context.isLoggedIn() || context.getSubscribedPlanName() == null) {
                 showSubscriptionPrompt();
             } else {
                 loadGymClassesFromFile();
+                loadGymClasses();
+                CatalogRepository.getInstance().watch(CatalogRepository.GYM_CLASSES, classesList, this::applyClassChange);
                 initializeWorkoutHistoryTable();
                 initializeSubscriptionDetails();
                 addNavButtonHoverEffects();
                 initializeClearHistoryButton();
             }
-        });
+        }));
     }
 
     /**
@@ -114,9 +139,9 @@ public class GymController {
      */
     private void showSubscriptionPrompt() {
         // Hide original content
-        classesContainer.getChildren().clear();
-        if (workoutHistoryTable != null) {
-            workoutHistoryTable.setVisible(false);
+        classesList.getItems().clear();
+        if (workoutHistoryList != null) {
+            workoutHistoryList.setVisible(false);
         }
         if (clearHistoryButton != null) {
             clearHistoryButton.setVisible(false);
@@ -165,11 +190,11 @@ public class GymController {
     }
 
     /**
-     * Initializes the AppContext and updates the login button text.
+     * Initializes the AppContext by loading the member's active subscriptions.
      */
-    private void initializeAppContext() {
+    private CompletableFuture<List<ActiveSubscription>> initializeAppContext() {
         AppContext context = AppContext.getInstance();
-        context.loadActiveSubscriptions(true);
+        return context.loadActiveSubscriptions(true);
     }
 
     /**
@@ -249,246 +274,208 @@ public class GymController {
     private void loadGymClassesFromFile() {
         try {
             String content = new String(Files.readAllBytes(Paths.get(GYM_CLASSES_FILE)));
-            JSONArray classesArray = new JSONArray(content);
-            displayGymClasses(classesArray);
+            displayGymClasses(GymClass.CODEC.readList(new JsonReader(content)));
         } catch (IOException e) {
             showAlert("Unable to load gym classes: " + e.getMessage(), getStage());
         }
     }
 
     /**
-     * Displays gym classes in the FlowPane.
+     * Replaces the classes read from the file with the server's, whose participants and waitlists
+     * are current. This is the one request for the member's bookings that the cards need.
      */
-    private void displayGymClasses(JSONArray classesArray) {
-        classesContainer.getChildren().clear();
-        classesContainer.setHgap(20);
-        classesContainer.setVgap(20);
-        classesContainer.setPadding(new Insets(20));
-        for (int i = 0; i < classesArray.length(); i++) {
-            try {
-                JSONObject gymClass = classesArray.getJSONObject(i);
-                String className = gymClass.optString("name", "Unknown");
-                System.out.println("Rendering class: " + className);
-                classesContainer.getChildren().add(createGymClassCard(gymClass));
-            } catch (Exception e) {
-                System.err.println("Failed to render class at index " + i + ": " + e.getMessage());
-            }
-        }
-        System.out.println("Total classes rendered: " + classesContainer.getChildren().size());
+    private void loadGymClasses() {
+        CatalogRepository.getInstance().load(CatalogRepository.GYM_CLASSES, this::displayGymClasses)
+                .exceptionally(error -> {
+                    System.err.println("Failed to load gym classes: " + BackendClient.describe(error));
+                    return null;
+                });
     }
 
     /**
-     * Creates a card for a gym class.
+     * Displays gym classes in the grid, with the member's bookings indexed from the same listing.
+     * Only the tiles in view are filled, and only if what they show changed.
      */
-    private VBox createGymClassCard(JSONObject gymClass) {
-        String name = gymClass.getString("name");
-        String instructor = gymClass.getString("instructor");
-        String time = gymClass.getString("time");
-        String imagePath = gymClass.getString("imagePath");
-        int capacity = gymClass.getInt("capacity");
-        int currentParticipants = gymClass.getInt("currentParticipants");
-        int waitlistSize = gymClass.getInt("waitlistSize");
-        boolean isFull = currentParticipants >= capacity;
-
-        VBox card = new VBox(15);
-        card.getStyleClass().add("gym-class-card");
-        card.setPadding(new Insets(20));
-        card.setPrefWidth(300);
-        card.setMinHeight(350);
-        card.setAlignment(Pos.TOP_CENTER);
-
-        ImageView imageView = createClassImage(imagePath);
-        imageView.getStyleClass().add("gym-class-image");
-
-        HBox header = new HBox(8);
-        header.setAlignment(Pos.CENTER_LEFT);
-        ImageView icon = new ImageView(new Image(getClass().getResourceAsStream(CLASS_ICON_PATH)));
-        icon.setFitWidth(24);
-        icon.setFitHeight(24);
-        Label nameLabel = new Label(name);
-        nameLabel.getStyleClass().add("gym-class-name");
-        header.getChildren().addAll(icon, nameLabel);
-
-        VBox details = createClassDetails(instructor, time);
-        HBox capacityIndicator = createCapacityIndicator(capacity, currentParticipants);
-        Label waitlistLabel = new Label(isFull ? "Waitlist: " + waitlistSize : "Waitlist: 0");
-        waitlistLabel.getStyleClass().add("gym-class-detail");
-
-        Button actionButton = createActionButton(isFull, name);
-
-        card.getChildren().addAll(imageView, header, details, capacityIndicator, waitlistLabel, actionButton);
-        addCardHoverEffect(card);
-        return card;
+    private void displayGymClasses(List<GymClass> classes) {
+        enrollments.setAll(AppContext.getInstance().getMemberId(), classes);
+        classTiles.setAll(classes);
+        System.out.println("Total classes displayed: " + classTiles.size());
     }
 
     /**
-     * Creates an image view for a class card using a classpath resource.
-     *
-     * @param imagePath The path to the image resource (e.g., /images/yoga.jpg).
-     * @return An ImageView with the loaded image or a fallback.
+     * Applies a change pushed by the server, rebuilding only the cards of the classes it affects.
      */
-    private ImageView createClassImage(String imagePath) {
-        Image image;
-        try {
-            if (imagePath == null || imagePath.trim().isEmpty() || !imagePath.startsWith("/images/")) {
-                System.err.println("Invalid image path: '" + imagePath + "', using placeholder.");
-                image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
-            } else {
-                System.out.println("Loading image: " + imagePath);
-                image = loadResourceImage(imagePath);
-            }
-        } catch (Exception e) {
-            System.err
-                    .println("Failed to load image: '" + imagePath + "', using placeholder. Error: " + e.getMessage());
-            image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
+    private void applyClassChange(CatalogRepository.Change<GymClass> change) {
+        for (String name : change.removedKeys()) {
+            classTiles.remove(name);
+            enrollments.remove(name);
+        }
+        for (GymClass gymClass : change.changed()) {
+            enrollments.put(gymClass);
+            replaceClassCard(gymClass);
         }
-
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(150);
-        imageView.setFitHeight(100);
-        imageView.setPreserveRatio(true);
-        return imageView;
     }
 
     /**
-     * Loads an image from a classpath resource, falling back to a transparent image
-     * if loading fails.
-     *
-     * @param resourcePath The classpath resource path (e.g., /images/yoga.jpg).
-     * @return The loaded Image or a transparent 1x1 image.
+     * Refills the card of a class in place if it is in view and what it shows changed, or adds one
+     * if the class is new.
      */
-    private Image loadResourceImage(String resourcePath) {
-        try {
-            InputStream stream = getClass().getResourceAsStream(resourcePath);
-            if (stream == null) {
-                throw new IOException("Resource not found: " + resourcePath);
-            }
-            Image image = new Image(stream);
-            if (image.isError()) {
-                throw new IOException("Image failed to load: " + resourcePath);
-            }
-            return image;
-        } catch (Exception e) {
-            System.err.println("Failed to load resource: '" + resourcePath + "'. Error: " + e.getMessage());
-            // Fallback to a transparent 1x1 image
-            return new Image(
-                    "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
-        }
+    private void replaceClassCard(GymClass gymClass) {
+        classTiles.put(gymClass);
     }
 
     /**
-     * Creates details section for a class card.
+     * Returns everything the card of a gym class shows, so that it is refilled only when that changes.
      */
-    private VBox createClassDetails(String instructor, String time) {
-        VBox details = new VBox(5);
-        details.setAlignment(Pos.CENTER_LEFT);
-        Label instructorLabel = new Label("Instructor: " + instructor);
-        instructorLabel.getStyleClass().add("gym-class-detail");
-        Label timeLabel = new Label("Time: " + time);
-        timeLabel.getStyleClass().add("gym-class-detail");
-        details.getChildren().addAll(instructorLabel, timeLabel);
-        return details;
+    private ClassCardContent classCardContent(GymClass gymClass) {
+        return new ClassCardContent(gymClass, pendingClasses.get(gymClass.name()), enrollments.status(gymClass.name()));
     }
 
     /**
-     * Creates capacity indicator for a class card.
+     * A tile of the class grid, showing the card of one gym class.
+     * <p>
+     * The grid only has tiles for the rows in view and refills them with other classes as it
+     * scrolls, so a tile builds the nodes of its card once. A tile whose {@link ClassCardContent}
+     * is unchanged is not refilled, and a class image is loaded in the background the first time a
+     * tile shows it.
      */
-    private HBox createCapacityIndicator(int capacity, int currentParticipants) {
-        HBox capacityBox = new HBox(15);
-        capacityBox.setAlignment(Pos.CENTER_LEFT);
-        capacityBox.getStyleClass().add("capacity-indicator");
-
-        StackPane indicator = new StackPane();
-        indicator.setAlignment(Pos.CENTER);
-        Circle outerCircle = new Circle(24);
-        outerCircle.getStyleClass().add("capacity-circle");
-        Circle innerCircle = new Circle(20);
-        innerCircle.getStyleClass().add("capacity-inner-circle");
-        double percentage = (double) currentParticipants / capacity;
-        Label percentageLabel = new Label(String.format("%.0f%%", percentage * 100));
-        percentageLabel.getStyleClass().add("capacity-label");
-        indicator.getChildren().addAll(outerCircle, innerCircle, percentageLabel);
-
-        VBox progressSection = new VBox(5);
-        progressSection.setAlignment(Pos.CENTER_LEFT);
-        Label capacityLabel = new Label(currentParticipants + "/" + capacity + " Participants");
-        capacityLabel.getStyleClass().add("gym-class-detail");
-        ProgressBar progressBar = new ProgressBar(percentage);
-        progressBar.setPrefWidth(150);
-        progressBar.setPrefHeight(12);
-        progressBar.getStyleClass().add("capacity-progress");
-        if (percentage >= 1.0) {
-            progressBar.getStyleClass().add("capacity-full");
-        } else if (percentage >= 0.75) {
-            progressBar.getStyleClass().add("capacity-warning");
+    private final class ClassTile implements TileGrid.Tile<GymClass> {
+        private final VBox card = new VBox(15);
+        private final ImageView imageView = new ImageView();
+        private final Label nameLabel = new Label();
+        private final Label instructorLabel = new Label();
+        private final Label timeLabel = new Label();
+        private final Label percentageLabel = new Label();
+        private final Label capacityLabel = new Label();
+        private final ProgressBar progressBar = new ProgressBar();
+        private final Label waitlistLabel = new Label();
+        private final Button actionButton = new Button();
+        private final ImageView actionIcon = new ImageView();
+        /** What the card shows, or null before it shows anything. */
+        private ClassCardContent shown;
+
+        ClassTile() {
+            card.getStyleClass().add("gym-class-card");
+            card.setPadding(new Insets(20));
+            card.setPrefWidth(CLASS_CARD_WIDTH);
+            card.setMinWidth(CLASS_CARD_WIDTH);
+            card.setMinHeight(350);
+            card.setAlignment(Pos.TOP_CENTER);
+
+            imageView.setFitWidth(150);
+            imageView.setFitHeight(100);
+            imageView.setPreserveRatio(true);
+            imageView.getStyleClass().add("gym-class-image");
+
+            HBox header = new HBox(8);
+            header.setAlignment(Pos.CENTER_LEFT);
+            ImageView icon = new ImageView(Icon.DUMBBELL.image(24));
+            icon.setFitWidth(24);
+            icon.setFitHeight(24);
+            nameLabel.getStyleClass().add("gym-class-name");
+            header.getChildren().addAll(icon, nameLabel);
+
+            VBox details = new VBox(5);
+            details.setAlignment(Pos.CENTER_LEFT);
+            instructorLabel.getStyleClass().add("gym-class-detail");
+            timeLabel.getStyleClass().add("gym-class-detail");
+            details.getChildren().addAll(instructorLabel, timeLabel);
+
+            waitlistLabel.getStyleClass().add("gym-class-detail");
+            actionIcon.setFitWidth(16);
+            actionIcon.setFitHeight(16);
+
+            card.getChildren().addAll(imageView, header, details, createCapacityIndicator(), waitlistLabel, actionButton);
+            addCardHoverEffect(card);
         }
-        progressSection.getChildren().addAll(capacityLabel, progressBar);
-
-        capacityBox.getChildren().addAll(indicator, progressSection);
-        return capacityBox;
-    }
 
-    /**
-     * Creates action button (Book, Join Waitlist, or Cancel) for a class card.
-     */
-    private Button createActionButton(boolean isFull, String className) {
-        AppContext context = AppContext.getInstance();
-        Button actionButton = new Button();
-        actionButton.getStyleClass().add("gym-action-button");
-        ImageView arrowIcon;
+        @Override
+        public Node node() {
+            return card;
+        }
 
-        boolean isBooked = false;
-        boolean isWaitlisted = false;
-        if (context.isLoggedIn()) {
-            try {
-                JSONObject request = new JSONObject();
-                request.put("action", "get_classes");
-                String response = sendRequestToServer(request.toString());
-                JSONObject responseJson = new JSONObject(response);
-                if (responseJson.getString("status").equals("success")) {
-                    JSONArray classesArray = responseJson.getJSONArray("data");
-                    for (int i = 0; i < classesArray.length(); i++) {
-                        JSONObject gymClass = classesArray.getJSONObject(i);
-                        if (gymClass.getString("name").equals(className)) {
-                            JSONArray participants = gymClass.getJSONArray("participants");
-                            JSONArray waitlist = gymClass.getJSONArray("waitlist");
-                            String memberId = context.getMemberId();
-                            for (int j = 0; j < participants.length(); j++) {
-                                if (participants.getString(j).equals(memberId)) {
-                                    isBooked = true;
-                                    break;
-                                }
-                            }
-                            for (int j = 0; j < waitlist.length(); j++) {
-                                if (waitlist.getString(j).equals(memberId)) {
-                                    isWaitlisted = true;
-                                    break;
-                                }
-                            }
-                            break;
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to check booking status: " + e.getMessage());
+        @Override
+        public void show(GymClass known) {
+            ClassCardContent content = classCardContent(known);
+            if (content.equals(shown)) {
+                return;
+            }
+            shown = content;
+            // A class with a booking or cancellation awaiting the server is shown as it will be once it agrees.
+            Boolean pending = content.pending();
+            String memberId = AppContext.getInstance().getMemberId();
+            GymClass gymClass = pending == null ? known
+                    : pending ? known.withMember(memberId) : known.withoutMember(memberId);
+            String name = gymClass.name();
+            boolean isFull = gymClass.isFull();
+
+            ImageService.getInstance().show(imageView, gymClass.imagePath(), PLACEHOLDER_IMAGE_PATH, 150, 100);
+            nameLabel.setText(name);
+            instructorLabel.setText("Instructor: " + gymClass.instructor());
+            timeLabel.setText("Time: " + gymClass.time());
+
+            double percentage = (double) gymClass.currentParticipants() / gymClass.capacity();
+            percentageLabel.setText(String.format("%.0f%%", percentage * 100));
+            capacityLabel.setText(gymClass.currentParticipants() + "/" + gymClass.capacity() + " Participants");
+            progressBar.setProgress(percentage);
+            progressBar.getStyleClass().removeAll("capacity-full", "capacity-warning");
+            if (percentage >= 1.0) {
+                progressBar.getStyleClass().add("capacity-full");
+            } else if (percentage >= 0.75) {
+                progressBar.getStyleClass().add("capacity-warning");
+            }
+            waitlistLabel.setText(isFull ? "Waitlist: " + gymClass.waitlistSize() : "Waitlist: 0");
+
+            // The action is Book or Join Waitlist, Cancel once the member has a place, or disabled
+            // while a booking or cancellation awaits the server.
+            actionButton.getStyleClass().setAll("button", "gym-action-button");
+            actionButton.setDisable(pending != null);
+            if (pending != null) {
+                actionButton.setText(pending ? "Booking…" : "Cancelling…");
+                actionButton.getStyleClass().add("pending-action");
+                actionButton.setGraphic(null);
+                actionButton.setOnAction(null);
+            } else if (content.status() != EnrollmentIndex.Status.NONE) {
+                actionButton.setText("Cancel");
+                actionIcon.setImage(Icon.BOOKING.image(16));
+                actionButton.setGraphic(actionIcon);
+                actionButton.setOnAction(e -> handleCancelBooking(name));
+            } else {
+                actionButton.setText(isFull ? "Join Waitlist" : "Book");
+                actionIcon.setImage((isFull ? Icon.HOURGLASS : Icon.BOOKING).image(16));
+                actionButton.setGraphic(actionIcon);
+                actionButton.setOnAction(e -> handleBookingAction(isFull, name));
             }
         }
 
-        if (isBooked || isWaitlisted) {
-            actionButton.setText("Cancel");
-            arrowIcon = new ImageView(new Image(getClass().getResourceAsStream("/icons/booking.png")));
-            actionButton.setOnAction(e -> handleCancelBooking(className));
-        } else {
-            actionButton.setText(isFull ? "Join Waitlist" : "Book");
-            arrowIcon = new ImageView(
-                    new Image(getClass().getResourceAsStream(isFull ? WAITLIST_ICON_PATH : BOOKING_ICON_PATH)));
-            actionButton.setOnAction(e -> handleBookingAction(isFull, className));
+        /**
+         * Creates the capacity indicator, whose labels and progress bar {@link #show} fills.
+         */
+        private HBox createCapacityIndicator() {
+            HBox capacityBox = new HBox(15);
+            capacityBox.setAlignment(Pos.CENTER_LEFT);
+            capacityBox.getStyleClass().add("capacity-indicator");
+
+            StackPane indicator = new StackPane();
+            indicator.setAlignment(Pos.CENTER);
+            Circle outerCircle = new Circle(24);
+            outerCircle.getStyleClass().add("capacity-circle");
+            Circle innerCircle = new Circle(20);
+            innerCircle.getStyleClass().add("capacity-inner-circle");
+            percentageLabel.getStyleClass().add("capacity-label");
+            indicator.getChildren().addAll(outerCircle, innerCircle, percentageLabel);
+
+            VBox progressSection = new VBox(5);
+            progressSection.setAlignment(Pos.CENTER_LEFT);
+            capacityLabel.getStyleClass().add("gym-class-detail");
+            progressBar.setPrefWidth(150);
+            progressBar.setPrefHeight(12);
+            progressBar.getStyleClass().add("capacity-progress");
+            progressSection.getChildren().addAll(capacityLabel, progressBar);
+
+            capacityBox.getChildren().addAll(indicator, progressSection);
+            return capacityBox;
         }
-
-        arrowIcon.setFitWidth(16);
-        arrowIcon.setFitHeight(16);
-        actionButton.setGraphic(arrowIcon);
-        return actionButton;
     }
 
     /**
@@ -523,127 +510,32 @@ public class GymController {
             showAlert("Your membership is inactive. Please renew or contact support.", stage);
             return;
         }
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "book_gym_class");
-            request.put("data", new JSONObject().put("className", className).put("memberId", context.getMemberId()));
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            if (responseJson.getString("status").equals("success")) {
-                String message = responseJson.getBoolean("waitlisted")
-                        ? "You have been added to the waitlist for " + className + "."
-                        : "Successfully booked " + className + "!";
-                showAlert(message, stage);
-                updateClassCard(className, responseJson.getBoolean("waitlisted"));
-                if (!responseJson.getBoolean("waitlisted")) {
-                    initializeWorkoutHistoryTable();
-                }
-            } else {
-                showAlert("Failed to process booking: " + responseJson.optString("message", "Unknown error"), stage);
-            }
-        } catch (Exception e) {
-            showAlert("Failed to process booking: " + e.getMessage(), stage);
-        }
-    }
-
-    /**
-     * Updates a class card after booking or cancellation.
-     */
-    private void updateClassCard(String className, boolean isWaitlisted) {
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "get_classes");
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            if (!responseJson.getString("status").equals("success")) {
-                System.err.println(
-                        "Failed to fetch classes for update: " + responseJson.optString("message", "Unknown error"));
-                showAlert("Failed to update class details.", getStage());
+        String memberId = context.getMemberId();
+        Request request = Request.of(Action.BOOK_GYM_CLASS)
+                .with("data", new JSONObject().put("className", className).put("memberId", memberId));
+        startPending(className, true);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null || !response.isSuccess()) {
+                rollBackPending(className);
+                Toast.show(stage, "Failed to process booking: " + (error != null
+                        ? BackendClient.describe(error) : response.getMessage("Unknown error")), true);
                 return;
             }
-
-            JSONArray classesArray = responseJson.getJSONArray("data");
-            JSONObject targetClass = null;
-            for (int i = 0; i < classesArray.length(); i++) {
-                JSONObject gymClass = classesArray.getJSONObject(i);
-                if (gymClass.getString("name").equals(className)) {
-                    targetClass = gymClass;
-                    break;
-                }
-            }
-
-            if (targetClass == null) {
-                System.err.println("Class not found in server response: " + className);
-                showAlert("Class " + className + " not found.", getStage());
-                return;
+            boolean waitlisted = response.toJson().optBoolean("waitlisted");
+            enrollments.book(className, waitlisted);
+            confirmPending(className, gymClass -> gymClass.withMember(memberId));
+            String message = waitlisted
+                    ? "You have been added to the waitlist for " + className + "."
+                    : "Successfully booked " + className + "!";
+            Toast.show(stage, message, false);
+            // With a live change feed the card is rebuilt when the change arrives.
+            if (!CatalogRepository.getInstance().isLive()) {
+                refreshClasses();
             }
-
-            int capacity = targetClass.getInt("capacity");
-            int currentParticipants = targetClass.getInt("currentParticipants");
-            int waitlistSize = targetClass.getInt("waitlistSize");
-            System.out.println("Updating class card: " + className + ", capacity: " + capacity + ", participants: "
-                    + currentParticipants + ", waitlist: " + waitlistSize);
-
-            for (Node node : classesContainer.getChildren()) {
-                if (node instanceof VBox card) {
-                    boolean found = false;
-                    int capacityIndex = -1;
-                    int waitlistIndex = -1;
-                    int buttonIndex = -1;
-
-                    for (int i = 0; i < card.getChildren().size(); i++) {
-                        Node child = card.getChildren().get(i);
-                        if (child instanceof HBox header) {
-                            for (Node headerChild : header.getChildren()) {
-                                if (headerChild instanceof Label nameLabel && nameLabel.getText().equals(className)) {
-                                    found = true;
-                                    break;
-                                }
-                            }
-                        }
-                        if (child instanceof HBox capacityBox
-                                && capacityBox.getStyleClass().contains("capacity-indicator")) {
-                            capacityIndex = i;
-                        }
-                        if (child instanceof Label waitlistLabel && waitlistLabel.getText().startsWith("Waitlist: ")) {
-                            waitlistIndex = i;
-                        }
-                        if (child instanceof Button actionButton
-                                && actionButton.getStyleClass().contains("gym-action-button")) {
-                            buttonIndex = i;
-                        }
-                    }
-
-                    if (found) {
-                        if (buttonIndex != -1) {
-                            Button actionButton = (Button) card.getChildren().get(buttonIndex);
-                            actionButton.setText("Cancel");
-                            ImageView cancelIcon = new ImageView(
-                                    new Image(getClass().getResourceAsStream("/icons/booking.png")));
-                            cancelIcon.setFitWidth(16);
-                            cancelIcon.setFitHeight(16);
-                            actionButton.setGraphic(cancelIcon);
-                            actionButton.setOnAction(e -> handleCancelBooking(className));
-                        }
-
-                        if (capacityIndex != -1) {
-                            HBox newCapacityIndicator = createCapacityIndicator(capacity, currentParticipants);
-                            card.getChildren().set(capacityIndex, newCapacityIndicator);
-                        }
-
-                        if (waitlistIndex != -1) {
-                            Label waitlistLabel = (Label) card.getChildren().get(waitlistIndex);
-                            waitlistLabel.setText("Waitlist: " + waitlistSize);
-                        }
-
-                        break;
-                    }
-                }
+            if (!waitlisted) {
+                initializeWorkoutHistoryTable();
             }
-        } catch (Exception e) {
-            System.err.println("Failed to update class card for " + className + ": " + e.getMessage());
-            showAlert("Failed to update class details: " + e.getMessage(), getStage());
-        }
+        });
     }
 
     /**
@@ -656,112 +548,206 @@ public class GymController {
             showAlert("You must be logged in to cancel a booking.", stage);
             return;
         }
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "cancel_gym_class");
-            request.put("data", new JSONObject().put("className", className).put("memberId", context.getMemberId()));
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            if (responseJson.getString("status").equals("success")) {
-                showAlert("Booking canceled successfully!", stage);
+        String memberId = context.getMemberId();
+        Request request = Request.of(Action.CANCEL_GYM_CLASS)
+                .with("data", new JSONObject().put("className", className).put("memberId", memberId));
+        startPending(className, false);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null || !response.isSuccess()) {
+                rollBackPending(className);
+                Toast.show(stage, "Failed to cancel booking: " + (error != null
+                        ? BackendClient.describe(error) : response.getMessage("Unknown error")), true);
+                return;
+            }
+            enrollments.cancel(className);
+            confirmPending(className, gymClass -> gymClass.withoutMember(memberId));
+            Toast.show(stage, "Booking canceled successfully!", false);
+            // With a live change feed the card is rebuilt when the change arrives.
+            if (!CatalogRepository.getInstance().isLive()) {
                 refreshClasses();
-                initializeWorkoutHistoryTable();
-            } else {
-                showAlert("Failed to cancel booking: " + responseJson.optString("message", "Unknown error"), stage);
             }
-        } catch (Exception e) {
-            showAlert("Failed to cancel booking: " + e.getMessage(), stage);
+            initializeWorkoutHistoryTable();
+        });
+    }
+
+    /**
+     * Shows a booking or cancellation as done before the server has answered, by rebuilding the
+     * class card with its action pending.
+     */
+    private void startPending(String className, boolean booking) {
+        pendingClasses.put(className, booking);
+        GymClass gymClass = classTiles.get(className);
+        if (gymClass != null) {
+            replaceClassCard(gymClass);
+        }
+    }
+
+    /**
+     * Records a booking or cancellation the server accepted, applying it to the known class until
+     * the server's copy arrives.
+     */
+    private void confirmPending(String className, UnaryOperator<GymClass> change) {
+        pendingClasses.remove(className);
+        GymClass gymClass = classTiles.get(className);
+        if (gymClass != null) {
+            replaceClassCard(change.apply(gymClass));
         }
     }
 
     /**
-     * Initializes the workout history table.
+     * Undoes a booking or cancellation the server rejected, showing the class as last received.
+     */
+    private void rollBackPending(String className) {
+        pendingClasses.remove(className);
+        GymClass gymClass = classTiles.get(className);
+        if (gymClass != null) {
+            replaceClassCard(gymClass);
+        }
+    }
+
+    /**
+     * Initializes the workout history, showing its first page; further pages are loaded as the
+     * member scrolls towards the end.
      */
     private void initializeWorkoutHistoryTable() {
-        workoutHistoryContainer.getChildren().clear();
-        workoutHistoryContainer.setAlignment(Pos.CENTER);
+        workoutGeneration++;
+        workoutCursor = null;
+        workoutHistoryComplete = false;
+        loadingWorkouts = false;
+        workoutTiles.setAll(List.of());
+
+        if (!AppContext.getInstance().isLoggedIn()) {
+            showWorkoutPlaceholder("Please log in to view your workout history");
+            workoutHistoryComplete = true;
+            return;
+        }
+        showWorkoutPlaceholder("Loading workout history…");
+        loadNextWorkoutPage();
+    }
 
+    /**
+     * Loads the page of workout history after the entries shown, unless one is loading or there
+     * are no more. A server without the {@code paged_history} capability sends the whole history
+     * instead, which is streamed into the list as before, newest first.
+     */
+    private void loadNextWorkoutPage() {
         AppContext context = AppContext.getInstance();
-        if (!context.isLoggedIn()) {
-            Label noHistoryLabel = new Label("Please log in to view your workout history");
-            noHistoryLabel.getStyleClass().add("workout-detail");
-            workoutHistoryContainer.getChildren().add(noHistoryLabel);
+        if (loadingWorkouts || workoutHistoryComplete || !context.isLoggedIn()) {
             return;
         }
-
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "get_workout_history");
-            request.put("memberId", context.getMemberId());
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-
-            if (responseJson.getString("status").equals("success")) {
-                JSONArray workoutsArray = responseJson.getJSONArray("data");
-
-                if (workoutsArray.length() == 0) {
-                    Label noHistoryLabel = new Label("No workout history available");
-                    noHistoryLabel.getStyleClass().add("workout-detail");
-                    workoutHistoryContainer.getChildren().add(noHistoryLabel);
-                    return;
-                }
-
-                for (int i = 0; i < workoutsArray.length(); i++) {
-                    JSONObject workout = workoutsArray.getJSONObject(i);
-                    VBox card = createWorkoutHistoryCard(
-                            workout.getString("className"),
-                            workout.getString("instructor"),
-                            workout.getString("date")
-                    );
-                    workoutHistoryContainer.getChildren().add(card);
-                }
+        loadingWorkouts = true;
+        int generation = workoutGeneration;
+        BackendClient client = BackendClient.getInstance();
+        Request request = Request.of(Action.GET_WORKOUT_HISTORY)
+                .with("memberId", context.getMemberId());
+        // The capabilities were usually negotiated by the subscription check the gym page starts
+        // with; if not, the handshake runs off the JavaFX Application Thread.
+        client.capabilities().thenAccept(capabilities -> {
+            if (generation != workoutGeneration) {
+                return;
+            }
+            if (capabilities.contains(BackendClient.CAPABILITY_PAGED_HISTORY)) {
+                loadWorkoutPage(client, request, generation);
             } else {
-                showAlert("Failed to load workout history: " +
-                        responseJson.optString("message", "Unknown error"), getStage());
+                loadWholeWorkoutHistory(client, request, generation);
             }
-        } catch (Exception e) {
-            showAlert("Failed to load workout history: " + e.getMessage(), getStage());
-        }
+        });
     }
 
-    private VBox createWorkoutHistoryCard(String className, String instructor, String date) {
-        VBox card = new VBox(10);
-        card.getStyleClass().add("workout-card");
-
-        Label titleLabel = new Label(className);
-        titleLabel.getStyleClass().add("workout-title");
-
-        Label instructorLabel = new Label("Instructor: " + instructor);
-        instructorLabel.getStyleClass().add("workout-detail");
-
-        Label dateLabel = new Label(date);
-        dateLabel.getStyleClass().add("workout-date");
-
-        // Add a small icon or visual indicator
-        ImageView icon = new ImageView(new Image(
-                getClass().getResourceAsStream("/icons/dumbbell.png")));
-        icon.setFitWidth(24);
-        icon.setFitHeight(24);
+    private void loadWorkoutPage(BackendClient client, Request request, int generation) {
+        request = request.with("limit", WORKOUT_PAGE_SIZE);
+        if (workoutCursor != null) {
+            request = request.with("before", workoutCursor);
+        }
+        client.send(request).whenComplete((response, error) -> {
+            if (generation != workoutGeneration) {
+                return;
+            }
+            List<WorkoutEntry> page = error == null && response.isSuccess()
+                    ? response.getDataList(WorkoutEntry.CODEC) : List.of();
+            finishWorkoutPage(page, page.size() < WORKOUT_PAGE_SIZE, response, error);
+        });
+    }
 
-        HBox header = new HBox(10);
-        header.setAlignment(Pos.CENTER_LEFT);
-        header.getChildren().addAll(icon, titleLabel);
+    private void loadWholeWorkoutHistory(BackendClient client, Request request, int generation) {
+        List<WorkoutEntry> history = new ArrayList<>();
+        client.stream(request, WorkoutEntry.CODEC, history::addAll).whenComplete((response, error) -> {
+            if (generation == workoutGeneration) {
+                Collections.reverse(history);
+                finishWorkoutPage(history, true, response, error);
+            }
+        });
+    }
 
-        card.getChildren().addAll(header, instructorLabel, dateLabel);
+    /**
+     * Appends a page of workout history to the list, or reports why it could not be loaded.
+     *
+     * @param last Whether there are no entries after the page.
+     */
+    private void finishWorkoutPage(List<WorkoutEntry> page, boolean last, Response response, Throwable error) {
+        loadingWorkouts = false;
+        if (error != null || !response.isSuccess()) {
+            // Scrolling to the end again retries.
+            showWorkoutPlaceholder("Workout history could not be loaded");
+            showAlert("Failed to load workout history: " + (error != null
+                    ? BackendClient.describe(error) : response.getMessage("Unknown error")), getStage());
+            return;
+        }
+        workoutHistoryComplete = last;
+        if (!page.isEmpty()) {
+            workoutCursor = page.get(page.size() - 1).id();
+            workoutTiles.addAll(page);
+        }
+        if (workoutTiles.size() == 0) {
+            showWorkoutPlaceholder("No workout history available");
+        }
+    }
 
-        // Add hover effect
-        ScaleTransition grow = new ScaleTransition(Duration.millis(200), card);
-        grow.setToX(1.05);
-        grow.setToY(1.05);
+    private void showWorkoutPlaceholder(String message) {
+        Label placeholder = new Label(message);
+        placeholder.getStyleClass().add("workout-detail");
+        workoutHistoryList.setPlaceholder(placeholder);
+    }
 
-        ScaleTransition shrink = new ScaleTransition(Duration.millis(200), card);
-        shrink.setToX(1.0);
-        shrink.setToY(1.0);
+    /**
+     * A tile of the workout history, showing the card of one workout.
+     */
+    private final class WorkoutTile implements TileGrid.Tile<WorkoutEntry> {
+        private final VBox card = new VBox(10);
+        private final Label titleLabel = new Label();
+        private final Label instructorLabel = new Label();
+        private final Label dateLabel = new Label();
+
+        WorkoutTile() {
+            card.getStyleClass().add("workout-card");
+            titleLabel.getStyleClass().add("workout-title");
+            instructorLabel.getStyleClass().add("workout-detail");
+            dateLabel.getStyleClass().add("workout-date");
+
+            // Add a small icon or visual indicator
+            ImageView icon = new ImageView(Icon.DUMBBELL.image(24));
+            icon.setFitWidth(24);
+            icon.setFitHeight(24);
+
+            HBox header = new HBox(10);
+            header.setAlignment(Pos.CENTER_LEFT);
+            header.getChildren().addAll(icon, titleLabel);
+
+            card.getChildren().addAll(header, instructorLabel, dateLabel);
+            addCardHoverEffect(card);
+        }
 
-        card.setOnMouseEntered(e -> grow.playFromStart());
-        card.setOnMouseExited(e -> shrink.playFromStart());
+        @Override
+        public Node node() {
+            return card;
+        }
 
-        return card;
+        @Override
+        public void show(WorkoutEntry workout) {
+            titleLabel.setText(workout.className());
+            instructorLabel.setText("Instructor: " + workout.instructor());
+            dateLabel.setText(workout.date());
+        }
     }
 
     /**
@@ -774,22 +760,18 @@ public class GymController {
             showAlert("You must be logged in to clear workout history.", stage);
             return;
         }
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "clear_workout_history");
-            request.put("memberId", context.getMemberId());
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            if (responseJson.getString("status").equals("success")) {
+        Request request = Request.of(Action.CLEAR_WORKOUT_HISTORY)
+                .with("memberId", context.getMemberId());
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                showAlert("Failed to clear workout history: " + BackendClient.describe(error), stage);
+            } else if (response.isSuccess()) {
                 showAlert("Workout history cleared successfully!", stage);
                 initializeWorkoutHistoryTable();
             } else {
-                showAlert("Failed to clear workout history: " + responseJson.optString("message", "Unknown error"),
-                        stage);
+                showAlert("Failed to clear workout history: " + response.getMessage("Unknown error"), stage);
             }
-        } catch (Exception e) {
-            showAlert("Failed to clear workout history: " + e.getMessage(), stage);
-        }
+        });
     }
 
     /**
@@ -839,24 +821,20 @@ public class GymController {
         // Show dialog and wait for response
         confirmDialog.showAndWait().ifPresent(buttonResponse -> {
             if (buttonResponse == ButtonType.OK) {
-                try {
-                    JSONObject request = new JSONObject();
-                    request.put("action", "cancel_membership");
-                    request.put("data", new JSONObject().put("memberId", context.getMemberId()));
-                    String serverResponse = sendRequestToServer(request.toString());
-                    JSONObject responseJson = new JSONObject(serverResponse);
-                    if (responseJson.getString("status").equals("success")) {
+                Request request = Request.of(Action.CANCEL_MEMBERSHIP)
+                        .with("data", new JSONObject().put("memberId", context.getMemberId()));
+                BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+                    if (error != null) {
+                        showAlert("Failed to cancel membership: " + BackendClient.describe(error), stage);
+                    } else if (response.isSuccess()) {
                         context.clearSubscription();
                         initializeSubscriptionDetails();
                         initializeWorkoutHistoryTable();
                         clearHistoryButton.setVisible(false);
                     } else {
-                        showAlert("Failed to cancel membership: " + responseJson.optString("message", "Unknown error"),
-                                stage);
+                        showAlert("Failed to cancel membership: " + response.getMessage("Unknown error"), stage);
                     }
-                } catch (Exception e) {
-                    showAlert("Failed to cancel membership: " + e.getMessage(), stage);
-                }
+                });
             }
         });
     }
@@ -887,30 +865,25 @@ public class GymController {
         // Show dialog and wait for response
         confirmDialog.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    JSONObject request = new JSONObject();
-                    request.put("action", "renew_subscription");
-                    JSONObject data = new JSONObject();
-                    data.put("memberId", context.getMemberId());
-                    data.put("planName", context.getSubscribedPlanName());
-                    data.put("duration", context.getSubscribedDuration());
-                    request.put("data", data);
-
-                    String serverResponse = sendRequestToServer(request.toString());
-                    JSONObject responseJson = new JSONObject(serverResponse);
-
-                    if (responseJson.getString("status").equals("success")) {
+                JSONObject data = new JSONObject();
+                data.put("memberId", context.getMemberId());
+                data.put("planName", context.getSubscribedPlanName());
+                data.put("duration", context.getSubscribedDuration());
+                Request request = Request.of(Action.RENEW_SUBSCRIPTION).with("data", data);
+
+                BackendClient.getInstance().send(request).whenComplete((renewResponse, error) -> {
+                    if (error != null) {
+                        showAlert("Failed to renew subscription: " + BackendClient.describe(error), stage);
+                    } else if (renewResponse.isSuccess()) {
                         showAlert("Subscription renewed successfully!", stage);
                         // Refresh subscription details
-                        context.loadActiveSubscriptions(true);
-                        initializeSubscriptionDetails();
+                        context.loadActiveSubscriptions(true)
+                                .thenRun(this::initializeSubscriptionDetails);
                     } else {
                         showAlert("Failed to renew subscription: " +
-                                responseJson.optString("message", "Unknown error"), stage);
+                                renewResponse.getMessage("Unknown error"), stage);
                     }
-                } catch (Exception e) {
-                    showAlert("Failed to renew subscription: " + e.getMessage(), stage);
-                }
+                });
             }
         });
     }
@@ -925,42 +898,18 @@ public class GymController {
 
     // ----------------------- Server Communication Methods -----------------------
 
-    /**
-     * Sends a request to the server and returns the response.
-     */
-    private String sendRequestToServer(String request) throws IOException {
-        try (Socket socket = new Socket(SERVER_HOST, SERVER_PORT);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-            out.println(request);
-            String response = in.readLine();
-            System.out.println("Server response: " + response);
-            return response != null ? response : "{}";
-        }
-    }
-
     /**
      * Refreshes the classes displayed in the UI.
      */
     private void refreshClasses() {
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "get_classes");
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            System.out.println("get_classes response: " + responseJson.toString());
-            if (responseJson.getString("status").equals("success")) {
-                JSONArray classesArray = responseJson.getJSONArray("data");
-                System.out.println("Number of classes received: " + classesArray.length());
-                displayGymClasses(classesArray);
-            } else {
-                showAlert("Failed to refresh classes: " + responseJson.optString("message", "Unknown error"),
-                        getStage());
-            }
-        } catch (Exception e) {
-            showAlert("Failed to refresh classes: " + e.getMessage(), getStage());
+        CatalogRepository.getInstance().load(CatalogRepository.GYM_CLASSES, classes -> {
+            System.out.println("Number of classes received: " + classes.size());
+            displayGymClasses(classes);
+        }).exceptionally(error -> {
+            showAlert("Failed to refresh classes: " + BackendClient.describe(error), getStage());
             loadGymClassesFromFile();
-        }
+            return null;
+        });
     }
 
     // ----------------------- Utility Methods -----------------------
@@ -1062,7 +1011,7 @@ public class GymController {
     }
 
     /**
-     * Gets the Stage from the classesContainer.
+     * Gets the Stage from the tagline.
      */
     private Stage getStage() {
         return (Stage) tagline.getScene().getWindow();
@@ -1173,4 +1122,11 @@ public class GymController {
             showAlert("Unable to load page: " + e.getMessage(), getStage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * What the card of a gym class shows: the class, any booking (true) or cancellation (false) of
+     * it awaiting the server, and the member's place in it.
+     */
+    private record ClassCardContent(GymClass gymClass, Boolean pending, EnrollmentIndex.Status status) {
+    }
+}
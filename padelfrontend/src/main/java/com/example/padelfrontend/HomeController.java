@@ -12,16 +12,17 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.example.padelfrontend.model.ActiveSubscription;
+import com.example.padelfrontend.model.GymClass;
+import com.example.padelfrontend.model.PadelCenter;
 
 import java.io.*;
-import java.net.Socket;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Controller for the Home page, handling navigation and dynamic content loading.
@@ -42,8 +43,6 @@ public class HomeController {
 
     private static final Duration TRANSITION_DURATION = Duration.millis(400);
     private static final String PLACEHOLDER_IMAGE_PATH = "/images/placeholder.png";
-    private static final int SERVER_PORT = 8080;
-    private static final String SERVER_HOST = "localhost";
 
     @FXML
     public void initialize() {
@@ -112,67 +111,32 @@ public class HomeController {
      * Fetches padel centers from the server and populates the centersContainer.
      */
     private void fetchPadelCenters() {
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                // Send get_padel_centers request
-                JSONObject request = new JSONObject();
-                request.put("action", "get_padel_centers");
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                // Read response
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                // Parse response
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                if ("success".equals(status)) {
-                    JSONArray centers = jsonResponse.getJSONArray("data");
-                    Platform.runLater(() -> populatePadelCenters(centers));
-                } else {
-                    throw new Exception(jsonResponse.optString("message", "Failed to fetch padel centers"));
-                }
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    Label errorLabel = new Label("Failed to load padel centers: " + ex.getMessage());
+        CatalogRepository.getInstance().load(CatalogRepository.PADEL_CENTERS, this::populatePadelCenters)
+                .exceptionally(error -> {
+                    Label errorLabel = new Label("Failed to load padel centers: " + BackendClient.describe(error));
                     errorLabel.getStyleClass().add("error-label");
                     centersContainer.getChildren().add(errorLabel);
+                    return null;
                 });
-            }
-        }).start();
     }
 
     /**
      * Populates the centersContainer with padel center cards.
      */
-    private void populatePadelCenters(JSONArray centers) {
+    private void populatePadelCenters(List<PadelCenter> centers) {
         centersContainer.getChildren().clear();
-        for (int i = 0; i < Math.min(centers.length(), 8); i++) { // Limit to 5 centers
-            JSONObject center = centers.getJSONObject(i);
-            String name = center.optString("name", "Unknown Center");
-            String location = center.optString("location", "Unknown Location");
-            String imageUrl = center.optString("image", "");
+        for (int i = 0; i < Math.min(centers.size(), 8); i++) { // Limit to 5 centers
+            PadelCenter center = centers.get(i);
+            String name = Objects.requireNonNullElse(center.name(), "Unknown Center");
+            String location = Objects.requireNonNullElse(center.location(), "Unknown Location");
+            String imageUrl = center.image();
 
             VBox card = new VBox(10);
             card.getStyleClass().add("center-card");
             card.setAlignment(javafx.geometry.Pos.CENTER);
 
             ImageView imageView = new ImageView();
-            Image image = loadImage(imageUrl).getImage();
-            if (image != null) {
-                imageView.setImage(image);
-            } else {
-                System.err.println("Failed to load image for: " + name + ". Using no image.");
-            }
+            ImageService.getInstance().show(imageView, imageUrl, PLACEHOLDER_IMAGE_PATH, 200, 150);
             imageView.getStyleClass().add("center-image");
 
             Label nameLabel = new Label(name);
@@ -190,133 +154,70 @@ public class HomeController {
      * Fetches gym classes from the server and populates the classesContainer.
      */
     private void fetchGymClasses() {
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                // Send get_classes request
-                JSONObject request = new JSONObject();
-                request.put("action", "get_classes");
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                // Read response
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                // Parse response
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                if ("success".equals(status)) {
-                    JSONArray classes = jsonResponse.getJSONArray("data");
-                    Platform.runLater(() -> populateGymClasses(classes));
-                } else {
-                    throw new Exception(jsonResponse.optString("message", "Failed to fetch gym classes"));
-                }
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    Label errorLabel = new Label("Failed to load gym classes: " + ex.getMessage());
+        CatalogRepository.getInstance().load(CatalogRepository.GYM_CLASSES, this::populateGymClasses)
+                .exceptionally(error -> {
+                    Label errorLabel = new Label("Failed to load gym classes: " + BackendClient.describe(error));
                     errorLabel.getStyleClass().add("error-label");
                     classesContainer.getChildren().add(errorLabel);
+                    return null;
                 });
-            }
-        }).start();
     }
 
     /**
      * Loads active subscriptions for the current user from the server and updates AppContext.
-     * @return JSONArray of active subscriptions, or null if none exist or an error occurs.
      */
-    /**
-     * Loads active subscriptions for the current user from the server and updates AppContext.
-     * @return JSONArray of active subscriptions, or null if none exist or an error occurs.
-     */
-    private JSONArray loadActiveSubscriptions() {
+    private void loadActiveSubscriptions() {
         AppContext context = AppContext.getInstance();
-        try {
-            String memberId = context.getMemberId();
-            if (memberId == null) {
-                //showAlert("Error", "Member ID is missing. Please update your profile.");
-                return null;
-            }
-
-            JSONObject request = new JSONObject();
-            request.put("action", "get_active_subscriptions");
-            request.put("memberId", memberId);
-
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            System.out.println("Server response: " + response);
+        String memberId = context.getMemberId();
+        if (memberId == null) {
+            return;
+        }
 
-            if (!responseJson.getString("status").equals("success")) {
-                //showAlert("Error", responseJson.getString("message"));
-                return null;
+        Request request = Request.of(Action.GET_ACTIVE_SUBSCRIPTIONS)
+                .with("memberId", memberId);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                System.err.println("Failed to load active subscriptions: " + BackendClient.describe(error));
+                return;
+            }
+            if (!response.isSuccess()) {
+                return;
             }
 
-            JSONArray activeSubs = responseJson.getJSONArray("data");
+            List<ActiveSubscription> activeSubs = response.getDataList(ActiveSubscription.CODEC);
             // Update AppContext with subscription details
-            if (activeSubs.length() > 0) {
-                JSONObject sub = activeSubs.getJSONObject(0);
-                context.setSubscribedPlanName(sub.optString("planName", "Unknown Plan"));
-                context.setSubscribedDuration(sub.optString("duration", "Unknown Duration"));
-                context.setDob(sub.optString("dob", null)); // Set dob from server response
+            if (!activeSubs.isEmpty()) {
+                ActiveSubscription sub = activeSubs.get(0);
+                context.setSubscribedPlanName(Objects.requireNonNullElse(sub.planName(), "Unknown Plan"));
+                context.setSubscribedDuration(Objects.requireNonNullElse(sub.duration(), "Unknown Duration"));
+                context.setDob(sub.dob()); // Set dob from server response
                 System.out.println(context.getDob());
             } else {
                 context.setSubscribedPlanName(null);
                 context.setSubscribedDuration(null);
                 context.setDob(null); // Clear dob if no active subscriptions
             }
-
-            return activeSubs;
-        } catch (Exception e) {
-            //showAlert("Error", "Failed to load active subscriptions: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private String sendRequestToServer(String request) throws IOException {
-        try (Socket socket = new Socket(SERVER_HOST, SERVER_PORT);
-             PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-
-            System.out.println("Sending request: " + request);
-            out.println(request);
-            String response = in.readLine();
-            System.out.println("Server response: " + response);
-            return response != null ? response : "{}";
-        }
+        });
     }
 
     /**
      * Populates the classesContainer with gym class cards.
      */
-    private void populateGymClasses(JSONArray classes) {
+    private void populateGymClasses(List<GymClass> classes) {
         classesContainer.getChildren().clear();
-        for (int i = 0; i < Math.min(classes.length(), 3); i++) { // Limit to 3 classes
-            JSONObject gymClass = classes.getJSONObject(i);
-            String name = gymClass.optString("name", "Unknown Class");
-            String instructor = gymClass.optString("instructor", "Unknown Instructor");
-            String time = gymClass.optString("time", "Unknown Time");
-            String imageUrl = gymClass.optString("imagePath", "");
+        for (int i = 0; i < Math.min(classes.size(), 3); i++) { // Limit to 3 classes
+            GymClass gymClass = classes.get(i);
+            String name = Objects.requireNonNullElse(gymClass.name(), "Unknown Class");
+            String instructor = Objects.requireNonNullElse(gymClass.instructor(), "Unknown Instructor");
+            String time = Objects.requireNonNullElse(gymClass.time(), "Unknown Time");
+            String imageUrl = gymClass.imagePath();
 
             VBox card = new VBox(10);
             card.getStyleClass().add("class-card");
             card.setAlignment(javafx.geometry.Pos.CENTER);
 
             ImageView imageView = new ImageView();
-            Image image = loadImage(imageUrl).getImage();
-            if (image != null) {
-                imageView.setImage(image);
-            } else {
-                System.err.println("Failed to load image for: " + name + ". Using no image.");
-            }
+            ImageService.getInstance().show(imageView, imageUrl, PLACEHOLDER_IMAGE_PATH, 200, 150);
             imageView.getStyleClass().add("class-image");
 
             Label nameLabel = new Label(name);
@@ -330,58 +231,6 @@ public class HomeController {
         }
     }
 
-    /**
-     * Creates an image view for a class card using a classpath resource.
-     *
-     * @param imagePath The path to the image resource (e.g., /images/yoga.jpg).
-     * @return An ImageView with the loaded image or a fallback.
-     */
-    private ImageView loadImage(String imagePath) {
-        Image image;
-        try {
-            if (imagePath == null || imagePath.trim().isEmpty() || !imagePath.startsWith("/images/")) {
-                System.err.println("Invalid image path: '" + imagePath + "', using placeholder.");
-                image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
-            } else {
-                System.out.println("Loading image: " + imagePath);
-                image = loadResourceImage(imagePath);
-            }
-        } catch (Exception e) {
-            System.err.println("Failed to load image: '" + imagePath + "', using placeholder. Error: " + e.getMessage());
-            image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
-        }
-
-        ImageView imageView = new ImageView(image);
-        imageView.setFitWidth(150);
-        imageView.setFitHeight(100);
-        imageView.setPreserveRatio(true);
-        return imageView;
-    }
-
-    /**
-     * Loads an image from a classpath resource, falling back to a transparent image if loading fails.
-     *
-     * @param resourcePath The classpath resource path (e.g., /images/yoga.jpg).
-     * @return The loaded Image or a transparent 1x1 image.
-     */
-    private Image loadResourceImage(String resourcePath) {
-        try {
-            InputStream stream = getClass().getResourceAsStream(resourcePath);
-            if (stream == null) {
-                throw new IOException("Resource not found: " + resourcePath);
-            }
-            Image image = new Image(stream);
-            if (image.isError()) {
-                throw new IOException("Image failed to load: " + resourcePath);
-            }
-            return image;
-        } catch (Exception e) {
-            System.err.println("Failed to load resource: '" + resourcePath + "'. Error: " + e.getMessage());
-            // Fallback to a transparent 1x1 image
-            return new Image("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
-        }
-    }
-
     /**
      * Sets up the navbar with hover effects and removes active state from other buttons.
      */
@@ -0,0 +1,72 @@
+package com.example.padelfrontend;
+
+import javafx.scene.image.Image;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The icons controllers set on nodes, each decoded once at every size it is shown at.
+ * <p>
+ * Each icon lists the sizes it is used at, and {@link #preload()} decodes them all when the
+ * application starts, so rendering a card or toggling a password field reuses the same
+ * {@link Image} instead of decoding the resource again. Asking for another size decodes it the
+ * first time. Icons set in FXML are left to the FXML loader.
+ * <p>
+ * Icons must be used on the JavaFX Application Thread.
+ */
+enum Icon {
+    DUMBBELL("/icons/dumbbell.png", 24),
+    BOOKING("/icons/booking.png", 16),
+    HOURGLASS("/icons/hourglass.png", 16),
+    HIDDEN("/icons/hidden.png", 20, 24),
+    SHOW("/icons/show.png", 20, 24);
+
+    private final String path;
+    private final int[] sizes;
+    private final Map<Integer, Image> images = new HashMap<>();
+
+    Icon(String path, int... sizes) {
+        this.path = path;
+        this.sizes = sizes;
+    }
+
+    /**
+     * Decodes every icon at every size it is used at. Called once the JavaFX toolkit has started.
+     */
+    static void preload() {
+        for (Icon icon : values()) {
+            for (int size : icon.sizes) {
+                icon.image(size);
+            }
+        }
+    }
+
+    /**
+     * Returns the icon decoded as a square of the given size.
+     *
+     * @return The icon, or {@code null} if its resource cannot be read.
+     */
+    Image image(int size) {
+        Image image = images.get(size);
+        if (image == null) {
+            image = decode(size);
+            images.put(size, image);
+        }
+        return image;
+    }
+
+    private Image decode(int size) {
+        try (InputStream stream = Icon.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                System.err.println("Icon not found: " + path);
+                return null;
+            }
+            return new Image(stream, size, size, true, true);
+        } catch (Exception e) {
+            System.err.println("Failed to load icon: '" + path + "'. Error: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.padelfrontend;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.File;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decoded images shared by every page, by resource path and the size they are shown at.
+ * <p>
+ * An image is decoded once at the size it is requested at rather than at full resolution, on
+ * JavaFX's background loading thread rather than the JavaFX Application Thread, and kept for the
+ * next card or page showing it at that size. An image still loading is shared too, so cards asking
+ * for it at once start one decode. An {@link ImageView} given an image to {@linkplain #show show}
+ * shows a placeholder until the image is ready, and the placeholder for good if it cannot be loaded.
+ * <p>
+ * Once the decoded images together take more than a set number of bytes, the least recently used
+ * ones are evicted. Paths name classpath resources, such as {@code /images/yoga.jpg}, or images
+ * managers uploaded to the {@link MediaStore}, such as {@code media/court.png}. An image that is on
+ * neither, as those managers added before the store were, is read from the resources folder.
+ * <p>
+ * The service is confined to the JavaFX Application Thread.
+ */
+final class ImageService {
+
+    /** A transparent pixel, shown when neither an image nor its placeholder can be loaded. */
+    private static final Image TRANSPARENT = new Image(
+            "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
+    private static final String RESOURCES_DIR = "padelfrontend/src/main/resources";
+    /** The image an image view was last asked to show, among its properties. */
+    private static final String SHOWN = ImageService.class.getName() + ".shown";
+
+    private static final ImageService instance = new ImageService(
+            Long.getLong("padel.images.maxBytes", 64L * 1024 * 1024));
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    /**
+     * @param maxBytes Size of the decoded images above which the least recently used are evicted.
+     */
+    ImageService(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    static ImageService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns an image decoded to fit the given size, keeping its aspect ratio, which may still be
+     * loading. An image view shows it once it has loaded.
+     *
+     * @param path   The path of the image resource.
+     * @param width  The width it is shown at, or 0 for its own.
+     * @param height The height it is shown at, or 0 for its own.
+     * @return The image, or {@code null} if there is no image at the path.
+     */
+    Image get(String path, double width, double height) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        String key = key(path, width, height);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry.image;
+        }
+        URL url = resolve(path);
+        if (url == null) {
+            return null;
+        }
+        Image image = new Image(url.toExternalForm(), width, height, true, true, true);
+        Entry added = new Entry(image, (long) (width * height * 4));
+        entries.put(key, added);
+        cachedBytes += added.bytes;
+        whenLoaded(image, () -> {
+            // Until it has loaded an image is counted at the size asked for; now its own is known. An
+            // image that failed is kept, taking no room, so that it is not decoded again.
+            long bytes = 0;
+            if (image.isError()) {
+                System.err.println("Failed to load image: '" + path + "'. Error: " + describe(image));
+            } else {
+                bytes = (long) (image.getWidth() * image.getHeight() * 4);
+            }
+            if (entries.get(key) == added) {
+                cachedBytes += bytes - added.bytes;
+            }
+            added.bytes = bytes;
+            evict(key);
+        });
+        evict(key);
+        return image;
+    }
+
+    /**
+     * Shows an image in an image view, once it has loaded, and the placeholder until then or if it
+     * cannot be loaded. The view can be asked to show another image before this one has loaded,
+     * as a recycled cell is, and then never shows this one.
+     *
+     * @param view            The view to show the image in.
+     * @param path            The path of the image resource, which may be {@code null}.
+     * @param placeholderPath The path of the image resource shown instead.
+     * @param width           The width the image is shown at.
+     * @param height          The height the image is shown at.
+     */
+    void show(ImageView view, String path, String placeholderPath, double width, double height) {
+        Image image = get(path, width, height);
+        view.getProperties().put(SHOWN, image);
+        if (image != null && image.getProgress() >= 1 && !image.isError()) {
+            view.setImage(image);
+            return;
+        }
+        Image placeholder = get(placeholderPath, width, height);
+        view.setImage(placeholder != null ? placeholder : TRANSPARENT);
+        if (image == null) {
+            System.err.println("Invalid image path: '" + path + "', using placeholder.");
+            return;
+        }
+        whenLoaded(image, () -> {
+            if (!image.isError() && view.getProperties().get(SHOWN) == image) {
+                view.setImage(image);
+            }
+        });
+    }
+
+    /**
+     * Evicts least recently used images until those cached fit, keeping the one just asked for.
+     */
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Entry> entry = eldest.next();
+            if (!entry.getKey().equals(keep)) {
+                cachedBytes -= entry.getValue().bytes;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the URL of an image in the media store, or of an image resource on the classpath, or in
+     * the resources folder if it is not there, or {@code null} if there is none.
+     */
+    private URL resolve(String path) {
+        String resource = resourcePath(path);
+        if (MediaStore.isMediaPath(resource)) {
+            return MediaStore.getInstance().find(resource);
+        }
+        URL url = getClass().getResource(resource);
+        if (url != null) {
+            return url;
+        }
+        File file = new File(RESOURCES_DIR + resource);
+        try {
+            return file.isFile() ? file.toURI().toURL() : null;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the classpath resource path an image path names, as {@code images/yoga.jpg},
+     * {@code file:images/yoga.jpg} and {@code /images/yoga.jpg} all name the same image.
+     */
+    private static String resourcePath(String path) {
+        String resource = path.replace("file:", "").replace("\\", "/");
+        return resource.startsWith("/") ? resource : "/" + resource;
+    }
+
+    private static String key(String path, double width, double height) {
+        return resourcePath(path) + "@" + width + "x" + height;
+    }
+
+    /**
+     * Runs an action on the JavaFX Application Thread once an image has loaded or failed to, or at
+     * once if it already has.
+     */
+    private static void whenLoaded(Image image, Runnable action) {
+        if (image.getProgress() >= 1 || image.isError()) {
+            action.run();
+            return;
+        }
+        InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if (image.getProgress() >= 1 || image.isError()) {
+                    image.progressProperty().removeListener(this);
+                    image.errorProperty().removeListener(this);
+                    action.run();
+                }
+            }
+        };
+        image.progressProperty().addListener(listener);
+        image.errorProperty().addListener(listener);
+    }
+
+    private static String describe(Image image) {
+        Exception exception = image.getException();
+        return exception != null ? exception.getMessage() : "unknown";
+    }
+
+    /**
+     * A cached image and the bytes it takes once decoded.
+     */
+    private static final class Entry {
+        private final Image image;
+        private long bytes;
+
+        Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.padelfrontend;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Single-flight table for deduplicable requests: while a request is in flight, an identical one
+ * (same action and parameters, in any key order) joins it instead of going to the server, and every
+ * caller receives the same {@link Response}.
+ * <p>
+ * Each caller gets its own future, so one caller cancelling or timing out does not affect the
+ * others; the shared call is cancelled only once no caller is waiting for it any more.
+ */
+final class InFlightRequests {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a future for the response to the request, starting it with {@code dispatcher}
+     * unless an identical request is already in flight.
+     */
+    CompletableFuture<Response> join(Request request, Function<Request, CompletableFuture<Response>> dispatcher) {
+        String key = canonicalKey(request.toJson());
+        CompletableFuture<Response> caller = new CompletableFuture<>();
+        while (true) {
+            Flight flight = flights.computeIfAbsent(key, k -> new Flight());
+            if (flight.subscribe()) {
+                if (flight.start()) {
+                    CompletableFuture<Response> shared = dispatcher.apply(request);
+                    shared.whenComplete((response, error) -> flights.remove(key, flight));
+                    flight.started.complete(shared);
+                }
+                flight.started.thenAccept(shared -> attach(flight, shared, caller));
+                return caller;
+            }
+            // The flight was abandoned by all its callers in the meantime; start a new one.
+            flights.remove(key, flight);
+        }
+    }
+
+    private static void attach(Flight flight, CompletableFuture<Response> shared, CompletableFuture<Response> caller) {
+        shared.whenComplete((response, error) -> {
+            if (error != null) {
+                caller.completeExceptionally(error);
+            } else {
+                caller.complete(response);
+            }
+        });
+        caller.whenComplete((response, error) -> {
+            if (!shared.isDone() && flight.unsubscribe()) {
+                shared.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Serializes a JSON value with object keys in sorted order, so that requests built with their
+     * parameters in a different order map to the same key.
+     */
+    static String canonicalKey(Object value) {
+        StringBuilder key = new StringBuilder();
+        appendCanonical(key, value);
+        return key.toString();
+    }
+
+    private static void appendCanonical(StringBuilder key, Object value) {
+        if (value instanceof JSONObject object) {
+            String[] names = JSONObject.getNames(object);
+            key.append('{');
+            if (names != null) {
+                Arrays.sort(names);
+                for (int i = 0; i < names.length; i++) {
+                    if (i > 0) {
+                        key.append(',');
+                    }
+                    key.append(JSONObject.quote(names[i])).append(':');
+                    appendCanonical(key, object.opt(names[i]));
+                }
+            }
+            key.append('}');
+        } else if (value instanceof JSONArray array) {
+            key.append('[');
+            for (int i = 0; i < array.length(); i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                appendCanonical(key, array.opt(i));
+            }
+            key.append(']');
+        } else {
+            key.append(JSONObject.valueToString(value));
+        }
+    }
+
+    /**
+     * One shared call and the number of callers still waiting for it. A flight whose count has
+     * dropped to zero is closed and accepts no new callers.
+     */
+    private static final class Flight {
+        private final CompletableFuture<CompletableFuture<Response>> started = new CompletableFuture<>();
+        private int callers;
+        private boolean startClaimed;
+        private boolean closed;
+
+        synchronized boolean subscribe() {
+            if (closed) {
+                return false;
+            }
+            callers++;
+            return true;
+        }
+
+        synchronized boolean start() {
+            if (startClaimed) {
+                return false;
+            }
+            startClaimed = true;
+            return true;
+        }
+
+        /**
+         * Returns {@code true} when the last caller has left and the shared call should be cancelled.
+         */
+        synchronized boolean unsubscribe() {
+            callers--;
+            if (callers == 0) {
+                closed = true;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -11,18 +11,15 @@ import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import org.json.JSONObject;
+import com.example.padelfrontend.model.Member;
+import org.json.JSONException;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.util.Objects;
 
 public class LoginController {
 
@@ -46,7 +43,7 @@ public class LoginController {
 
     @FXML
     public void initialize() {
-        togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/hidden.png")));
+        togglePasswordIcon.setImage(Icon.HIDDEN.image(20));
     }
 
     @FXML
@@ -61,7 +58,7 @@ public class LoginController {
             passwordField.setVisible(false);
             passwordField.setManaged(false);
 
-            togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/hidden.png")));
+            togglePasswordIcon.setImage(Icon.HIDDEN.image(20));
         } else {
             passwordField.setText(visiblePasswordField.getText());
             passwordField.setVisible(true);
@@ -70,7 +67,7 @@ public class LoginController {
             visiblePasswordField.setVisible(false);
             visiblePasswordField.setManaged(false);
 
-            togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/show.png")));
+            togglePasswordIcon.setImage(Icon.SHOW.image(20));
         }
     }
 
@@ -91,99 +88,71 @@ public class LoginController {
     }
 
     private void sendLoginRequest(String username, String password) {
-        new Thread(() -> {
+        Request request = Request.of(Action.LOGIN)
+                .with("username", username)
+                .with("password", password);
+
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                responseLabel.setText("Error: " + BackendClient.describe(error));
+                responseLabel.getStyleClass().remove("success");
+                return;
+            }
             try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                // Build JSON request
-                JSONObject request = new JSONObject();
-                request.put("action", "login");
-                request.put("username", username);
-                request.put("password", password);
-
-                // Send request with newline
-                out.println(request.toString());
-
-                // Read response
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-                JSONObject jsonResponse = new JSONObject(response);
+                String message = response.getMessage("No message provided");
+                responseLabel.setText(message);
+
+                if (response.isSuccess()) {
+                    responseLabel.getStyleClass().add("success");
+
+                    // Extract user data and store in AppContext
+                    Member member = response.getData(Member.CODEC);
+                    if (member == null) {
+                        throw new JSONException("Missing user data");
+                    }
+
+                    // Store data in AppContext
+                    AppContext context = AppContext.getInstance();
+                    context.setUsername(member.username());
+                    context.setMemberId(member.memberId());
+                    context.setFirstName(member.firstName());
+                    context.setLastName(member.lastName());
+                    context.setRole(member.role());
+                    context.setPhoneNumber(Objects.requireNonNullElse(member.phoneNumber(), ""));
+                    context.setEmail(Objects.requireNonNullElse(member.email(), ""));
 
-                // Update UI
-                javafx.application.Platform.runLater(() -> {
                     try {
-                        String status = jsonResponse.getString("status");
-                        String message = jsonResponse.optString("message", "No message provided");
-                        responseLabel.setText(message);
-
-                        if (status.equals("success")) {
-                            responseLabel.getStyleClass().add("success");
-
-                            // Extract user data and store in AppContext
-                            JSONObject userData = jsonResponse.getJSONObject("data");
-                            String loggedInUsername = userData.getString("username");
-                            String memberId = userData.getString("memberId");
-                            String firstName = userData.getString("firstName");
-                            String lastName = userData.getString("lastName");
-                            String role = userData.getString("role");
-                            String phoneNumber = userData.optString("phoneNumber", "");
-                            String email = userData.optString("email", "");
-
-                            // Store data in AppContext
-                            AppContext context = AppContext.getInstance();
-                            context.setUsername(loggedInUsername);
-                            context.setMemberId(memberId);
-                            context.setFirstName(firstName);
-                            context.setLastName(lastName);
-                            context.setRole(role);
-                            context.setPhoneNumber(phoneNumber);
-                            context.setEmail(email);
-
-                            try {
-                                // Determine FXML based on role
-                                String fxmlFile = role.equals("manager") ? "ManagerPage.fxml" : "home.fxml";
-                                Parent targetPage = FXMLLoader.load(getClass().getResource(fxmlFile));
-                                Scene currentScene = usernameField.getScene();
-                                Parent currentPage = currentScene.getRoot();
-
-                                FadeTransition fadeOut = new FadeTransition(Duration.millis(500), currentPage);
-                                fadeOut.setFromValue(1.0);
-                                fadeOut.setToValue(0.0);
-
-                                fadeOut.setOnFinished(e -> {
-                                    currentScene.setRoot(targetPage);
-                                    FadeTransition fadeIn = new FadeTransition(Duration.millis(500), targetPage);
-                                    fadeIn.setFromValue(0.0);
-                                    fadeIn.setToValue(1.0);
-                                    fadeIn.play();
-                                });
-
-                                fadeOut.play();
-                            } catch (Exception e) {
-                                responseLabel.setText("Error loading page: " + e.getMessage());
-                                responseLabel.getStyleClass().remove("success");
-                            }
-                        } else {
-                            responseLabel.getStyleClass().remove("success");
-                        }
+                        // Determine FXML based on role
+                        String fxmlFile = "manager".equals(member.role()) ? "ManagerPage.fxml" : "home.fxml";
+                        Parent targetPage = FXMLLoader.load(getClass().getResource(fxmlFile));
+                        Scene currentScene = usernameField.getScene();
+                        Parent currentPage = currentScene.getRoot();
+
+                        FadeTransition fadeOut = new FadeTransition(Duration.millis(500), currentPage);
+                        fadeOut.setFromValue(1.0);
+                        fadeOut.setToValue(0.0);
+
+                        fadeOut.setOnFinished(e -> {
+                            currentScene.setRoot(targetPage);
+                            FadeTransition fadeIn = new FadeTransition(Duration.millis(500), targetPage);
+                            fadeIn.setFromValue(0.0);
+                            fadeIn.setToValue(1.0);
+                            fadeIn.play();
+                        });
+
+                        fadeOut.play();
                     } catch (Exception e) {
-                        responseLabel.setText("Error parsing server response: " + e.getMessage());
+                        responseLabel.setText("Error loading page: " + e.getMessage());
                         responseLabel.getStyleClass().remove("success");
                     }
-                });
-
-                socket.close();
-            } catch (Exception ex) {
-                javafx.application.Platform.runLater(() -> {
-                    responseLabel.setText("Error: " + ex.getMessage());
+                } else {
                     responseLabel.getStyleClass().remove("success");
-                });
+                }
+            } catch (Exception e) {
+                responseLabel.setText("Error parsing server response: " + e.getMessage());
+                responseLabel.getStyleClass().remove("success");
             }
-        }).start();
+        });
     }
 
     @FXML
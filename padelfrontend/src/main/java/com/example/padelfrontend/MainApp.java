@@ -9,6 +9,7 @@ public class MainApp extends Application {
 
     @Override
     public void start(Stage stage) throws Exception {
+        Icon.preload();
         FXMLLoader loader = new FXMLLoader(getClass().getResource("home.fxml"));
         Scene scene = new Scene(loader.load());
         stage.setScene(scene);
@@ -18,6 +19,11 @@ public class MainApp extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        BackendClient.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
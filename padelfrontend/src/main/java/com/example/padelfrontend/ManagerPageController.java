@@ -1,6 +1,7 @@
 package com.example.padelfrontend;
 
 import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -8,7 +9,6 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -20,9 +20,9 @@ import org.json.JSONObject;
 import org.json.JSONException;
 
 import java.io.*;
-import java.net.Socket;
-import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for the Manager Page, handling management of Padel Centers and Gym Classes.
@@ -64,9 +64,15 @@ public class ManagerPageController {
 
     // State variables
     private File selectedImageFile;
+    /** The chosen image while it is being stored, whose path then goes into the image field. */
+    private CompletableFuture<String> storingImage;
     private boolean isPadelMode = true; // Default to Padel Centers mode
 
     private JSONObject editingItem = null;
+    private CompletableFuture<Response> pendingLoad;
+    /** Displayed item cards by item name. */
+    private CardReconciler<JSONObject, VBox> itemCards;
+    private final PauseTransition messageTimer = new PauseTransition(Duration.seconds(3));
     private static final String PLACEHOLDER_IMAGE_PATH = "/images/yoga.jpg";
 
     /**
@@ -75,6 +81,9 @@ public class ManagerPageController {
      */
     @FXML
     private void initialize() {
+        // A card shows its item as the current mode lays it out, so the mode is part of what it shows.
+        itemCards = new CardReconciler<>(itemsContainer, item -> item.optString("name"),
+                item -> (isPadelMode ? "padel " : "gym ") + item, this::createItemCard);
         updateUIForMode();
         loadItems();
     }
@@ -86,6 +95,9 @@ public class ManagerPageController {
      */
     @FXML
     private void showPadelCenters() {
+        if (!isPadelMode) {
+            itemCards.show(List.of());
+        }
         isPadelMode = true;
         updateUIForMode();
         loadItems();
@@ -96,6 +108,9 @@ public class ManagerPageController {
      */
     @FXML
     private void showGymClasses() {
+        if (isPadelMode) {
+            itemCards.show(List.of());
+        }
         isPadelMode = false;
         updateUIForMode();
         loadItems();
@@ -179,36 +194,31 @@ public class ManagerPageController {
                 new FileChooser.ExtensionFilter("Image Files", "*.png", "*.jpg", "*.jpeg")
         );
 
-        // Set initial directory to project's resources/images folder
-        String resourcePath = "padelfrontend/src/main/resources/images";
-        File initialDirectory = new File(resourcePath);
-        if (!initialDirectory.exists()) {
-            initialDirectory.mkdirs();
+        // Start in the project's images folder when running from the source tree
+        File initialDirectory = new File("padelfrontend/src/main/resources/images");
+        if (initialDirectory.isDirectory()) {
+            fileChooser.setInitialDirectory(initialDirectory);
         }
-        fileChooser.setInitialDirectory(initialDirectory);
 
         File file = fileChooser.showOpenDialog(saveButton.getScene().getWindow());
         if (file != null) {
-            try {
-                // Convert to relative path
-                String projectDir = System.getProperty("user.dir");
-                String relativePath = file.getPath().replace(projectDir + File.separator, "");
-
-                // Store the relative path
-                selectedImageFile = file;
-                imageField.setText(relativePath);
-
-                // Copy file to resources if it's not already there
-                if (!file.getPath().startsWith(projectDir + File.separator + resourcePath)) {
-                    File destFile = new File(resourcePath + File.separator + file.getName());
-                    Files.copy(file.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    selectedImageFile = destFile;
-                    imageField.setText("images/" + destFile.getName());
+            // Stored in the media store, which holds one copy of each image whatever it is named.
+            CompletableFuture<String> storing = MediaStore.getInstance().store(file.toPath());
+            storingImage = storing;
+            storing.whenComplete((path, error) -> {
+                // The form may have been cleared, or another image chosen, in the meantime.
+                if (storingImage != storing) {
+                    return;
                 }
-            } catch (IOException e) {
-                System.err.println("Error copying image file: " + e.getMessage());
-                showMessage("Failed to process image file", false);
-            }
+                storingImage = null;
+                if (error != null) {
+                    System.err.println("Error storing image file: " + error.getMessage());
+                    showMessage("Failed to process image file", false);
+                    return;
+                }
+                imageField.setText(path);
+                selectedImageFile = null;
+            });
         }
     }
 
@@ -224,6 +234,7 @@ public class ManagerPageController {
         capacityField.clear();
         imageField.clear();
         selectedImageFile = null;
+        storingImage = null;
         editingItem = null;
         // Reset form title and save button text
         if (isPadelMode) {
@@ -242,6 +253,7 @@ public class ManagerPageController {
      */
     private void editItem(JSONObject itemData) {
         editingItem = itemData;
+        storingImage = null;
         nameField.setText(itemData.optString("name", ""));
         if (isPadelMode) {
             formTitle.setText("Edit Padel Center");
@@ -302,14 +314,8 @@ public class ManagerPageController {
         messageLabel.setVisible(true);
         messageLabel.setManaged(true);
 
-        new Thread(() -> {
-            try {
-                Thread.sleep(3000);
-                javafx.application.Platform.runLater(this::hideMessage);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
+        messageTimer.setOnFinished(e -> hideMessage());
+        messageTimer.playFromStart();
     }
 
     /**
@@ -331,38 +337,6 @@ public class ManagerPageController {
         JSONObject itemData = new JSONObject();
         itemData.put("name", nameField.getText());
 
-        // Handle image path
-        String imagePath;
-        if (selectedImageFile != null) {
-            // Convert to relative path format
-            String fileName = selectedImageFile.getName();
-            imagePath = "images/" + fileName;
-
-            // Ensure image is in resources directory
-            try {
-                File resourceDir = new File("padelfrontend/src/main/resources/images");
-                if (!resourceDir.exists()) {
-                    resourceDir.mkdirs();
-                }
-
-                File destFile = new File(resourceDir, fileName);
-                if (!selectedImageFile.equals(destFile)) {
-                    Files.copy(selectedImageFile.toPath(), destFile.toPath(),
-                            StandardCopyOption.REPLACE_EXISTING);
-                }
-            } catch (IOException e) {
-                System.err.println("Failed to copy image to resources: " + e.getMessage());
-                showMessage("Failed to process image file", false);
-                return;
-            }
-        } else if (editingItem != null) {
-            imagePath = editingItem.optString("image", "");
-        } else {
-            imagePath = "";
-        }
-        itemData.put("image", imagePath);
-
-        // Rest of the method remains the same
         if (isPadelMode) {
             itemData.put("times", timesField.getText());
             itemData.put("location", locationField.getText());
@@ -383,108 +357,113 @@ public class ManagerPageController {
             }
         }
 
-        JSONObject request = new JSONObject();
-        if (editingItem != null) {
-            request.put("action", isPadelMode ? "update_padel_center" : "update_gym_class");
-            request.put("oldData", editingItem);
-            request.put("newData", itemData);
+        // Handle image path: a chosen image is in the media store and named in the image field once
+        // it has been stored, as is the image of the item being edited; a legacy file path is moved
+        // into the store. Either is stored in the background, and the item saved after.
+        CompletableFuture<String> image;
+        if (storingImage != null) {
+            image = storingImage;
+        } else if (selectedImageFile != null) {
+            image = MediaStore.getInstance().store(selectedImageFile.toPath());
         } else {
-            request.put("action", isPadelMode ? "save_padel_center" : "save_gym_class");
-            request.put("data", itemData);
+            image = CompletableFuture.completedFuture(imageField.getText().trim());
         }
 
-        try (Socket socket = new Socket("localhost", 8080);
-             PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
+        // The form may change while the image is stored or the request is in flight, so capture
+        // what is being saved.
+        JSONObject oldData = editingItem;
+        boolean padelMode = isPadelMode;
+        image.whenComplete((imagePath, error) -> {
+            if (error != null) {
+                System.err.println("Failed to store image: " + error.getMessage());
+                showMessage("Failed to process image file", false);
+                return;
+            }
+            itemData.put("image", imagePath);
+            sendItem(itemData, oldData, padelMode);
+        });
+    }
 
-            out.println(request.toString());
-            String response = in.readLine();
-            System.out.println("Server response: " + response);
+    /**
+     * Sends a new or updated Padel Center or Gym Class to the server, and reloads the items once it is saved.
+     *
+     * @param itemData  The item as saved.
+     * @param oldData   The item being updated, or {@code null} for a new one.
+     * @param padelMode Whether the item is a Padel Center rather than a Gym Class.
+     */
+    private void sendItem(JSONObject itemData, JSONObject oldData, boolean padelMode) {
+        boolean updating = oldData != null;
+        Request request;
+        if (updating) {
+            request = Request.of(padelMode ? Action.UPDATE_PADEL_CENTER : Action.UPDATE_GYM_CLASS)
+                    .with("oldData", oldData)
+                    .with("newData", itemData);
+        } else {
+            request = Request.of(padelMode ? Action.SAVE_PADEL_CENTER : Action.SAVE_GYM_CLASS)
+                    .with("data", itemData);
+        }
 
-            JSONObject responseJson = new JSONObject(response);
-            String status = responseJson.optString("status", "error");
-            String message = responseJson.optString("message", "Unknown error");
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                showMessage("Failed to " + (updating ? "update" : "save") + " " +
+                        (padelMode ? "center" : "class") + ": " + BackendClient.describe(error), false);
+                return;
+            }
+            System.out.println("Server response: " + response);
 
-            if (status.equals("success")) {
-                showMessage(isPadelMode ?
-                        (editingItem != null ? "Padel center updated successfully!" : "Padel center added successfully!") :
-                        (editingItem != null ? "Gym class updated successfully!" : "Gym class added successfully!"), true);
+            if (response.isSuccess()) {
+                showMessage(padelMode ?
+                        (updating ? "Padel center updated successfully!" : "Padel center added successfully!") :
+                        (updating ? "Gym class updated successfully!" : "Gym class added successfully!"), true);
                 clearForm();
                 loadItems();
             } else {
-                showMessage(message, false);
+                showMessage(response.getMessage("Unknown error"), false);
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            showMessage("Failed to " + (editingItem != null ? "update" : "save") + " " +
-                    (isPadelMode ? "center" : "class") + ": " + e.getMessage(), false);
-        }
+        });
     }
 
     /**
-     * Loads existing Padel Centers or Gym Classes from the server and displays them.
+     * Loads existing Padel Centers or Gym Classes from the server and displays them, rebuilding
+     * only the cards of items that are new or changed.
      */
     private void loadItems() {
-        itemsContainer.getChildren().clear();
-
-        try {
-            Socket socket = new Socket("localhost", 8080);
-            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-            JSONObject request = new JSONObject();
-            request.put("action", isPadelMode ? "get_padel_centers" : "get_classes");
-            out.println(request.toString());
-
-            String response = in.readLine();
-            System.out.println("Raw server response: " + response);
-
-            if (response == null || response.trim().isEmpty()) {
-                showMessage("No " + (isPadelMode ? "padel centers" : "gym classes") + " available.", false);
-                socket.close();
+        // Switching between padel and gym mode supersedes a load still in flight.
+        if (pendingLoad != null) {
+            pendingLoad.cancel(true);
+        }
+        boolean padelMode = isPadelMode;
+        CompletableFuture<Response> load = BackendClient.getInstance()
+                .send(Request.of(padelMode ? Action.GET_PADEL_CENTERS : Action.GET_CLASSES));
+        pendingLoad = load;
+        load.whenComplete((response, error) -> {
+            if (load.isCancelled()) {
                 return;
             }
-
-            JSONObject responseJson;
-            try {
-                responseJson = new JSONObject(response);
-            } catch (JSONException e) {
-                System.err.println("Failed to parse server response: " + e.getMessage());
-                showMessage("Failed to load items: Invalid server response.", false);
-                socket.close();
+            pendingLoad = null;
+            if (error != null) {
+                showMessage("Failed to load items: " + BackendClient.describe(error), false);
                 return;
             }
-
-            String status = responseJson.optString("status", "error");
-            if (!status.equals("success")) {
-                String message = responseJson.optString("message", "Unknown error");
-                showMessage("Failed to load items: " + message, false);
-                socket.close();
-                return;
-            }
-
-            JSONArray items = responseJson.optJSONArray("data");
-            if (items == null || items.length() == 0) {
-                showMessage("No " + (isPadelMode ? "padel centers" : "gym classes") + " found.", false);
-                socket.close();
+            if (!response.isSuccess()) {
+                showMessage("Failed to load items: " + response.getMessage("Unknown error"), false);
                 return;
             }
 
+            JSONArray items = response.getDataArray();
+            List<JSONObject> displayed = new ArrayList<>();
             for (int i = 0; i < items.length(); i++) {
                 try {
-                    JSONObject item = items.getJSONObject(i);
-                    VBox itemCard = createItemCard(item);
-                    itemsContainer.getChildren().add(itemCard);
+                    displayed.add(items.getJSONObject(i));
                 } catch (JSONException e) {
                     System.err.println("Failed to process item at index " + i + ": " + e.getMessage());
                 }
             }
-
-            socket.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-            showMessage("Failed to load items: " + e.getMessage(), false);
-        }
+            itemCards.show(displayed);
+            if (items.length() == 0) {
+                showMessage("No " + (padelMode ? "padel centers" : "gym classes") + " found.", false);
+            }
+        });
     }
 
     /**
@@ -493,36 +472,26 @@ public class ManagerPageController {
      * @param itemData The JSON data of the item to delete.
      */
     private void deleteItem(JSONObject itemData) {
-        try {
-            Socket socket = new Socket("localhost", 8080);
-            PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-            JSONObject request = new JSONObject();
-            request.put("action", isPadelMode ? "delete_padel_center" : "delete_gym_class");
-            request.put("data", itemData);
-
-            out.println(request.toString());
-            String response = in.readLine();
+        boolean padelMode = isPadelMode;
+        Request request = Request.of(padelMode ? Action.DELETE_PADEL_CENTER : Action.DELETE_GYM_CLASS)
+                .with("data", itemData);
+
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                showMessage("Failed to delete " + (padelMode ? "center" : "class") + ": "
+                        + BackendClient.describe(error), false);
+                return;
+            }
             System.out.println("Server response: " + response);
 
-            JSONObject responseJson = new JSONObject(response);
-            String status = responseJson.optString("status", "error");
-            String message = responseJson.optString("message", "Unknown error");
-
-            if (status.equals("success")) {
-                showMessage(isPadelMode ? "Padel center deleted successfully!" : "Gym class deleted successfully!", true);
+            if (response.isSuccess()) {
+                showMessage(padelMode ? "Padel center deleted successfully!" : "Gym class deleted successfully!", true);
                 clearForm(); // Reset form in case we were editing this item
                 loadItems();
             } else {
-                showMessage(message, false);
+                showMessage(response.getMessage("Unknown error"), false);
             }
-
-            socket.close();
-        } catch (Exception e) {
-            e.printStackTrace();
-            showMessage("Failed to delete " + (isPadelMode ? "center" : "class") + ": " + e.getMessage(), false);
-        }
+        });
     }
 
     // --- Item Card Creation ---
@@ -538,26 +507,14 @@ public class ManagerPageController {
         itemCard.getStyleClass().add("center-card");
 
         ImageView imageView = new ImageView();
-        try {
-            String imagePath = itemData.optString("image", itemData.optString("imagePath", ""));
-            // Remove any file: prefix and normalize path
-            imagePath = imagePath.replace("file:", "").replace("\\", "/");
-
-            Image image;
-            if (imagePath.isEmpty()) {
-                System.out.println("No image path provided for item: " + itemData.optString("name", "Unknown"));
-                image = loadResourceImage(PLACEHOLDER_IMAGE_PATH);
-            } else {
-                image = loadResourceImage(imagePath);
-            }
-            imageView.setImage(image);
-            imageView.setFitWidth(150);
-            imageView.setFitHeight(100);
-            imageView.setPreserveRatio(true);
-        } catch (Exception e) {
-            System.out.println("Failed to load image for item: " + itemData.optString("name", "Unknown") + ", error: " + e.getMessage());
-            imageView.setImage(loadResourceImage(PLACEHOLDER_IMAGE_PATH));
+        String imagePath = itemData.optString("image", itemData.optString("imagePath", ""));
+        if (imagePath.isEmpty()) {
+            System.out.println("No image path provided for item: " + itemData.optString("name", "Unknown"));
         }
+        ImageService.getInstance().show(imageView, imagePath, PLACEHOLDER_IMAGE_PATH, 150, 100);
+        imageView.setFitWidth(150);
+        imageView.setFitHeight(100);
+        imageView.setPreserveRatio(true);
         imageView.getStyleClass().add("center-image");
 
         String name = itemData.optString("name", "Unknown Item");
@@ -617,47 +574,6 @@ public class ManagerPageController {
         return itemCard;
     }
 
-    private Image loadResourceImage(String resourcePath) {
-        try {
-            // Remove any 'file:' prefix if present
-            resourcePath = resourcePath.replace("file:", "");
-
-            // If the path starts with a slash, remove it
-            if (resourcePath.startsWith("/")) {
-                resourcePath = resourcePath.substring(1);
-            }
-
-            // First try loading as a classpath resource
-            InputStream stream = getClass().getResourceAsStream("/" + resourcePath);
-
-            // If not found in classpath, try loading from resources directory
-            if (stream == null) {
-                File resourceFile = new File("padelfrontend/src/main/resources/" + resourcePath);
-                if (resourceFile.exists()) {
-                    stream = new FileInputStream(resourceFile);
-                } else {
-                    // If still not found, try loading the placeholder
-                    stream = getClass().getResourceAsStream(PLACEHOLDER_IMAGE_PATH);
-                    if (stream == null) {
-                        throw new IOException("Neither image nor placeholder could be found");
-                    }
-                }
-            }
-
-            Image image = new Image(stream);
-            stream.close();
-
-            if (image.isError()) {
-                throw new IOException("Failed to load image");
-            }
-            return image;
-        } catch (Exception e) {
-            System.err.println("Failed to load image: " + resourcePath + ", error: " + e.getMessage());
-            // Return a transparent 1x1 image as fallback
-            return new Image("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=");
-        }
-    }
-
     // --- Navigation ---
 
     /**
@@ -0,0 +1,201 @@
+package com.example.padelfrontend;
+
+import javafx.application.Platform;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Images uploaded by managers, kept outside the application so that they show as soon as they are
+ * uploaded, also when the application runs from a jar.
+ * <p>
+ * Each file is stored once, as a blob named by the SHA-256 hash of its content, so uploading the
+ * same image twice stores it once. Items refer to an image by a logical path such as
+ * {@code media/court.png}, which an index maps to its blob. A name already used for other content
+ * gets a numbered suffix, so uploading a different file of the same name leaves the items showing
+ * the first one as they were. Blobs never change once written, so an image cached under a logical
+ * path never goes stale.
+ * <p>
+ * Files are hashed through a memory mapping and copied channel to channel, on a background thread
+ * when {@linkplain #store(Path) stored} from a page. The index is guarded by a lock, so images can be
+ * looked up while another is stored. The store lives in the directory named by the
+ * {@code padel.media.dir} system property, by default {@code .padel/media} in the user's home
+ * directory.
+ */
+final class MediaStore {
+
+    /** The start of the logical path of every image in the store. */
+    static final String PREFIX = "media/";
+
+    private static final MediaStore instance = new MediaStore(Paths.get(System.getProperty("padel.media.dir",
+            Paths.get(System.getProperty("user.home"), ".padel", "media").toString())), Platform::runLater);
+
+    private final Path blobsDir;
+    private final Path indexFile;
+    private final Executor callbackExecutor;
+    private final ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    /** Blob hashes by logical name, the path without {@link #PREFIX}; guarded by itself. */
+    private final Map<String, String> index = new LinkedHashMap<>();
+
+    /**
+     * @param root             The directory holding the blobs and the index.
+     * @param callbackExecutor Executor on which {@link #store(Path)} completes; the shared instance
+     *                         uses {@link Platform#runLater}.
+     */
+    MediaStore(Path root, Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        this.blobsDir = root.resolve("blobs");
+        this.indexFile = root.resolve("index.json");
+        try {
+            if (Files.exists(indexFile)) {
+                JSONObject stored = new JSONObject(Files.readString(indexFile, StandardCharsets.UTF_8));
+                for (String name : stored.keySet()) {
+                    index.put(name, stored.getString(name));
+                }
+            }
+        } catch (IOException | JSONException e) {
+            System.err.println("Failed to read media index " + indexFile + ": " + e.getMessage());
+        }
+    }
+
+    static MediaStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns whether a path names an image in the store rather than a classpath resource.
+     */
+    static boolean isMediaPath(String path) {
+        return path.startsWith(PREFIX) || path.startsWith("/" + PREFIX);
+    }
+
+    /**
+     * Stores a file on a background thread, as {@link #put(Path)} does.
+     *
+     * @param file The file to store.
+     * @return A future for the logical path of the image, completed on the callback executor, or
+     *         failed with the {@link IOException} if the file cannot be read or stored.
+     */
+    CompletableFuture<String> store(Path file) {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ioExecutor.execute(() -> {
+            try {
+                String path = put(file);
+                callbackExecutor.execute(() -> result.complete(path));
+            } catch (IOException | RuntimeException e) {
+                callbackExecutor.execute(() -> result.completeExceptionally(e));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Stores a file, unless the store already holds the same content under its name. The file is
+     * hashed and copied before the index is locked, so only naming it and saving the index hold the lock.
+     *
+     * @param file The file to store.
+     * @return The logical path of the image, to save with the item.
+     * @throws IOException If the file cannot be read or stored.
+     */
+    String put(Path file) throws IOException {
+        String hash = hash(file);
+        Path blob = blobsDir.resolve(hash);
+        if (!Files.exists(blob)) {
+            Files.createDirectories(blobsDir);
+            // Written under a temporary name and moved into place, so a blob is never seen half written.
+            Path partial = Files.createTempFile(blobsDir, hash, ".part");
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                for (long position = 0; position < size; ) {
+                    position += in.transferTo(position, size - position, out);
+                }
+            }
+            Files.move(partial, blob, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        String fileName = file.getFileName().toString();
+        String name = fileName;
+        int dot = fileName.lastIndexOf('.');
+        String stem = dot > 0 ? fileName.substring(0, dot) : fileName;
+        String extension = dot > 0 ? fileName.substring(dot) : "";
+        synchronized (index) {
+            for (int n = 2; index.containsKey(name) && !index.get(name).equals(hash); n++) {
+                name = stem + "-" + n + extension;
+            }
+            if (!hash.equals(index.put(name, hash))) {
+                saveIndex();
+            }
+        }
+        return PREFIX + name;
+    }
+
+    /**
+     * Returns the URL of the blob a logical path names, or {@code null} if there is none.
+     */
+    URL find(String path) {
+        String name = path.substring(path.indexOf(PREFIX) + PREFIX.length());
+        String hash;
+        synchronized (index) {
+            hash = index.get(name);
+        }
+        if (hash == null) {
+            return null;
+        }
+        Path blob = blobsDir.resolve(hash);
+        try {
+            return Files.isRegularFile(blob) ? blob.toUri().toURL() : null;
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        Files.createDirectories(indexFile.getParent());
+        Path partial = Files.createTempFile(indexFile.getParent(), "index", ".part");
+        Files.writeString(partial, new JSONObject(index).toString(2), StandardCharsets.UTF_8);
+        Files.move(partial, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the SHA-256 hash of a file's content, as hexadecimal.
+     */
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Mapped a window at a time, so a file larger than a mapping can hold is hashed too.
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Integer.MAX_VALUE, size - position));
+                digest.update(window);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -4,7 +4,6 @@ import javafx.animation.FadeTransition;
 import javafx.animation.Interpolator;
 import javafx.animation.ScaleTransition;
 import javafx.animation.TranslateTransition;
-import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
@@ -22,14 +21,11 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.example.padelfrontend.model.ActiveSubscription;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.PrintWriter;
-import java.net.Socket;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * Controller for the My Account page, displaying user info and active subscriptions.
@@ -109,64 +105,43 @@ public class MyAccountController {
      * Fetches active subscriptions from the server and populates the subscriptionsBox.
      */
     private void loadSubscriptions() {
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                JSONObject request = new JSONObject();
-                request.put("action", "get_active_subscriptions");
-                request.put("memberId", AppContext.getInstance().getMemberId());
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                if ("success".equals(status)) {
-                    JSONArray subscriptions = jsonResponse.getJSONArray("data");
-                    Platform.runLater(() -> populateSubscriptions(subscriptions));
-                    AppContext context = AppContext.getInstance();
-                    context.setSubscribedPlanName(!subscriptions.isEmpty() ? subscriptions.getJSONObject(0).optString("planName", "Unknown Plan") : "No active subscriptions");
-                    context.setSubscribedDuration(!subscriptions.isEmpty() ? subscriptions.getJSONObject(0).optString("duration", "Unknown Duration") : "Unknown Duration");
-                } else {
-                    throw new Exception(jsonResponse.optString("message", "Failed to fetch subscriptions"));
-                }
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    Label errorLabel = new Label("Failed to load subscriptions: " + ex.getMessage());
-                    errorLabel.getStyleClass().add("error-label");
-                    subscriptionsBox.getChildren().add(errorLabel);
-                });
+        Request request = Request.of(Action.GET_ACTIVE_SUBSCRIPTIONS)
+                .with("memberId", AppContext.getInstance().getMemberId());
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null || !response.isSuccess()) {
+                String message = error != null
+                        ? BackendClient.describe(error)
+                        : response.getMessage("Failed to fetch subscriptions");
+                Label errorLabel = new Label("Failed to load subscriptions: " + message);
+                errorLabel.getStyleClass().add("error-label");
+                subscriptionsBox.getChildren().add(errorLabel);
+                return;
             }
-        }).start();
+            List<ActiveSubscription> subscriptions = response.getDataList(ActiveSubscription.CODEC);
+            populateSubscriptions(subscriptions);
+            AppContext context = AppContext.getInstance();
+            context.setSubscribedPlanName(!subscriptions.isEmpty() ? Objects.requireNonNullElse(subscriptions.get(0).planName(), "Unknown Plan") : "No active subscriptions");
+            context.setSubscribedDuration(!subscriptions.isEmpty() ? Objects.requireNonNullElse(subscriptions.get(0).duration(), "Unknown Duration") : "Unknown Duration");
+        });
     }
 
     /**
      * Populates the subscriptionsBox with active subscription cards.
      */
-    private void populateSubscriptions(JSONArray subscriptions) {
+    private void populateSubscriptions(List<ActiveSubscription> subscriptions) {
         subscriptionsBox.getChildren().clear();
-        if (subscriptions.length() == 0) {
+        if (subscriptions.isEmpty()) {
             Label noSubsLabel = new Label("No active subscriptions.");
             noSubsLabel.getStyleClass().add("account-info");
             subscriptionsBox.getChildren().add(noSubsLabel);
             return;
         }
 
-        for (int i = 0; i < subscriptions.length(); i++) {
-            JSONObject sub = subscriptions.getJSONObject(i);
-            String planName = sub.optString("planName", "Unknown Plan");
-            String duration = sub.optString("duration", "Unknown Duration");
-            String startDate = sub.optString("startDate", "N/A");
-            String expiryDate = sub.optString("expiryDate", "N/A");
+        for (ActiveSubscription sub : subscriptions) {
+            String planName = Objects.requireNonNullElse(sub.planName(), "Unknown Plan");
+            String duration = Objects.requireNonNullElse(sub.duration(), "Unknown Duration");
+            String startDate = Objects.requireNonNullElse(sub.startDate(), "N/A");
+            String expiryDate = Objects.requireNonNullElse(sub.expiryDate(), "N/A");
 
             VBox subCard = new VBox(5);
             subCard.getStyleClass().add("account-card");
@@ -298,71 +273,50 @@ public class MyAccountController {
             return;
         }
 
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                JSONObject request = new JSONObject();
-                request.put("action", "update_user_info");
-                request.put("memberId", context.getMemberId());
-                request.put("firstName", newFirstName);
-                request.put("lastName", newLastName);
-                request.put("email", newEmail);
-                request.put("phoneNumber", newPhoneNumber);
-                request.put("username", newUsername);
-                out.print(request.toString() + "\n");
-                out.flush();
-
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                JSONObject jsonResponse = new JSONObject(response);
-                String status = jsonResponse.optString("status", "error");
-                if ("success".equals(status)) {
-                    Platform.runLater(() -> {
-                        // Update AppContext
-                        context.setFirstName(newFirstName);
-                        context.setLastName(newLastName);
-                        context.setEmail(newEmail);
-                        context.setPhoneNumber(newPhoneNumber);
-                        context.setUsername(newUsername);
-
-                        // Revert to labels
-                        nameLabel.setText(newFirstName);
-                        lastNameLabel.setText(newLastName);
-                        emailLabel.setText(newEmail.isEmpty() ? "Not provided" : newEmail);
-                        phoneNumberLabel.setText(newPhoneNumber);
-                        usernameLabel.setText(newUsername);
-
-                        nameBox.getChildren().set(1, nameLabel);
-                        lastNameBox.getChildren().set(1, lastNameLabel);
-                        emailBox.getChildren().set(1, emailLabel);
-                        phoneBox.getChildren().set(1, phoneNumberLabel);
-                        usernameBox.getChildren().set(1, usernameLabel);
-
-                        isEditing = false;
-                        editButton.setVisible(true);
-                        saveButton.setVisible(false);
-                        showAlert( "User information updated successfully.", getStage());
-                    });
-                } else {
-                    throw new Exception(jsonResponse.optString("message", "Failed to update user info"));
-                }
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    showAlert("Failed to update user info: " + ex.getMessage(), getStage());
-                    isEditing = false;
-                    editButton.setVisible(true);
-                    saveButton.setVisible(false);
-                });
+        Request request = Request.of(Action.UPDATE_USER_INFO)
+                .with("memberId", context.getMemberId())
+                .with("firstName", newFirstName)
+                .with("lastName", newLastName)
+                .with("email", newEmail)
+                .with("phoneNumber", newPhoneNumber)
+                .with("username", newUsername);
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null || !response.isSuccess()) {
+                String message = error != null
+                        ? BackendClient.describe(error)
+                        : response.getMessage("Failed to update user info");
+                showAlert("Failed to update user info: " + message, getStage());
+                isEditing = false;
+                editButton.setVisible(true);
+                saveButton.setVisible(false);
+                return;
             }
-        }).start();
+
+            // Update AppContext
+            context.setFirstName(newFirstName);
+            context.setLastName(newLastName);
+            context.setEmail(newEmail);
+            context.setPhoneNumber(newPhoneNumber);
+            context.setUsername(newUsername);
+
+            // Revert to labels
+            nameLabel.setText(newFirstName);
+            lastNameLabel.setText(newLastName);
+            emailLabel.setText(newEmail.isEmpty() ? "Not provided" : newEmail);
+            phoneNumberLabel.setText(newPhoneNumber);
+            usernameLabel.setText(newUsername);
+
+            nameBox.getChildren().set(1, nameLabel);
+            lastNameBox.getChildren().set(1, lastNameLabel);
+            emailBox.getChildren().set(1, emailLabel);
+            phoneBox.getChildren().set(1, phoneNumberLabel);
+            usernameBox.getChildren().set(1, usernameLabel);
+
+            isEditing = false;
+            editButton.setVisible(true);
+            saveButton.setVisible(false);
+            showAlert( "User information updated successfully.", getStage());
+        });
     }
 
     private void navigateToPage(String fxmlFile, int direction) {
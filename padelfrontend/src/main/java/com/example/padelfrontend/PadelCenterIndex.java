@@ -0,0 +1,172 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.Availability;
+import com.example.padelfrontend.model.DaySlots;
+import com.example.padelfrontend.model.PadelCenter;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The padel centers known to the booking page, in catalog order and indexed by name, with their
+ * slots on the date the page shows.
+ * <p>
+ * Centers have no identifier other than their name, which is also the key the catalog is merged
+ * by. The slots of each center are parsed into {@link DaySlots} once, when its {@link Availability}
+ * arrives, so showing a card or looking up the slots a member booked at a center is a matter of
+ * bit operations. Until the availability of a center on that date is known, its catalog entry
+ * stands in for it. The free slots of every center are also kept in a {@link SlotSearch}, to find
+ * the courts free near a time, and their names and locations in a {@link CenterTextIndex}, to
+ * suggest centers as text is typed into the search box.
+ */
+final class PadelCenterIndex {
+
+    private final Map<String, PadelCenter> byName = new LinkedHashMap<>();
+    /** Availability as received on the date shown, to tell whether a newer copy changes anything. */
+    private final Map<String, Availability> availabilityByName = new HashMap<>();
+    /** Parsed slots of every center, from its availability or else its catalog entry. */
+    private final Map<String, DaySlots> slotsByName = new HashMap<>();
+    private final SlotSearch search = new SlotSearch();
+    private final CenterTextIndex text = new CenterTextIndex();
+    private LocalDate date;
+    private List<PadelCenter> all = List.of();
+
+    /**
+     * Replaces every center.
+     */
+    void setAll(List<PadelCenter> centers) {
+        byName.clear();
+        slotsByName.keySet().retainAll(availabilityByName.keySet());
+        for (PadelCenter center : centers) {
+            byName.put(center.name(), center);
+            if (!availabilityByName.containsKey(center.name())) {
+                slotsByName.put(center.name(), DaySlots.of(Availability.of(center, formattedDate())));
+            }
+        }
+        all = List.copyOf(byName.values());
+        text.setAll(all);
+        rebuildSearch();
+    }
+
+    /**
+     * Replaces the center with the same name in place, or appends it if there is none.
+     */
+    void put(PadelCenter center) {
+        byName.put(center.name(), center);
+        if (!availabilityByName.containsKey(center.name())) {
+            slotsByName.put(center.name(), DaySlots.of(Availability.of(center, formattedDate())));
+        }
+        search.put(center.name(), center.location(), slotsByName.get(center.name()).available());
+        text.put(center);
+        all = null;
+    }
+
+    /**
+     * Replaces the slots of every center with those on another date.
+     */
+    void setAvailability(LocalDate date, Collection<Availability> slots) {
+        this.date = date;
+        availabilityByName.clear();
+        slotsByName.clear();
+        for (Availability availability : slots) {
+            availabilityByName.put(availability.name(), availability);
+            slotsByName.put(availability.name(), DaySlots.of(availability));
+        }
+        for (PadelCenter center : byName.values()) {
+            if (!availabilityByName.containsKey(center.name())) {
+                slotsByName.put(center.name(), DaySlots.of(Availability.of(center, formattedDate())));
+            }
+        }
+        rebuildSearch();
+    }
+
+    /**
+     * Replaces the slots of one center on the date shown.
+     *
+     * @return Whether they differ from those known before.
+     */
+    boolean putAvailability(Availability availability) {
+        Availability previous = availability(availability.name());
+        availabilityByName.put(availability.name(), availability);
+        if (availability.equals(previous) && slotsByName.containsKey(availability.name())) {
+            return false;
+        }
+        DaySlots slots = DaySlots.of(availability);
+        slotsByName.put(availability.name(), slots);
+        PadelCenter center = byName.get(availability.name());
+        if (center != null) {
+            search.put(center.name(), center.location(), slots.available());
+        }
+        return true;
+    }
+
+    /**
+     * Returns the date the slots are those of, or {@code null} before any are set.
+     */
+    LocalDate date() {
+        return date;
+    }
+
+    PadelCenter get(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Returns the availability of a center on the date shown, as received or as its catalog entry
+     * gives it, or {@code null} if there is no such center.
+     */
+    Availability availability(String name) {
+        Availability availability = availabilityByName.get(name);
+        if (availability != null || !byName.containsKey(name)) {
+            return availability;
+        }
+        return Availability.of(byName.get(name), formattedDate());
+    }
+
+    /**
+     * Returns the parsed slots of a center on the date shown, or {@code null} if there is no such center.
+     */
+    DaySlots slots(String name) {
+        return slotsByName.get(name);
+    }
+
+    /**
+     * Returns every center in catalog order.
+     */
+    List<PadelCenter> all() {
+        if (all == null) {
+            all = List.copyOf(byName.values());
+        }
+        return all;
+    }
+
+    /**
+     * Returns the courts free nearest to a time on the date shown; see {@link SlotSearch#search}.
+     */
+    List<SlotSearch.Match> search(SlotSearch.Query query, int limit) {
+        return search.search(query.time(), query.location(), limit);
+    }
+
+    /**
+     * Returns the centers whose name or location contains some text, best first, followed by those
+     * close to it; see {@link CenterTextIndex#search}.
+     */
+    List<PadelCenter> find(String text, int limit) {
+        return this.text.search(text, limit);
+    }
+
+    private void rebuildSearch() {
+        search.clear();
+        for (PadelCenter center : byName.values()) {
+            search.put(center.name(), center.location(), slotsByName.get(center.name()).available());
+        }
+    }
+
+    private String formattedDate() {
+        return date != null ? date.format(AvailabilityCache.DATE_FORMAT) : null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.CborReader;
+import com.example.padelfrontend.json.JsonReader;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A persistent connection carrying many requests at once. Each request is tagged with a
+ * {@code requestId}; a reader thread matches each response line to its waiting future by that
+ * id, so responses may arrive in any order.
+ * <p>
+ * When the connection fails, every pending request fails with the same cause and the
+ * connection is closed for good; {@link BackendClient} opens a new one for the next request.
+ */
+final class PipelinedConnection {
+
+    static final String REQUEST_ID = "requestId";
+    private static final String[] ROUTING_MEMBERS = {REQUEST_ID};
+    private static final int INDEFINITE_MAP = 0xBF;
+
+    private final Socket socket;
+    private final WireFormat format;
+    private final OutputStream out;
+    private final ResponseReader in;
+    private final AtomicLong nextRequestId = new AtomicLong(1);
+    private final Map<Long, CompletableFuture<Response>> pending = new ConcurrentHashMap<>();
+    private volatile boolean open = true;
+
+    PipelinedConnection(Socket socket, WireFormat format) throws IOException {
+        this.socket = socket;
+        this.format = format;
+        this.out = socket.getOutputStream();
+        this.in = new ResponseReader(socket.getInputStream());
+        Thread.ofVirtual().name("backend-pipeline-reader").start(this::readResponses);
+    }
+
+    boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Writes a request and returns a future for its response. Cancelling the future forgets
+     * the request; its response is discarded when it arrives.
+     */
+    CompletableFuture<Response> submit(JSONObject request) {
+        long requestId = nextRequestId.getAndIncrement();
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+        future.whenComplete((response, error) -> pending.remove(requestId));
+
+        JSONObject tagged = new JSONObject(request, JSONObject.getNames(request));
+        tagged.put(REQUEST_ID, requestId);
+        byte[] message = format.encode(tagged);
+        try {
+            synchronized (out) {
+                if (!open) {
+                    throw new IOException("Pipelined connection is closed");
+                }
+                out.write(message);
+            }
+        } catch (IOException e) {
+            close(e);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    void close() {
+        close(new IOException("Pipelined connection closed"));
+    }
+
+    private void readResponses() {
+        try {
+            while (true) {
+                if (in.nextIsFrame()) {
+                    route(in.readFrame());
+                    continue;
+                }
+                String line = in.readLine();
+                if (line == null) {
+                    break;
+                }
+                route(line);
+            }
+            close(new IOException("Server closed the pipelined connection"));
+        } catch (IOException e) {
+            close(e);
+        } catch (JSONException e) {
+            close(new IOException("Invalid server response: " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * Completes the future waiting for a response line. The stand-in server writes the
+     * {@code requestId} as the first member, and then the line is routed by reading only that far
+     * and the id is cut out; the rest is parsed once, by {@link Response#parse(String)}. Otherwise
+     * the members before the id are skipped and the whole line is parsed, the id with it.
+     *
+     * @throws IOException If the response has no {@code requestId}, so that it cannot be told which
+     *                     request it answers; the connection is then closed, failing every request.
+     */
+    private void route(String line) throws IOException {
+        JsonReader reader = new JsonReader(line);
+        reader.beginObject();
+        for (boolean first = true; reader.hasNext(); first = false) {
+            if (reader.selectName(ROUTING_MEMBERS) != 0) {
+                reader.skipValue();
+                continue;
+            }
+            long requestId = reader.nextLong();
+            String response = line;
+            if (first) {
+                int rest = reader.position();
+                response = "{" + line.substring(line.startsWith(",", rest) ? rest + 1 : rest);
+            }
+            CompletableFuture<Response> future = pending.get(requestId);
+            if (future != null) {
+                future.complete(Response.parse(response));
+            }
+            return;
+        }
+        throw new IOException("Pipelined response without a requestId: " + line);
+    }
+
+    /**
+     * Completes the future waiting for a binary response, which is routed the same way as a line.
+     * The stand-in server writes maps with indefinite length, so when the id comes first it can be
+     * cut out by keeping the map header and everything after the id.
+     *
+     * @throws IOException If the response has no {@code requestId}.
+     */
+    private void route(byte[] frame) throws IOException {
+        CborReader reader = new CborReader(frame);
+        reader.beginObject();
+        for (boolean first = true; reader.hasNext(); first = false) {
+            if (reader.selectName(ROUTING_MEMBERS) != 0) {
+                reader.skipValue();
+                continue;
+            }
+            long requestId = reader.nextLong();
+            CompletableFuture<Response> future = pending.get(requestId);
+            if (future == null) {
+                return;
+            }
+            byte[] response = frame;
+            if (first && (frame[0] & 0xff) == INDEFINITE_MAP) {
+                int rest = reader.position();
+                response = new byte[1 + frame.length - rest];
+                response[0] = frame[0];
+                System.arraycopy(frame, rest, response, 1, frame.length - rest);
+            }
+            future.complete(Response.parse(response));
+            return;
+        }
+        throw new IOException("Pipelined frame without a requestId");
+    }
+
+    private void close(IOException cause) {
+        open = false;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Nothing useful to do when closing a broken socket.
+        }
+        for (CompletableFuture<Response> future : pending.values()) {
+            future.completeExceptionally(cause);
+        }
+        pending.clear();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.padelfrontend;
+
+import org.json.JSONObject;
+
+import java.time.Duration;
+
+/**
+ * A request to the backend: an {@link Action} plus its top-level parameters and an optional deadline.
+ */
+public final class Request {
+
+    private final Action action;
+    private final JSONObject body = new JSONObject();
+    private Duration timeout;
+
+    private Request(Action action) {
+        this.action = action;
+        body.put("action", action.getWireName());
+    }
+
+    public static Request of(Action action) {
+        return new Request(action);
+    }
+
+    /**
+     * Adds a top-level parameter, such as {@code memberId} or {@code data}.
+     */
+    public Request with(String key, Object value) {
+        body.put(key, value);
+        return this;
+    }
+
+    /**
+     * Sets a deadline for this call, overriding the default request timeout.
+     */
+    public Request timeout(Duration timeout) {
+        this.timeout = timeout;
+        return this;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public JSONObject toJson() {
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return body.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.padelfrontend;
+
+import org.json.JSONArray;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces read-only requests issued close together into a single {@code batch} envelope.
+ * <p>
+ * The first request queued schedules a flush; everything queued before the flush runs travels in
+ * the same envelope, and the server's array of responses is fanned back to the callers in order.
+ * With the default window of zero the flush is scheduled on the JavaFX Application Thread, so a
+ * page's {@code initialize} (which runs in one UI pulse) costs one round trip however many reads
+ * it starts. Servers that do not advertise the {@code batch} capability get the requests one by one.
+ */
+final class RequestBatcher {
+
+    private final BackendClient client;
+    private final Executor flushExecutor;
+    private final Executor ioExecutor;
+    private List<PendingRequest> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    /**
+     * @param client        The client that performs the actual exchanges.
+     * @param flushExecutor Executor that runs the flush once the current batch is complete.
+     * @param ioExecutor    Executor for the capability check and envelope dispatch.
+     */
+    RequestBatcher(BackendClient client, Executor flushExecutor, Executor ioExecutor) {
+        this.client = client;
+        this.flushExecutor = flushExecutor;
+        this.ioExecutor = ioExecutor;
+    }
+
+    /**
+     * Queues a request for the next batch and returns a future for its response.
+     */
+    CompletableFuture<Response> enqueue(Request request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        boolean scheduleFlush;
+        synchronized (this) {
+            pending.add(new PendingRequest(request, future));
+            scheduleFlush = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (scheduleFlush) {
+            flushExecutor.execute(this::flush);
+        }
+        return future;
+    }
+
+    private void flush() {
+        List<PendingRequest> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        // Callers may have cancelled or timed out while the batch was filling.
+        batch.removeIf(request -> request.future.isDone());
+        if (!batch.isEmpty()) {
+            ioExecutor.execute(() -> dispatch(batch));
+        }
+    }
+
+    private void dispatch(List<PendingRequest> batch) {
+        if (batch.size() == 1 || !client.supports(BackendClient.CAPABILITY_BATCH)) {
+            for (PendingRequest request : batch) {
+                relay(client.exchange(request.request), request.future);
+            }
+            return;
+        }
+
+        JSONArray requests = new JSONArray();
+        for (PendingRequest request : batch) {
+            requests.put(request.request.toJson());
+        }
+        client.exchange(Request.of(Action.BATCH).with("requests", requests)).whenComplete((envelope, error) -> {
+            if (error != null) {
+                failAll(batch, error);
+                return;
+            }
+            if (!envelope.isSuccess()) {
+                failAll(batch, new IOException(envelope.getMessage("Batch request failed")));
+                return;
+            }
+            List<Response> responses;
+            try {
+                responses = envelope.getDataResponses();
+            } catch (RuntimeException e) {
+                failAll(batch, new IOException("Invalid batch response: " + e.getMessage(), e));
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                if (i < responses.size()) {
+                    batch.get(i).future.complete(responses.get(i));
+                } else {
+                    batch.get(i).future.completeExceptionally(new IOException("Batch response is missing entry " + i));
+                }
+            }
+        });
+    }
+
+    private static void relay(CompletableFuture<Response> source, CompletableFuture<Response> target) {
+        source.whenComplete((response, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else {
+                target.complete(response);
+            }
+        });
+        target.whenComplete((response, error) -> {
+            if (target.isCancelled() || error != null) {
+                source.cancel(true);
+            }
+        });
+    }
+
+    private static void failAll(List<PendingRequest> batch, Throwable error) {
+        for (PendingRequest request : batch) {
+            request.future.completeExceptionally(error);
+        }
+    }
+
+    private record PendingRequest(Request request, CompletableFuture<Response> future) {
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.Cbor;
+import com.example.padelfrontend.json.CborReader;
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonReader;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A response from the backend. Every server reply carries a {@code status} of {@code success}
+ * or {@code error}, an optional {@code message} and, for queries, a {@code data} payload. Catalog
+ * listings from a server that versions them also carry a {@code version}, and a {@code removed}
+ * list when they are a delta against the {@code sinceVersion} of the request. Change events pushed
+ * on a {@code watch} connection are such listings that also name their {@code topic} and the
+ * {@code sinceVersion} they start from.
+ * <p>
+ * The response keeps the raw line or binary frame it was parsed from. Parsing only scans the top
+ * level, so typed data read with {@link #getDataList(Codec)} or {@link #getData(Codec)} is decoded
+ * straight from it; a {@link JSONObject} tree is built only if {@link #toJson()} or one of the
+ * untyped accessors is used.
+ */
+public final class Response {
+
+    /** How every server starts the message refusing an action it does not know. */
+    private static final String UNKNOWN_ACTION = "Unknown action";
+    private static final String[] MEMBERS = {"status", "message", "data", "version", "removed", "topic", "sinceVersion"};
+
+    private final String raw;
+    private final byte[] binary;
+    private final String status;
+    private final String message;
+    private final int dataStart;
+    private final int dataEnd;
+    private final long version;
+    private final List<String> removedKeys;
+    private final String topic;
+    private final long sinceVersion;
+    private JSONObject json;
+
+    private Response(String raw, byte[] binary, String status, String message, int dataStart, int dataEnd,
+                     long version, List<String> removedKeys, String topic, long sinceVersion) {
+        this.raw = raw;
+        this.binary = binary;
+        this.status = status;
+        this.message = message;
+        this.dataStart = dataStart;
+        this.dataEnd = dataEnd;
+        this.version = version;
+        this.removedKeys = removedKeys != null ? List.copyOf(removedKeys) : null;
+        this.topic = topic;
+        this.sinceVersion = sinceVersion;
+    }
+
+    /**
+     * Parses one response line.
+     *
+     * @throws JSONException If the line is not a JSON object.
+     */
+    public static Response parse(String line) {
+        JsonReader reader = new JsonReader(line);
+        String status = null;
+        String message = null;
+        int dataStart = -1;
+        int dataEnd = -1;
+        long version = -1;
+        List<String> removedKeys = null;
+        String topic = null;
+        long sinceVersion = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(MEMBERS)) {
+                case 0 -> status = reader.nextString();
+                case 1 -> message = reader.nextString();
+                case 2 -> {
+                    if (!reader.nextNull()) {
+                        dataStart = reader.position();
+                        reader.skipValue();
+                        dataEnd = reader.position();
+                    }
+                }
+                case 3 -> version = reader.nextLong();
+                case 4 -> {
+                    if (!reader.nextNull()) {
+                        removedKeys = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            removedKeys.add(reader.nextString());
+                        }
+                        reader.endArray();
+                    }
+                }
+                case 5 -> topic = reader.nextString();
+                case 6 -> sinceVersion = reader.nextLong();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Response(line, null, status, message, dataStart, dataEnd, version, removedKeys, topic, sinceVersion);
+    }
+
+    /**
+     * Parses one response from the CBOR payload of a binary frame.
+     *
+     * @throws JSONException If the payload is not a CBOR map.
+     */
+    public static Response parse(byte[] cbor) {
+        CborReader reader = new CborReader(cbor);
+        String status = null;
+        String message = null;
+        int dataStart = -1;
+        int dataEnd = -1;
+        long version = -1;
+        List<String> removedKeys = null;
+        String topic = null;
+        long sinceVersion = -1;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.selectName(MEMBERS)) {
+                case 0 -> status = reader.nextString();
+                case 1 -> message = reader.nextString();
+                case 2 -> {
+                    if (!reader.nextNull()) {
+                        dataStart = reader.position();
+                        reader.skipValue();
+                        dataEnd = reader.position();
+                    }
+                }
+                case 3 -> version = reader.nextLong();
+                case 4 -> {
+                    if (!reader.nextNull()) {
+                        removedKeys = new ArrayList<>();
+                        reader.beginArray();
+                        while (reader.hasNext()) {
+                            removedKeys.add(reader.nextString());
+                        }
+                        reader.endArray();
+                    }
+                }
+                case 5 -> topic = reader.nextString();
+                case 6 -> sinceVersion = reader.nextLong();
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new Response(null, cbor, status, message, dataStart, dataEnd, version, removedKeys, topic, sinceVersion);
+    }
+
+    public boolean isSuccess() {
+        return "success".equals(status);
+    }
+
+    /**
+     * Returns whether the server refused the request because it does not know the action, as a
+     * server older than the action does, rather than because the request failed.
+     */
+    public boolean isUnknownAction() {
+        return !isSuccess() && message != null && message.startsWith(UNKNOWN_ACTION);
+    }
+
+    /**
+     * Returns the server's message, or the fallback when the server did not send one.
+     */
+    public String getMessage(String fallback) {
+        return message != null ? message : fallback;
+    }
+
+    /**
+     * Returns the catalog version a listing brings the client up to, or -1 if the server does not
+     * version the catalog.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the names of entities removed since the {@code sinceVersion} of the request when
+     * {@code data} holds only the entities added or changed since then, or {@code null} when it
+     * holds the complete listing.
+     */
+    public List<String> getRemovedKeys() {
+        return removedKeys;
+    }
+
+    /**
+     * Returns the listing action a change event pushed on a {@code watch} connection belongs to, or
+     * {@code null} for any other response.
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Returns the version a delta change event starts from, or -1 if it is not a delta.
+     */
+    public long getSinceVersion() {
+        return sinceVersion;
+    }
+
+    /**
+     * Decodes a {@code data} array, or returns an empty list when there is none.
+     */
+    public <T> List<T> getDataList(Codec<T> codec) {
+        if (dataStart < 0) {
+            return List.of();
+        }
+        if (binary != null) {
+            return codec.readList(new CborReader(binary, dataStart, dataEnd));
+        }
+        return codec.readList(new JsonReader(raw, dataStart, dataEnd));
+    }
+
+    /**
+     * Decodes a {@code data} object, or returns {@code null} when there is none.
+     */
+    public <T> T getData(Codec<T> codec) {
+        if (dataStart < 0) {
+            return null;
+        }
+        if (binary != null) {
+            return codec.read(new CborReader(binary, dataStart, dataEnd));
+        }
+        return codec.read(new JsonReader(raw, dataStart, dataEnd));
+    }
+
+    /**
+     * Splits a {@code data} array of complete responses, such as the reply to a {@code batch}
+     * request, into separate responses without parsing their payloads.
+     */
+    List<Response> getDataResponses() {
+        if (dataStart < 0) {
+            return List.of();
+        }
+        List<Response> responses = new ArrayList<>();
+        if (binary != null) {
+            CborReader reader = new CborReader(binary, dataStart, dataEnd);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                int start = reader.position();
+                reader.skipValue();
+                responses.add(parse(Arrays.copyOfRange(binary, start, reader.position())));
+            }
+            reader.endArray();
+            return responses;
+        }
+        JsonReader reader = new JsonReader(raw, dataStart, dataEnd);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            int start = reader.position();
+            reader.skipValue();
+            responses.add(parse(raw.substring(start, reader.position())));
+        }
+        reader.endArray();
+        return responses;
+    }
+
+    public JSONArray getDataArray() {
+        return toJson().optJSONArray("data", new JSONArray());
+    }
+
+    public JSONObject getDataObject() {
+        return toJson().optJSONObject("data", new JSONObject());
+    }
+
+    public JSONObject toJson() {
+        if (json == null) {
+            json = new JSONObject(binary != null ? Cbor.toJson(binary) : raw);
+        }
+        return json;
+    }
+
+    @Override
+    public String toString() {
+        return binary != null ? Cbor.toJson(binary) : raw;
+    }
+}
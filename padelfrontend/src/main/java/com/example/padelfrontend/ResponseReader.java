@@ -0,0 +1,501 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.CborReader;
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonReader;
+import org.json.JSONException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Reads responses from a socket through one reusable byte buffer. Each response may be a JSON
+ * line or a binary frame (see {@link WireFormat}); the reader tells them apart by the first byte.
+ * <p>
+ * {@link #readLine()} decodes a line straight from the buffer into the string that {@link Response}
+ * keeps, without the extra character buffer and line builder of a {@code BufferedReader}.
+ * {@link #readStreaming(Codec, Consumer)} goes further for large listings: it tokenizes the response
+ * as the bytes arrive and decodes each element of the {@code data} array on its own, so elements
+ * reach the caller while the rest of the response is still on the wire and only the element being
+ * decoded is held in memory.
+ * <p>
+ * The buffer grows to fit the largest line or element read and shrinks back once it is consumed.
+ */
+final class ResponseReader {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int RETAINED_CAPACITY = 64 * 1024;
+    private static final String DATA_NAME = "\"data\"";
+    private static final int CBOR_ARRAY = 4;
+    private static final int CBOR_MAP = 5;
+    private static final int CBOR_BREAK = 0xFF;
+
+    private final InputStream in;
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    /** Next unread byte. */
+    private int pos;
+    /** End of the bytes read so far. */
+    private int limit;
+    /** Start of the bytes still needed; everything before it may be discarded when filling. */
+    private int mark;
+    private long received;
+
+    ResponseReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads one line, without its terminator.
+     *
+     * @return The line, or null if the stream ended before another line started.
+     */
+    String readLine() throws IOException {
+        mark = pos;
+        int scanned = 0;
+        int end;
+        while ((end = indexOfNewline(mark + scanned)) < 0) {
+            scanned = limit - mark;
+            if (!fill()) {
+                if (limit == mark) {
+                    return null;
+                }
+                end = limit;
+                break;
+            }
+        }
+        int length = end - mark;
+        if (length > 0 && buffer[end - 1] == '\r') {
+            length--;
+        }
+        String line = new String(buffer, mark, length, StandardCharsets.UTF_8);
+        pos = end < limit ? end + 1 : end;
+        release();
+        return line;
+    }
+
+    /**
+     * Reads and parses one response, either a line or a frame.
+     *
+     * @return The response, or null if the stream ended before another response started.
+     * @throws JSONException If the response is not a JSON object or CBOR map.
+     */
+    Response readResponse() throws IOException {
+        if (nextIsFrame()) {
+            return Response.parse(readFrame());
+        }
+        String line = readLine();
+        return line != null ? Response.parse(line) : null;
+    }
+
+    /**
+     * Returns whether the next response is a binary frame rather than a JSON line.
+     */
+    boolean nextIsFrame() throws IOException {
+        return peek() == WireFormat.FRAME_MARKER;
+    }
+
+    /**
+     * Reads a binary frame and returns its CBOR payload.
+     */
+    byte[] readFrame() throws IOException {
+        int length = readFrameHeader();
+        require(length);
+        byte[] payload = Arrays.copyOfRange(buffer, pos, pos + length);
+        pos += length;
+        release();
+        return payload;
+    }
+
+    /**
+     * Reads one response, handing each element of its {@code data} array to {@code sink} as soon as
+     * the element has arrived. The returned response carries every other member; its {@code data}
+     * is absent when it was streamed.
+     *
+     * @return The response, or null if the stream ended before another response started.
+     * @throws JSONException If the response, or one of its elements, is malformed.
+     */
+    <T> Response readStreaming(Codec<T> codec, Consumer<? super T> sink) throws IOException {
+        int first = peek();
+        if (first < 0) {
+            return null;
+        }
+        if (first == WireFormat.FRAME_MARKER) {
+            return readStreamingFrame(codec, sink);
+        }
+        StringBuilder head = new StringBuilder("{");
+        expect('{');
+        while (true) {
+            int c = peek();
+            if (c == ',') {
+                pos++;
+                c = peek();
+            }
+            if (c == '}') {
+                pos++;
+                break;
+            }
+            if (c < 0) {
+                throw truncated();
+            }
+            if (c != '"') {
+                throw syntaxError("Expected a member name");
+            }
+            mark = pos;
+            skipString();
+            String name = decode(mark, pos);
+            expect(':');
+            if (name.equals(DATA_NAME) && peek() == '[') {
+                pos++;
+                readElements(codec, sink);
+                continue;
+            }
+            peek();
+            mark = pos;
+            skipValue();
+            if (head.length() > 1) {
+                head.append(',');
+            }
+            head.append(name).append(':').append(decode(mark, pos));
+        }
+        skipLineTerminator();
+        release();
+        return Response.parse(head.append('}').toString());
+    }
+
+    /**
+     * The binary counterpart of {@link #readStreaming}. Items are length-prefixed, so each member
+     * and element is complete once {@link CborReader#skip} can step over it in the buffer.
+     */
+    private <T> Response readStreamingFrame(Codec<T> codec, Consumer<? super T> sink) throws IOException {
+        int length = readFrameHeader();
+        long frameEnd = offsetOf(pos) + length;
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        head.write(CBOR_MAP << 5 | 31);
+        long entries = readContainerHeader(CBOR_MAP);
+        for (long i = 0; entries < 0 ? !atBreak() : i < entries; i++) {
+            mark = pos;
+            int nameLength = completeItem() - mark;
+            String name = new CborReader(buffer, mark, mark + nameLength).nextName();
+            pos = mark + nameLength;
+            if (name.equals("data") && peekMajor() == CBOR_ARRAY) {
+                long elements = readContainerHeader(CBOR_ARRAY);
+                for (long j = 0; elements < 0 ? !atBreak() : j < elements; j++) {
+                    mark = pos;
+                    int end = completeItem();
+                    sink.accept(codec.read(new CborReader(buffer, mark, end)));
+                    pos = end;
+                }
+                if (elements < 0) {
+                    pos++;
+                }
+                continue;
+            }
+            int end = completeItem();
+            head.write(buffer, mark, end - mark);
+            pos = end;
+        }
+        if (entries < 0) {
+            pos++;
+        }
+        if (offsetOf(pos) != frameEnd) {
+            throw syntaxError("Frame length does not match its payload");
+        }
+        release();
+        head.write(CBOR_BREAK);
+        return Response.parse(head.toByteArray());
+    }
+
+    /**
+     * Consumes a frame header and returns the payload length.
+     */
+    private int readFrameHeader() throws IOException {
+        mark = pos;
+        require(WireFormat.FRAME_HEADER_LENGTH);
+        if ((buffer[pos] & 0xff) != WireFormat.FRAME_MARKER) {
+            throw syntaxError("Expected a frame");
+        }
+        int length = 0;
+        for (int i = 1; i < WireFormat.FRAME_HEADER_LENGTH; i++) {
+            length = length << 8 | buffer[pos + i] & 0xff;
+        }
+        if (length < 0 || length > WireFormat.MAX_FRAME_LENGTH) {
+            throw syntaxError("Invalid frame length " + length);
+        }
+        pos += WireFormat.FRAME_HEADER_LENGTH;
+        return length;
+    }
+
+    /**
+     * Consumes the header of a CBOR map or array and returns its length, or -1 if it is indefinite.
+     */
+    private long readContainerHeader(int major) throws IOException {
+        if (peekMajor() != major) {
+            throw syntaxError(major == CBOR_MAP ? "Expected a map" : "Expected an array");
+        }
+        int info = buffer[pos] & 0x1f;
+        if (info == 31) {
+            pos++;
+            return -1;
+        }
+        if (info > 27) {
+            throw syntaxError("Invalid header");
+        }
+        int size = info < 24 ? 0 : 1 << (info - 24);
+        require(1 + size);
+        long length = info < 24 ? info : 0;
+        for (int i = 1; i <= size; i++) {
+            length = length << 8 | buffer[pos + i] & 0xff;
+        }
+        pos += 1 + size;
+        return length;
+    }
+
+    private int peekMajor() throws IOException {
+        require(1);
+        return (buffer[pos] & 0xff) >>> 5;
+    }
+
+    private boolean atBreak() throws IOException {
+        require(1);
+        return (buffer[pos] & 0xff) == CBOR_BREAK;
+    }
+
+    /**
+     * Fills the buffer until the CBOR item at the current position has fully arrived and returns its end.
+     */
+    private int completeItem() throws IOException {
+        int end;
+        while ((end = CborReader.skip(buffer, pos, limit)) < 0) {
+            if (!fill()) {
+                throw truncated();
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Fills the buffer until at least {@code bytes} bytes from the current position are available.
+     */
+    private void require(int bytes) throws IOException {
+        while (limit - pos < bytes) {
+            if (!fill()) {
+                throw truncated();
+            }
+        }
+    }
+
+    /**
+     * Returns the position in the stream of a buffer index.
+     */
+    private long offsetOf(int index) {
+        return received - (limit - index);
+    }
+
+    /**
+     * Returns the number of bytes read from the stream so far.
+     */
+    long received() {
+        return received;
+    }
+
+    private <T> void readElements(Codec<T> codec, Consumer<? super T> sink) throws IOException {
+        while (true) {
+            int c = peek();
+            if (c == ',') {
+                pos++;
+                c = peek();
+            }
+            if (c == ']') {
+                pos++;
+                return;
+            }
+            if (c < 0) {
+                throw truncated();
+            }
+            mark = pos;
+            skipValue();
+            sink.accept(codec.read(new JsonReader(decode(mark, pos))));
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the next byte without consuming it, or -1 at the end of the stream.
+     */
+    private int peek() throws IOException {
+        while (true) {
+            while (pos < limit) {
+                byte b = buffer[pos];
+                if (b != ' ' && b != '\t' && b != '\r') {
+                    return b & 0xff;
+                }
+                pos++;
+            }
+            mark = pos;
+            if (!fill()) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the byte at the current position, filling the buffer if needed, or -1 at the end of the stream.
+     */
+    private int current() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos] & 0xff;
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peek();
+        if (c < 0) {
+            throw truncated();
+        }
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        pos++;
+    }
+
+    private void skipValue() throws IOException {
+        int c = current();
+        if (c == '"') {
+            skipString();
+            return;
+        }
+        if (c != '{' && c != '[') {
+            int start = pos;
+            while ((c = current()) >= 0 && (Character.isLetterOrDigit(c) || c == '-' || c == '+' || c == '.')) {
+                pos++;
+            }
+            if (pos == start && c < 0) {
+                throw truncated();
+            }
+            if (pos == start) {
+                throw syntaxError("Unexpected character");
+            }
+            return;
+        }
+        int depth = 0;
+        do {
+            c = current();
+            switch (c) {
+                case '{', '[' -> {
+                    depth++;
+                    pos++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    pos++;
+                }
+                case '"' -> skipString();
+                case '\n' -> throw syntaxError("Unterminated value");
+                case -1 -> throw truncated();
+                default -> pos++;
+            }
+        } while (depth > 0);
+    }
+
+    private void skipString() throws IOException {
+        pos++;
+        while (true) {
+            int c = current();
+            if (c < 0) {
+                throw truncated();
+            }
+            if (c == '\n') {
+                throw syntaxError("Unterminated string");
+            }
+            pos++;
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                if (current() < 0) {
+                    throw truncated();
+                }
+                pos++;
+            }
+        }
+    }
+
+    /**
+     * Consumes the rest of the current line, which may only contain whitespace.
+     */
+    private void skipLineTerminator() throws IOException {
+        int c = peek();
+        if (c == '\n') {
+            pos++;
+        } else if (c >= 0) {
+            throw syntaxError("Unexpected data after response");
+        }
+    }
+
+    private String decode(int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private int indexOfNewline(int from) {
+        for (int i = from; i < limit; i++) {
+            if (buffer[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads more bytes, first moving the bytes from {@link #mark} on to the front of the buffer
+     * and growing it if it is full.
+     *
+     * @return False at the end of the stream.
+     */
+    private boolean fill() throws IOException {
+        if (mark > 0) {
+            System.arraycopy(buffer, mark, buffer, 0, limit - mark);
+            pos -= mark;
+            limit -= mark;
+            mark = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            return false;
+        }
+        limit += read;
+        received += read;
+        return true;
+    }
+
+    /**
+     * Drops the consumed bytes and, after an unusually large response, returns the buffer to its
+     * initial size so one big listing does not pin its memory for the life of the connection.
+     */
+    private void release() {
+        mark = pos;
+        if (buffer.length > RETAINED_CAPACITY && limit - pos <= INITIAL_CAPACITY) {
+            byte[] smaller = new byte[INITIAL_CAPACITY];
+            System.arraycopy(buffer, pos, smaller, 0, limit - pos);
+            buffer = smaller;
+            limit -= pos;
+            pos = 0;
+            mark = 0;
+        }
+    }
+
+    private static JSONException syntaxError(String message) {
+        return new JSONException(message);
+    }
+
+    private static EOFException truncated() {
+        return new EOFException("Server closed the connection in the middle of a response");
+    }
+}
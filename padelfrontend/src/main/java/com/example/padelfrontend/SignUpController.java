@@ -2,7 +2,6 @@ package com.example.padelfrontend;
 
 import javafx.animation.FadeTransition;
 import javafx.animation.TranslateTransition;
-import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -10,15 +9,13 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 import org.json.JSONObject;
 
-import java.io.*;
-import java.net.Socket;
+import java.io.IOException;
 import java.util.function.UnaryOperator;
 
 public class SignUpController {
@@ -49,7 +46,7 @@ public class SignUpController {
     @FXML
     public void initialize() {
         // Set the initial icon to 'hidden' for both fields
-        togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/hidden.png")));
+        togglePasswordIcon.setImage(Icon.HIDDEN.image(24));
 
         phoneNumberField.setText("+20");
         enforcePhoneNumberPrefix();
@@ -100,7 +97,7 @@ public class SignUpController {
             confirmPasswordField.setVisible(false);
             confirmPasswordField.setManaged(false);
 
-            togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/show.png")));
+            togglePasswordIcon.setImage(Icon.SHOW.image(24));
         } else {
             // Revert to password fields (masked)
             passwordField.setText(visiblePasswordField.getText());
@@ -117,7 +114,7 @@ public class SignUpController {
             visibleConfirmPasswordField.setVisible(false);
             visibleConfirmPasswordField.setManaged(false);
 
-            togglePasswordIcon.setImage(new Image(getClass().getResourceAsStream("/icons/hidden.png")));
+            togglePasswordIcon.setImage(Icon.HIDDEN.image(24));
         }
     }
 
@@ -153,70 +150,36 @@ public class SignUpController {
     }
 
     private void sendSignUpRequest(String firstName, String lastName, String username, String phoneNumber, String password) {
-        new Thread(() -> {
-            try {
-                Socket socket = new Socket("localhost", 8080);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-
-                // Build JSON request
-                JSONObject request = new JSONObject();
-                request.put("action", "signup");
-                request.put("firstName", firstName);
-                request.put("lastName", lastName);
-                request.put("username", username);
-                request.put("phoneNumber", phoneNumber);
-                request.put("password", password);
-                request.put("role", "user");
-
-                // Convert to string and send
-                String requestString = request.toString();
-                System.out.println("Sending request: " + requestString);
-
-                // Send request with explicit newline
-                out.print(requestString + "\n");
-                out.flush();
-
-                // Read response from the C++ server
-                String response = in.readLine();
-                if (response == null) {
-                    throw new Exception("No response from server");
-                }
-
-                // Debug: Print the response
-                System.out.println("Received response: " + response);
-
-                // Parse the response
-                JSONObject jsonResponse = new JSONObject(response);
-
-                // Update UI based on server response
-                Platform.runLater(() -> {
-                    try {
-                        String status = jsonResponse.optString("status", "error");
-                        String message = jsonResponse.optString("message", "No message provided");
-
-                        responseLabel.setText(message);
-                        if ("success".equals(status)) {
-                            responseLabel.getStyleClass().add("success");
-                            goToLogin(); // Move to the login page if successful
-                        } else {
-                            responseLabel.getStyleClass().remove("success");
-                        }
-                    } catch (Exception e) {
-                        responseLabel.setText("Error parsing server response: " + e.getMessage());
-                        responseLabel.getStyleClass().remove("success");
-                    }
-                });
-
-                socket.close();
-            } catch (Exception ex) {
-                Platform.runLater(() -> {
-                    responseLabel.setText("Error: " + ex.getMessage());
-                    System.out.println("Error in SignUpController.sendSignUpRequest(): " + ex.getMessage());
-                    responseLabel.getStyleClass().remove("success");
-                });
+        Request request = Request.of(Action.SIGNUP)
+                .with("firstName", firstName)
+                .with("lastName", lastName)
+                .with("username", username)
+                .with("phoneNumber", phoneNumber)
+                .with("password", password)
+                .with("role", "user");
+
+        System.out.println("Sending request: " + request);
+
+        BackendClient.getInstance().send(request).whenComplete((response, error) -> {
+            if (error != null) {
+                responseLabel.setText("Error: " + BackendClient.describe(error));
+                System.out.println("Error in SignUpController.sendSignUpRequest(): " + BackendClient.describe(error));
+                responseLabel.getStyleClass().remove("success");
+                return;
             }
-        }).start();
+
+            // Debug: Print the response
+            System.out.println("Received response: " + response);
+
+            // Update UI based on server response
+            responseLabel.setText(response.getMessage("No message provided"));
+            if (response.isSuccess()) {
+                responseLabel.getStyleClass().add("success");
+                goToLogin(); // Move to the login page if successful
+            } else {
+                responseLabel.getStyleClass().remove("success");
+            }
+        });
     }
 
     @FXML
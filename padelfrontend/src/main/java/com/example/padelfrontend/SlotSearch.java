@@ -0,0 +1,175 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.SlotSet;
+import com.example.padelfrontend.model.TimeSlot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Answers "which court is free at time T" over every padel center on one date.
+ * <p>
+ * The index is the transpose of the centers' {@linkplain SlotSet available slots}: for each slot
+ * of the day, a bit per center telling whether it is free then. A search walks outwards from the
+ * requested slot, one slot earlier and one later at a time, and reads the centers free at each from
+ * their bits, masked by the location filter, until it has enough matches. It never looks at slots
+ * or centers it does not return, so its cost depends on how far the nearest free slots are rather
+ * than on how many centers there are.
+ * <p>
+ * Centers keep the column they were first put in, which is their catalog order when the index is
+ * built from the catalog; that order breaks ties between centers free at the same time.
+ */
+public final class SlotSearch {
+
+    private final Map<String, Integer> columnByName = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    /** Lower-case location of each column. */
+    private final List<String> locations = new ArrayList<>();
+    /** Columns free at each slot of the day. */
+    private long[][] freeAt = new long[TimeSlot.SLOTS_PER_DAY][1];
+    private String maskedLocation;
+    private long[] locationMask;
+
+    /**
+     * Removes every center.
+     */
+    public void clear() {
+        columnByName.clear();
+        names.clear();
+        locations.clear();
+        freeAt = new long[TimeSlot.SLOTS_PER_DAY][1];
+        locationMask = null;
+    }
+
+    /**
+     * Adds a center, or replaces the slots and location of the one with the same name.
+     */
+    public void put(String name, String location, SlotSet available) {
+        Integer column = columnByName.get(name);
+        if (column == null) {
+            column = names.size();
+            columnByName.put(name, column);
+            names.add(name);
+            locations.add("");
+            if (column >>> 6 >= freeAt[0].length) {
+                for (int slot = 0; slot < TimeSlot.SLOTS_PER_DAY; slot++) {
+                    freeAt[slot] = Arrays.copyOf(freeAt[slot], freeAt[slot].length * 2);
+                }
+            }
+        }
+        locations.set(column, location != null ? location.toLowerCase(Locale.ROOT) : "");
+        locationMask = null;
+        int word = column >>> 6;
+        long bit = 1L << column;
+        for (int slot = 0; slot < TimeSlot.SLOTS_PER_DAY; slot++) {
+            if (available.contains(TimeSlot.ofIndex(slot))) {
+                freeAt[slot][word] |= bit;
+            } else {
+                freeAt[slot][word] &= ~bit;
+            }
+        }
+    }
+
+    /**
+     * Returns the free slots nearest to a time, closest first. Of two slots the same distance away
+     * the earlier comes first, and centers free at the same slot come in column order.
+     *
+     * @param time     The time wanted.
+     * @param location Text the center's location must contain, ignoring case, or {@code null} for any.
+     * @param limit    The most matches to return.
+     * @return Up to {@code limit} matches.
+     */
+    public List<Match> search(TimeSlot time, String location, int limit) {
+        long[] mask = location == null || location.isBlank() ? null : locationMask(location.toLowerCase(Locale.ROOT).trim());
+        List<Match> matches = new ArrayList<>();
+        int target = time.index();
+        for (int distance = 0; distance < TimeSlot.SLOTS_PER_DAY && matches.size() < limit; distance++) {
+            if (target - distance >= 0) {
+                collect(target - distance, distance, mask, limit, matches);
+            }
+            if (distance > 0 && target + distance < TimeSlot.SLOTS_PER_DAY && matches.size() < limit) {
+                collect(target + distance, distance, mask, limit, matches);
+            }
+        }
+        return matches;
+    }
+
+    private void collect(int slot, int distance, long[] mask, int limit, List<Match> matches) {
+        long[] free = freeAt[slot];
+        for (int i = 0; i < free.length && matches.size() < limit; i++) {
+            long word = mask != null ? free[i] & mask[i] : free[i];
+            while (word != 0 && matches.size() < limit) {
+                int column = i * 64 + Long.numberOfTrailingZeros(word);
+                matches.add(new Match(names.get(column), TimeSlot.ofIndex(slot),
+                        distance * TimeSlot.GRANULARITY_MINUTES));
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the columns whose location contains the given text, keeping the last mask computed
+     * since the index changed.
+     */
+    private long[] locationMask(String location) {
+        if (locationMask != null && location.equals(maskedLocation)) {
+            return locationMask;
+        }
+        long[] mask = new long[freeAt[0].length];
+        for (int column = 0; column < locations.size(); column++) {
+            if (locations.get(column).contains(location)) {
+                mask[column >>> 6] |= 1L << column;
+            }
+        }
+        maskedLocation = location;
+        locationMask = mask;
+        return mask;
+    }
+
+    /**
+     * Reads a search for a time out of text typed into the center search box: a time such as
+     * {@code 7 PM}, {@code 7:30pm} or {@code 19:00}, optionally followed by text the location must
+     * contain.
+     *
+     * @return The query, or {@code null} if the text does not start with a time.
+     */
+    public static Query parseQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String[] words = text.trim().split("\\s+", 3);
+        String time = words[0];
+        int rest = 1;
+        if (words.length > 1 && (words[1].equalsIgnoreCase("AM") || words[1].equalsIgnoreCase("PM"))) {
+            time += " " + words[1];
+            rest = 2;
+        }
+        if (!time.contains(":")) {
+            time = time.replaceFirst("^(\\d{1,2})(\\s*[AaPp][Mm])?$", "$1:00$2");
+        }
+        TimeSlot slot;
+        try {
+            slot = TimeSlot.parse(time);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String location = String.join(" ", Arrays.copyOfRange(words, rest, words.length));
+        return new Query(slot, location.isEmpty() ? null : location);
+    }
+
+    /**
+     * A center free at a slot, and how many minutes that is from the time searched for.
+     */
+    public record Match(String centerName, TimeSlot slot, int minutesAway) {
+    }
+
+    /**
+     * A search for courts free near a time, optionally at a location.
+     */
+    public record Query(TimeSlot time, String location) {
+    }
+}
@@ -4,6 +4,7 @@ import javafx.animation.FadeTransition;
 import javafx.animation.ScaleTransition;
 import javafx.animation.TranslateTransition;
 import javafx.animation.Interpolator;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
@@ -23,11 +24,16 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.util.Duration;
-import org.json.JSONArray;
+import com.example.padelfrontend.model.SubscriptionPlan;
 import org.json.JSONObject;
 
 import java.io.*;
-import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller for the Subscription page, handling plan display and subscription
@@ -61,13 +67,10 @@ public class SubscriptionController {
     @FXML
     private Button loginButton;
 
-    // Constants
-    private static final int SERVER_PORT = 8080;
-    private static final String SERVER_HOST = "localhost";
-
     // State
     private String selectedDuration = "1_month"; // Default duration
-    private JSONArray currentPlansArray; // Cached plans for refreshing
+    private List<SubscriptionPlan> currentPlans = List.of(); // Cached plans for refreshing
+    private final Map<String, SubscriptionPlan> plansByName = new HashMap<>();
     private boolean isFormCanceled = false; // Tracks form cancellation
 
     // --------------------- Initialization ---------------------
@@ -171,46 +174,40 @@ public class SubscriptionController {
     // --------------------- Plan Rendering ---------------------
 
     private void loadSubscriptionPlans() {
-        try {
-            JSONObject request = new JSONObject();
-            request.put("action", "get_subscription_plans");
-            String response = sendRequestToServer(request.toString());
-            JSONObject responseJson = new JSONObject(response);
-            if (responseJson.getString("status").equals("success")) {
-                currentPlansArray = responseJson.getJSONArray("data");
-                if (currentPlansArray == null || currentPlansArray.length() == 0) {
-                    showAlert("No subscription plans available.", getStage());
-                    return;
-                }
-                displaySubscriptionPlans(currentPlansArray);
-            } else {
-                showAlert(responseJson.getString("message"), getStage());
+        CatalogRepository.getInstance().load(CatalogRepository.SUBSCRIPTION_PLANS, plans -> {
+            currentPlans = plans;
+            plansByName.clear();
+            for (SubscriptionPlan plan : currentPlans) {
+                plansByName.put(plan.name(), plan);
             }
-        } catch (Exception e) {
-            showAlert("Unable to load subscription plans: " + e.getMessage(), getStage());
-        }
+            if (currentPlans.isEmpty()) {
+                showAlert("No subscription plans available.", getStage());
+                return;
+            }
+            displaySubscriptionPlans(currentPlans);
+        }).exceptionally(error -> {
+            showAlert("Unable to load subscription plans: " + BackendClient.describe(error), getStage());
+            return null;
+        });
     }
 
-    private void displaySubscriptionPlans(JSONArray plansArray) {
+    private void displaySubscriptionPlans(List<SubscriptionPlan> plans) {
         plansContainer.getChildren().clear();
         plansContainer.setHgap(20);
         plansContainer.setVgap(20);
         plansContainer.setPadding(new Insets(20));
 
-        for (int i = 0; i < plansArray.length(); i++) {
-            JSONObject plan = plansArray.getJSONObject(i);
-            System.out.println("Rendering plan: " + plan.getString("name"));
+        for (SubscriptionPlan plan : plans) {
+            System.out.println("Rendering plan: " + plan.name());
             VBox card = createSubscriptionPlanCard(plan);
             plansContainer.getChildren().add(card);
         }
     }
 
-    private VBox createSubscriptionPlanCard(JSONObject plan) {
-        String name = plan.getString("name");
-        JSONObject pricing = plan.getJSONObject("pricing");
-        double price = pricing.getDouble(selectedDuration);
+    private VBox createSubscriptionPlanCard(SubscriptionPlan plan) {
+        String name = plan.name();
+        double price = plan.priceFor(selectedDuration);
         String durationText = selectedDuration.replace("_", " ").replace("month", "Month").replace("year", "Year");
-        JSONArray featuresArray = plan.getJSONArray("features");
 
         // Main card container
         VBox card = new VBox();
@@ -228,7 +225,7 @@ public class SubscriptionController {
 
         // Pricing and features
         VBox vpricing = createPricingSection(price, durationText);
-        VBox features = createFeaturesSection(featuresArray);
+        VBox features = createFeaturesSection(plan.features());
 
         // Container for the button (will stay at bottom)
         VBox buttonContainer = new VBox();
@@ -292,15 +289,15 @@ public class SubscriptionController {
         return pricing;
     }
 
-    private VBox createFeaturesSection(JSONArray featuresArray) {
+    private VBox createFeaturesSection(List<String> features) {
         VBox featuresBox = new VBox(8);
         featuresBox.setAlignment(Pos.CENTER_LEFT);
 
-        for (int i = 0; i < featuresArray.length(); i++) {
+        for (String feature : features) {
             HBox featureRow = new HBox(8);
             Label checkmark = new Label("✓");
             checkmark.getStyleClass().add("feature-checkmark");
-            Label featureLabel = new Label(featuresArray.getString(i));
+            Label featureLabel = new Label(feature);
             featureLabel.getStyleClass().add("plan-detail");
             featureRow.getChildren().addAll(checkmark, featureLabel);
             featuresBox.getChildren().add(featureRow);
@@ -450,12 +447,17 @@ public class SubscriptionController {
                 return;
             }
 
-            boolean isMemberActive = checkMemberStatus(memberId, dob, context);
-            if (!isMemberActive) {
-                addNewMember(memberId, firstName, lastName, phoneNumber, dob, planName, duration, price);
-            }
-
-            subscribeMember(memberId, firstName, lastName, phoneNumber, dob, planName, duration, price, context);
+            checkMemberStatus(memberId, dob, context)
+                    .thenCompose(isMemberActive -> isMemberActive
+                            ? CompletableFuture.completedFuture(null)
+                            : addNewMember(memberId, firstName, lastName, phoneNumber, dob, planName, duration, price))
+                    .thenCompose(ignored -> subscribeMember(memberId, firstName, lastName, phoneNumber, dob,
+                            planName, duration, price, context))
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            showAlert("Failed to subscribe: " + BackendClient.describe(error), getStage());
+                        }
+                    });
         } catch (Exception e) {
             showAlert("Failed to subscribe: " + e.getMessage(), getStage());
             e.printStackTrace();
@@ -463,42 +465,28 @@ public class SubscriptionController {
     }
 
     private double getPlanPrice(String planName, String duration) {
-        for (int i = 0; i < currentPlansArray.length(); i++) {
-            JSONObject plan = currentPlansArray.getJSONObject(i);
-            if (plan.getString("name").equals(planName)) {
-                JSONObject pricing = plan.getJSONObject("pricing");
-                if (pricing.has(duration)) {
-                    return pricing.getDouble(duration);
-                }
-            }
-        }
-        return -1;
+        SubscriptionPlan plan = plansByName.get(planName);
+        return plan != null ? plan.priceFor(duration) : -1;
     }
 
-    private boolean checkMemberStatus(String memberId, String dob, AppContext context) throws IOException {
-        JSONObject checkMemberRequest = new JSONObject();
-        checkMemberRequest.put("action", "check_member");
+    private CompletableFuture<Boolean> checkMemberStatus(String memberId, String dob, AppContext context) {
         JSONObject checkData = new JSONObject();
         checkData.put("memberId", memberId);
         checkData.put("dob", dob);
-        checkMemberRequest.put("data", checkData);
+        Request checkMemberRequest = Request.of(Action.CHECK_MEMBER).with("data", checkData);
         context.setDob(dob);
 
-        String response = sendRequestToServer(checkMemberRequest.toString());
-        JSONObject json = new JSONObject(response);
-        System.out.println("Check member response: " + response);
-
-        if (json.getString("status").equals("success")) {
-            JSONObject result = json.getJSONObject("data");
-            return result.getBoolean("isActive");
-        }
-        return false;
+        return BackendClient.getInstance().send(checkMemberRequest).thenApply(response -> {
+            System.out.println("Check member response: " + response);
+            if (response.isSuccess()) {
+                return response.getDataObject().optBoolean("isActive");
+            }
+            return false;
+        });
     }
 
-    private void addNewMember(String memberId, String firstName, String lastName, String phoneNumber,
-            String dob, String planName, String duration, double price) throws IOException {
-        JSONObject addMemberRequest = new JSONObject();
-        addMemberRequest.put("action", "add_member");
+    private CompletableFuture<Void> addNewMember(String memberId, String firstName, String lastName, String phoneNumber,
+            String dob, String planName, String duration, double price) {
         JSONObject memberData = new JSONObject();
         memberData.put("memberId", memberId);
         memberData.put("name", firstName + " " + lastName);
@@ -509,27 +497,23 @@ public class SubscriptionController {
         subscriptionData.put("duration", duration);
         subscriptionData.put("price", price);
         memberData.put("subscription", subscriptionData);
-        addMemberRequest.put("data", memberData);
-
-        System.out.println("Sending add_member request: " + addMemberRequest.toString());
-        String response = sendRequestToServer(addMemberRequest.toString());
-        JSONObject json = new JSONObject(response);
-        System.out.println("Add member response: " + response);
-
-        if (!json.getString("status").equals("success")) {
-            throw new IOException("Failed to add member: " + json.getString("message"));
-        }
-        try {
-            Thread.sleep(100); // Ensure server saves members.json
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
+        Request addMemberRequest = Request.of(Action.ADD_MEMBER).with("data", memberData);
+
+        System.out.println("Sending add_member request: " + addMemberRequest);
+        return BackendClient.getInstance().send(addMemberRequest).thenCompose(response -> {
+            System.out.println("Add member response: " + response);
+            if (!response.isSuccess()) {
+                throw new CompletionException(new IOException(
+                        "Failed to add member: " + response.getMessage("Unknown error")));
+            }
+            // Give the server a moment to save members.json before subscribing, without blocking the UI thread.
+            return CompletableFuture.runAsync(() -> { },
+                    CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS, Platform::runLater));
+        });
     }
 
-    private void subscribeMember(String memberId, String firstName, String lastName, String phoneNumber,
-            String dob, String planName, String duration, double price, AppContext context) throws IOException {
-        JSONObject subscribeRequest = new JSONObject();
-        subscribeRequest.put("action", "subscribe");
+    private CompletableFuture<Void> subscribeMember(String memberId, String firstName, String lastName, String phoneNumber,
+            String dob, String planName, String duration, double price, AppContext context) {
         JSONObject subscribeData = new JSONObject();
         subscribeData.put("memberId", memberId);
         subscribeData.put("firstName", firstName);
@@ -539,20 +523,19 @@ public class SubscriptionController {
         subscribeData.put("planName", planName);
         subscribeData.put("duration", duration);
         subscribeData.put("price", price);
-        subscribeRequest.put("data", subscribeData);
-
-        System.out.println("Sending subscribe request: " + subscribeRequest.toString());
-        String response = sendRequestToServer(subscribeRequest.toString());
-        JSONObject json = new JSONObject(response);
-        System.out.println("Subscribe response: " + response);
-
-        if (json.getString("status").equals("success")) {
-            context.setSubscribedPlanName(planName);
-            context.setSubscribedDuration(duration);
-            refreshPlans();
-        } else {
-            throw new IOException(json.getString("message"));
-        }
+        Request subscribeRequest = Request.of(Action.SUBSCRIBE).with("data", subscribeData);
+
+        System.out.println("Sending subscribe request: " + subscribeRequest);
+        return BackendClient.getInstance().send(subscribeRequest).thenAccept(response -> {
+            System.out.println("Subscribe response: " + response);
+            if (response.isSuccess()) {
+                context.setSubscribedPlanName(planName);
+                context.setSubscribedDuration(duration);
+                refreshPlans();
+            } else {
+                throw new CompletionException(new IOException(response.getMessage("Unknown error")));
+            }
+        });
     }
 
     private void changeSubscription(String planName) {
@@ -577,7 +560,12 @@ public class SubscriptionController {
                 return;
             }
 
-            subscribeMember(memberId, firstName, lastName, phoneNumber, dob, planName, duration, price, context);
+            subscribeMember(memberId, firstName, lastName, phoneNumber, dob, planName, duration, price, context)
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            showAlert("Failed to change subscription: " + BackendClient.describe(error), getStage());
+                        }
+                    });
         } catch (Exception e) {
             showAlert("Failed to change subscription: " + e.getMessage(), getStage());
             e.printStackTrace();
@@ -590,28 +578,28 @@ public class SubscriptionController {
     private void selectOneMonth() {
         selectedDuration = "1_month";
         setActiveDurationButton(oneMonthButton);
-        displaySubscriptionPlans(currentPlansArray);
+        displaySubscriptionPlans(currentPlans);
     }
 
     @FXML
     private void selectThreeMonths() {
         selectedDuration = "3_months";
         setActiveDurationButton(threeMonthsButton);
-        displaySubscriptionPlans(currentPlansArray);
+        displaySubscriptionPlans(currentPlans);
     }
 
     @FXML
     private void selectSixMonths() {
         selectedDuration = "6_months";
         setActiveDurationButton(sixMonthsButton);
-        displaySubscriptionPlans(currentPlansArray);
+        displaySubscriptionPlans(currentPlans);
     }
 
     @FXML
     private void selectOneYear() {
         selectedDuration = "1_year";
         setActiveDurationButton(oneYearButton);
-        displaySubscriptionPlans(currentPlansArray);
+        displaySubscriptionPlans(currentPlans);
     }
 
     @FXML
@@ -737,19 +725,6 @@ public class SubscriptionController {
         });
     }
 
-    private String sendRequestToServer(String request) throws IOException {
-        try (Socket socket = new Socket(SERVER_HOST, SERVER_PORT);
-                PrintWriter out = new PrintWriter(socket.getOutputStream(), true);
-                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-
-            System.out.println("Sending request: " + request);
-            out.println(request);
-            String response = in.readLine();
-            System.out.println("Server response: " + response);
-            return response != null ? response : "{}";
-        }
-    }
-
     private void refreshPlans() {
         loadSubscriptionPlans();
     }
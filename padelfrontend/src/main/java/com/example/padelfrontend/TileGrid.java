@@ -0,0 +1,245 @@
+package com.example.padelfrontend;
+
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A virtualized grid of fixed-width tiles, laid out in rows as a flow pane would.
+ * <p>
+ * The grid is a {@link ListView} whose items are the rows: as many tiles as fit across the list,
+ * recomputed when its width changes. The list only creates cells for the rows in view and hands
+ * them other rows as it scrolls, and each row cell keeps a pool of {@link Tile}s that it refills
+ * with the entities of the row it is showing. So however many entities there are, only the tiles
+ * in view exist, and scrolling reuses them rather than building new ones.
+ * <p>
+ * Entities are identified by key, so one that changes can be replaced and only the row holding it
+ * is refilled. Entities can also be appended a page at a time, with the next page asked for when a
+ * row near the end comes into view. The grid must be used on the JavaFX Application Thread.
+ *
+ * @param <T> The type of entities.
+ */
+final class TileGrid<T> {
+
+    /**
+     * A reusable tile, refilled with one entity after another.
+     */
+    interface Tile<T> {
+
+        Node node();
+
+        /**
+         * Shows an entity in the tile, which may have shown another before.
+         */
+        void show(T item);
+    }
+
+    private final ListView<List<T>> rows;
+    private final Function<? super T, String> key;
+    private final List<T> items = new ArrayList<>();
+    private final Map<String, Integer> indexByKey = new HashMap<>();
+    private int columns = 1;
+    private int nearEndRows;
+    private Runnable onNearEnd;
+
+    /**
+     * @param rows      The list to show the rows in.
+     * @param key       Identifies the entity a tile is for.
+     * @param tileWidth The width of a tile.
+     * @param gap       The space between tiles, across and down.
+     * @param newTile   Creates an empty tile.
+     */
+    TileGrid(ListView<List<T>> rows, Function<? super T, String> key, double tileWidth, double gap,
+             Supplier<? extends Tile<T>> newTile) {
+        this.rows = rows;
+        this.key = key;
+        rows.setCellFactory(list -> new RowCell(newTile, gap));
+        rows.setFocusTraversable(false);
+        rows.widthProperty().addListener((observable, oldWidth, width) -> {
+            int fitting = Math.max(1, (int) ((width.doubleValue() - gap) / (tileWidth + gap)));
+            if (fitting != columns) {
+                columns = fitting;
+                layOut();
+            }
+        });
+    }
+
+    /**
+     * Replaces every entity.
+     */
+    void setAll(List<? extends T> entities) {
+        items.clear();
+        indexByKey.clear();
+        for (T item : entities) {
+            indexByKey.put(key.apply(item), items.size());
+            items.add(item);
+        }
+        layOut();
+    }
+
+    /**
+     * Adds entities after those there, refilling only the last row if they start in it.
+     */
+    void addAll(List<? extends T> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        int first = items.size();
+        for (T item : entities) {
+            indexByKey.put(key.apply(item), items.size());
+            items.add(item);
+        }
+        ObservableList<List<T>> laidOut = rows.getItems();
+        int row = first / columns;
+        if (row < laidOut.size()) {
+            setRow(row++);
+        }
+        List<List<T>> added = new ArrayList<>();
+        for (; row * columns < items.size(); row++) {
+            added.add(row(row));
+        }
+        laidOut.addAll(added);
+    }
+
+    /**
+     * Runs an action whenever a row within the given number of rows from the end is shown, such as
+     * to load the next page. The action is run again as further rows are shown, so it should do
+     * nothing while a page is loading or when there are no more.
+     */
+    void setOnNearEnd(int rowsFromEnd, Runnable action) {
+        nearEndRows = rowsFromEnd;
+        onNearEnd = action;
+    }
+
+    /**
+     * Replaces the entity with the same key, refilling only its row, or adds it at the end.
+     */
+    void put(T item) {
+        Integer index = indexByKey.get(key.apply(item));
+        if (index == null) {
+            indexByKey.put(key.apply(item), items.size());
+            items.add(item);
+            if (items.size() % columns == 1 || columns == 1) {
+                rows.getItems().add(new ArrayList<>(List.of(item)));
+            } else {
+                setRow(rows.getItems().size() - 1);
+            }
+            return;
+        }
+        items.set(index, item);
+        setRow(index / columns);
+    }
+
+    /**
+     * Removes the entity with the given key, if there is one.
+     */
+    void remove(String itemKey) {
+        Integer index = indexByKey.remove(itemKey);
+        if (index == null) {
+            return;
+        }
+        items.remove((int) index);
+        for (int i = index; i < items.size(); i++) {
+            indexByKey.put(key.apply(items.get(i)), i);
+        }
+        // Every row from the removed entity's on shifts by one tile.
+        ObservableList<List<T>> laidOut = rows.getItems();
+        int rowCount = (items.size() + columns - 1) / columns;
+        for (int row = index / columns; row < rowCount; row++) {
+            laidOut.set(row, row(row));
+        }
+        if (laidOut.size() > rowCount) {
+            laidOut.remove(rowCount, laidOut.size());
+        }
+    }
+
+    /**
+     * Returns the entity with the given key, or {@code null} if there is none.
+     */
+    T get(String itemKey) {
+        Integer index = indexByKey.get(itemKey);
+        return index != null ? items.get(index) : null;
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    private void layOut() {
+        List<List<T>> laidOut = new ArrayList<>();
+        for (int row = 0; row * columns < items.size(); row++) {
+            laidOut.add(row(row));
+        }
+        rows.getItems().setAll(laidOut);
+    }
+
+    private void setRow(int row) {
+        rows.getItems().set(row, row(row));
+    }
+
+    private List<T> row(int row) {
+        return new ArrayList<>(items.subList(row * columns, Math.min(items.size(), (row + 1) * columns)));
+    }
+
+    /**
+     * A row of tiles, reusing its tiles for every row it shows.
+     */
+    private final class RowCell extends ListCell<List<T>> {
+        private final Supplier<? extends Tile<T>> newTile;
+        private final List<Tile<T>> tiles = new ArrayList<>();
+        private final HBox box;
+
+        RowCell(Supplier<? extends Tile<T>> newTile, double gap) {
+            this.newTile = newTile;
+            box = new HBox(gap);
+            box.setAlignment(Pos.CENTER);
+            box.setPadding(new Insets(gap / 2, 0, gap / 2, 0));
+            setText(null);
+        }
+
+        /**
+         * Refills the row even when it is equal to the one shown: a tile may show more than its
+         * entity, and it skips the refill itself if nothing it shows changed.
+         */
+        @Override
+        protected boolean isItemChanged(List<T> oldRow, List<T> newRow) {
+            return true;
+        }
+
+        @Override
+        protected void updateItem(List<T> row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+            List<Node> nodes = new ArrayList<>(row.size());
+            for (int i = 0; i < row.size(); i++) {
+                if (i == tiles.size()) {
+                    tiles.add(newTile.get());
+                }
+                Tile<T> tile = tiles.get(i);
+                tile.show(row.get(i));
+                nodes.add(tile.node());
+            }
+            if (!box.getChildren().equals(nodes)) {
+                box.getChildren().setAll(nodes);
+            }
+            setGraphic(box);
+            if (onNearEnd != null && getIndex() >= getListView().getItems().size() - nearEndRows) {
+                onNearEnd.run();
+            }
+        }
+    }
+}
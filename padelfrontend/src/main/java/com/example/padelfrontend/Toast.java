@@ -0,0 +1,65 @@
+package com.example.padelfrontend;
+
+import javafx.animation.FadeTransition;
+import javafx.animation.PauseTransition;
+import javafx.animation.SequentialTransition;
+import javafx.scene.control.Label;
+import javafx.stage.Popup;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+/**
+ * A short notice shown at the bottom of a window that fades out by itself and never takes focus.
+ * Pages use it for the outcome of an action they have already shown optimistically, where a modal
+ * alert would hold the user up. A new notice replaces the one still showing.
+ */
+final class Toast {
+
+    private static final Duration VISIBLE = Duration.seconds(3);
+    private static final Duration FADE = Duration.millis(400);
+    private static final double BOTTOM_MARGIN = 60;
+    private static final String STYLE = "-fx-background-color: rgba(18, 23, 26, 0.92); -fx-background-radius: 20;"
+            + " -fx-border-radius: 20; -fx-border-width: 2; -fx-text-fill: white; -fx-font-size: 16px;"
+            + " -fx-padding: 12 24;";
+
+    private static Popup showing;
+
+    private Toast() {
+    }
+
+    /**
+     * Shows a notice over the given window.
+     *
+     * @param owner   The window to show it over.
+     * @param message The text of the notice.
+     * @param error   Whether it reports a failure, which gives it a red border.
+     */
+    static void show(Window owner, String message, boolean error) {
+        if (showing != null) {
+            showing.hide();
+        }
+        Label label = new Label(message);
+        label.setWrapText(true);
+        label.setMaxWidth(600);
+        label.setStyle(STYLE + (error ? " -fx-border-color: #ff4444;" : " -fx-border-color: #FFCA28;"));
+
+        Popup popup = new Popup();
+        popup.getContent().add(label);
+        popup.setAutoFix(true);
+        popup.show(owner);
+        popup.setX(owner.getX() + (owner.getWidth() - popup.getWidth()) / 2);
+        popup.setY(owner.getY() + owner.getHeight() - popup.getHeight() - BOTTOM_MARGIN);
+        showing = popup;
+
+        FadeTransition fadeOut = new FadeTransition(FADE, label);
+        fadeOut.setToValue(0);
+        SequentialTransition lifetime = new SequentialTransition(new PauseTransition(VISIBLE), fadeOut);
+        lifetime.setOnFinished(e -> {
+            popup.hide();
+            if (showing == popup) {
+                showing = null;
+            }
+        });
+        lifetime.play();
+    }
+}
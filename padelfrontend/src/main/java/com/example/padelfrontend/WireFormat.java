@@ -0,0 +1,54 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.Cbor;
+import org.json.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodings of a message on the wire.
+ * <p>
+ * Each message announces its encoding with its first byte, so a server answers in the encoding the
+ * request used and a connection never has to switch modes. A JSON message is a line of text
+ * starting with {@code '{'}. A binary message is a frame: {@link #FRAME_MARKER}, the payload length
+ * as a four-byte big-endian integer, then the payload, a CBOR map with the same members the JSON
+ * object would have. The client sends frames only to a server that advertised the {@code cbor}
+ * capability; every other server, including the original C++ backend, gets newline-delimited JSON.
+ */
+enum WireFormat {
+
+    JSON {
+        @Override
+        byte[] encode(JSONObject message) {
+            byte[] text = message.toString().getBytes(StandardCharsets.UTF_8);
+            byte[] line = Arrays.copyOf(text, text.length + 1);
+            line[text.length] = '\n';
+            return line;
+        }
+    },
+
+    CBOR {
+        @Override
+        byte[] encode(JSONObject message) {
+            byte[] payload = Cbor.fromJson(message);
+            byte[] frame = new byte[FRAME_HEADER_LENGTH + payload.length];
+            frame[0] = (byte) FRAME_MARKER;
+            for (int i = 0; i < 4; i++) {
+                frame[1 + i] = (byte) (payload.length >>> (24 - 8 * i));
+            }
+            System.arraycopy(payload, 0, frame, FRAME_HEADER_LENGTH, payload.length);
+            return frame;
+        }
+    };
+
+    /** First byte of a binary frame; never the first byte of a JSON message. */
+    static final int FRAME_MARKER = 0xCB;
+    static final int FRAME_HEADER_LENGTH = 5;
+    static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+
+    /**
+     * Encodes a message, including its line terminator or frame header.
+     */
+    abstract byte[] encode(JSONObject message);
+}
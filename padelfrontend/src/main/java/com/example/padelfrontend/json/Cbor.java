@@ -0,0 +1,188 @@
+package com.example.padelfrontend.json;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Converts between JSON and CBOR for documents that have no generated codec, such as requests
+ * built as {@link JSONObject}s and responses handled as untyped trees.
+ */
+public final class Cbor {
+
+    private Cbor() {
+    }
+
+    /**
+     * Encodes a JSON document as CBOR.
+     *
+     * @throws org.json.JSONException If the text is not valid JSON.
+     */
+    public static byte[] fromJson(String json) {
+        CborWriter writer = new CborWriter(json.length());
+        copy(new JsonReader(json), writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encodes an org.json value ({@link JSONObject}, {@link JSONArray}, string, number, boolean or
+     * {@link JSONObject#NULL}) as CBOR.
+     */
+    public static byte[] fromJson(Object value) {
+        CborWriter writer = new CborWriter();
+        write(writer, value);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes the CBOR item in {@code [start, end)} of {@code data} into JSON text.
+     *
+     * @throws org.json.JSONException If the item is not valid CBOR in the JSON data model.
+     */
+    public static String toJson(byte[] data, int start, int end) {
+        JsonWriter writer = new JsonWriter();
+        copy(new CborReader(data, start, end), writer);
+        return writer.toString();
+    }
+
+    public static String toJson(byte[] data) {
+        return toJson(data, 0, data.length);
+    }
+
+    /**
+     * Copies the next JSON value from {@code reader} to {@code writer}.
+     */
+    public static void copy(JsonReader reader, CborWriter writer) {
+        switch (reader.peek()) {
+            case OBJECT -> {
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copy(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+            }
+            case ARRAY -> {
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+            }
+            case STRING -> writer.value(reader.nextString());
+            case NUMBER -> writeNumber(writer, reader.nextString());
+            case BOOLEAN -> writer.value(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                writer.nullValue();
+            }
+        }
+    }
+
+    /**
+     * Copies the next CBOR value from {@code reader} to {@code writer}.
+     */
+    public static void copy(CborReader reader, JsonWriter writer) {
+        switch (reader.peek()) {
+            case OBJECT -> {
+                reader.beginObject();
+                writer.beginObject();
+                while (reader.hasNext()) {
+                    writer.name(reader.nextName());
+                    copy(reader, writer);
+                }
+                reader.endObject();
+                writer.endObject();
+            }
+            case ARRAY -> {
+                reader.beginArray();
+                writer.beginArray();
+                while (reader.hasNext()) {
+                    copy(reader, writer);
+                }
+                reader.endArray();
+                writer.endArray();
+            }
+            case STRING -> writer.value(reader.nextString());
+            case NUMBER -> {
+                String number = reader.nextString();
+                if (isIntegral(number)) {
+                    writer.value(Long.parseLong(number));
+                } else {
+                    writer.value(Double.parseDouble(number));
+                }
+            }
+            case BOOLEAN -> writer.value(reader.nextBoolean());
+            case NULL -> {
+                reader.nextNull();
+                writer.nullValue();
+            }
+        }
+    }
+
+    private static void write(CborWriter writer, Object value) {
+        if (value instanceof JSONObject object) {
+            writer.beginObject();
+            for (String key : object.keySet()) {
+                writer.name(key);
+                write(writer, object.opt(key));
+            }
+            writer.endObject();
+        } else if (value instanceof JSONArray array) {
+            writer.beginArray();
+            for (int i = 0; i < array.length(); i++) {
+                write(writer, array.opt(i));
+            }
+            writer.endArray();
+        } else if (value instanceof String text) {
+            writer.value(text);
+        } else if (value instanceof Number number) {
+            writeNumber(writer, JSONObject.numberToString(number));
+        } else if (value instanceof Boolean bool) {
+            writer.value(bool);
+        } else if (value == null || JSONObject.NULL.equals(value)) {
+            writer.nullValue();
+        } else {
+            writer.value(value.toString());
+        }
+    }
+
+    /**
+     * Writes a JSON number literal as an integer when it is one, and as a floating-point number otherwise.
+     */
+    private static void writeNumber(CborWriter writer, String number) {
+        if (isIntegral(number)) {
+            writer.value(Long.parseLong(number));
+        } else {
+            writer.value(Double.parseDouble(number));
+        }
+    }
+
+    /**
+     * Returns whether a JSON number literal is an integer that fits in a {@code long}.
+     */
+    private static boolean isIntegral(String number) {
+        int digits = number.startsWith("-") ? number.length() - 1 : number.length();
+        if (digits == 0 || digits > 19) {
+            return false;
+        }
+        for (int i = number.length() - digits; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        if (digits < 19) {
+            return true;
+        }
+        try {
+            Long.parseLong(number);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
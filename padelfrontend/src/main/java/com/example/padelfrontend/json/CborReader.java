@@ -0,0 +1,524 @@
+package com.example.padelfrontend.json;
+
+import org.json.JSONException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A pull parser over a CBOR (RFC 8949) document held in a byte array, with the same interface as
+ * {@link JsonReader} so generated codecs read either encoding.
+ * <p>
+ * Only the JSON data model is supported: maps with text keys, arrays, text strings, integers,
+ * floating-point numbers, booleans and null. Containers and strings may have definite or
+ * indefinite length, and tags are ignored. As with {@link JsonReader}, numbers and booleans can be
+ * read as strings and numeric strings as numbers, and errors are reported as {@link JSONException}.
+ */
+public final class CborReader {
+
+    static final int MAJOR_UNSIGNED = 0;
+    static final int MAJOR_NEGATIVE = 1;
+    static final int MAJOR_BYTES = 2;
+    static final int MAJOR_TEXT = 3;
+    static final int MAJOR_ARRAY = 4;
+    static final int MAJOR_MAP = 5;
+    static final int MAJOR_TAG = 6;
+    static final int MAJOR_SIMPLE = 7;
+
+    static final int FALSE = 0xF4;
+    static final int TRUE = 0xF5;
+    static final int NULL = 0xF6;
+    static final int UNDEFINED = 0xF7;
+    static final int BREAK = 0xFF;
+    private static final int INDEFINITE_INFO = 31;
+    private static final long INDEFINITE = -1;
+
+    private final byte[] data;
+    private final int end;
+    private int pos;
+    /** Items left in each open container, or {@link #INDEFINITE}; a map entry counts as two items. */
+    private long[] remaining = new long[8];
+    private int depth;
+
+    public CborReader(byte[] data) {
+        this(data, 0, data.length);
+    }
+
+    /**
+     * Reads the region {@code [start, end)} of {@code data}.
+     */
+    public CborReader(byte[] data, int start, int end) {
+        this.data = data;
+        this.pos = start;
+        this.end = end;
+    }
+
+    public void beginObject() {
+        beginContainer(MAJOR_MAP, "a map");
+    }
+
+    public void endObject() {
+        endContainer();
+    }
+
+    public void beginArray() {
+        beginContainer(MAJOR_ARRAY, "an array");
+    }
+
+    public void endArray() {
+        endContainer();
+    }
+
+    /**
+     * Returns whether the current map or array has another member.
+     */
+    public boolean hasNext() {
+        if (depth == 0) {
+            return false;
+        }
+        long left = remaining[depth - 1];
+        return left == INDEFINITE ? pos < end && (data[pos] & 0xff) != BREAK : left > 0;
+    }
+
+    /**
+     * Returns the kind of the next value without consuming it.
+     */
+    public JsonToken peek() {
+        skipTags();
+        int initial = initialByte();
+        return switch (initial >>> 5) {
+            case MAJOR_UNSIGNED, MAJOR_NEGATIVE -> JsonToken.NUMBER;
+            case MAJOR_TEXT -> JsonToken.STRING;
+            case MAJOR_ARRAY -> JsonToken.ARRAY;
+            case MAJOR_MAP -> JsonToken.OBJECT;
+            case MAJOR_SIMPLE -> switch (initial) {
+                case FALSE, TRUE -> JsonToken.BOOLEAN;
+                case NULL, UNDEFINED -> JsonToken.NULL;
+                case 0xF9, 0xFA, 0xFB -> JsonToken.NUMBER;
+                default -> throw syntaxError("Unsupported simple value");
+            };
+            default -> throw syntaxError("Unsupported item");
+        };
+    }
+
+    /**
+     * Reads a map key.
+     */
+    public String nextName() {
+        skipTags();
+        if (initialByte() >>> 5 != MAJOR_TEXT) {
+            throw syntaxError("Expected a text key");
+        }
+        return readText();
+    }
+
+    /**
+     * Reads a map key and returns its index in {@code names}, or -1 if it is not one of them.
+     * Keys are compared in place, so no string is allocated; the names must be ASCII, as record
+     * component names are.
+     */
+    public int selectName(String[] names) {
+        skipTags();
+        int initial = initialByte();
+        if (initial >>> 5 != MAJOR_TEXT) {
+            throw syntaxError("Expected a text key");
+        }
+        if ((initial & 0x1f) == INDEFINITE_INFO) {
+            String name = readText();
+            return Arrays.asList(names).indexOf(name);
+        }
+        int start = pos;
+        int length = checkedLength(readArgument());
+        int text = pos;
+        pos = start;
+        for (int i = 0; i < names.length; i++) {
+            if (matches(names[i], text, length)) {
+                pos = text + length;
+                consumeItem();
+                return i;
+            }
+        }
+        skipValue();
+        return -1;
+    }
+
+    /**
+     * Reads a string. Numbers and booleans are returned as their literal text and {@code null} as {@code null}.
+     */
+    public String nextString() {
+        skipTags();
+        int initial = initialByte();
+        switch (initial >>> 5) {
+            case MAJOR_TEXT:
+                return readText();
+            case MAJOR_UNSIGNED:
+            case MAJOR_NEGATIVE:
+                return Long.toString(nextLong());
+            case MAJOR_SIMPLE:
+                switch (initial) {
+                    case FALSE, TRUE -> {
+                        return Boolean.toString(nextBoolean());
+                    }
+                    case NULL, UNDEFINED -> {
+                        nextNull();
+                        return null;
+                    }
+                    case 0xF9, 0xFA, 0xFB -> {
+                        return Double.toString(readFloat());
+                    }
+                    default -> throw syntaxError("Unsupported simple value");
+                }
+            default:
+                throw syntaxError("Expected a string");
+        }
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an integer. Floating-point numbers are truncated and numeric strings are accepted.
+     */
+    public long nextLong() {
+        skipTags();
+        int initial = initialByte();
+        switch (initial >>> 5) {
+            case MAJOR_UNSIGNED, MAJOR_NEGATIVE -> {
+                int start = pos;
+                long argument = readArgument();
+                if (argument < 0) {
+                    pos = start;
+                    throw syntaxError("Integer out of range");
+                }
+                consumeItem();
+                return initial >>> 5 == MAJOR_UNSIGNED ? argument : -1 - argument;
+            }
+            case MAJOR_TEXT -> {
+                String text = readText();
+                try {
+                    return Long.parseLong(text);
+                } catch (NumberFormatException e) {
+                    return (long) parseDouble(text);
+                }
+            }
+            case MAJOR_SIMPLE -> {
+                if (initial >= 0xF9 && initial <= 0xFB) {
+                    return (long) readFloat();
+                }
+            }
+            default -> {
+            }
+        }
+        throw syntaxError("Expected a number");
+    }
+
+    /**
+     * Reads a number. Numeric strings are accepted.
+     */
+    public double nextDouble() {
+        skipTags();
+        int initial = initialByte();
+        if (initial >= 0xF9 && initial <= 0xFB) {
+            return readFloat();
+        }
+        if (initial >>> 5 == MAJOR_TEXT) {
+            return parseDouble(readText());
+        }
+        return nextLong();
+    }
+
+    /**
+     * Reads a boolean. The strings {@code "true"} and {@code "false"} are accepted.
+     */
+    public boolean nextBoolean() {
+        skipTags();
+        int initial = initialByte();
+        if (initial == TRUE || initial == FALSE) {
+            pos++;
+            consumeItem();
+            return initial == TRUE;
+        }
+        if (initial >>> 5 == MAJOR_TEXT) {
+            String text = readText();
+            if ("true".equals(text)) {
+                return true;
+            }
+            if ("false".equals(text)) {
+                return false;
+            }
+            throw syntaxError("Expected a boolean but was " + text);
+        }
+        throw syntaxError("Expected a boolean");
+    }
+
+    /**
+     * Consumes a {@code null} (or {@code undefined}) if one is next.
+     *
+     * @return Whether a {@code null} was consumed.
+     */
+    public boolean nextNull() {
+        skipTags();
+        if (pos < end && ((data[pos] & 0xff) == NULL || (data[pos] & 0xff) == UNDEFINED)) {
+            pos++;
+            consumeItem();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the next value, including everything nested inside it.
+     */
+    public void skipValue() {
+        int next = skip(data, pos, end);
+        if (next < 0) {
+            throw syntaxError("Unexpected end of data");
+        }
+        pos = next;
+        consumeItem();
+    }
+
+    /**
+     * Returns the index of the next item in the underlying array.
+     */
+    public int position() {
+        return pos;
+    }
+
+    /**
+     * Returns the index just past the item starting at {@code start}, or -1 if the item extends
+     * beyond {@code end}. Lets a caller reading from a stream tell whether an item has fully arrived.
+     *
+     * @throws JSONException If the item is malformed.
+     */
+    public static int skip(byte[] data, int start, int end) {
+        int pos = start;
+        if (pos >= end) {
+            return -1;
+        }
+        int initial = data[pos++] & 0xff;
+        int major = initial >>> 5;
+        int info = initial & 0x1f;
+        if (info == INDEFINITE_INFO) {
+            if (major == MAJOR_BYTES || major == MAJOR_TEXT || major == MAJOR_ARRAY || major == MAJOR_MAP) {
+                while (true) {
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    if ((data[pos] & 0xff) == BREAK) {
+                        return pos + 1;
+                    }
+                    pos = skip(data, pos, end);
+                    if (pos < 0) {
+                        return -1;
+                    }
+                }
+            }
+            throw new JSONException("Unexpected break at byte " + start);
+        }
+        int size = argumentSize(info, start);
+        if (end - pos < size) {
+            return -1;
+        }
+        long argument = argument(data, pos, size, info);
+        pos += size;
+        switch (major) {
+            case MAJOR_BYTES, MAJOR_TEXT -> {
+                if (argument < 0 || argument > end - pos) {
+                    return -1;
+                }
+                return pos + (int) argument;
+            }
+            case MAJOR_ARRAY, MAJOR_MAP -> {
+                long items = major == MAJOR_MAP ? argument * 2 : argument;
+                for (long i = 0; i < items; i++) {
+                    pos = skip(data, pos, end);
+                    if (pos < 0) {
+                        return -1;
+                    }
+                }
+                return pos;
+            }
+            case MAJOR_TAG -> {
+                return skip(data, pos, end);
+            }
+            default -> {
+                return pos;
+            }
+        }
+    }
+
+    private void beginContainer(int major, String description) {
+        skipTags();
+        int initial = initialByte();
+        if (initial >>> 5 != major) {
+            throw syntaxError("Expected " + description);
+        }
+        long count;
+        if ((initial & 0x1f) == INDEFINITE_INFO) {
+            pos++;
+            count = INDEFINITE;
+        } else {
+            count = readArgument();
+            if (count < 0 || count > end - pos) {
+                throw syntaxError("Container length out of range");
+            }
+            if (major == MAJOR_MAP) {
+                count *= 2;
+            }
+        }
+        consumeItem();
+        if (depth == remaining.length) {
+            remaining = Arrays.copyOf(remaining, depth * 2);
+        }
+        remaining[depth++] = count;
+    }
+
+    private void endContainer() {
+        if (depth == 0) {
+            throw syntaxError("No open container");
+        }
+        long left = remaining[depth - 1];
+        if (left == INDEFINITE) {
+            if (pos >= end || (data[pos] & 0xff) != BREAK) {
+                throw syntaxError("Expected the end of the container");
+            }
+            pos++;
+        } else if (left != 0) {
+            throw syntaxError("Expected the end of the container");
+        }
+        depth--;
+    }
+
+    /**
+     * Counts one item against the innermost definite-length container.
+     */
+    private void consumeItem() {
+        if (depth > 0 && remaining[depth - 1] != INDEFINITE) {
+            remaining[depth - 1]--;
+        }
+    }
+
+    private void skipTags() {
+        while (pos < end && (data[pos] & 0xff) >>> 5 == MAJOR_TAG) {
+            readArgument();
+        }
+    }
+
+    private int initialByte() {
+        if (pos >= end) {
+            throw syntaxError("Unexpected end of data");
+        }
+        return data[pos] & 0xff;
+    }
+
+    /**
+     * Reads the header at the current position and returns its argument. Unsigned 64-bit values
+     * beyond {@code Long.MAX_VALUE} come back negative.
+     */
+    private long readArgument() {
+        int info = initialByte() & 0x1f;
+        int size = argumentSize(info, pos);
+        if (end - pos - 1 < size) {
+            throw syntaxError("Unexpected end of data");
+        }
+        long argument = argument(data, pos + 1, size, info);
+        pos += 1 + size;
+        return argument;
+    }
+
+    private static int argumentSize(int info, int at) {
+        if (info < 24) {
+            return 0;
+        }
+        return switch (info) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new JSONException("Invalid header at byte " + at);
+        };
+    }
+
+    private static long argument(byte[] data, int from, int size, int info) {
+        if (size == 0) {
+            return info;
+        }
+        long value = 0;
+        for (int i = 0; i < size; i++) {
+            value = value << 8 | data[from + i] & 0xff;
+        }
+        return value;
+    }
+
+    private String readText() {
+        int initial = initialByte();
+        if ((initial & 0x1f) == INDEFINITE_INFO) {
+            pos++;
+            StringBuilder text = new StringBuilder();
+            while (initialByte() != BREAK) {
+                if (initialByte() >>> 5 != MAJOR_TEXT || (initialByte() & 0x1f) == INDEFINITE_INFO) {
+                    throw syntaxError("Invalid text chunk");
+                }
+                int length = checkedLength(readArgument());
+                text.append(new String(data, pos, length, StandardCharsets.UTF_8));
+                pos += length;
+            }
+            pos++;
+            consumeItem();
+            return text.toString();
+        }
+        int length = checkedLength(readArgument());
+        String text = new String(data, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        consumeItem();
+        return text;
+    }
+
+    private int checkedLength(long length) {
+        if (length < 0 || length > end - pos) {
+            throw syntaxError("Unexpected end of data");
+        }
+        return (int) length;
+    }
+
+    private boolean matches(String name, int text, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (data[text + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double readFloat() {
+        int initial = initialByte();
+        long bits = readArgument();
+        consumeItem();
+        return switch (initial) {
+            case 0xF9 -> Float.float16ToFloat((short) bits);
+            case 0xFA -> Float.intBitsToFloat((int) bits);
+            default -> Double.longBitsToDouble(bits);
+        };
+    }
+
+    private double parseDouble(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number but was " + text);
+        }
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at byte " + pos);
+    }
+}
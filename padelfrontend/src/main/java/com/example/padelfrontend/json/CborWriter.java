@@ -0,0 +1,163 @@
+package com.example.padelfrontend.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes CBOR (RFC 8949) into a byte buffer, with the same interface as {@link JsonWriter}.
+ * <p>
+ * Maps and arrays are written with indefinite length, so they can be streamed without counting
+ * their members first. Integers take the smallest header that holds them, and a floating-point
+ * number is written in single precision whenever that loses nothing.
+ */
+public final class CborWriter {
+
+    private byte[] out;
+    private int size;
+
+    public CborWriter() {
+        this(128);
+    }
+
+    public CborWriter(int initialCapacity) {
+        this.out = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public CborWriter beginObject() {
+        writeByte(CborReader.MAJOR_MAP << 5 | 31);
+        return this;
+    }
+
+    public CborWriter endObject() {
+        writeByte(CborReader.BREAK);
+        return this;
+    }
+
+    public CborWriter beginArray() {
+        writeByte(CborReader.MAJOR_ARRAY << 5 | 31);
+        return this;
+    }
+
+    public CborWriter endArray() {
+        writeByte(CborReader.BREAK);
+        return this;
+    }
+
+    public CborWriter name(String name) {
+        writeText(name);
+        return this;
+    }
+
+    public CborWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        writeText(value);
+        return this;
+    }
+
+    public CborWriter value(long value) {
+        if (value >= 0) {
+            writeHeader(CborReader.MAJOR_UNSIGNED, value);
+        } else {
+            writeHeader(CborReader.MAJOR_NEGATIVE, -1 - value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a number; NaN and the infinities are written as {@code null}, as {@link JsonWriter} does.
+     */
+    public CborWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        float single = (float) value;
+        if (single == value) {
+            ensureCapacity(5);
+            out[size++] = (byte) 0xFA;
+            writeBigEndian(Float.floatToIntBits(single), 4);
+        } else {
+            ensureCapacity(9);
+            out[size++] = (byte) 0xFB;
+            writeBigEndian(Double.doubleToLongBits(value), 8);
+        }
+        return this;
+    }
+
+    public CborWriter value(boolean value) {
+        writeByte(value ? CborReader.TRUE : CborReader.FALSE);
+        return this;
+    }
+
+    public CborWriter nullValue() {
+        writeByte(CborReader.NULL);
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(out, size);
+    }
+
+    private void writeText(String text) {
+        int length = text.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = text.charAt(i) < 0x80;
+        }
+        if (!ascii) {
+            byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+            writeHeader(CborReader.MAJOR_TEXT, utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, out, size, utf8.length);
+            size += utf8.length;
+            return;
+        }
+        writeHeader(CborReader.MAJOR_TEXT, length);
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            out[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeHeader(int major, long argument) {
+        ensureCapacity(9);
+        int type = major << 5;
+        if (argument < 24) {
+            out[size++] = (byte) (type | (int) argument);
+        } else if (argument <= 0xFF) {
+            out[size++] = (byte) (type | 24);
+            writeBigEndian(argument, 1);
+        } else if (argument <= 0xFFFF) {
+            out[size++] = (byte) (type | 25);
+            writeBigEndian(argument, 2);
+        } else if (argument <= 0xFFFFFFFFL) {
+            out[size++] = (byte) (type | 26);
+            writeBigEndian(argument, 4);
+        } else {
+            out[size++] = (byte) (type | 27);
+            writeBigEndian(argument, 8);
+        }
+    }
+
+    private void writeBigEndian(long value, int bytes) {
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+            out[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        out[size++] = (byte) b;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.padelfrontend.json;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads and writes one type as JSON, and as CBOR for the binary wire format. Implementations for
+ * {@link JsonRecord} records are generated.
+ *
+ * @param <T> The decoded type.
+ */
+public interface Codec<T> {
+
+    /**
+     * Reads one value starting at the reader's current position.
+     *
+     * @throws org.json.JSONException If the input is not valid JSON for this type.
+     */
+    T read(JsonReader reader);
+
+    void write(JsonWriter writer, T value);
+
+    /**
+     * Reads one value starting at the reader's current position.
+     *
+     * @throws org.json.JSONException If the input is not valid CBOR for this type.
+     */
+    T read(CborReader reader);
+
+    void write(CborWriter writer, T value);
+
+    /**
+     * Reads a JSON array of values into an unmodifiable list.
+     */
+    default List<T> readList(JsonReader reader) {
+        List<T> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(read(reader));
+        }
+        reader.endArray();
+        return Collections.unmodifiableList(values);
+    }
+
+    /**
+     * Reads a CBOR array of values into an unmodifiable list.
+     */
+    default List<T> readList(CborReader reader) {
+        List<T> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(read(reader));
+        }
+        reader.endArray();
+        return Collections.unmodifiableList(values);
+    }
+
+    default T decode(String json) {
+        return read(new JsonReader(json));
+    }
+
+    default String encode(T value) {
+        JsonWriter writer = new JsonWriter();
+        write(writer, value);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,383 @@
+package com.example.padelfrontend.json;
+
+import org.json.JSONException;
+
+/**
+ * A pull parser over a JSON document held in a string.
+ * <p>
+ * Values are read in document order without building a tree: callers open and close objects and
+ * arrays, ask {@link #hasNext()} for further members and read scalars directly. Member names can be
+ * matched against a table with {@link #selectName(String[])}, which does not allocate, and
+ * uninteresting values are skipped in place. Syntax errors are reported as {@link JSONException},
+ * like the rest of the client's JSON handling.
+ * <p>
+ * The parser is lenient about separators: commas between members are consumed but not required.
+ */
+public final class JsonReader {
+
+    private final String json;
+    private final int end;
+    private int pos;
+
+    public JsonReader(String json) {
+        this(json, 0, json.length());
+    }
+
+    /**
+     * Reads the region {@code [start, end)} of {@code json}.
+     */
+    public JsonReader(String json, int start, int end) {
+        this.json = json;
+        this.pos = start;
+        this.end = end;
+    }
+
+    public void beginObject() {
+        expect('{');
+    }
+
+    public void endObject() {
+        expect('}');
+    }
+
+    public void beginArray() {
+        expect('[');
+    }
+
+    public void endArray() {
+        expect(']');
+    }
+
+    /**
+     * Returns whether the current object or array has another member, consuming the comma before it.
+     */
+    public boolean hasNext() {
+        int c = peekChar();
+        if (c == ',') {
+            pos++;
+            c = peekChar();
+        }
+        return c != '}' && c != ']' && c != -1;
+    }
+
+    /**
+     * Returns the kind of the next value without consuming it.
+     */
+    public JsonToken peek() {
+        int c = peekChar();
+        return switch (c) {
+            case '{' -> JsonToken.OBJECT;
+            case '[' -> JsonToken.ARRAY;
+            case '"' -> JsonToken.STRING;
+            case 't', 'f' -> JsonToken.BOOLEAN;
+            case 'n' -> JsonToken.NULL;
+            default -> {
+                if (c == '-' || c >= '0' && c <= '9') {
+                    yield JsonToken.NUMBER;
+                }
+                throw syntaxError("Expected a value");
+            }
+        };
+    }
+
+    /**
+     * Reads a member name and the colon after it.
+     */
+    public String nextName() {
+        if (peekChar() != '"') {
+            throw syntaxError("Expected a member name");
+        }
+        String name = readString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Reads a member name and returns its index in {@code names}, or -1 if it is not one of them.
+     * The name is compared in place, so no string is allocated.
+     */
+    public int selectName(String[] names) {
+        if (peekChar() != '"') {
+            throw syntaxError("Expected a member name");
+        }
+        int start = pos + 1;
+        int selected = -1;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            int close = start + name.length();
+            if (close < end && json.charAt(close) == '"' && json.startsWith(name, start)) {
+                selected = i;
+                pos = close + 1;
+                break;
+            }
+        }
+        if (selected < 0) {
+            skipString();
+        }
+        expect(':');
+        return selected;
+    }
+
+    /**
+     * Reads a string. Numbers and booleans are returned as their literal text and {@code null} as {@code null}.
+     */
+    public String nextString() {
+        int c = peekChar();
+        if (c == '"') {
+            return readString();
+        }
+        if (nextNull()) {
+            return null;
+        }
+        int start = scanLiteral();
+        return json.substring(start, pos);
+    }
+
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("Integer out of range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads an integer. Fractional numbers are truncated and numeric strings are accepted.
+     */
+    public long nextLong() {
+        if (peekChar() == '"') {
+            String text = readString();
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                return (long) parseDouble(text);
+            }
+        }
+        int start = scanLiteral();
+        int i = start;
+        boolean negative = json.charAt(i) == '-';
+        if (negative) {
+            i++;
+        }
+        // Plain integers of up to 18 digits cannot overflow; anything else goes through Double.
+        if (pos - i > 0 && pos - i <= 18) {
+            long value = 0;
+            for (; i < pos; i++) {
+                char digit = json.charAt(i);
+                if (digit < '0' || digit > '9') {
+                    return (long) parseDouble(json.substring(start, pos));
+                }
+                value = value * 10 + (digit - '0');
+            }
+            return negative ? -value : value;
+        }
+        return (long) parseDouble(json.substring(start, pos));
+    }
+
+    /**
+     * Reads a number. Numeric strings are accepted.
+     */
+    public double nextDouble() {
+        if (peekChar() == '"') {
+            return parseDouble(readString());
+        }
+        int start = scanLiteral();
+        return parseDouble(json.substring(start, pos));
+    }
+
+    /**
+     * Reads a boolean. The strings {@code "true"} and {@code "false"} are accepted.
+     */
+    public boolean nextBoolean() {
+        String text = nextString();
+        if ("true".equals(text)) {
+            return true;
+        }
+        if ("false".equals(text)) {
+            return false;
+        }
+        throw syntaxError("Expected a boolean but was " + text);
+    }
+
+    /**
+     * Consumes a {@code null} literal if one is next.
+     *
+     * @return Whether a {@code null} was consumed.
+     */
+    public boolean nextNull() {
+        if (peekChar() == 'n' && json.startsWith("null", pos)) {
+            pos += 4;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Skips the next value, including everything nested inside it.
+     */
+    public void skipValue() {
+        int c = peekChar();
+        if (c == '"') {
+            skipString();
+            return;
+        }
+        if (c != '{' && c != '[') {
+            scanLiteral();
+            return;
+        }
+        int depth = 0;
+        do {
+            c = peekChar();
+            switch (c) {
+                case '{', '[' -> {
+                    depth++;
+                    pos++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    pos++;
+                }
+                case '"' -> skipString();
+                case -1 -> throw syntaxError("Unterminated value");
+                default -> pos++;
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Skips whitespace and returns the index of the next token in the underlying string.
+     */
+    public int position() {
+        peekChar();
+        return pos;
+    }
+
+    private void expect(char expected) {
+        if (peekChar() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        pos++;
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it, or -1 at the end.
+     */
+    private int peekChar() {
+        while (pos < end) {
+            char c = json.charAt(pos);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            pos++;
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the string at the current position. Strings without escapes are copied straight out
+     * of the document.
+     */
+    private String readString() {
+        int start = pos + 1;
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                pos = i + 1;
+                return json.substring(start, i);
+            }
+            if (c == '\\') {
+                return readEscapedString(start, i);
+            }
+        }
+        throw syntaxError("Unterminated string");
+    }
+
+    private String readEscapedString(int start, int firstEscape) {
+        StringBuilder value = new StringBuilder(firstEscape - start + 16);
+        value.append(json, start, firstEscape);
+        int i = firstEscape;
+        while (i < end) {
+            char c = json.charAt(i++);
+            if (c == '"') {
+                pos = i;
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+            if (i >= end) {
+                break;
+            }
+            char escaped = json.charAt(i++);
+            switch (escaped) {
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (i + 4 > end) {
+                        pos = i;
+                        throw syntaxError("Unterminated escape sequence");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(json, i, i + 4, 16));
+                    } catch (NumberFormatException e) {
+                        pos = i;
+                        throw syntaxError("Invalid escape sequence");
+                    }
+                    i += 4;
+                }
+                default -> value.append(escaped);
+            }
+        }
+        pos = end;
+        throw syntaxError("Unterminated string");
+    }
+
+    private void skipString() {
+        for (int i = pos + 1; i < end; i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                pos = i + 1;
+                return;
+            }
+            if (c == '\\') {
+                i++;
+            }
+        }
+        pos = end;
+        throw syntaxError("Unterminated string");
+    }
+
+    /**
+     * Consumes a number or keyword and returns the index where it started.
+     */
+    private int scanLiteral() {
+        int start = pos;
+        while (pos < end) {
+            char c = json.charAt(pos);
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '+' && c != '.') {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw syntaxError("Unexpected character");
+        }
+        return start;
+    }
+
+    private double parseDouble(String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number but was " + text);
+        }
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + pos);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.padelfrontend.json;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a record whose {@link Codec} is generated at compile time by the {@code padelcodegen}
+ * annotation processor. The codec for {@code Foo} is {@code FooCodec} in the same package; JSON
+ * member names are the component names.
+ * <p>
+ * Members the record does not declare are skipped when reading. Missing or {@code null} members
+ * leave their component at its default: {@code null} for strings and records, an empty
+ * unmodifiable collection for lists and maps, and zero or {@code false} for primitives.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface JsonRecord {
+}
@@ -0,0 +1,13 @@
+package com.example.padelfrontend.json;
+
+/**
+ * The kind of the next value in a {@link JsonReader} or {@link CborReader}.
+ */
+public enum JsonToken {
+    OBJECT,
+    ARRAY,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL
+}
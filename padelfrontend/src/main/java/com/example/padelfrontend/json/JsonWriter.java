@@ -0,0 +1,128 @@
+package com.example.padelfrontend.json;
+
+/**
+ * Writes JSON into a string buffer, inserting separators automatically.
+ */
+public final class JsonWriter {
+
+    private final StringBuilder out = new StringBuilder(128);
+    private boolean needsComma;
+    private boolean afterName;
+
+    public JsonWriter beginObject() {
+        beforeValue();
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter beginArray() {
+        beforeValue();
+        out.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    public JsonWriter endArray() {
+        out.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter name(String name) {
+        if (needsComma) {
+            out.append(',');
+        }
+        appendQuoted(name);
+        out.append(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        appendQuoted(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        beforeValue();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    /**
+     * Writes a number; NaN and the infinities have no JSON form and are written as {@code null}.
+     */
+    public JsonWriter value(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return nullValue();
+        }
+        beforeValue();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        out.append(value);
+        needsComma = true;
+        return this;
+    }
+
+    public JsonWriter nullValue() {
+        beforeValue();
+        out.append("null");
+        needsComma = true;
+        return this;
+    }
+
+    private void beforeValue() {
+        if (afterName) {
+            afterName = false;
+        } else if (needsComma) {
+            out.append(',');
+        }
+    }
+
+    private void appendQuoted(String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+}
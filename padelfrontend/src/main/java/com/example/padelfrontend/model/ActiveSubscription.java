@@ -0,0 +1,15 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+/**
+ * A member's subscription as returned by {@code get_active_subscriptions}. Dates are formatted
+ * {@code dd-MM-yyyy}; {@code dob} is the member's date of birth, which the server adds to each entry.
+ */
+@JsonRecord
+public record ActiveSubscription(String memberId, String planName, String duration, double price,
+                                 String startDate, String expiryDate, String dob, boolean isActive) {
+
+    public static final Codec<ActiveSubscription> CODEC = ActiveSubscriptionCodec.INSTANCE;
+}
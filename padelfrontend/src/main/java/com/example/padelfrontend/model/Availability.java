@@ -0,0 +1,68 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The slots of one padel center on one date, as returned by {@code get_availability}.
+ *
+ * @param date           The day, formatted {@code dd-MM-yyyy}.
+ * @param availableTimes Time slots that can still be booked on that day.
+ * @param bookedTimes    Booked time slots mapped to the member who booked them.
+ */
+@JsonRecord
+public record Availability(String name, String date, List<String> availableTimes, Map<String, String> bookedTimes) {
+
+    public static final Codec<Availability> CODEC = AvailabilityCodec.INSTANCE;
+
+    /**
+     * Returns the slots of a center as its catalog entry gives them, for servers that do not keep
+     * bookings per date and so have the same availability on every date.
+     */
+    public static Availability of(PadelCenter center, String date) {
+        return new Availability(center.name(), date, center.availableTimes(), center.bookedTimes());
+    }
+
+    /**
+     * Returns the time slots booked by the given member.
+     */
+    public List<String> timesBookedBy(String memberId) {
+        List<String> times = new ArrayList<>();
+        for (Map.Entry<String, String> booking : bookedTimes.entrySet()) {
+            if (booking.getValue().equals(memberId)) {
+                times.add(booking.getKey());
+            }
+        }
+        return times;
+    }
+
+    /**
+     * Returns these slots with one booked by the given member, as the server records a booking:
+     * the slot moves from the available times to the booked ones.
+     */
+    public Availability withBooking(String time, String memberId) {
+        List<String> available = new ArrayList<>(availableTimes);
+        available.remove(time);
+        Map<String, String> booked = new LinkedHashMap<>(bookedTimes);
+        booked.put(time, memberId);
+        return new Availability(name, date, available, booked);
+    }
+
+    /**
+     * Returns these slots with a booking cancelled: the slot is available again.
+     */
+    public Availability withoutBooking(String time) {
+        Map<String, String> booked = new LinkedHashMap<>(bookedTimes);
+        if (booked.remove(time) == null) {
+            return this;
+        }
+        List<String> available = new ArrayList<>(availableTimes);
+        available.add(time);
+        return new Availability(name, date, available, booked);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.padelfrontend.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The slots of one padel center on one day, parsed from its {@link Availability} once it arrives so
+ * that pages can ask which slots are free, which a member booked, or which two centers share, with
+ * {@link SlotSet} operations instead of comparing strings.
+ * <p>
+ * A slot the server spells differently from {@link TimeSlot#toString()} keeps its spelling, which
+ * is what a booking for it must send. Slots that are not times at all are left out.
+ *
+ * @param available      Slots that can still be booked.
+ * @param booked         Slots booked by anyone.
+ * @param bookedByMember Slots booked by each member; members without bookings are absent.
+ * @param spellings      The server's spelling of each slot where it differs from the canonical one.
+ */
+public record DaySlots(String name, SlotSet available, SlotSet booked, Map<String, SlotSet> bookedByMember,
+                       Map<TimeSlot, String> spellings) {
+
+    /**
+     * Parses the slots of a center on a day.
+     */
+    public static DaySlots of(Availability availability) {
+        Map<TimeSlot, String> spellings = new HashMap<>();
+        List<TimeSlot> available = new ArrayList<>();
+        for (String time : availability.availableTimes()) {
+            TimeSlot slot = parse(availability.name(), time, spellings);
+            if (slot != null) {
+                available.add(slot);
+            }
+        }
+        List<TimeSlot> booked = new ArrayList<>();
+        Map<String, List<TimeSlot>> byMember = new HashMap<>();
+        for (Map.Entry<String, String> booking : availability.bookedTimes().entrySet()) {
+            TimeSlot slot = parse(availability.name(), booking.getKey(), spellings);
+            if (slot != null) {
+                booked.add(slot);
+                byMember.computeIfAbsent(booking.getValue(), member -> new ArrayList<>()).add(slot);
+            }
+        }
+        Map<String, SlotSet> bookedByMember = new HashMap<>();
+        byMember.forEach((member, slots) -> bookedByMember.put(member, SlotSet.of(slots)));
+        return new DaySlots(availability.name(), SlotSet.of(available), SlotSet.of(booked),
+                Map.copyOf(bookedByMember), Map.copyOf(spellings));
+    }
+
+    private static TimeSlot parse(String name, String time, Map<TimeSlot, String> spellings) {
+        try {
+            TimeSlot slot = TimeSlot.parse(time);
+            if (!time.equals(slot.toString())) {
+                spellings.put(slot, time);
+            }
+            return slot;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring slot '" + time + "' of " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the slots booked by the given member.
+     */
+    public SlotSet bookedBy(String memberId) {
+        return bookedByMember.getOrDefault(memberId, SlotSet.EMPTY);
+    }
+
+    /**
+     * Returns a slot as the server spells it.
+     */
+    public String label(TimeSlot slot) {
+        return spellings.getOrDefault(slot, slot.toString());
+    }
+
+    /**
+     * Returns these slots with one booked by the given member.
+     */
+    public DaySlots withBooking(TimeSlot slot, String memberId) {
+        Map<String, SlotSet> byMember = new HashMap<>(bookedByMember);
+        byMember.put(memberId, bookedBy(memberId).with(slot));
+        return new DaySlots(name, available.without(slot), booked.with(slot), Map.copyOf(byMember), spellings);
+    }
+
+    /**
+     * Returns these slots with a booking cancelled: the slot is available again.
+     */
+    public DaySlots withoutBooking(TimeSlot slot) {
+        if (!booked.contains(slot)) {
+            return this;
+        }
+        Map<String, SlotSet> byMember = new HashMap<>();
+        bookedByMember.forEach((member, slots) -> {
+            SlotSet remaining = slots.without(slot);
+            if (!remaining.isEmpty()) {
+                byMember.put(member, remaining);
+            }
+        });
+        return new DaySlots(name, available.with(slot), booked.without(slot), Map.copyOf(byMember), spellings);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A gym class as returned by {@code get_classes}.
+ *
+ * @param participants Member IDs booked into the class.
+ * @param waitlist     Member IDs waiting for a place, in order.
+ */
+@JsonRecord
+public record GymClass(String name, String instructor, String time, String imagePath,
+                       int capacity, int currentParticipants, int waitlistSize,
+                       List<String> participants, List<String> waitlist) {
+
+    public static final Codec<GymClass> CODEC = GymClassCodec.INSTANCE;
+
+    public boolean isFull() {
+        return currentParticipants >= capacity;
+    }
+
+    /**
+     * Returns whether the member is booked into the class or on its waitlist.
+     */
+    public boolean hasMember(String memberId) {
+        return participants.contains(memberId) || waitlist.contains(memberId);
+    }
+
+    /**
+     * Returns this class with the member booked in, as the server records a booking: into a free
+     * place if there is one, onto the waitlist otherwise.
+     */
+    public GymClass withMember(String memberId) {
+        if (participants.contains(memberId)) {
+            return this;
+        }
+        List<String> booked = new ArrayList<>(participants);
+        List<String> waiting = new ArrayList<>(waitlist);
+        if (booked.size() < capacity) {
+            waiting.remove(memberId);
+            booked.add(memberId);
+        } else if (!waiting.contains(memberId)) {
+            waiting.add(memberId);
+        }
+        return new GymClass(name, instructor, time, imagePath, capacity, booked.size(), waiting.size(), booked, waiting);
+    }
+
+    /**
+     * Returns this class without the member, as the server records a cancellation: a freed place
+     * goes to the first member on the waitlist.
+     */
+    public GymClass withoutMember(String memberId) {
+        List<String> booked = new ArrayList<>(participants);
+        List<String> waiting = new ArrayList<>(waitlist);
+        if (booked.remove(memberId)) {
+            if (!waiting.isEmpty()) {
+                booked.add(waiting.remove(0));
+            }
+        } else if (!waiting.remove(memberId)) {
+            return this;
+        }
+        return new GymClass(name, instructor, time, imagePath, capacity, booked.size(), waiting.size(), booked, waiting);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+/**
+ * The account returned by a successful {@code login}. Managers have an empty {@code memberId}.
+ *
+ * @param role Either {@code user} or {@code manager}.
+ */
+@JsonRecord
+public record Member(String username, String memberId, String firstName, String lastName,
+                     String role, String phoneNumber, String email) {
+
+    public static final Codec<Member> CODEC = MemberCodec.INSTANCE;
+}
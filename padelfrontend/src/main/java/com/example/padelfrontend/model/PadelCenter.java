@@ -0,0 +1,42 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A padel center as returned by {@code get_padel_centers}.
+ *
+ * @param availableTimes Time slots that can still be booked, such as {@code 08:00 AM}.
+ * @param bookedTimes    Booked time slots mapped to the member who booked them.
+ */
+@JsonRecord
+public record PadelCenter(String name, String location, String image,
+                          List<String> availableTimes, Map<String, String> bookedTimes) {
+
+    public static final Codec<PadelCenter> CODEC = PadelCenterCodec.INSTANCE;
+
+    /**
+     * Returns the time slots booked by the given member.
+     */
+    public List<String> timesBookedBy(String memberId) {
+        List<String> times = new ArrayList<>();
+        for (Map.Entry<String, String> booking : bookedTimes.entrySet()) {
+            if (booking.getValue().equals(memberId)) {
+                times.add(booking.getKey());
+            }
+        }
+        return times;
+    }
+
+    /**
+     * The ComboBox on the booking page shows centers by name.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.padelfrontend.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable set of the {@linkplain TimeSlot time slots} of one day, held as one bit per slot so
+ * that membership, union, intersection and difference take a handful of word operations.
+ * Iteration is in chronological order.
+ */
+public final class SlotSet {
+
+    private static final int WORDS = (TimeSlot.SLOTS_PER_DAY + 63) / 64;
+
+    public static final SlotSet EMPTY = new SlotSet(new long[WORDS]);
+
+    private final long[] words;
+
+    private SlotSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Returns the set of the given slots.
+     */
+    public static SlotSet of(Iterable<TimeSlot> slots) {
+        long[] words = new long[WORDS];
+        for (TimeSlot slot : slots) {
+            words[slot.index() >>> 6] |= 1L << slot.index();
+        }
+        return new SlotSet(words);
+    }
+
+    public boolean contains(TimeSlot slot) {
+        return (words[slot.index() >>> 6] & 1L << slot.index()) != 0;
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (long word : words) {
+            size += Long.bitCount(word);
+        }
+        return size;
+    }
+
+    /**
+     * Returns this set with a slot added.
+     */
+    public SlotSet with(TimeSlot slot) {
+        if (contains(slot)) {
+            return this;
+        }
+        long[] result = words.clone();
+        result[slot.index() >>> 6] |= 1L << slot.index();
+        return new SlotSet(result);
+    }
+
+    /**
+     * Returns this set with a slot removed.
+     */
+    public SlotSet without(TimeSlot slot) {
+        if (!contains(slot)) {
+            return this;
+        }
+        long[] result = words.clone();
+        result[slot.index() >>> 6] &= ~(1L << slot.index());
+        return new SlotSet(result);
+    }
+
+    /**
+     * Returns the slots in this set or the other.
+     */
+    public SlotSet or(SlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new SlotSet(result);
+    }
+
+    /**
+     * Returns the slots in both this set and the other.
+     */
+    public SlotSet and(SlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new SlotSet(result);
+    }
+
+    /**
+     * Returns the slots in this set but not the other.
+     */
+    public SlotSet andNot(SlotSet other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new SlotSet(result);
+    }
+
+    /**
+     * Returns the slots in chronological order.
+     */
+    public List<TimeSlot> slots() {
+        TimeSlot[] slots = new TimeSlot[size()];
+        int n = 0;
+        for (int i = 0; i < WORDS; i++) {
+            long word = words[i];
+            while (word != 0) {
+                slots[n++] = TimeSlot.ofIndex(i * 64 + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return Collections.unmodifiableList(Arrays.asList(slots));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SlotSet other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return slots().toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A subscription plan as returned by {@code get_subscription_plans}.
+ *
+ * @param pricing Price per duration key, such as {@code 1_month} or {@code 1_year}.
+ */
+@JsonRecord
+public record SubscriptionPlan(String name, String imagePath, List<String> features, Map<String, Double> pricing) {
+
+    public static final Codec<SubscriptionPlan> CODEC = SubscriptionPlanCodec.INSTANCE;
+
+    /**
+     * Returns the price for a duration, or -1 if the plan is not offered for it.
+     */
+    public double priceFor(String duration) {
+        Double price = pricing.get(duration);
+        return price != null ? price : -1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.padelfrontend.model;
+
+/**
+ * A time of day at which a padel court can be booked, to a granularity of {@value #GRANULARITY_MINUTES}
+ * minutes, so that the slots of a day fit in a {@link SlotSet}.
+ * <p>
+ * The server sends slots as text such as {@code 08:00 AM}, in whatever order they were entered.
+ * Slots order chronologically, and {@link #toString()} gives the spelling the checked-in data uses.
+ *
+ * @param minuteOfDay Minutes since midnight.
+ */
+public record TimeSlot(int minuteOfDay) implements Comparable<TimeSlot> {
+
+    public static final int GRANULARITY_MINUTES = 5;
+    /** Number of slots in a day, and so of bits in a {@link SlotSet}. */
+    public static final int SLOTS_PER_DAY = 24 * 60 / GRANULARITY_MINUTES;
+
+    private static final TimeSlot[] BY_INDEX = new TimeSlot[SLOTS_PER_DAY];
+
+    static {
+        for (int i = 0; i < SLOTS_PER_DAY; i++) {
+            BY_INDEX[i] = new TimeSlot(i * GRANULARITY_MINUTES);
+        }
+    }
+
+    public TimeSlot {
+        if (minuteOfDay < 0 || minuteOfDay >= 24 * 60 || minuteOfDay % GRANULARITY_MINUTES != 0) {
+            throw new IllegalArgumentException("Not a time slot: minute " + minuteOfDay);
+        }
+    }
+
+    /**
+     * Returns the slot with the given {@linkplain #index() index}.
+     */
+    public static TimeSlot ofIndex(int index) {
+        return BY_INDEX[index];
+    }
+
+    /**
+     * Parses a slot written as {@code hh:mm AM} or {@code hh:mm PM}, or on a 24-hour clock as
+     * {@code HH:mm}. Hours may have one digit, and case and spacing before the marker do not matter.
+     *
+     * @throws IllegalArgumentException If the text is not a time on the slot granularity.
+     */
+    public static TimeSlot parse(String text) {
+        String time = text.trim().toUpperCase();
+        int colon = time.indexOf(':');
+        if (colon < 1 || colon > 2 || time.length() < colon + 3) {
+            throw new IllegalArgumentException("Not a time slot: " + text);
+        }
+        int hour = digits(time, 0, colon, text);
+        int minute = digits(time, colon + 1, colon + 3, text);
+        String marker = time.substring(colon + 3).trim();
+        if (marker.equals("AM") || marker.equals("PM")) {
+            if (hour < 1 || hour > 12) {
+                throw new IllegalArgumentException("Not a time slot: " + text);
+            }
+            hour = hour % 12 + (marker.equals("PM") ? 12 : 0);
+        } else if (!marker.isEmpty() || hour > 23) {
+            throw new IllegalArgumentException("Not a time slot: " + text);
+        }
+        if (minute > 59 || minute % GRANULARITY_MINUTES != 0) {
+            throw new IllegalArgumentException("Not a time slot: " + text);
+        }
+        return BY_INDEX[(hour * 60 + minute) / GRANULARITY_MINUTES];
+    }
+
+    private static int digits(String time, int start, int end, String text) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = time.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Not a time slot: " + text);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the position of this slot in the day, which is its bit in a {@link SlotSet}.
+     */
+    public int index() {
+        return minuteOfDay / GRANULARITY_MINUTES;
+    }
+
+    @Override
+    public int compareTo(TimeSlot other) {
+        return Integer.compare(minuteOfDay, other.minuteOfDay);
+    }
+
+    /**
+     * Returns the slot as {@code hh:mm AM} or {@code hh:mm PM}.
+     */
+    @Override
+    public String toString() {
+        int hour = minuteOfDay / 60 % 12;
+        int minute = minuteOfDay % 60;
+        return (hour == 0 ? "12" : hour < 10 ? "0" + hour : Integer.toString(hour))
+                + (minute < 10 ? ":0" : ":") + minute + (minuteOfDay < 12 * 60 ? " AM" : " PM");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.padelfrontend.model;
+
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonRecord;
+
+/**
+ * One entry of a member's workout history, as returned by {@code get_workout_history}.
+ *
+ * @param date The day of the workout, formatted {@code yyyy-MM-dd}.
+ */
+@JsonRecord
+public record WorkoutEntry(String id, String className, String instructor, String date) {
+
+    public static final Codec<WorkoutEntry> CODEC = WorkoutEntryCodec.INSTANCE;
+}
@@ -0,0 +1,223 @@
+package com.example.padelfrontend;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CardReconcilerTest {
+
+    private final Pane container = new Pane();
+    /** Cards the container lost, in order, whether for good or to be moved. */
+    private final List<Node> removed = new ArrayList<>();
+    private int built;
+    private CardReconciler<Item, Region> cards;
+
+    @BeforeEach
+    void createReconciler() {
+        container.getChildren().addListener((ListChangeListener<Node>) change -> {
+            while (change.next()) {
+                removed.addAll(change.getRemoved());
+            }
+        });
+        cards = new CardReconciler<>(container, Item::key, Item::content, item -> {
+            if (item.content().equals("broken")) {
+                throw new IllegalStateException("no card for " + item.key());
+            }
+            built++;
+            Region card = new Region();
+            card.setId(item.key() + ":" + item.content());
+            return card;
+        });
+    }
+
+    @Test
+    void showsCardsInOrder() {
+        cards.show(items("a", "b", "c"));
+
+        assertEquals(List.of("a:1", "b:1", "c:1"), ids());
+        assertEquals(3, built);
+        assertEquals(3, cards.size());
+        assertTrue(cards.contains("b"));
+        assertEquals(new Item("b", "1"), cards.item("b"));
+    }
+
+    @Test
+    void keepsUnchangedCards() {
+        cards.show(items("a", "b", "c"));
+        List<Node> before = List.copyOf(container.getChildren());
+
+        cards.show(items("a", "b", "c"));
+
+        assertEquals(before, container.getChildren());
+        for (int i = 0; i < before.size(); i++) {
+            assertSame(before.get(i), container.getChildren().get(i));
+        }
+        assertEquals(3, built);
+        assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    void movesOnlyTheCardsOutOfOrder() {
+        cards.show(items("a", "b", "c", "d", "e"));
+        Node d = container.getChildren().get(3);
+
+        cards.show(items("d", "a", "b", "c", "e"));
+
+        assertEquals(List.of("d:1", "a:1", "b:1", "c:1", "e:1"), ids());
+        assertSame(d, container.getChildren().get(0));
+        assertEquals(List.of(d), removed);
+        assertEquals(5, built);
+    }
+
+    @Test
+    void reversesCards() {
+        cards.show(items("a", "b", "c", "d"));
+        List<Node> before = List.copyOf(container.getChildren());
+
+        cards.show(items("d", "c", "b", "a"));
+
+        assertEquals(List.of("d:1", "c:1", "b:1", "a:1"), ids());
+        assertEquals(before.reversed(), container.getChildren());
+        assertEquals(3, removed.size());
+        assertEquals(4, built);
+    }
+
+    @Test
+    void insertsNewCardsWhereTheyBelong() {
+        cards.show(items("b", "d"));
+
+        cards.show(items("a", "b", "c", "d", "e"));
+
+        assertEquals(List.of("a:1", "b:1", "c:1", "d:1", "e:1"), ids());
+        assertTrue(removed.isEmpty());
+        assertEquals(5, built);
+    }
+
+    @Test
+    void removesCardsNoLongerShown() {
+        cards.show(items("a", "b", "c", "d"));
+        Node b = container.getChildren().get(1);
+        Node d = container.getChildren().get(3);
+
+        cards.show(items("a", "c"));
+
+        assertEquals(List.of("a:1", "c:1"), ids());
+        assertEquals(List.of(b, d), removed);
+        assertFalse(cards.contains("b"));
+        assertNull(cards.item("d"));
+
+        cards.show(List.of());
+
+        assertTrue(container.getChildren().isEmpty());
+        assertEquals(0, cards.size());
+    }
+
+    @Test
+    void rebuildsCardsWhoseContentChanged() {
+        cards.show(items("a", "b", "c"));
+        Node a = container.getChildren().get(0);
+        Node c = container.getChildren().get(2);
+
+        cards.show(List.of(new Item("a", "1"), new Item("b", "2"), new Item("c", "1")));
+
+        assertEquals(List.of("a:1", "b:2", "c:1"), ids());
+        assertSame(a, container.getChildren().get(0));
+        assertSame(c, container.getChildren().get(2));
+        assertEquals(4, built);
+    }
+
+    @Test
+    void tellsDuplicateKeysApartByPosition() {
+        cards.show(List.of(new Item("a", "1"), new Item("b", "1"), new Item("a", "2"), new Item("a", "3")));
+
+        assertEquals(List.of("a:1", "b:1", "a:2", "a:3"), ids());
+        assertEquals(new Item("a", "1"), cards.item("a"));
+        assertEquals(new Item("a", "2"), cards.item("a#1"));
+        assertEquals(new Item("a", "3"), cards.item("a#2"));
+        List<Node> before = List.copyOf(container.getChildren());
+
+        // The second "a" moves ahead of "b": it is now the first "a" and the first one the second.
+        cards.show(List.of(new Item("a", "2"), new Item("a", "1"), new Item("b", "1")));
+
+        assertEquals(List.of("a:2", "a:1", "b:1"), ids());
+        assertSame(before.get(1), container.getChildren().get(2));
+        assertFalse(cards.contains("a#2"));
+        assertEquals(6, built);
+    }
+
+    @Test
+    void leavesOutCardsThatCannotBeBuilt() {
+        cards.show(List.of(new Item("a", "1"), new Item("b", "broken"), new Item("c", "1")));
+
+        assertEquals(List.of("a:1", "c:1"), ids());
+        assertFalse(cards.contains("b"));
+    }
+
+    @Test
+    void appendsAfterTheDisplayedCards() {
+        cards.show(items("a", "b"));
+        Node a = container.getChildren().get(0);
+
+        cards.append(List.of(new Item("c", "1"), new Item("a", "1"), new Item("b", "2")));
+
+        assertEquals(List.of("a:1", "b:2", "c:1"), ids());
+        assertSame(a, container.getChildren().get(0));
+        assertEquals(4, built);
+    }
+
+    @Test
+    void refreshesOneCardInPlace() {
+        cards.show(items("a", "b", "c"));
+        Node b = container.getChildren().get(1);
+
+        assertTrue(cards.refresh(new Item("b", "1")));
+        assertSame(b, container.getChildren().get(1));
+        assertTrue(cards.refresh(new Item("b", "2")));
+        assertEquals(List.of("a:1", "b:2", "c:1"), ids());
+        assertEquals(List.of(b), removed);
+        assertFalse(cards.refresh(new Item("d", "1")));
+        assertEquals(3, cards.size());
+
+        assertTrue(cards.refresh(new Item("b", "broken")));
+        assertEquals(List.of("a:1", "c:1"), ids());
+        assertFalse(cards.contains("b"));
+    }
+
+    @Test
+    void removesOneCard() {
+        cards.show(items("a", "b", "c"));
+
+        cards.remove("b");
+        cards.remove("z");
+
+        assertEquals(List.of("a:1", "c:1"), ids());
+        assertEquals(2, cards.size());
+    }
+
+    private List<String> ids() {
+        return container.getChildren().stream().map(Node::getId).toList();
+    }
+
+    private static List<Item> items(String... keys) {
+        List<Item> items = new ArrayList<>();
+        for (String key : keys) {
+            items.add(new Item(key, "1"));
+        }
+        return items;
+    }
+
+    private record Item(String key, String content) {
+    }
+}
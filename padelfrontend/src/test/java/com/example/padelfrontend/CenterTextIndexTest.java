@@ -0,0 +1,190 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.PadelCenter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CenterTextIndexTest {
+
+    private static final List<PadelCenter> CENTERS = List.of(
+            center("Cairo Padel Club", "Zamalek, Cairo"),
+            center("Padel Point", "Maadi, Cairo"),
+            center("Smash Arena", "Smouha, Alexandria"),
+            center("Uptown Padel", "New Cairo"),
+            center("Court 7", "Sheikh Zayed, Giza"));
+
+    @Test
+    void findsShortTextByItsGrams() {
+        CenterTextIndex index = index(CENTERS);
+
+        assertEquals(List.of("Court 7"), names(index.search("7", 10)));
+        assertEquals(List.of("Smash Arena", "Cairo Padel Club", "Padel Point", "Uptown Padel"),
+                names(index.search("a", 4)));
+        assertEquals(List.of("Padel Point", "Cairo Padel Club", "Uptown Padel"), names(index.search("pa", 10)));
+        assertEquals(List.of("Smash Arena", "Court 7"), names(index.search("sh", 10)));
+        assertEquals(List.of("Cairo Padel Club", "Padel Point", "Uptown Padel"), names(index.search(" CAI ", 10)));
+        assertTrue(index.search("xq", 10).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+    }
+
+    @Test
+    void findsLongerTextByItsTrigrams() {
+        CenterTextIndex index = index(CENTERS);
+
+        assertEquals(List.of("Padel Point", "Cairo Padel Club", "Uptown Padel"), names(index.search("Padel", 3)));
+        assertEquals(List.of("Smash Arena"), names(index.search("alexandria", 10)));
+        assertEquals(List.of("Uptown Padel"), names(index.search("new  cairo", 1)));
+        assertEquals(List.of("Court 7"), names(index.search("sheikh zayed", 10)));
+    }
+
+    @Test
+    void ranksWhereTheTextOccurs() {
+        CenterTextIndex index = index(List.of(
+                center("Club Padel", "Ain Shams, Cairo"),
+                center("Maadi Sports", "Old Club Road"),
+                center("Nightclub Courts", "Dokki"),
+                center("Club House", "Heliopolis"),
+                center("The Club", "Giza")));
+
+        // Start of the name, then start of a word of it, then elsewhere in it, then the location;
+        // ties keep catalog order.
+        assertEquals(List.of("Club Padel", "Club House", "The Club", "Nightclub Courts", "Maadi Sports"),
+                names(index.search("club", 10)));
+        assertEquals(List.of("Club Padel", "Club House", "The Club", "Nightclub Courts", "Maadi Sports"),
+                names(index.search("cl", 10)));
+    }
+
+    @Test
+    void keepsCatalogOrderBetweenTies() {
+        CenterTextIndex index = index(List.of(
+                center("Padel B", "Cairo"), center("Padel A", "Cairo"), center("Padel C", "Cairo")));
+
+        assertEquals(List.of("Padel B", "Padel A", "Padel C"), names(index.search("padel", 10)));
+
+        index.setAll(List.of(center("Padel C", "Cairo"), center("Padel A", "Cairo"), center("Padel B", "Cairo")));
+
+        assertEquals(List.of("Padel C", "Padel A", "Padel B"), names(index.search("padel", 10)));
+        assertEquals(List.of("Padel C", "Padel A", "Padel B"), names(index.search("pa", 10)));
+    }
+
+    @Test
+    void findsTyposAsFuzzyMatches() {
+        CenterTextIndex index = index(CENTERS);
+
+        // "padle" shares "pa" and "ad" with each "Padel", half of its bigrams, so they tie in catalog order.
+        assertEquals(List.of("Cairo Padel Club", "Padel Point", "Uptown Padel"), names(index.search("padle", 10)));
+    }
+
+    @Test
+    void putsExactMatchesBeforeFuzzyOnes() {
+        CenterTextIndex index = index(List.of(
+                center("Padle Court", "Cairo"),
+                center("Padel Point", "Maadi"),
+                center("Smash Arena", "Alexandria")));
+
+        assertEquals(List.of("Padle Court", "Padel Point"), names(index.search("padle", 10)));
+        assertEquals(List.of("Padle Court"), names(index.search("padle", 1)));
+        assertTrue(index.search("zzzzz", 10).isEmpty());
+    }
+
+    @Test
+    void ranksFuzzyMatchesByBigramsShared() {
+        CenterTextIndex index = index(List.of(
+                center("Renata", "Giza"),
+                center("Arena", "Giza"),
+                center("Smash", "Cairo")));
+
+        // "arenax" shares ar, re, en and na with "Arena" but only re, en and na with "Renata".
+        assertEquals(List.of("Arena", "Renata"), names(index.search("arenax", 10)));
+        assertEquals(List.of("Arena", "Renata"), names(index.search("sarena", 10)));
+        assertEquals(List.of("Arena"), names(index.search("sarena", 1)));
+    }
+
+    @Test
+    void followsARenameBetweenSetAllCalls() {
+        CenterTextIndex index = index(CENTERS);
+        List<PadelCenter> renamed = new ArrayList<>(CENTERS);
+        renamed.set(1, center("Racket Point", "Maadi, Cairo"));
+
+        index.setAll(renamed);
+
+        assertEquals(List.of("Cairo Padel Club", "Uptown Padel"), names(index.search("padel", 10)));
+        assertEquals(List.of("Racket Point"), names(index.search("racket", 10)));
+        assertEquals(List.of("Racket Point"), names(index.search("maadi", 10)));
+        assertEquals(List.of("Racket Point"), names(index.search("po", 10)));
+    }
+
+    @Test
+    void followsAMoveBetweenSetAllCalls() {
+        CenterTextIndex index = index(CENTERS);
+        List<PadelCenter> moved = new ArrayList<>(CENTERS);
+        moved.set(2, center("Smash Arena", "Heliopolis, Cairo"));
+
+        index.setAll(moved);
+
+        assertTrue(index.search("alexandria", 10).isEmpty());
+        assertTrue(index.search("smouha", 10).isEmpty());
+        assertEquals(List.of("Smash Arena"), names(index.search("heliopolis", 10)));
+        assertEquals(List.of("Cairo Padel Club", "Padel Point", "Smash Arena", "Uptown Padel"),
+                names(index.search("cairo", 10)));
+        assertSame(moved.get(2), index.search("smash", 1).get(0));
+    }
+
+    @Test
+    void forgetsARemovalBetweenSetAllCalls() {
+        CenterTextIndex index = index(CENTERS);
+
+        index.setAll(CENTERS.subList(1, CENTERS.size()));
+
+        assertEquals(List.of("Padel Point", "Uptown Padel"), names(index.search("padel", 10)));
+        assertTrue(index.search("zamalek", 10).isEmpty());
+        assertTrue(index.search("club", 10).isEmpty());
+
+        index.setAll(CENTERS);
+
+        assertEquals(List.of("Padel Point", "Cairo Padel Club", "Uptown Padel"), names(index.search("padel", 10)));
+        assertEquals(List.of("Cairo Padel Club"), names(index.search("zamalek", 10)));
+    }
+
+    @Test
+    void putsAndReplacesSingleCenters() {
+        CenterTextIndex index = index(CENTERS);
+
+        index.put(center("Padel Hub", "Dokki, Giza"));
+        index.put(center("Padel Point", "Nasr City, Cairo"));
+
+        assertEquals(List.of("Padel Point", "Padel Hub", "Cairo Padel Club", "Uptown Padel"),
+                names(index.search("padel", 10)));
+        assertEquals(List.of("Padel Point"), names(index.search("nasr city", 10)));
+        assertTrue(index.search("maadi", 10).isEmpty());
+    }
+
+    @Test
+    void indexesEachNameOnce() {
+        CenterTextIndex index = index(List.of(center("Padel Point", "Maadi"), center("Padel Point", "Giza")));
+
+        assertEquals(List.of("Padel Point"), names(index.search("padel", 10)));
+        assertTrue(index.search("giza", 10).isEmpty());
+    }
+
+    private static CenterTextIndex index(List<PadelCenter> centers) {
+        CenterTextIndex index = new CenterTextIndex();
+        index.setAll(centers);
+        return index;
+    }
+
+    private static List<String> names(List<PadelCenter> centers) {
+        return centers.stream().map(PadelCenter::name).toList();
+    }
+
+    private static PadelCenter center(String name, String location) {
+        return new PadelCenter(name, location, null, List.of(), Map.of());
+    }
+}
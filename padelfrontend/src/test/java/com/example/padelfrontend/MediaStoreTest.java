@@ -0,0 +1,143 @@
+package com.example.padelfrontend;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaStoreTest {
+
+    @TempDir
+    Path root;
+    @TempDir
+    Path uploads;
+
+    @Test
+    void storesTheSameContentOnce() throws IOException {
+        MediaStore store = new MediaStore(root, Runnable::run);
+        Path court = write("court.png", "court");
+        Path copy = write("copy/court.png", "court");
+        Path renamed = write("renamed.png", "court");
+
+        assertEquals("media/court.png", store.put(court));
+        assertEquals("media/court.png", store.put(copy));
+        assertEquals("media/renamed.png", store.put(renamed));
+
+        assertEquals(1, blobs().size());
+        assertEquals(store.find("media/court.png"), store.find("media/renamed.png"));
+    }
+
+    @Test
+    void suffixesNamesTakenByOtherContent() throws IOException {
+        MediaStore store = new MediaStore(root, Runnable::run);
+
+        assertEquals("media/court.png", store.put(write("a/court.png", "first")));
+        assertEquals("media/court-2.png", store.put(write("b/court.png", "second")));
+        assertEquals("media/court-3.png", store.put(write("c/court.png", "third")));
+        // Uploaded again, content keeps the suffixed name it was given.
+        assertEquals("media/court-2.png", store.put(write("d/court.png", "second")));
+        assertEquals("media/court.tar.gz", store.put(write("a/court.tar.gz", "first")));
+        assertEquals("media/court.tar-2.gz", store.put(write("b/court.tar.gz", "second")));
+        assertEquals("media/logo", store.put(write("a/logo", "first")));
+        assertEquals("media/logo-2", store.put(write("b/logo", "second")));
+        assertEquals("media/.hidden", store.put(write("a/.hidden", "first")));
+        assertEquals("media/.hidden-2", store.put(write("b/.hidden", "second")));
+
+        assertEquals("first", read(store.find("media/court.png")));
+        assertEquals("second", read(store.find("media/court-2.png")));
+        assertEquals("third", read(store.find("media/court-3.png")));
+    }
+
+    @Test
+    void keepsTheIndexAcrossRestarts() throws IOException {
+        MediaStore store = new MediaStore(root, Runnable::run);
+        store.put(write("a/court.png", "first"));
+        store.put(write("b/court.png", "second"));
+
+        MediaStore reopened = new MediaStore(root, Runnable::run);
+
+        assertEquals("second", read(reopened.find("media/court-2.png")));
+        assertEquals("media/court.png", reopened.put(write("c/court.png", "first")));
+        assertEquals("media/court-3.png", reopened.put(write("d/court.png", "third")));
+    }
+
+    @Test
+    void findsOnlyStoredImages() throws IOException {
+        MediaStore store = new MediaStore(root, Runnable::run);
+        store.put(write("court.png", "court"));
+
+        assertEquals("court", read(store.find("/media/court.png")));
+        assertNull(store.find("media/missing.png"));
+        assertTrue(MediaStore.isMediaPath("media/court.png"));
+        assertTrue(MediaStore.isMediaPath("/media/court.png"));
+        assertFalse(MediaStore.isMediaPath("/images/court.png"));
+    }
+
+    @Test
+    void storesInTheBackground() throws Exception {
+        MediaStore store = new MediaStore(root, Runnable::run);
+        List<CompletableFuture<String>> stored = List.of(
+                store.store(write("a/court.png", "first")),
+                store.store(write("b/court.png", "second")),
+                store.store(write("c/court.png", "third")),
+                store.store(write("d/court.png", "first")));
+
+        Set<String> paths = new HashSet<>();
+        for (CompletableFuture<String> path : stored) {
+            paths.add(path.get(5, TimeUnit.SECONDS));
+        }
+
+        // Stored at once, the files of the same name still get a name each, and the same content one.
+        assertEquals(Set.of("media/court.png", "media/court-2.png", "media/court-3.png"), paths);
+        assertEquals(3, blobs().size());
+        assertEquals(stored.get(0).get(), stored.get(3).get());
+    }
+
+    @Test
+    void failsToStoreAMissingFile() {
+        MediaStore store = new MediaStore(root, Runnable::run);
+
+        CompletableFuture<String> stored = store.store(uploads.resolve("missing.png"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> stored.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NoSuchFileException.class, error.getCause());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = uploads.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    private List<Path> blobs() throws IOException {
+        try (Stream<Path> files = Files.list(root.resolve("blobs"))) {
+            return files.toList();
+        }
+    }
+
+    private static String read(URL url) throws IOException {
+        try (InputStream in = url.openStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
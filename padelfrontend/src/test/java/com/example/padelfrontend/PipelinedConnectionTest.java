@@ -0,0 +1,100 @@
+package com.example.padelfrontend;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelinedConnectionTest {
+
+    private ServerSocket server;
+    private Socket client;
+    private Socket accepted;
+
+    @BeforeEach
+    void connect() throws IOException {
+        server = new ServerSocket(0);
+        client = new Socket("localhost", server.getLocalPort());
+        accepted = server.accept();
+    }
+
+    @AfterEach
+    void disconnect() throws IOException {
+        client.close();
+        accepted.close();
+        server.close();
+    }
+
+    @Test
+    void routesLinesWhereverTheRequestIdIs() throws Exception {
+        PipelinedConnection connection = new PipelinedConnection(client, WireFormat.JSON);
+        CompletableFuture<Response> first = connection.submit(new JSONObject().put("action", "a"));
+        CompletableFuture<Response> second = connection.submit(new JSONObject().put("action", "b"));
+        BufferedReader requests = new BufferedReader(
+                new InputStreamReader(accepted.getInputStream(), StandardCharsets.UTF_8));
+        long firstId = new JSONObject(requests.readLine()).getLong(PipelinedConnection.REQUEST_ID);
+        long secondId = new JSONObject(requests.readLine()).getLong(PipelinedConnection.REQUEST_ID);
+
+        reply("{\"status\":\"success\",\"message\":\"second\",\"requestId\":" + secondId + "}\n");
+        reply("{\"requestId\":" + firstId + ",\"status\":\"error\",\"message\":\"first\"}\n");
+
+        Response secondResponse = second.get(5, TimeUnit.SECONDS);
+        assertTrue(secondResponse.isSuccess());
+        assertEquals("second", secondResponse.getMessage(null));
+        Response firstResponse = first.get(5, TimeUnit.SECONDS);
+        assertEquals("first", firstResponse.getMessage(null));
+        assertTrue(connection.isOpen());
+    }
+
+    @Test
+    void routesFramesWhereverTheRequestIdIs() throws Exception {
+        PipelinedConnection connection = new PipelinedConnection(client, WireFormat.CBOR);
+        CompletableFuture<Response> future = connection.submit(new JSONObject().put("action", "a"));
+        ResponseReader requests = new ResponseReader(accepted.getInputStream());
+        long requestId = Response.parse(requests.readFrame()).toJson().getLong(PipelinedConnection.REQUEST_ID);
+
+        JSONObject response = new JSONObject().put("status", "success").put("message", "framed")
+                .put("data", new JSONObject().put("name", "Court 1")).put(PipelinedConnection.REQUEST_ID, requestId);
+        accepted.getOutputStream().write(WireFormat.CBOR.encode(response));
+
+        Response routed = future.get(5, TimeUnit.SECONDS);
+        assertEquals("framed", routed.getMessage(null));
+        assertEquals("Court 1", routed.getDataObject().getString("name"));
+    }
+
+    @Test
+    void failsPendingRequestsOnAResponseWithoutARequestId() throws Exception {
+        PipelinedConnection connection = new PipelinedConnection(client, WireFormat.JSON);
+        CompletableFuture<Response> future = connection.submit(new JSONObject().put("action", "a"));
+
+        reply("{\"status\":\"success\",\"message\":\"lost\"}\n");
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("without a requestId"));
+        assertFalse(connection.isOpen());
+    }
+
+    private void reply(String line) throws IOException {
+        OutputStream out = accepted.getOutputStream();
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
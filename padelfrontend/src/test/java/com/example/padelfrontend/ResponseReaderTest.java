@@ -0,0 +1,245 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.json.Cbor;
+import com.example.padelfrontend.json.CborReader;
+import com.example.padelfrontend.json.CborWriter;
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonReader;
+import com.example.padelfrontend.json.JsonWriter;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseReaderTest {
+
+    private static final String LISTING = "{\"status\":\"success\",\"meta\":{\"data\":[\"not streamed\"]},"
+            + "\"data\":[{\"name\":\"Café Padel ✓\",\"slots\":[[\"08:00\",\"08:05\"],[]]},"
+            + "{\"name\":\"Court 🎾\",\"note\":\"a ] and a }\",\"tags\":{\"data\":[1,[2]]}}],\"version\":3}";
+
+    /** Decodes each element into compact JSON text, whichever format it came in. */
+    private static final Codec<String> ELEMENT = new Codec<>() {
+        @Override
+        public String read(JsonReader reader) {
+            CborWriter writer = new CborWriter();
+            Cbor.copy(reader, writer);
+            return Cbor.toJson(writer.toByteArray());
+        }
+
+        @Override
+        public void write(JsonWriter writer, String value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String read(CborReader reader) {
+            JsonWriter writer = new JsonWriter();
+            Cbor.copy(reader, writer);
+            return writer.toString();
+        }
+
+        @Override
+        public void write(CborWriter writer, String value) {
+            throw new UnsupportedOperationException();
+        }
+    };
+
+    @Test
+    void readsLinesAcrossReads() throws IOException {
+        ResponseReader reader = trickling("{\"name\":\"Ñandú ✓ 🎾\"}\r\n\n{\"status\":\"success\"}");
+
+        assertEquals("{\"name\":\"Ñandú ✓ 🎾\"}", reader.readLine());
+        assertEquals("", reader.readLine());
+        assertEquals("{\"status\":\"success\"}", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void reusesTheBufferAcrossResponses() throws IOException {
+        String large = "{\"data\":\"" + "é".repeat(100_000) + "\"}";
+        String small = "{\"status\":\"success\",\"message\":\"ok ✓\"}";
+        byte[] framed = frame(Cbor.fromJson(small));
+        ResponseReader reader = new ResponseReader(new ByteArrayInputStream(concat(
+                utf8(small + "\n" + large + "\n" + small + "\n"), framed, utf8(large + "\n"), framed, utf8(small + "\n"))));
+
+        assertEquals(small, reader.readLine());
+        assertEquals(large, reader.readLine());
+        assertEquals(small, reader.readLine());
+        assertTrue(reader.nextIsFrame());
+        assertEquals(small, Cbor.toJson(reader.readFrame()));
+        assertEquals(large, reader.readLine());
+        assertTrue(reader.nextIsFrame());
+        assertEquals(small, Cbor.toJson(reader.readFrame()));
+        assertFalse(reader.nextIsFrame());
+        assertEquals("ok ✓", reader.readResponse().getMessage(null));
+        assertNull(reader.readResponse());
+    }
+
+    @Test
+    void streamsElementsOfLines() throws IOException {
+        List<String> elements = new ArrayList<>();
+        ResponseReader reader = trickling(LISTING + "\n" + LISTING + "\n");
+
+        Response first = reader.readStreaming(ELEMENT, elements::add);
+        Response second = reader.readStreaming(ELEMENT, elements::add);
+
+        assertStreamed(first, elements.subList(0, 2));
+        assertStreamed(second, elements.subList(2, 4));
+        assertNull(reader.readStreaming(ELEMENT, elements::add));
+    }
+
+    @Test
+    void streamsElementsOfFrames() throws IOException {
+        List<String> elements = new ArrayList<>();
+        byte[] frame = frame(Cbor.fromJson(LISTING));
+        ResponseReader reader = new ResponseReader(trickle(concat(frame, frame)));
+
+        Response first = reader.readStreaming(ELEMENT, elements::add);
+        Response second = reader.readStreaming(ELEMENT, elements::add);
+
+        assertStreamed(first, elements.subList(0, 2));
+        assertStreamed(second, elements.subList(2, 4));
+        assertNull(reader.readStreaming(ELEMENT, elements::add));
+    }
+
+    @Test
+    void streamsDefiniteLengthFrames() throws IOException {
+        // {"status": "success", "data": [1, "é"]} with definite lengths, as other encoders write it.
+        byte[] payload = {(byte) 0xA2, 0x66, 's', 't', 'a', 't', 'u', 's', 0x67, 's', 'u', 'c', 'c', 'e', 's', 's',
+                0x64, 'd', 'a', 't', 'a', (byte) 0x82, 0x01, 0x62, (byte) 0xC3, (byte) 0xA9};
+        List<String> elements = new ArrayList<>();
+
+        Response response = new ResponseReader(trickle(frame(payload))).readStreaming(ELEMENT, elements::add);
+
+        assertTrue(response.isSuccess());
+        assertEquals(List.of("1", "\"é\""), elements);
+    }
+
+    @Test
+    void rejectsTruncatedLines() {
+        byte[] line = utf8(LISTING + "\n");
+
+        for (int end : new int[]{1, 20, line.length / 2, line.length - 2}) {
+            ResponseReader reader = new ResponseReader(trickle(Arrays.copyOf(line, end)));
+            assertThrows(EOFException.class, () -> reader.readStreaming(ELEMENT, element -> {
+            }), "truncated at " + end);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedFrames() {
+        byte[] frame = frame(Cbor.fromJson(LISTING));
+
+        for (int end : new int[]{1, WireFormat.FRAME_HEADER_LENGTH, frame.length / 2, frame.length - 1}) {
+            byte[] truncated = Arrays.copyOf(frame, end);
+            assertThrows(EOFException.class, () -> new ResponseReader(trickle(truncated)).readFrame(),
+                    "truncated at " + end);
+            assertThrows(EOFException.class, () -> new ResponseReader(trickle(truncated)).readStreaming(ELEMENT,
+                    element -> {
+                    }), "truncated at " + end);
+        }
+    }
+
+    @Test
+    void rejectsFramesWithAWrongMarker() throws IOException {
+        byte[] frame = frame(Cbor.fromJson(LISTING));
+        frame[0] = (byte) 0xCA;
+
+        ResponseReader reader = new ResponseReader(new ByteArrayInputStream(frame));
+
+        assertFalse(reader.nextIsFrame());
+        assertThrows(JSONException.class, reader::readFrame);
+    }
+
+    @Test
+    void rejectsFramesWithAWrongLength() {
+        byte[] payload = Cbor.fromJson(LISTING);
+        byte[] shorter = frame(payload);
+        shorter[4]--;
+        byte[] oversized = frame(payload);
+        oversized[1] = (byte) 0x7F;
+
+        // The map runs one byte past the declared length.
+        assertThrows(JSONException.class, () -> new ResponseReader(trickle(shorter)).readStreaming(ELEMENT,
+                element -> {
+                }));
+        assertThrows(JSONException.class, () -> new ResponseReader(trickle(oversized)).readFrame());
+    }
+
+    @Test
+    void rejectsGarbageAfterAStreamedLine() {
+        ResponseReader reader = trickling(LISTING + " trailing\n");
+
+        assertThrows(JSONException.class, () -> reader.readStreaming(ELEMENT, element -> {
+        }));
+    }
+
+    private static void assertStreamed(Response response, List<String> elements) {
+        assertTrue(response.isSuccess());
+        assertEquals(3, response.getVersion());
+        assertFalse(response.toJson().has("data"));
+        assertEquals("not streamed", response.toJson().getJSONObject("meta").getJSONArray("data").getString(0));
+        assertEquals(2, elements.size());
+        JSONObject court = new JSONObject(elements.get(0));
+        assertEquals("Café Padel ✓", court.getString("name"));
+        assertEquals("08:05", court.getJSONArray("slots").getJSONArray(0).getString(1));
+        JSONObject other = new JSONObject(elements.get(1));
+        assertEquals("Court 🎾", other.getString("name"));
+        assertEquals("a ] and a }", other.getString("note"));
+        assertEquals(2, other.getJSONObject("tags").getJSONArray("data").getJSONArray(1).getInt(0));
+    }
+
+    private static ResponseReader trickling(String text) {
+        return new ResponseReader(trickle(utf8(text)));
+    }
+
+    /**
+     * Returns a stream handing out at most a few bytes per read, so that lines, characters and
+     * CBOR items are split across reads.
+     */
+    private static InputStream trickle(byte[] bytes) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] frame(byte[] payload) {
+        byte[] frame = new byte[WireFormat.FRAME_HEADER_LENGTH + payload.length];
+        frame[0] = (byte) WireFormat.FRAME_MARKER;
+        for (int i = 0; i < 4; i++) {
+            frame[1 + i] = (byte) (payload.length >>> (24 - 8 * i));
+        }
+        System.arraycopy(payload, 0, frame, WireFormat.FRAME_HEADER_LENGTH, payload.length);
+        return frame;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
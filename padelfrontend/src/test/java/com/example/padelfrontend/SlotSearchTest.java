@@ -0,0 +1,147 @@
+package com.example.padelfrontend;
+
+import com.example.padelfrontend.model.SlotSet;
+import com.example.padelfrontend.model.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotSearchTest {
+
+    @Test
+    void findsTheNearestFreeSlotsFirst() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Zamalek, Cairo", slots("10:00 AM", "10:10 AM"));
+        search.put("Maadi", "Maadi, Cairo", slots("09:50 AM", "11:00 AM"));
+
+        List<SlotSearch.Match> matches = search.search(slot("10:00 AM"), null, 10);
+
+        assertEquals(List.of(
+                new SlotSearch.Match("Zamalek", slot("10:00 AM"), 0),
+                new SlotSearch.Match("Maadi", slot("09:50 AM"), 10),
+                new SlotSearch.Match("Zamalek", slot("10:10 AM"), 10),
+                new SlotSearch.Match("Maadi", slot("11:00 AM"), 60)), matches);
+    }
+
+    @Test
+    void breaksTiesByCatalogOrder() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Cairo", slots("10:05 AM"));
+        search.put("Alpha", "Cairo", slots("10:05 AM", "09:55 AM"));
+        search.put("Maadi", "Cairo", slots("09:55 AM"));
+
+        List<SlotSearch.Match> matches = search.search(slot("10:00 AM"), null, 10);
+
+        // The earlier of two slots the same distance away comes first, then centers in the order put.
+        assertEquals(List.of("Alpha@09:55 AM", "Maadi@09:55 AM", "Zamalek@10:05 AM", "Alpha@10:05 AM"),
+                describe(matches));
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Cairo", slots("10:00 AM", "10:05 AM"));
+        search.put("Maadi", "Cairo", slots("10:00 AM"));
+
+        assertEquals(List.of("Zamalek@10:00 AM"), describe(search.search(slot("10:00 AM"), null, 1)));
+        assertEquals(List.of("Zamalek@10:00 AM", "Maadi@10:00 AM", "Zamalek@10:05 AM"),
+                describe(search.search(slot("10:00 AM"), null, 3)));
+        assertTrue(search.search(slot("10:00 AM"), null, 0).isEmpty());
+    }
+
+    @Test
+    void searchesFromTheEdgesOfTheDay() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Cairo", slots("12:00 AM", "11:55 PM"));
+
+        assertEquals(List.of("Zamalek@12:00 AM", "Zamalek@11:55 PM"), describe(search.search(slot("12:00 AM"), null, 5)));
+        assertEquals(List.of("Zamalek@11:55 PM", "Zamalek@12:00 AM"), describe(search.search(slot("11:55 PM"), null, 5)));
+        assertEquals(TimeSlot.SLOTS_PER_DAY * TimeSlot.GRANULARITY_MINUTES - TimeSlot.GRANULARITY_MINUTES,
+                search.search(slot("12:00 AM"), null, 5).get(1).minutesAway());
+    }
+
+    @Test
+    void filtersByLocation() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Zamalek, Cairo", slots("10:00 AM"));
+        search.put("Smouha", "Smouha, Alexandria", slots("10:00 AM"));
+
+        assertEquals(List.of("Smouha@10:00 AM"), describe(search.search(slot("10:00 AM"), "ALEX", 10)));
+        assertEquals(List.of("Zamalek@10:00 AM", "Smouha@10:00 AM"), describe(search.search(slot("10:00 AM"), " ", 10)));
+        assertTrue(search.search(slot("10:00 AM"), "Giza", 10).isEmpty());
+    }
+
+    @Test
+    void replacesACenterInItsColumn() {
+        SlotSearch search = new SlotSearch();
+        search.put("Zamalek", "Cairo", slots("10:00 AM"));
+        search.put("Smouha", "Alexandria", slots("10:00 AM"));
+        assertEquals(List.of("Smouha@10:00 AM"), describe(search.search(slot("10:00 AM"), "alexandria", 10)));
+
+        search.put("Zamalek", "Alexandria", slots("10:30 AM", "10:00 AM"));
+
+        assertEquals(List.of("Zamalek@10:00 AM", "Smouha@10:00 AM", "Zamalek@10:30 AM"),
+                describe(search.search(slot("10:00 AM"), "alexandria", 10)));
+
+        search.put("Zamalek", "Cairo", SlotSet.EMPTY);
+
+        assertEquals(List.of("Smouha@10:00 AM"), describe(search.search(slot("10:00 AM"), null, 10)));
+
+        search.clear();
+
+        assertTrue(search.search(slot("10:00 AM"), null, 10).isEmpty());
+    }
+
+    @Test
+    void holdsManyCenters() {
+        SlotSearch search = new SlotSearch();
+        for (int i = 0; i < 150; i++) {
+            search.put("Center " + i, i % 2 == 0 ? "Cairo" : "Giza", slots(i == 149 ? "11:55 PM" : "12:00 AM"));
+        }
+
+        List<SlotSearch.Match> matches = search.search(slot("11:55 PM"), "giza", 2);
+
+        assertEquals(List.of("Center 149@11:55 PM", "Center 1@12:00 AM"), describe(matches));
+        assertEquals(149, search.search(slot("12:00 AM"), null, 200).stream()
+                .filter(match -> match.slot().index() == 0).count());
+    }
+
+    @Test
+    void parsesQueries() {
+        assertEquals(new SlotSearch.Query(slot("07:00 PM"), null), SlotSearch.parseQuery("7 PM"));
+        assertEquals(new SlotSearch.Query(slot("07:00 PM"), null), SlotSearch.parseQuery(" 7pm "));
+        assertEquals(new SlotSearch.Query(slot("07:30 PM"), null), SlotSearch.parseQuery("7:30pm"));
+        assertEquals(new SlotSearch.Query(slot("07:00 PM"), null), SlotSearch.parseQuery("19:00"));
+        assertEquals(new SlotSearch.Query(slot("07:00 AM"), null), SlotSearch.parseQuery("7"));
+        assertEquals(new SlotSearch.Query(slot("12:00 AM"), null), SlotSearch.parseQuery("12 am"));
+        assertEquals(new SlotSearch.Query(slot("11:55 PM"), null), SlotSearch.parseQuery("23:55"));
+        assertEquals(new SlotSearch.Query(slot("07:00 PM"), "new cairo"), SlotSearch.parseQuery("7 PM new cairo"));
+        assertEquals(new SlotSearch.Query(slot("07:00 PM"), "Zamalek East"), SlotSearch.parseQuery("19:00 Zamalek East"));
+        assertEquals(new SlotSearch.Query(slot("09:05 AM"), "maadi"), SlotSearch.parseQuery("9:05 am maadi"));
+    }
+
+    @Test
+    void parsesOnlyQueriesStartingWithATime() {
+        for (String text : new String[]{null, "", "   ", "Zamalek", "Zamalek 7 PM", "7:07", "25", "24:00", "13 PM",
+                "7XM", "pm"}) {
+            assertNull(SlotSearch.parseQuery(text), String.valueOf(text));
+        }
+    }
+
+    private static List<String> describe(List<SlotSearch.Match> matches) {
+        return matches.stream().map(match -> match.centerName() + "@" + match.slot()).toList();
+    }
+
+    private static SlotSet slots(String... times) {
+        return SlotSet.of(Arrays.stream(times).map(TimeSlot::parse).toList());
+    }
+
+    private static TimeSlot slot(String time) {
+        return TimeSlot.parse(time);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.padelfrontend.json;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CborTest {
+
+    private static final String DOCUMENT = "{\"status\":\"success\",\"version\":4294967296,\"count\":-25,"
+            + "\"price\":12.5,\"open\":true,\"closed\":false,\"note\":null,"
+            + "\"data\":[{\"name\":\"Café Padel\",\"slots\":[[\"08:00\",\"08:05\"],[]],\"tags\":{}},"
+            + "{\"name\":\"Court 🎾 ✓\",\"slots\":[],\"tags\":{\"data\":[1,[2,[3]]]}}]}";
+
+    @Test
+    void roundTripsJson() {
+        byte[] cbor = Cbor.fromJson(DOCUMENT);
+
+        assertTrue(new JSONObject(DOCUMENT).similar(new JSONObject(Cbor.toJson(cbor))));
+    }
+
+    @Test
+    void encodesTreesLikeText() {
+        byte[] fromTree = Cbor.fromJson((Object) new JSONObject(DOCUMENT));
+
+        assertTrue(new JSONObject(DOCUMENT).similar(new JSONObject(Cbor.toJson(fromTree))));
+    }
+
+    @Test
+    void readsWhatTheWriterWrote() {
+        byte[] cbor = new CborWriter(4).beginObject()
+                .name("name").value("Ñandú Sports ✓")
+                .name("big").value(Long.MAX_VALUE)
+                .name("small").value(Long.MIN_VALUE)
+                .name("ratio").value(0.1)
+                .name("half").value(0.5)
+                .name("missing").nullValue()
+                .endObject().toByteArray();
+
+        CborReader reader = new CborReader(cbor);
+        reader.beginObject();
+        assertEquals("name", reader.nextName());
+        assertEquals("Ñandú Sports ✓", reader.nextString());
+        assertEquals("big", reader.nextName());
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        assertEquals("small", reader.nextName());
+        assertEquals(Long.MIN_VALUE, reader.nextLong());
+        assertEquals("ratio", reader.nextName());
+        assertEquals(0.1, reader.nextDouble());
+        assertEquals("half", reader.nextName());
+        assertEquals(0.5, reader.nextDouble());
+        assertEquals("missing", reader.nextName());
+        assertTrue(reader.nextNull());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+        assertEquals(cbor.length, reader.position());
+    }
+
+    @Test
+    void selectsNamesAndSkipsTheRest() {
+        byte[] cbor = Cbor.fromJson("{\"extra\":{\"data\":[1,2]},\"café\":\"x\",\"id\":7}");
+        String[] names = {"id"};
+
+        CborReader reader = new CborReader(cbor);
+        reader.beginObject();
+        assertEquals(-1, reader.selectName(names));
+        reader.skipValue();
+        assertEquals(-1, reader.selectName(names));
+        reader.skipValue();
+        assertEquals(0, reader.selectName(names));
+        assertEquals(7, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    void readsDefiniteLengthContainers() {
+        // {"a": [1, "é"]} with definite lengths, as other encoders write it.
+        byte[] cbor = {(byte) 0xA1, 0x61, 'a', (byte) 0x82, 0x01, 0x62, (byte) 0xC3, (byte) 0xA9};
+
+        assertTrue(new JSONObject("{\"a\":[1,\"é\"]}").similar(new JSONObject(Cbor.toJson(cbor))));
+        assertEquals(cbor.length, CborReader.skip(cbor, 0, cbor.length));
+    }
+
+    @Test
+    void reportsIncompleteItems() {
+        byte[] cbor = Cbor.fromJson(DOCUMENT);
+
+        assertEquals(cbor.length, CborReader.skip(cbor, 0, cbor.length));
+        for (int end = 0; end < cbor.length; end++) {
+            assertEquals(-1, CborReader.skip(cbor, 0, end), "truncated at " + end);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedInput() {
+        byte[] cbor = Cbor.fromJson(DOCUMENT);
+
+        for (int end : new int[]{1, 5, cbor.length / 2, cbor.length - 1}) {
+            byte[] truncated = Arrays.copyOf(cbor, end);
+            assertThrows(JSONException.class, () -> Cbor.toJson(truncated), "truncated at " + end);
+        }
+        // A text header claiming more bytes than there are.
+        assertThrows(JSONException.class, () -> new CborReader(new byte[]{0x65, 'a', 'b'}).nextString());
+    }
+
+    @Test
+    void rejectsMistypedValues() {
+        byte[] text = Cbor.fromJson("\"Court\"");
+        byte[] map = Cbor.fromJson("{\"open\":true}");
+
+        assertThrows(JSONException.class, () -> new CborReader(text).nextLong());
+        assertThrows(JSONException.class, () -> new CborReader(text).nextBoolean());
+        assertThrows(JSONException.class, () -> new CborReader(map).beginArray());
+        assertThrows(JSONException.class, () -> new CborReader(map).nextString());
+    }
+
+    @Test
+    void keepsEncodingsStable() {
+        assertArrayEquals(new byte[]{(byte) 0xBF, 0x61, 'n', 0x18, 0x64, (byte) 0xFF}, Cbor.fromJson("{\"n\":100}"));
+        assertArrayEquals(new byte[]{(byte) 0x9F, 0x20, (byte) 0xF5, (byte) 0xF6, (byte) 0xFF},
+                Cbor.fromJson("[-1,true,null]"));
+    }
+}
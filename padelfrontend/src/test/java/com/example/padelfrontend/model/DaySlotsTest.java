@@ -0,0 +1,79 @@
+package com.example.padelfrontend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaySlotsTest {
+
+    private static final TimeSlot MIDNIGHT = TimeSlot.parse("12:00 AM");
+    private static final TimeSlot EIGHT = TimeSlot.parse("08:00 AM");
+    private static final TimeSlot NINE = TimeSlot.parse("09:00 AM");
+    private static final TimeSlot LAST = TimeSlot.parse("11:55 PM");
+
+    @Test
+    void parsesAvailability() {
+        DaySlots slots = DaySlots.of(availability());
+
+        assertEquals("Center Court", slots.name());
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, EIGHT, LAST)), slots.available());
+        assertEquals(SlotSet.of(List.of(NINE, TimeSlot.parse("06:00 PM"))), slots.booked());
+        assertEquals(SlotSet.of(List.of(NINE)), slots.bookedBy("m1"));
+        assertEquals(SlotSet.of(List.of(TimeSlot.parse("06:00 PM"))), slots.bookedBy("m2"));
+        assertTrue(slots.bookedBy("m3").isEmpty());
+    }
+
+    @Test
+    void leavesOutSlotsThatAreNotTimes() {
+        DaySlots slots = DaySlots.of(availability());
+
+        assertEquals(3, slots.available().size());
+        assertEquals(2, slots.booked().size());
+        assertEquals(2, slots.bookedByMember().size());
+    }
+
+    @Test
+    void keepsTheServersSpelling() {
+        DaySlots slots = DaySlots.of(availability());
+
+        assertEquals("8:00 am", slots.label(EIGHT));
+        assertEquals("23:55", slots.label(LAST));
+        assertEquals("12:00 AM", slots.label(MIDNIGHT));
+        assertEquals("18:00", slots.label(TimeSlot.parse("06:00 PM")));
+        assertEquals(Map.of(EIGHT, "8:00 am", LAST, "23:55", TimeSlot.parse("06:00 PM"), "18:00"), slots.spellings());
+    }
+
+    @Test
+    void booksAndCancelsSlots() {
+        DaySlots slots = DaySlots.of(availability());
+
+        DaySlots booked = slots.withBooking(LAST, "m3");
+
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, EIGHT)), booked.available());
+        assertTrue(booked.booked().contains(LAST));
+        assertEquals(SlotSet.of(List.of(LAST)), booked.bookedBy("m3"));
+        assertEquals("23:55", booked.label(LAST));
+
+        DaySlots cancelled = booked.withoutBooking(LAST).withoutBooking(NINE);
+
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, EIGHT, NINE, LAST)), cancelled.available());
+        assertEquals(SlotSet.of(List.of(TimeSlot.parse("06:00 PM"))), cancelled.booked());
+        assertEquals(Map.of("m2", SlotSet.of(List.of(TimeSlot.parse("06:00 PM")))), cancelled.bookedByMember());
+        assertSame(cancelled, cancelled.withoutBooking(MIDNIGHT));
+    }
+
+    private static Availability availability() {
+        Map<String, String> booked = new LinkedHashMap<>();
+        booked.put("09:00 AM", "m1");
+        booked.put("18:00", "m2");
+        booked.put("later", "m4");
+        return new Availability("Center Court", "01-06-2025",
+                List.of("12:00 AM", "8:00 am", "23:55", "08:03 AM", "noon"), booked);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.padelfrontend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotSetTest {
+
+    private static final TimeSlot MIDNIGHT = TimeSlot.ofIndex(0);
+    private static final TimeSlot LAST = TimeSlot.ofIndex(TimeSlot.SLOTS_PER_DAY - 1);
+    /** The last slot of the first word and the first of the second. */
+    private static final TimeSlot WORD_END = TimeSlot.ofIndex(63);
+    private static final TimeSlot WORD_START = TimeSlot.ofIndex(64);
+
+    @Test
+    void holdsTheBoundariesOfTheDay() {
+        SlotSet set = SlotSet.of(List.of(LAST, WORD_START, MIDNIGHT, WORD_END));
+
+        assertEquals(4, set.size());
+        assertTrue(set.contains(MIDNIGHT));
+        assertTrue(set.contains(LAST));
+        assertTrue(set.contains(WORD_END));
+        assertTrue(set.contains(WORD_START));
+        assertFalse(set.contains(TimeSlot.ofIndex(1)));
+        assertFalse(set.contains(TimeSlot.ofIndex(TimeSlot.SLOTS_PER_DAY - 2)));
+        assertEquals(List.of(MIDNIGHT, WORD_END, WORD_START, LAST), set.slots());
+    }
+
+    @Test
+    void holdsEverySlot() {
+        List<TimeSlot> all = new ArrayList<>();
+        for (int index = TimeSlot.SLOTS_PER_DAY - 1; index >= 0; index--) {
+            all.add(TimeSlot.ofIndex(index));
+        }
+
+        SlotSet set = SlotSet.of(all);
+
+        assertEquals(TimeSlot.SLOTS_PER_DAY, set.size());
+        assertEquals(all.reversed(), set.slots());
+        assertTrue(set.andNot(set).isEmpty());
+    }
+
+    @Test
+    void addsAndRemovesSlots() {
+        SlotSet set = SlotSet.EMPTY.with(LAST).with(MIDNIGHT);
+
+        assertTrue(SlotSet.EMPTY.isEmpty());
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, LAST)), set);
+        assertSame(set, set.with(LAST));
+        assertSame(set, set.without(WORD_END));
+        assertEquals(SlotSet.of(List.of(MIDNIGHT)), set.without(LAST));
+        assertTrue(set.without(LAST).without(MIDNIGHT).isEmpty());
+        assertEquals(SlotSet.EMPTY, set.without(LAST).without(MIDNIGHT));
+        assertEquals(2, set.size());
+    }
+
+    @Test
+    void combinesSets() {
+        SlotSet first = SlotSet.of(List.of(MIDNIGHT, WORD_END, LAST));
+        SlotSet second = SlotSet.of(List.of(WORD_END, WORD_START));
+
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, WORD_END, WORD_START, LAST)), first.or(second));
+        assertEquals(SlotSet.of(List.of(WORD_END)), first.and(second));
+        assertEquals(SlotSet.of(List.of(MIDNIGHT, LAST)), first.andNot(second));
+        assertEquals(SlotSet.of(List.of(WORD_START)), second.andNot(first));
+    }
+
+    @Test
+    void comparesByContent() {
+        SlotSet set = SlotSet.of(List.of(MIDNIGHT, LAST));
+
+        assertEquals(set, SlotSet.of(List.of(LAST, MIDNIGHT, LAST)));
+        assertEquals(set.hashCode(), SlotSet.of(List.of(LAST, MIDNIGHT)).hashCode());
+        assertNotEquals(set, SlotSet.of(List.of(MIDNIGHT)));
+        assertEquals("[12:00 AM, 11:55 PM]", set.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.padelfrontend.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeSlotTest {
+
+    @Test
+    void dividesTheDayIntoFiveMinuteSlots() {
+        assertEquals(5, TimeSlot.GRANULARITY_MINUTES);
+        assertEquals(288, TimeSlot.SLOTS_PER_DAY);
+        for (int index = 0; index < TimeSlot.SLOTS_PER_DAY; index++) {
+            TimeSlot slot = TimeSlot.ofIndex(index);
+            assertEquals(index, slot.index());
+            assertEquals(index * 5, slot.minuteOfDay());
+            assertSame(slot, TimeSlot.parse(slot.toString()));
+        }
+    }
+
+    @Test
+    void parsesTheBoundariesOfTheDay() {
+        assertEquals(0, TimeSlot.parse("12:00 AM").index());
+        assertEquals(0, TimeSlot.parse("00:00").index());
+        assertEquals(287, TimeSlot.parse("11:55 PM").index());
+        assertEquals(287, TimeSlot.parse("23:55").index());
+        assertEquals(144, TimeSlot.parse("12:00 PM").index());
+        assertEquals("12:00 AM", TimeSlot.ofIndex(0).toString());
+        assertEquals("11:55 PM", TimeSlot.ofIndex(287).toString());
+        assertEquals("12:30 PM", TimeSlot.parse("12:30").toString());
+    }
+
+    @Test
+    void parsesEverySpelling() {
+        TimeSlot slot = TimeSlot.parse("08:05 AM");
+
+        assertSame(slot, TimeSlot.parse("8:05 am"));
+        assertSame(slot, TimeSlot.parse(" 08:05AM "));
+        assertSame(slot, TimeSlot.parse("08:05   Am"));
+        assertSame(slot, TimeSlot.parse("8:05"));
+        assertSame(TimeSlot.parse("07:30 PM"), TimeSlot.parse("19:30"));
+        assertEquals("08:05 AM", slot.toString());
+    }
+
+    @Test
+    void rejectsTextThatIsNotASlot() {
+        for (String text : List.of("", "8", "8:5", "808:00", ":30", "ab:cd", "08:0x", "-1:00", "08:03 AM",
+                "08:60", "24:00", "13:00 PM", "00:00 AM", "08:00 XM", "08:00 AMish", "noon")) {
+            assertThrows(IllegalArgumentException.class, () -> TimeSlot.parse(text), text);
+        }
+    }
+
+    @Test
+    void rejectsMinutesThatAreNotASlot() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeSlot(-5));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSlot(3));
+        assertThrows(IllegalArgumentException.class, () -> new TimeSlot(24 * 60));
+    }
+
+    @Test
+    void ordersChronologically() {
+        List<TimeSlot> slots = new ArrayList<>(List.of(TimeSlot.parse("01:00 PM"), TimeSlot.parse("11:55 PM"),
+                TimeSlot.parse("12:00 AM"), TimeSlot.parse("12:05 PM"), TimeSlot.parse("11:00 AM")));
+
+        Collections.sort(slots);
+
+        assertEquals(List.of("12:00 AM", "11:00 AM", "12:05 PM", "01:00 PM", "11:55 PM"),
+                slots.stream().map(TimeSlot::toString).toList());
+    }
+}
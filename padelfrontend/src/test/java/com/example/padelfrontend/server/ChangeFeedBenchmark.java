@@ -0,0 +1,189 @@
+package com.example.padelfrontend.server;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly a server with the {@code watch} capability pushes a change to many clients.
+ * <p>
+ * The benchmark opens a number of {@code watch} connections for the padel center catalog, each
+ * starting from the current version so that no catch-up event is sent, and then alternately saves
+ * and deletes a padel center. After each change it waits until every watcher has received its event
+ * before making the next, so events are never coalesced. The report gives the latency from sending
+ * the change to receiving its event across all watchers, and the fan-out spread: the time between
+ * the first and the last watcher receiving the same event.
+ * <p>
+ * It is not part of the application. Run it from the test classpath with
+ * {@code mvn -pl padelfrontend test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.padelfrontend.server.ChangeFeedBenchmark
+ * -Dexec.args="[host] [port] [watchers] [changes]"} against a running {@link LocalBackendServer};
+ * the defaults are {@code localhost}, 8080, 100 and 200.
+ * The center it saves is named {@value #CENTER_NAME} and is deleted again by the end of the run.
+ */
+public final class ChangeFeedBenchmark {
+
+    private static final String TOPIC = "get_padel_centers";
+    private static final String CENTER_NAME = "Benchmark Court";
+    private static final long EVENT_TIMEOUT_SECONDS = 10;
+
+    private final String host;
+    private final int port;
+    private volatile Round round;
+
+    private ChangeFeedBenchmark(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        int watchers = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        int changes = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        new ChangeFeedBenchmark(host, port).run(watchers, changes);
+    }
+
+    private void run(int watcherCount, int changes) throws Exception {
+        long version = exchange(new JSONObject().put("action", TOPIC)).getLong("version");
+        List<Socket> watchers = new ArrayList<>();
+        try {
+            for (int i = 0; i < watcherCount; i++) {
+                watchers.add(openWatcher(i, version));
+            }
+
+            long[] latencies = new long[changes * watcherCount];
+            long[] spreads = new long[changes];
+            JSONObject saved = null;
+            long start = System.nanoTime();
+            for (int change = 0; change < changes; change++) {
+                Round current = new Round(watcherCount);
+                round = current;
+                current.sentAt = System.nanoTime();
+                if (saved == null) {
+                    saved = exchange(new JSONObject().put("action", "save_padel_center").put("data", new JSONObject()
+                            .put("name", CENTER_NAME).put("location", "Benchmark")
+                            .put("image", "/images/placeholder.png").put("times", "10:00,11:00"))).getJSONObject("data");
+                } else {
+                    exchange(new JSONObject().put("action", "delete_padel_center").put("data", saved));
+                    saved = null;
+                }
+                if (!current.received.await(EVENT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    throw new IOException("Not every watcher received change " + change);
+                }
+                long first = Long.MAX_VALUE;
+                long last = Long.MIN_VALUE;
+                for (int i = 0; i < watcherCount; i++) {
+                    long receivedAt = current.receivedAt[i];
+                    latencies[change * watcherCount + i] = receivedAt - current.sentAt;
+                    first = Math.min(first, receivedAt);
+                    last = Math.max(last, receivedAt);
+                }
+                spreads[change] = last - first;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (saved != null) {
+                exchange(new JSONObject().put("action", "delete_padel_center").put("data", saved));
+            }
+
+            Arrays.sort(latencies);
+            Arrays.sort(spreads);
+            System.out.printf("%d watchers, %d changes, %.0f events/s delivered%n", watcherCount, changes,
+                    (double) latencies.length / elapsed * 1e9);
+            System.out.printf("%-10s %10s %10s %10s %10s%n", "ms", "p50", "p95", "p99", "max");
+            System.out.printf("%-10s %10.2f %10.2f %10.2f %10.2f%n", "latency", percentile(latencies, 50),
+                    percentile(latencies, 95), percentile(latencies, 99), percentile(latencies, 100));
+            System.out.printf("%-10s %10.2f %10.2f %10.2f %10.2f%n", "fan-out", percentile(spreads, 50),
+                    percentile(spreads, 95), percentile(spreads, 99), percentile(spreads, 100));
+        } finally {
+            for (Socket watcher : watchers) {
+                watcher.close();
+            }
+        }
+    }
+
+    /**
+     * Opens a watch connection and starts a thread recording when each of its events arrives.
+     */
+    private Socket openWatcher(int index, long version) throws IOException {
+        Socket socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        JSONObject request = new JSONObject().put("action", "watch")
+                .put("topics", new JSONArray().put(TOPIC))
+                .put("versions", new JSONObject().put(TOPIC, version));
+        send(socket.getOutputStream(), request);
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        String ack = in.readLine();
+        if (ack == null || !"success".equals(new JSONObject(ack).optString("status"))) {
+            socket.close();
+            throw new IOException("Watch refused: " + ack);
+        }
+        Thread.ofVirtual().name("watcher-" + index).start(() -> {
+            try {
+                while (in.readLine() != null) {
+                    long receivedAt = System.nanoTime();
+                    Round current = round;
+                    current.receivedAt[index] = receivedAt;
+                    current.received.countDown();
+                }
+            } catch (IOException ignored) {
+                // Closed at the end of the run.
+            }
+        });
+        return socket;
+    }
+
+    /**
+     * Sends one request on a fresh connection and returns the response.
+     */
+    private JSONObject exchange(JSONObject request) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            send(socket.getOutputStream(), request);
+            String line = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8)).readLine();
+            JSONObject response = new JSONObject(line != null ? line : "{}");
+            if (!"success".equals(response.optString("status"))) {
+                throw new IOException(request.optString("action") + " failed: " + line);
+            }
+            return response;
+        }
+    }
+
+    private static void send(OutputStream out, JSONObject request) throws IOException {
+        out.write((request + "\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Returns a percentile of sorted nanosecond values in milliseconds.
+     */
+    private static double percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * One change and the times its event reached each watcher.
+     */
+    private static final class Round {
+        private final long[] receivedAt;
+        private final CountDownLatch received;
+        private volatile long sentAt;
+
+        Round(int watchers) {
+            this.receivedAt = new long[watchers];
+            this.received = new CountDownLatch(watchers);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.padelfrontend.server;
+
+import com.example.padelfrontend.json.Cbor;
+import com.example.padelfrontend.json.CborWriter;
+import com.example.padelfrontend.json.JsonReader;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * A Java stand-in for the C++ backend, for running and testing the frontend without it.
+ * <p>
+ * It speaks the same newline-delimited JSON protocol and serves the same actions from an
+ * in-memory copy of the backend's data files, and additionally supports the protocol extensions
+ * the client negotiates in its {@code hello} handshake:
+ * <ul>
+ *     <li>{@code keep_alive}: a connection stays open after a response and accepts further requests.</li>
+ *     <li>{@code pipelining}: requests carrying a {@code requestId} are handled concurrently and
+ *     answered in completion order, each response starting with the request's id.</li>
+ *     <li>{@code batch}: a {@code batch} request carries an array of {@code requests}, which are
+ *     handled in order and answered with an array of responses in {@code data}.</li>
+ *     <li>{@code cbor}: a request may be sent as a binary frame (the byte {@code 0xCB}, a four-byte
+ *     big-endian length and a CBOR map) instead of a JSON line, and is answered the same way.</li>
+ *     <li>{@code watch}: a {@code watch} request names catalog listings as {@code topics}, with the
+ *     {@code versions} the client has of them. The connection then stays open and the server pushes
+ *     a change event whenever one of them changes: the delta listing described below, with the
+ *     {@code topic} it belongs to and the {@code sinceVersion} it starts from.</li>
+ *     <li>{@code paged_history}: a {@code get_workout_history} request with a {@code limit} is
+ *     answered with at most that many entries, newest first, starting after the entry whose id is
+ *     {@code before} if it is given. The C++ server ignores both and sends the whole history,
+ *     oldest first.</li>
+ * </ul>
+ * Catalog listings ({@code get_padel_centers}, {@code get_classes} and {@code get_subscription_plans})
+ * carry a {@code version}. A listing request with a {@code sinceVersion} is answered with only the
+ * entities added or changed since then in {@code data} and the names of removed ones in
+ * {@code removed}. The C++ server ignores {@code sinceVersion} and always sends the full listing.
+ * <p>
+ * The stand-in also answers {@code get_availability}, which the C++ server does not know: given a
+ * {@code date}, it returns each center's {@code availableTimes} and {@code bookedTimes} on that date,
+ * with the {@code version} of the availability records. Those records, one per center and date with
+ * dated bookings, can be watched as the {@code get_availability} topic.
+ * <p>
+ * It is not part of the application. Run it from the test classpath with {@code mvn -pl padelfrontend
+ * test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.padelfrontend.server.LocalBackendServer -Dexec.args="[port] [filesDir]"};
+ * the defaults are 8080 and {@code padelbackend/files}.
+ */
+public class LocalBackendServer {
+
+    static final String REQUEST_ID = "requestId";
+    static final int PROTOCOL_VERSION = 1;
+    static final String[] CAPABILITIES = {"keep_alive", "pipelining", "batch", "cbor", "watch", "paged_history"};
+    static final int FRAME_MARKER = 0xCB;
+    static final int MAX_FRAME_LENGTH = 64 * 1024 * 1024;
+    /** Queued on a watch connection when the client has gone; not a valid topic. */
+    private static final String CLOSED = "";
+
+    private final int port;
+    private final LocalBackendStore store;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private volatile ServerSocket serverSocket;
+
+    public LocalBackendServer(int port, Path filesDir) throws IOException {
+        this.port = port;
+        this.store = new LocalBackendStore(filesDir);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : Integer.getInteger("padel.backend.port", 8080);
+        Path filesDir = Path.of(args.length > 1 ? args[1] : "padelbackend/files");
+        new LocalBackendServer(port, filesDir).run();
+    }
+
+    /**
+     * Accepts connections until {@link #stop()} is called, serving each on its own virtual thread.
+     */
+    public void run() throws IOException {
+        try (ServerSocket listening = new ServerSocket(port)) {
+            serverSocket = listening;
+            System.out.println("Local backend server is running on port " + listening.getLocalPort() + "...");
+            while (!listening.isClosed()) {
+                Socket client;
+                try {
+                    client = listening.accept();
+                } catch (IOException e) {
+                    if (listening.isClosed()) {
+                        break;
+                    }
+                    System.err.println("Client connection failed: " + e.getMessage());
+                    continue;
+                }
+                workers.submit(() -> serve(client));
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    public void stop() {
+        ServerSocket listening = serverSocket;
+        if (listening != null) {
+            try {
+                listening.close();
+            } catch (IOException ignored) {
+                // Already closed.
+            }
+        }
+    }
+
+    /**
+     * Reads requests until the client closes the connection. One-shot clients simply close
+     * after the first response, so the same loop serves both modes. Each request is a JSON line
+     * or a binary frame, told apart by its first byte, and is answered in the same encoding.
+     */
+    private void serve(Socket socket) {
+        try (socket;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            socket.setTcpNoDelay(true);
+            while (true) {
+                in.mark(1);
+                int first = in.read();
+                if (first < 0) {
+                    break;
+                }
+                boolean binary = first == FRAME_MARKER;
+                String text;
+                if (binary) {
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_FRAME_LENGTH) {
+                        throw new IOException("Invalid frame length " + length);
+                    }
+                    byte[] payload = new byte[length];
+                    in.readFully(payload);
+                    try {
+                        text = Cbor.toJson(payload);
+                    } catch (JSONException e) {
+                        write(out, null, LocalBackendStore.error("Invalid CBOR").toString(), true);
+                        continue;
+                    }
+                } else {
+                    in.reset();
+                    text = readLine(in);
+                    if (text == null) {
+                        break;
+                    }
+                    if (text.isBlank()) {
+                        continue;
+                    }
+                }
+                JSONObject request;
+                try {
+                    request = new JSONObject(text);
+                } catch (JSONException e) {
+                    write(out, null, LocalBackendStore.error("Invalid JSON").toString(), binary);
+                    continue;
+                }
+
+                if ("watch".equals(request.optString("action"))) {
+                    watch(request, in, out, binary);
+                    break;
+                }
+                Object requestId = request.remove(REQUEST_ID);
+                if (requestId != null) {
+                    workers.submit(() -> {
+                        try {
+                            write(out, requestId, handle(request), binary);
+                        } catch (IOException e) {
+                            System.err.println("Failed to send pipelined response: " + e.getMessage());
+                        }
+                    });
+                } else {
+                    write(out, null, handle(request), binary);
+                }
+            }
+        } catch (EOFException e) {
+            System.err.println("Client closed the connection in the middle of a request");
+        } catch (IOException e) {
+            System.err.println("Client connection error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serves a {@code watch} request, which takes over the connection: after the acknowledgement,
+     * every change to a watched catalog is pushed as an event until the client closes it. Events
+     * are deltas against the last version the client has, starting from the {@code versions} it
+     * sent, so one event is sent at once for each topic the client is behind on, and changes made
+     * while an event is being written are coalesced into the next one.
+     */
+    private void watch(JSONObject request, InputStream in, OutputStream out, boolean binary) throws IOException {
+        JSONArray topics = request.optJSONArray("topics", new JSONArray());
+        JSONObject versions = request.optJSONObject("versions", new JSONObject());
+        Map<String, Long> sent = new LinkedHashMap<>();
+        for (int i = 0; i < topics.length(); i++) {
+            String topic = topics.optString(i);
+            if (!store.hasTopic(topic)) {
+                write(out, null, LocalBackendStore.error("Unknown topic: " + topic).toString(), binary);
+                return;
+            }
+            sent.put(topic, versions.optLong(topic, -1));
+        }
+
+        BlockingQueue<String> pending = new LinkedBlockingQueue<>(sent.keySet());
+        Set<String> watched = Set.copyOf(sent.keySet());
+        Consumer<String> listener = topic -> {
+            if (watched.contains(topic)) {
+                pending.offer(topic);
+            }
+        };
+        store.addChangeListener(listener);
+        // The client sends nothing more, so the end of its stream is the signal to stop.
+        workers.submit(() -> {
+            try {
+                while (in.read() >= 0) {
+                    // Ignore anything sent after the watch request.
+                }
+            } catch (IOException ignored) {
+                // Treated as the client going away.
+            }
+            pending.offer(CLOSED);
+        });
+        try {
+            write(out, null, LocalBackendStore.success("Watching", null).toString(), binary);
+            while (true) {
+                String topic = pending.take();
+                if (topic.equals(CLOSED)) {
+                    break;
+                }
+                long since = sent.get(topic);
+                LocalBackendStore.ChangeEvent event = store.changes(topic, since);
+                if (event.version() != since) {
+                    write(out, null, event.json(), binary);
+                    sent.put(topic, event.version());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            store.removeChangeListener(listener);
+        }
+    }
+
+    /**
+     * Reads a line as UTF-8, without its terminator, or returns null at the end of the stream.
+     */
+    private static String readLine(DataInputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        int b;
+        while ((b = in.read()) >= 0 && b != '\n') {
+            line.write(b);
+        }
+        if (b < 0 && line.size() == 0) {
+            return null;
+        }
+        return line.toString(StandardCharsets.UTF_8).stripTrailing();
+    }
+
+    private String handle(JSONObject request) {
+        if ("hello".equals(request.optString("action"))) {
+            return LocalBackendStore.success("Hello", new JSONObject()
+                    .put("protocol", PROTOCOL_VERSION)
+                    .put("server", "local")
+                    .put("capabilities", new JSONArray(CAPABILITIES))).toString();
+        }
+        if ("batch".equals(request.optString("action"))) {
+            return handleBatch(request.optJSONArray("requests", new JSONArray()));
+        }
+        try {
+            return store.handle(request);
+        } catch (RuntimeException e) {
+            System.err.println("General Error: " + e.getMessage());
+            return LocalBackendStore.error("Server error").toString();
+        }
+    }
+
+    /**
+     * Handles the requests of a batch in order. Responses are already serialized by the store,
+     * so the envelope is assembled as text rather than parsed and serialized again.
+     */
+    private String handleBatch(JSONArray requests) {
+        StringBuilder responses = new StringBuilder();
+        for (int i = 0; i < requests.length(); i++) {
+            if (i > 0) {
+                responses.append(',');
+            }
+            JSONObject request = requests.optJSONObject(i);
+            String action = request != null ? request.optString("action") : "";
+            if (request == null || "batch".equals(action) || "hello".equals(action)) {
+                responses.append(LocalBackendStore.error("Invalid batch entry"));
+            } else {
+                responses.append(handle(request));
+            }
+        }
+        return "{\"status\":\"success\",\"data\":[" + responses + "]}";
+    }
+
+    /**
+     * Writes one response as a line or, for a binary request, a frame. A pipelined response carries
+     * its {@code requestId} as the first member so a client can route it before parsing the rest.
+     */
+    private static void write(OutputStream out, Object requestId, String response, boolean binary) throws IOException {
+        byte[] message;
+        if (binary) {
+            CborWriter writer = new CborWriter(response.length());
+            JsonReader reader = new JsonReader(response);
+            reader.beginObject();
+            writer.beginObject();
+            if (requestId != null) {
+                writer.name(REQUEST_ID);
+                if (requestId instanceof Number number) {
+                    writer.value(number.longValue());
+                } else {
+                    writer.value(requestId.toString());
+                }
+            }
+            while (reader.hasNext()) {
+                writer.name(reader.nextName());
+                Cbor.copy(reader, writer);
+            }
+            reader.endObject();
+            writer.endObject();
+            message = frame(writer.toByteArray());
+        } else {
+            String line = response;
+            if (requestId != null) {
+                String id = JSONObject.valueToString(requestId);
+                line = "{\"" + REQUEST_ID + "\":" + id + (response.length() > 2 ? "," + response.substring(1) : "}");
+            }
+            message = (line + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+        synchronized (out) {
+            out.write(message);
+            out.flush();
+        }
+    }
+
+    private static byte[] frame(byte[] payload) {
+        byte[] frame = new byte[5 + payload.length];
+        frame[0] = (byte) FRAME_MARKER;
+        for (int i = 0; i < 4; i++) {
+            frame[1 + i] = (byte) (payload.length >>> (24 - 8 * i));
+        }
+        System.arraycopy(payload, 0, frame, 5, payload.length);
+        return frame;
+    }
+}
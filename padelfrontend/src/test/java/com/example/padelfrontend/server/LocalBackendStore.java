@@ -0,0 +1,923 @@
+package com.example.padelfrontend.server;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-memory copy of the backend's JSON files with the request handlers of {@code server.cpp}.
+ * <p>
+ * Data is loaded once from the backend's {@code files} directory and never written back, so the
+ * stand-in can be used against the checked-in data without changing it. Handlers return the same
+ * response shapes and messages as the C++ server; validation is trimmed to what the frontend
+ * actually sends. The catalog listings are additionally versioned; see {@link VersionedCatalog}.
+ * <p>
+ * Unlike the C++ server, which keeps one set of booked slots per center whatever the date, the
+ * stand-in records bookings per date and answers {@code get_availability} for a date. Bookings in
+ * the data files carry no date and count on every date.
+ */
+final class LocalBackendStore {
+
+    private static final DateTimeFormatter SUBSCRIPTION_DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter WORKOUT_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** Actions that never change the data, after which there are no changes to look for. */
+    private static final Set<String> QUERIES = Set.of("login", "forgotPassword", "get_padel_centers", "get_availability",
+            "get_classes", "get_workout_history", "get_subscription_plans", "get_active_subscriptions", "check_member");
+
+    private final JSONArray users;
+    private final JSONArray staff;
+    private final JSONArray members;
+    private final JSONArray gymClasses;
+    private final JSONArray padelCenters;
+    private final JSONArray plans;
+    private final JSONArray activeSubscriptions;
+    /** Dated bookings as {@code name}, {@code date} and {@code bookedTimes}, by center name and date. */
+    private final Map<String, JSONObject> datedBookings = new LinkedHashMap<>();
+    /** The availability on each date with dated bookings, rebuilt from them after every change. */
+    private final JSONArray availability = new JSONArray();
+    /** Versioned catalogs by the action that lists them, which is also their topic on a watch connection. */
+    private final Map<String, VersionedCatalog> catalogs = new LinkedHashMap<>();
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    LocalBackendStore(Path filesDir) throws IOException {
+        users = load(filesDir, "data.json");
+        staff = load(filesDir, "staff.json");
+        members = load(filesDir, "members.json");
+        gymClasses = load(filesDir, "gym-classes.json");
+        padelCenters = load(filesDir, "padel-classes.json");
+        plans = load(filesDir, "subscriptions.json");
+        activeSubscriptions = load(filesDir, "active-subscriptions.json");
+        catalogs.put("get_padel_centers", new VersionedCatalog(padelCenters));
+        catalogs.put("get_classes", new VersionedCatalog(gymClasses));
+        catalogs.put("get_subscription_plans", new VersionedCatalog(plans));
+        catalogs.put("get_availability", new VersionedCatalog(availability, LocalBackendStore::availabilityKey));
+    }
+
+    private static JSONArray load(Path filesDir, String fileName) throws IOException {
+        Path file = filesDir.resolve(fileName);
+        if (!Files.exists(file)) {
+            return new JSONArray();
+        }
+        return new JSONArray(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Handles a request and returns the serialized response. The response is serialized under
+     * the store's lock because handlers may return live arrays that later requests mutate.
+     */
+    synchronized String handle(JSONObject request) {
+        String response = process(request).toString();
+        if (!QUERIES.contains(request.optString("action"))) {
+            rebuildAvailability();
+            for (Map.Entry<String, VersionedCatalog> catalog : catalogs.entrySet()) {
+                if (catalog.getValue().update()) {
+                    for (Consumer<String> listener : changeListeners) {
+                        listener.accept(catalog.getKey());
+                    }
+                }
+            }
+        }
+        return response;
+    }
+
+    boolean hasTopic(String topic) {
+        return catalogs.containsKey(topic);
+    }
+
+    /**
+     * Registers a listener told the topic of each catalog that a request changed. It is called
+     * under the store's lock, so it must only note the topic and return.
+     */
+    void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    void removeChangeListener(Consumer<String> listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Returns the change event for a topic: the listing response for {@code sinceVersion}, naming
+     * its topic and, when it is a delta, the version it starts from.
+     */
+    synchronized ChangeEvent changes(String topic, long sinceVersion) {
+        VersionedCatalog catalog = catalogs.get(topic);
+        JSONObject event = catalog.read(sinceVersion).put("topic", topic);
+        if (event.has("removed")) {
+            event.put("sinceVersion", sinceVersion);
+        }
+        return new ChangeEvent(catalog.version(), event.toString());
+    }
+
+    /**
+     * A serialized change event and the catalog version it brings a watcher up to.
+     */
+    record ChangeEvent(long version, String json) {
+    }
+
+    /**
+     * Routes a request to its handler by action, as {@code processRequest} does in the C++ server.
+     */
+    private JSONObject process(JSONObject request) {
+        String action = request.optString("action", "");
+        JSONObject data = request.optJSONObject("data", new JSONObject());
+        return switch (action) {
+            case "login" -> login(request);
+            case "signup" -> signup(request);
+            case "forgotPassword" -> forgotPassword(request);
+            case "update_user_info" -> updateUserInfo(request);
+            case "get_padel_centers", "get_classes", "get_subscription_plans" ->
+                    catalogs.get(action).read(request.optLong("sinceVersion", -1));
+            case "get_availability" -> getAvailability(request.optString("date"));
+            case "save_padel_center" -> savePadelCenter(data);
+            case "update_padel_center" -> updatePadelCenter(request);
+            case "delete_padel_center" -> deleteMatching(padelCenters, data, "Padel center deleted");
+            case "book_padel_court" -> bookPadelCourt(data);
+            case "cancel_padel_booking" -> cancelPadelBooking(data);
+            case "save_gym_class" -> saveGymClass(data);
+            case "update_gym_class" -> updateGymClass(request);
+            case "delete_gym_class" -> deleteMatching(gymClasses, data, "Gym class deleted");
+            case "book_gym_class" -> bookGymClass(data);
+            case "cancel_gym_class" -> cancelGymClass(data);
+            case "get_workout_history" -> getWorkoutHistory(request.optString("memberId"),
+                    request.optInt("limit"), request.optString("before"));
+            case "clear_workout_history" -> clearWorkoutHistory(request.optString("memberId"));
+            case "get_active_subscriptions" -> getActiveSubscriptions(request.optString("memberId"));
+            case "check_member" -> checkMember(data);
+            case "add_member" -> addMember(data);
+            case "subscribe" -> subscribe(data);
+            case "renew_subscription" -> renewSubscription(data);
+            case "cancel_membership" -> cancelMembership(data.optString("memberId"));
+            default -> error("Unknown action: " + action);
+        };
+    }
+
+    // ----------------------- Accounts -----------------------
+
+    private JSONObject login(JSONObject request) {
+        String username = request.optString("username");
+        String password = request.optString("password");
+        if (username.isEmpty() || password.isEmpty()) {
+            return error("Username and password are required");
+        }
+        for (int i = 0; i < users.length(); i++) {
+            JSONObject user = users.getJSONObject(i);
+            if (username.equals(user.optString("username")) && password.equals(user.optString("password"))) {
+                return success("Login successful", new JSONObject()
+                        .put("username", user.optString("username"))
+                        .put("memberId", user.optString("memberId"))
+                        .put("firstName", user.optString("firstName"))
+                        .put("lastName", user.optString("lastName"))
+                        .put("role", "user")
+                        .put("phoneNumber", user.optString("phoneNumber"))
+                        .put("email", user.optString("email")));
+            }
+        }
+        for (int i = 0; i < staff.length(); i++) {
+            JSONObject member = staff.getJSONObject(i);
+            if (username.equals(member.optString("username")) && password.equals(member.optString("password"))
+                    && "manager".equals(member.optString("role"))) {
+                return success("Login successful", new JSONObject()
+                        .put("username", username).put("memberId", "").put("firstName", "").put("lastName", "")
+                        .put("role", "manager").put("phoneNumber", "").put("email", ""));
+            }
+        }
+        return error("Invalid username or password");
+    }
+
+    private JSONObject signup(JSONObject request) {
+        String username = request.optString("username");
+        if (request.optString("firstName").isEmpty() || request.optString("lastName").isEmpty()
+                || username.isEmpty() || request.optString("password").isEmpty()) {
+            return error("First name, last name, username, phone and password are required");
+        }
+        if (findByField(users, "username", username) != null) {
+            return error("Username already exists");
+        }
+        String memberId;
+        do {
+            memberId = "MEM" + (100000 + (int) (Math.random() * 900000));
+        } while (findByField(users, "memberId", memberId) != null);
+
+        users.put(new JSONObject()
+                .put("firstName", request.optString("firstName"))
+                .put("lastName", request.optString("lastName"))
+                .put("email", "")
+                .put("phoneNumber", request.optString("phoneNumber"))
+                .put("username", username)
+                .put("password", request.optString("password"))
+                .put("role", request.optString("role", "user"))
+                .put("memberId", memberId)
+                .put("bookingCount", 0)
+                .put("isVIP", false));
+        return success("User registered successfully", new JSONObject().put("memberId", memberId));
+    }
+
+    private JSONObject forgotPassword(JSONObject request) {
+        String username = request.optString("username");
+        if (username.isEmpty()) {
+            return error("Username is required");
+        }
+        JSONObject user = findByField(users, "username", username);
+        if (user == null) {
+            return error("Username not found");
+        }
+        return new JSONObject()
+                .put("status", "success")
+                .put("message", "Password recovered successfully")
+                .put("password", user.optString("password"));
+    }
+
+    private JSONObject updateUserInfo(JSONObject request) {
+        String memberId = request.optString("memberId");
+        if (memberId.isEmpty()) {
+            return error("memberId is required");
+        }
+        JSONObject user = findByField(users, "memberId", memberId);
+        if (user == null) {
+            return error("User with memberId " + memberId + " not found");
+        }
+        JSONObject updated = new JSONObject().put("memberId", memberId);
+        for (String field : new String[]{"firstName", "lastName", "email", "phoneNumber", "username"}) {
+            user.put(field, request.optString(field));
+            updated.put(field, request.optString(field));
+        }
+        return success("User information updated successfully", updated);
+    }
+
+    // ----------------------- Padel Centers -----------------------
+
+    private JSONObject savePadelCenter(JSONObject data) {
+        JSONObject center = padelCenterFromForm(data);
+        if (center == null) {
+            return error("Name, available times, image and location are required");
+        }
+        padelCenters.put(center);
+        return success("Padel center saved", center);
+    }
+
+    private JSONObject updatePadelCenter(JSONObject request) {
+        JSONObject center = padelCenterFromForm(request.optJSONObject("newData", new JSONObject()));
+        if (center == null) {
+            return error("Name, available times, image and location are required");
+        }
+        int index = indexOfSimilar(padelCenters, request.optJSONObject("oldData"));
+        if (index < 0) {
+            return error("Padel center to update not found");
+        }
+        padelCenters.remove(index);
+        padelCenters.put(center);
+        return success("Padel center updated", center);
+    }
+
+    private static JSONObject padelCenterFromForm(JSONObject form) {
+        String times = form.optString("times");
+        if (form.optString("name").isEmpty() || times.isEmpty()
+                || form.optString("image").isEmpty() || form.optString("location").isEmpty()) {
+            return null;
+        }
+        JSONObject center = new JSONObject(form, JSONObject.getNames(form));
+        center.remove("times");
+        JSONArray availableTimes = new JSONArray();
+        for (String time : times.split(",")) {
+            if (!time.isBlank()) {
+                availableTimes.put(time.trim());
+            }
+        }
+        center.put("availableTimes", availableTimes);
+        return center;
+    }
+
+    private JSONObject bookPadelCourt(JSONObject data) {
+        String courtName = data.optString("courtName");
+        String time = data.optString("time");
+        String memberId = data.optString("memberId");
+        if (courtName.isEmpty() || time.isEmpty() || memberId.isEmpty()
+                || data.optString("memberName").isEmpty() || data.optString("date").isEmpty()) {
+            return error("Missing required fields");
+        }
+        JSONObject center = findByField(padelCenters, "name", courtName);
+        if (center == null) {
+            return error("Court with name " + courtName + " not found");
+        }
+        String date = data.optString("date");
+        JSONObject slots = availabilityOn(center, date);
+        if (indexOfString(slots.getJSONArray("availableTimes"), time) < 0) {
+            return error("Time slot not available or already booked");
+        }
+        datedBookings.computeIfAbsent(availabilityKey(slots), key -> new JSONObject()
+                        .put("name", courtName).put("date", date).put("bookedTimes", new JSONObject()))
+                .getJSONObject("bookedTimes").put(time, memberId);
+
+        JSONObject user = findByField(users, "memberId", memberId);
+        if (user != null) {
+            int bookings = user.optInt("bookingCount") + 1;
+            user.put("bookingCount", bookings);
+            user.put("isVIP", bookings >= 5);
+        }
+        return success("Court booked successfully", null);
+    }
+
+    private JSONObject cancelPadelBooking(JSONObject data) {
+        String courtName = data.optString("courtName");
+        String time = data.optString("time");
+        String memberId = data.optString("memberId");
+        if (courtName.isEmpty() || time.isEmpty() || memberId.isEmpty()) {
+            return error("courtName, time, and memberId are required");
+        }
+        if (findByField(users, "memberId", memberId) == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        JSONObject center = findByField(padelCenters, "name", courtName);
+        if (center == null) {
+            return error("Court with name " + courtName + " not found");
+        }
+        JSONObject dated = datedBookings.get(courtName + "@" + data.optString("date"));
+        JSONObject bookedTimes = center.optJSONObject("bookedTimes");
+        if (dated != null && memberId.equals(dated.getJSONObject("bookedTimes").optString(time, null))) {
+            dated.getJSONObject("bookedTimes").remove(time);
+        } else if (bookedTimes != null && memberId.equals(bookedTimes.optString(time, null))) {
+            // A booking from the data files, which holds the slot on every date.
+            bookedTimes.remove(time);
+            if (bookedTimes.isEmpty()) {
+                center.remove("bookedTimes");
+            }
+            center.getJSONArray("availableTimes").put(time);
+        } else {
+            return error("Time slot " + time + " not booked by memberId " + memberId);
+        }
+        return success("Padel court booking canceled successfully", new JSONObject()
+                .put("courtName", courtName).put("time", time).put("memberId", memberId));
+    }
+
+    // ----------------------- Availability -----------------------
+
+    /**
+     * Returns the slots of every center on a date, with the current version of the availability
+     * records so a client can watch them from there.
+     */
+    private JSONObject getAvailability(String date) {
+        if (date.isEmpty()) {
+            return error("date is required");
+        }
+        JSONArray result = new JSONArray();
+        for (int i = 0; i < padelCenters.length(); i++) {
+            result.put(availabilityOn(padelCenters.getJSONObject(i), date));
+        }
+        return success(null, result).put("version", catalogs.get("get_availability").version());
+    }
+
+    /**
+     * Returns a center's slots on a date: its available times less those booked for the date, and
+     * its undated bookings plus the dated ones.
+     */
+    private JSONObject availabilityOn(JSONObject center, String date) {
+        String name = center.optString("name");
+        JSONObject dated = datedBookings.get(name + "@" + date);
+        JSONObject bookedTimes = new JSONObject();
+        JSONObject undated = center.optJSONObject("bookedTimes");
+        if (undated != null) {
+            for (String time : undated.keySet()) {
+                bookedTimes.put(time, undated.get(time));
+            }
+        }
+        JSONArray availableTimes = new JSONArray();
+        JSONArray times = center.optJSONArray("availableTimes", new JSONArray());
+        for (int i = 0; i < times.length(); i++) {
+            String time = times.optString(i);
+            if (dated != null && dated.getJSONObject("bookedTimes").has(time)) {
+                bookedTimes.put(time, dated.getJSONObject("bookedTimes").get(time));
+            } else {
+                availableTimes.put(time);
+            }
+        }
+        return new JSONObject().put("name", name).put("date", date)
+                .put("availableTimes", availableTimes).put("bookedTimes", bookedTimes);
+    }
+
+    /**
+     * Recomputes the availability on every date with dated bookings, so that changes to the
+     * bookings or to a center's times show up as changed records. Dates of deleted centers are dropped.
+     */
+    private void rebuildAvailability() {
+        availability.clear();
+        for (JSONObject dated : datedBookings.values()) {
+            JSONObject center = findByField(padelCenters, "name", dated.optString("name"));
+            if (center != null) {
+                availability.put(availabilityOn(center, dated.optString("date")));
+            }
+        }
+    }
+
+    private static String availabilityKey(JSONObject item) {
+        return item.optString("name") + "@" + item.optString("date");
+    }
+
+    // ----------------------- Gym Classes -----------------------
+
+    private JSONObject saveGymClass(JSONObject data) {
+        String name = data.optString("name");
+        if (name.isEmpty() || data.optString("instructor").isEmpty() || data.optString("time").isEmpty()
+                || data.optString("image").isEmpty() || data.optInt("capacity") <= 0) {
+            return error("Name, instructor, time, image and a positive capacity are required");
+        }
+        if (findByField(gymClasses, "name", name) != null) {
+            return error("Class with name " + name + " already exists");
+        }
+        JSONObject gymClass = gymClassFromForm(data, null);
+        gymClasses.put(gymClass);
+        return success("Gym class saved", gymClass);
+    }
+
+    private JSONObject updateGymClass(JSONObject request) {
+        JSONObject newData = request.optJSONObject("newData", new JSONObject());
+        if (newData.optString("name").isEmpty() || newData.optInt("capacity") <= 0) {
+            return error("Class name and a positive capacity are required");
+        }
+        JSONObject oldData = request.optJSONObject("oldData", new JSONObject());
+        JSONObject existing = findByField(gymClasses, "name", oldData.optString("name"));
+        if (existing == null) {
+            return error("Gym class to update not found");
+        }
+        JSONObject updated = gymClassFromForm(newData, existing);
+        for (String key : updated.keySet()) {
+            existing.put(key, updated.get(key));
+        }
+        return success("Gym class updated", existing);
+    }
+
+    private static JSONObject gymClassFromForm(JSONObject form, JSONObject existing) {
+        JSONArray participants = existing != null ? existing.getJSONArray("participants") : new JSONArray();
+        JSONArray waitlist = existing != null ? existing.getJSONArray("waitlist") : new JSONArray();
+        return new JSONObject()
+                .put("name", form.optString("name"))
+                .put("instructor", form.optString("instructor"))
+                .put("time", form.optString("time"))
+                .put("capacity", form.optInt("capacity"))
+                .put("imagePath", form.optString("image", form.optString("imagePath")))
+                .put("participants", participants)
+                .put("waitlist", waitlist)
+                .put("currentParticipants", participants.length())
+                .put("waitlistSize", waitlist.length());
+    }
+
+    private JSONObject bookGymClass(JSONObject data) {
+        String className = data.optString("className");
+        String memberId = data.optString("memberId");
+        if (className.isEmpty()) {
+            return error("className is required");
+        }
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        if (!member.optBoolean("isActive", true)) {
+            return error("Cannot book class for inactive member");
+        }
+        JSONObject gymClass = findByField(gymClasses, "name", className);
+        if (gymClass == null) {
+            return error("Gym class not found");
+        }
+
+        JSONArray participants = gymClass.getJSONArray("participants");
+        JSONArray waitlist = gymClass.getJSONArray("waitlist");
+        boolean booked;
+        if (indexOfString(participants, memberId) >= 0) {
+            booked = true;
+        } else if (participants.length() < gymClass.optInt("capacity")) {
+            int waiting = indexOfString(waitlist, memberId);
+            if (waiting >= 0) {
+                waitlist.remove(waiting);
+            }
+            participants.put(memberId);
+            booked = true;
+        } else {
+            if (indexOfString(waitlist, memberId) < 0) {
+                waitlist.put(memberId);
+            }
+            booked = false;
+        }
+        updateClassCounts(gymClass);
+
+        if (booked) {
+            addWorkout(member, className, gymClass.optString("instructor", "Unknown"));
+        }
+        return new JSONObject()
+                .put("status", "success")
+                .put("message", booked ? "Successfully booked class" : "Added to waitlist")
+                .put("waitlisted", !booked);
+    }
+
+    private JSONObject cancelGymClass(JSONObject data) {
+        String className = data.optString("className");
+        String memberId = data.optString("memberId");
+        if (className.isEmpty() || memberId.isEmpty()) {
+            return error("className and memberId are required");
+        }
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        JSONObject gymClass = findByField(gymClasses, "name", className);
+        if (gymClass == null) {
+            return error("Gym class not found");
+        }
+
+        JSONArray participants = gymClass.getJSONArray("participants");
+        JSONArray waitlist = gymClass.getJSONArray("waitlist");
+        String movedMemberId = "";
+        int participant = indexOfString(participants, memberId);
+        int waiting = indexOfString(waitlist, memberId);
+        if (participant >= 0) {
+            participants.remove(participant);
+            if (!waitlist.isEmpty()) {
+                movedMemberId = waitlist.getString(0);
+                waitlist.remove(0);
+                participants.put(movedMemberId);
+            }
+        } else if (waiting >= 0) {
+            waitlist.remove(waiting);
+        } else {
+            return error("Member not found in class or waitlist");
+        }
+        updateClassCounts(gymClass);
+
+        if (!movedMemberId.isEmpty()) {
+            JSONObject moved = findMember(movedMemberId);
+            if (moved != null) {
+                addWorkout(moved, className, gymClass.optString("instructor", "Unknown"));
+            }
+        }
+        return new JSONObject()
+                .put("status", "success")
+                .put("message", "Successfully canceled booking"
+                        + (movedMemberId.isEmpty() ? "" : " and moved member " + movedMemberId + " from waitlist"))
+                .put("movedMemberId", movedMemberId);
+    }
+
+    private static void updateClassCounts(JSONObject gymClass) {
+        gymClass.put("currentParticipants", gymClass.getJSONArray("participants").length());
+        gymClass.put("waitlistSize", gymClass.getJSONArray("waitlist").length());
+    }
+
+    // ----------------------- Workout History -----------------------
+
+    private void addWorkout(JSONObject member, String className, String instructor) {
+        JSONArray workouts = member.optJSONArray("workouts");
+        if (workouts == null) {
+            workouts = new JSONArray();
+            member.put("workouts", workouts);
+        }
+        // Ids are the time of the workout, kept unique as they are the cursor of a page of history.
+        long id = System.currentTimeMillis();
+        if (!workouts.isEmpty()) {
+            try {
+                id = Math.max(id, Long.parseLong(workouts.getJSONObject(workouts.length() - 1).optString("id")) + 1);
+            } catch (NumberFormatException ignored) {
+                // Not an id of ours; the time will do.
+            }
+        }
+        workouts.put(new JSONObject()
+                .put("id", String.valueOf(id))
+                .put("className", className)
+                .put("date", LocalDate.now().format(WORKOUT_DATE))
+                .put("instructor", instructor));
+    }
+
+    /**
+     * Returns a member's workouts, oldest first, or if {@code limit} is positive, a page of at most
+     * that many, newest first, of those older than the workout with id {@code before}, or of the
+     * newest if it is empty.
+     */
+    private JSONObject getWorkoutHistory(String memberId, int limit, String before) {
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        JSONArray workouts = member.optJSONArray("workouts", new JSONArray());
+        if (limit <= 0) {
+            return success(null, workouts);
+        }
+        int end = workouts.length();
+        if (!before.isEmpty()) {
+            end = 0;
+            for (int i = workouts.length() - 1; i >= 0; i--) {
+                if (before.equals(workouts.getJSONObject(i).optString("id"))) {
+                    end = i;
+                    break;
+                }
+            }
+        }
+        JSONArray page = new JSONArray();
+        for (int i = end - 1; i >= Math.max(0, end - limit); i--) {
+            page.put(workouts.get(i));
+        }
+        return success(null, page);
+    }
+
+    private JSONObject clearWorkoutHistory(String memberId) {
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        member.put("workouts", new JSONArray());
+        return success("Workout history cleared successfully", null);
+    }
+
+    // ----------------------- Subscriptions -----------------------
+
+    private JSONObject getActiveSubscriptions(String memberId) {
+        if (memberId.isEmpty()) {
+            return error("memberId is required");
+        }
+        JSONObject member = findMember(memberId);
+        String dob = member != null ? member.optString("dob") : "";
+        JSONArray result = new JSONArray();
+        for (int i = 0; i < activeSubscriptions.length(); i++) {
+            JSONObject subscription = activeSubscriptions.getJSONObject(i);
+            if (memberId.equals(subscription.optString("memberId")) && subscription.optBoolean("isActive", true)) {
+                JSONObject withDob = new JSONObject(subscription, JSONObject.getNames(subscription));
+                withDob.put("dob", dob);
+                withDob.put("startDate", subscription.optString("startDate", "N/A"));
+                withDob.put("expiryDate", subscription.optString("expiryDate", "N/A"));
+                result.put(withDob);
+            }
+        }
+        return success(null, result);
+    }
+
+    private JSONObject checkMember(JSONObject data) {
+        String memberId = data.optString("memberId");
+        String dob = data.optString("dob");
+        if (memberId.isEmpty()) {
+            return error("memberId required");
+        }
+        if (dob.isEmpty()) {
+            return error("dob required");
+        }
+        JSONObject member = findMember(memberId);
+        if (member == null || !dob.equals(member.optString("dob"))) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        return success("Member found", new JSONObject()
+                .put("memberId", memberId)
+                .put("isActive", member.optBoolean("isActive", false))
+                .put("dob", dob));
+    }
+
+    private JSONObject addMember(JSONObject data) {
+        String memberId = data.optString("memberId");
+        JSONObject user = findByField(users, "memberId", memberId);
+        if (user == null) {
+            return error("User with memberId " + memberId + " not found in user data");
+        }
+        JSONObject subscription = data.optJSONObject("subscription");
+        if (subscription == null) {
+            return error("Subscription must be an object with planName, duration, and price");
+        }
+        String planName = subscription.optString("planName");
+        String duration = subscription.optString("duration");
+        double price = planPrice(planName, duration);
+        if (price < 0) {
+            return error("Plan '" + planName + "' or duration '" + duration + "' not found");
+        }
+
+        String[] name = data.optString("name").split(" ", 2);
+        int existing = indexOfMember(memberId);
+        if (existing >= 0) {
+            members.remove(existing);
+        }
+        members.put(new JSONObject()
+                .put("id", memberId)
+                .put("firstName", name[0])
+                .put("lastName", name.length > 1 ? name[1] : "")
+                .put("email", user.optString("email"))
+                .put("username", user.optString("username"))
+                .put("phoneNumber", data.optString("phoneNumber"))
+                .put("dob", data.optString("dob"))
+                .put("subscription", new JSONObject()
+                        .put("planName", planName).put("duration", duration).put("price", price))
+                .put("isActive", true)
+                .put("workouts", new JSONArray()));
+        return success("Member added successfully", null);
+    }
+
+    private JSONObject subscribe(JSONObject data) {
+        String memberId = data.optString("memberId");
+        String planName = data.optString("planName");
+        String duration = data.optString("duration");
+        if (planName.isEmpty() || duration.isEmpty()) {
+            return error("planName and duration are required");
+        }
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        if (!member.optBoolean("isActive", true)) {
+            return error("Cannot subscribe: member is inactive");
+        }
+        double price = planPrice(planName, duration);
+        if (price < 0) {
+            return error("Invalid duration '" + duration + "' for plan '" + planName + "'");
+        }
+        startSubscription(member, memberId, planName, duration, price);
+        return success("Subscribed successfully", null);
+    }
+
+    private JSONObject renewSubscription(JSONObject data) {
+        String memberId = data.optString("memberId");
+        String planName = data.optString("planName");
+        String duration = data.optString("duration");
+        if (memberId.isEmpty() || planName.isEmpty() || duration.isEmpty()) {
+            return error("memberId, planName, and duration are required");
+        }
+        double price = planPrice(planName, duration);
+        if (price < 0) {
+            return error("Invalid plan or duration");
+        }
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member not found");
+        }
+        member.put("isActive", true);
+        boolean hadPrevious = findByField(activeSubscriptions, "memberId", memberId) != null;
+        JSONObject subscription = startSubscription(member, memberId, planName, duration, price);
+        return success(hadPrevious ? "Subscription renewed successfully" : "New subscription created successfully",
+                subscription);
+    }
+
+    private JSONObject cancelMembership(String memberId) {
+        JSONObject member = findMember(memberId);
+        if (member == null) {
+            return error("Member with memberId " + memberId + " not found");
+        }
+        member.put("isActive", false);
+        member.put("workouts", new JSONArray());
+        removeByField(activeSubscriptions, "memberId", memberId);
+        for (int i = 0; i < plans.length(); i++) {
+            JSONArray subscribers = plans.getJSONObject(i).optJSONArray("subscribers");
+            int index = subscribers != null ? indexOfString(subscribers, memberId) : -1;
+            if (index >= 0) {
+                subscribers.remove(index);
+            }
+        }
+        return success("Membership canceled successfully", null);
+    }
+
+    /**
+     * Records a new active subscription for the member, replacing any previous one.
+     * Durations are counted in 30-day months, as in {@code SubscriptionManager.cpp}.
+     */
+    private JSONObject startSubscription(JSONObject member, String memberId, String planName,
+                                         String duration, double price) {
+        member.put("subscription", new JSONObject()
+                .put("planName", planName).put("duration", duration).put("price", price));
+
+        for (int i = 0; i < plans.length(); i++) {
+            JSONObject plan = plans.getJSONObject(i);
+            JSONArray subscribers = plan.optJSONArray("subscribers");
+            if (subscribers == null) {
+                subscribers = new JSONArray();
+                plan.put("subscribers", subscribers);
+            }
+            int index = indexOfString(subscribers, memberId);
+            if (planName.equals(plan.optString("name"))) {
+                if (index < 0) {
+                    subscribers.put(memberId);
+                }
+            } else if (index >= 0) {
+                subscribers.remove(index);
+            }
+        }
+
+        LocalDate start = LocalDate.now();
+        JSONObject subscription = new JSONObject()
+                .put("memberId", memberId)
+                .put("planName", planName)
+                .put("duration", duration)
+                .put("price", price)
+                .put("startDate", start.format(SUBSCRIPTION_DATE))
+                .put("expiryDate", start.plusDays(30L * durationToMonths(duration)).format(SUBSCRIPTION_DATE))
+                .put("isActive", true)
+                .put("history", new JSONArray())
+                .put("dob", member.optString("dob"));
+        removeByField(activeSubscriptions, "memberId", memberId);
+        activeSubscriptions.put(subscription);
+        return subscription;
+    }
+
+    private static int durationToMonths(String duration) {
+        return switch (duration) {
+            case "3_months" -> 3;
+            case "6_months" -> 6;
+            case "1_year" -> 12;
+            default -> 1;
+        };
+    }
+
+    private double planPrice(String planName, String duration) {
+        JSONObject plan = findByField(plans, "name", planName);
+        if (plan == null) {
+            return -1;
+        }
+        JSONObject pricing = plan.optJSONObject("pricing");
+        return pricing != null && pricing.has(duration) ? pricing.getDouble(duration) : -1;
+    }
+
+    // ----------------------- Helpers -----------------------
+
+    /**
+     * Members are keyed by {@code id} in members.json, or by {@code memberId} in older entries.
+     */
+    private JSONObject findMember(String memberId) {
+        int index = indexOfMember(memberId);
+        return index >= 0 ? members.getJSONObject(index) : null;
+    }
+
+    private int indexOfMember(String memberId) {
+        for (int i = 0; i < members.length(); i++) {
+            JSONObject member = members.getJSONObject(i);
+            if (memberId.equals(member.optString("id", member.optString("memberId")))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static JSONObject findByField(JSONArray array, String field, String value) {
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject item = array.getJSONObject(i);
+            if (value.equals(item.optString(field, null))) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    private static void removeByField(JSONArray array, String field, String value) {
+        for (int i = array.length() - 1; i >= 0; i--) {
+            if (value.equals(array.getJSONObject(i).optString(field, null))) {
+                array.remove(i);
+            }
+        }
+    }
+
+    private static int indexOfString(JSONArray array, String value) {
+        for (int i = 0; i < array.length(); i++) {
+            if (value.equals(array.optString(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOfSimilar(JSONArray array, JSONObject item) {
+        if (item == null) {
+            return -1;
+        }
+        for (int i = 0; i < array.length(); i++) {
+            if (array.getJSONObject(i).similar(item)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Deletes the entry equal to the given one; like the C++ server this succeeds even when nothing matched.
+     */
+    private static JSONObject deleteMatching(JSONArray array, JSONObject item, String message) {
+        int index = indexOfSimilar(array, item);
+        if (index >= 0) {
+            array.remove(index);
+        }
+        return success(message, null);
+    }
+
+    static JSONObject success(String message, Object data) {
+        JSONObject response = new JSONObject().put("status", "success");
+        if (message != null) {
+            response.put("message", message);
+        }
+        if (data != null) {
+            response.put("data", data);
+        }
+        return response;
+    }
+
+    static JSONObject error(String message) {
+        return new JSONObject().put("status", "error").put("message", message);
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.padelfrontend.server;
+
+import com.example.padelfrontend.Response;
+import com.example.padelfrontend.SlotSearch;
+import com.example.padelfrontend.model.Availability;
+import com.example.padelfrontend.model.DaySlots;
+import com.example.padelfrontend.model.PadelCenter;
+import com.example.padelfrontend.model.SlotSet;
+import com.example.padelfrontend.model.TimeSlot;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares the slot queries of the booking page on slot strings, as the cards used to make them,
+ * with the same queries on parsed {@link DaySlots}.
+ * <p>
+ * The padel centers are taken from a {@link LocalBackendStore}; passing a number of copies repeats
+ * them that many times. The queries are the ones a card makes, which are finding the slots the
+ * member with the most bookings booked and listing the free slots that are not pending, then
+ * checking whether each slot of the day is free, and the slots free at every center; and the
+ * search for the {@value #MATCHES} free courts nearest to {@value #SEARCHED_TIME}. The string
+ * path keeps the slots as text and compares them with {@code equals}, as the cards did, and lists
+ * the free slots in the order the server sent them rather than chronologically; it searches by
+ * parsing every free slot of every center and sorting them by distance. The bit path parses each
+ * center once, which is reported as ingest, answers from {@link SlotSet}s and searches a
+ * {@link SlotSearch}. The report gives the mean time of each query over all centers.
+ * <p>
+ * It is not part of the application. Run it from the test classpath with
+ * {@code mvn -pl padelfrontend test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.padelfrontend.server.SlotBenchmark -Dexec.args="[filesDir] [copies]"};
+ * the defaults are {@code padelbackend/files} and 1.
+ */
+public final class SlotBenchmark {
+
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 500_000_000L;
+    private static final String SEARCHED_TIME = "07:00 PM";
+    private static final int MATCHES = 20;
+
+    /** Consumes results so the JIT cannot drop the measured work. */
+    private static volatile int sink;
+
+    public static void main(String[] args) throws IOException {
+        Path filesDir = Path.of(args.length > 0 ? args[0] : "padelbackend/files");
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        LocalBackendStore store = new LocalBackendStore(filesDir);
+        List<PadelCenter> original = Response.parse(store.handle(new JSONObject().put("action", "get_padel_centers")))
+                .getDataList(PadelCenter.CODEC);
+        List<Availability> centers = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            for (PadelCenter center : original) {
+                centers.add(Availability.of(center, "01-01-2026"));
+            }
+        }
+        String memberId = busiestMember(centers);
+        List<DaySlots> parsed = new ArrayList<>();
+        for (Availability center : centers) {
+            parsed.add(DaySlots.of(center));
+        }
+        List<String> day = new ArrayList<>();
+        for (int i = 0; i < TimeSlot.SLOTS_PER_DAY; i++) {
+            day.add(TimeSlot.ofIndex(i).toString());
+        }
+
+        System.out.printf("%d centers, member %s%n", centers.size(), memberId);
+        System.out.printf("%-22s %12s %12s %8s%n", "query", "strings", "bits", "speedup");
+        report("ingest", Double.NaN, measure(() -> {
+            int n = 0;
+            for (Availability center : centers) {
+                n += DaySlots.of(center).available().size();
+            }
+            return n;
+        }));
+        Map<String, Boolean> pending = Map.of();
+        report("card slots", measure(() -> {
+            int n = 0;
+            for (Availability center : centers) {
+                n += center.timesBookedBy(memberId).size();
+                for (String time : center.availableTimes()) {
+                    if (!pending.containsKey(time)) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }), measure(() -> {
+            int n = 0;
+            for (DaySlots center : parsed) {
+                n += center.bookedBy(memberId).slots().size();
+                n += center.available().slots().size();
+            }
+            return n;
+        }));
+        report("free at each time", measure(() -> {
+            int n = 0;
+            for (Availability center : centers) {
+                for (String time : day) {
+                    if (center.availableTimes().contains(time)) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }), measure(() -> {
+            int n = 0;
+            for (DaySlots center : parsed) {
+                for (int i = 0; i < TimeSlot.SLOTS_PER_DAY; i++) {
+                    if (center.available().contains(TimeSlot.ofIndex(i))) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }));
+        report("free everywhere", measure(() -> {
+            List<String> common = new ArrayList<>(centers.get(0).availableTimes());
+            for (Availability center : centers) {
+                common.retainAll(center.availableTimes());
+            }
+            return common.size();
+        }), measure(() -> {
+            SlotSet common = parsed.get(0).available();
+            for (DaySlots center : parsed) {
+                common = common.and(center.available());
+            }
+            return common.size();
+        }));
+        TimeSlot searched = TimeSlot.parse(SEARCHED_TIME);
+        SlotSearch search = new SlotSearch();
+        for (int i = 0; i < parsed.size(); i++) {
+            search.put(parsed.get(i).name() + "#" + i, "Cairo", parsed.get(i).available());
+        }
+        report("free near " + SEARCHED_TIME, measure(() -> {
+            List<SlotSearch.Match> matches = new ArrayList<>();
+            for (Availability center : centers) {
+                for (String time : center.availableTimes()) {
+                    TimeSlot slot = TimeSlot.parse(time);
+                    matches.add(new SlotSearch.Match(center.name(), slot,
+                            Math.abs(slot.minuteOfDay() - searched.minuteOfDay())));
+                }
+            }
+            matches.sort(Comparator.comparingInt(SlotSearch.Match::minutesAway));
+            return matches.subList(0, Math.min(MATCHES, matches.size())).size();
+        }), measure(() -> search.search(searched, null, MATCHES).size()));
+        System.out.println("Times are microseconds for all centers.");
+    }
+
+    private static void report(String query, double strings, double bits) {
+        System.out.printf("%-22s %12.2f %12.2f %8s%n", query, strings, bits,
+                Double.isNaN(strings) ? "" : String.format("%.1fx", strings / bits));
+    }
+
+    /**
+     * Runs an operation repeatedly after a warm-up and returns its mean duration in microseconds.
+     */
+    private static double measure(IntSupplier operation) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            sink += operation.getAsInt();
+        }
+        long iterations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += operation.getAsInt();
+            iterations++;
+        } while ((elapsed = System.nanoTime() - start) < MEASURE_NANOS);
+        return elapsed / 1000.0 / iterations;
+    }
+
+    /**
+     * Returns the member holding the most bookings, so the booked-by query has results.
+     */
+    private static String busiestMember(List<Availability> centers) {
+        Map<String, Integer> bookings = new HashMap<>();
+        for (Availability center : centers) {
+            for (String memberId : center.bookedTimes().values()) {
+                bookings.merge(memberId, 1, Integer::sum);
+            }
+        }
+        String busiest = "";
+        int most = 0;
+        for (Map.Entry<String, Integer> entry : bookings.entrySet()) {
+            if (entry.getValue() > most) {
+                most = entry.getValue();
+                busiest = entry.getKey();
+            }
+        }
+        return busiest;
+    }
+}
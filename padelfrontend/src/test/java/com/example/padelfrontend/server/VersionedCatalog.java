@@ -0,0 +1,128 @@
+package com.example.padelfrontend.server;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Version history of one catalog array of a {@link LocalBackendStore}, used to answer a listing
+ * request carrying a {@code sinceVersion} with only the entities added, changed or removed since
+ * that version.
+ * <p>
+ * Handlers change the array in place, so the store calls {@link #update()} after every request that
+ * may have changed it, which compares the array with a copy taken at the previous update; any
+ * difference advances the version by one. Entities are identified by their {@code name} unless the
+ * store gives another key. Versions start at the time the store was loaded, so a client holding a
+ * version from an earlier run of the server gets the full listing, as does one whose version
+ * predates the oldest removal still remembered.
+ */
+final class VersionedCatalog {
+
+    private static final int MAX_REMOVALS = 1000;
+
+    private final JSONArray items;
+    private final Function<JSONObject, String> key;
+    private final Map<String, JSONObject> snapshot = new HashMap<>();
+    private final Map<String, Long> changedAt = new HashMap<>();
+    private final Map<String, Long> removedAt = new LinkedHashMap<>();
+    private long version;
+    /** The oldest version a delta can be computed from. */
+    private long oldestVersion;
+
+    VersionedCatalog(JSONArray items) {
+        this(items, item -> item.optString("name"));
+    }
+
+    VersionedCatalog(JSONArray items, Function<JSONObject, String> key) {
+        this.items = items;
+        this.key = key;
+        this.version = System.currentTimeMillis();
+        this.oldestVersion = version;
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            snapshot.put(key.apply(item), copy(item));
+            changedAt.put(key.apply(item), version);
+        }
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * Returns the listing response: a delta when {@code sinceVersion} is one this catalog can
+     * compute it from, the full listing otherwise.
+     */
+    JSONObject read(long sinceVersion) {
+        JSONObject response = LocalBackendStore.success(null, null).put("version", version);
+        if (sinceVersion < oldestVersion || sinceVersion > version) {
+            return response.put("data", items);
+        }
+        JSONArray changed = new JSONArray();
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            if (changedAt.get(key.apply(item)) > sinceVersion) {
+                changed.put(item);
+            }
+        }
+        JSONArray removed = new JSONArray();
+        for (Map.Entry<String, Long> removal : removedAt.entrySet()) {
+            if (removal.getValue() > sinceVersion) {
+                removed.put(removal.getKey());
+            }
+        }
+        return response.put("data", changed).put("removed", removed);
+    }
+
+    /**
+     * Compares the array with the copy from the previous update and records what changed under
+     * the next version.
+     *
+     * @return Whether anything changed.
+     */
+    boolean update() {
+        long next = version + 1;
+        boolean changed = false;
+        Map<String, JSONObject> current = new HashMap<>();
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            String itemKey = key.apply(item);
+            current.put(itemKey, item);
+            JSONObject previous = snapshot.get(itemKey);
+            if (previous == null || !previous.similar(item)) {
+                snapshot.put(itemKey, copy(item));
+                changedAt.put(itemKey, next);
+                removedAt.remove(itemKey);
+                changed = true;
+            }
+        }
+        for (Iterator<String> keys = snapshot.keySet().iterator(); keys.hasNext(); ) {
+            String itemKey = keys.next();
+            if (!current.containsKey(itemKey)) {
+                keys.remove();
+                changedAt.remove(itemKey);
+                removedAt.put(itemKey, next);
+                changed = true;
+            }
+        }
+        if (changed) {
+            version = next;
+        }
+
+        Iterator<Long> removals = removedAt.values().iterator();
+        while (removedAt.size() > MAX_REMOVALS) {
+            oldestVersion = removals.next();
+            removals.remove();
+        }
+        return changed;
+    }
+
+    private static JSONObject copy(JSONObject item) {
+        return new JSONObject(item.toString());
+    }
+}
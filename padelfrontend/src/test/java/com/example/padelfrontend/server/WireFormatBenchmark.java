@@ -0,0 +1,153 @@
+package com.example.padelfrontend.server;
+
+import com.example.padelfrontend.Response;
+import com.example.padelfrontend.json.CborWriter;
+import com.example.padelfrontend.json.Codec;
+import com.example.padelfrontend.json.JsonWriter;
+import com.example.padelfrontend.model.ActiveSubscription;
+import com.example.padelfrontend.model.GymClass;
+import com.example.padelfrontend.model.PadelCenter;
+import com.example.padelfrontend.model.SubscriptionPlan;
+import com.example.padelfrontend.model.WorkoutEntry;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares the newline-delimited JSON and binary CBOR wire formats for each listing action.
+ * <p>
+ * Every action's response is taken from a {@link LocalBackendStore} and decoded once into the
+ * typed model. It is then encoded and decoded repeatedly in both formats, through the generated
+ * codecs, the way the client reads it. Passing a number of copies repeats every list that many times
+ * to show how the formats behave as the catalog grows. The report gives the size of each response on
+ * the wire, including its line terminator or frame header, and the mean encode and decode times.
+ * <p>
+ * It is not part of the application. Run it from the test classpath with
+ * {@code mvn -pl padelfrontend test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.padelfrontend.server.WireFormatBenchmark -Dexec.args="[filesDir] [copies]"};
+ * the defaults are {@code padelbackend/files} and 1.
+ */
+public final class WireFormatBenchmark {
+
+    private static final long WARMUP_NANOS = 300_000_000L;
+    private static final long MEASURE_NANOS = 500_000_000L;
+    private static final int FRAME_HEADER_LENGTH = 5;
+
+    /** Consumes results so the JIT cannot drop the measured work. */
+    private static volatile int sink;
+
+    private final LocalBackendStore store;
+    private final int copies;
+
+    private WireFormatBenchmark(LocalBackendStore store, int copies) {
+        this.store = store;
+        this.copies = copies;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path filesDir = Path.of(args.length > 0 ? args[0] : "padelbackend/files");
+        int copies = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        String memberId = busiestMember(filesDir);
+        WireFormatBenchmark benchmark = new WireFormatBenchmark(new LocalBackendStore(filesDir), copies);
+
+        System.out.printf("%-26s %7s %10s %10s %7s %10s %10s %10s %10s%n", "action", "items",
+                "json B", "cbor B", "ratio", "json enc", "cbor enc", "json dec", "cbor dec");
+        benchmark.run("get_padel_centers", null, PadelCenter.CODEC);
+        benchmark.run("get_classes", null, GymClass.CODEC);
+        benchmark.run("get_subscription_plans", null, SubscriptionPlan.CODEC);
+        benchmark.run("get_active_subscriptions", memberId, ActiveSubscription.CODEC);
+        benchmark.run("get_workout_history", memberId, WorkoutEntry.CODEC);
+        System.out.println("Times are microseconds per response.");
+    }
+
+    private <T> void run(String action, String memberId, Codec<T> codec) {
+        JSONObject request = new JSONObject().put("action", action);
+        if (memberId != null) {
+            request.put("memberId", memberId);
+        }
+        List<T> original = Response.parse(store.handle(request)).getDataList(codec);
+        List<T> items = new ArrayList<>(original.size() * copies);
+        for (int i = 0; i < copies; i++) {
+            items.addAll(original);
+        }
+
+        byte[] json = encodeJson(items, codec);
+        byte[] cbor = encodeCbor(items, codec);
+        double jsonEncode = measure(() -> encodeJson(items, codec).length);
+        double cborEncode = measure(() -> encodeCbor(items, codec).length);
+        double jsonDecode = measure(() -> Response.parse(new String(json, StandardCharsets.UTF_8)).getDataList(codec).size());
+        double cborDecode = measure(() -> Response.parse(cbor).getDataList(codec).size());
+
+        int jsonSize = json.length + 1;
+        int cborSize = cbor.length + FRAME_HEADER_LENGTH;
+        System.out.printf("%-26s %7d %10d %10d %7.2f %10.1f %10.1f %10.1f %10.1f%n", action, items.size(),
+                jsonSize, cborSize, (double) cborSize / jsonSize, jsonEncode, cborEncode, jsonDecode, cborDecode);
+    }
+
+    private static <T> byte[] encodeJson(List<T> items, Codec<T> codec) {
+        JsonWriter writer = new JsonWriter();
+        writer.beginObject().name("status").value("success").name("data").beginArray();
+        for (T item : items) {
+            codec.write(writer, item);
+        }
+        writer.endArray().endObject();
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static <T> byte[] encodeCbor(List<T> items, Codec<T> codec) {
+        CborWriter writer = new CborWriter();
+        writer.beginObject().name("status").value("success").name("data").beginArray();
+        for (T item : items) {
+            codec.write(writer, item);
+        }
+        writer.endArray().endObject();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Runs an operation repeatedly after a warm-up and returns its mean duration in microseconds.
+     */
+    private static double measure(IntSupplier operation) {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            sink += operation.getAsInt();
+        }
+        long iterations = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += operation.getAsInt();
+            iterations++;
+        } while ((elapsed = System.nanoTime() - start) < MEASURE_NANOS);
+        return elapsed / 1000.0 / iterations;
+    }
+
+    /**
+     * Returns the member with the longest workout history, so the member-specific actions have data.
+     */
+    private static String busiestMember(Path filesDir) throws IOException {
+        Path file = filesDir.resolve("members.json");
+        if (!Files.exists(file)) {
+            return "";
+        }
+        JSONArray members = new JSONArray(Files.readString(file, StandardCharsets.UTF_8));
+        String busiest = "";
+        int most = -1;
+        for (int i = 0; i < members.length(); i++) {
+            JSONObject member = members.getJSONObject(i);
+            int workouts = member.optJSONArray("workouts", new JSONArray()).length();
+            if (workouts > most) {
+                most = workouts;
+                busiest = member.optString("id");
+            }
+        }
+        return busiest;
+    }
+}